@@ -0,0 +1,31 @@
+package com.kfactor.matchmaking.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+
+/**
+ * Admission control in front of match ingestion and the heavy read endpoints. On by
+ * default; {@code matchmaking.admission.enabled=false} turns it off.
+ */
+@Configuration
+@ConditionalOnProperty(value = "matchmaking.admission.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionConfig {
+
+    @Bean
+    public AdmissionControlFilter admissionControlFilter(AdmissionProperties properties, ObjectMapper objectMapper) {
+        return new AdmissionControlFilter(properties, objectMapper, System::nanoTime);
+    }
+
+    // Idle client buckets are dropped here, off the request path
+    @Bean
+    public SchedulingConfigurer admissionClientSweep(AdmissionControlFilter filter, AdmissionProperties properties) {
+        return registrar -> registrar.addFixedDelayTask(new FixedDelayTask(filter::sweepIdleClients,
+                properties.getSweepInterval(), properties.getSweepInterval()));
+    }
+}
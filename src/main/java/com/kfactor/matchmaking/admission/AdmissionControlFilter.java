@@ -0,0 +1,191 @@
+package com.kfactor.matchmaking.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kfactor.matchmaking.controller.GlobalExceptionHandler.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Rejects requests with 429 and {@code Retry-After} instead of letting them queue for a
+ * Tomcat thread and a JDBC connection. Writes (match ingestion, player changes) and heavy
+ * reads (leaderboards, stats, history, match lists) have separate budgets, so an ingest
+ * spike can exhaust the write budget without starving leaderboard reads. Cheap point
+ * reads are not limited.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Pattern WRITE_PATH = Pattern.compile(
+            "^/api/(matches|team-matches|tournaments|queue|players|ladders)(/.*)?$");
+    private static final Pattern HEAVY_READ_PATH = Pattern.compile(
+            "^/api/(ladders/[^/]+/)?(players/leaderboard|players/\\d+/(stats|rating-history)|matches/player/\\d+)/?$"
+                    + "|^/api/(matches|ladders)/?$");
+
+    private final String clientHeader;
+    private final boolean clientHeaderTrusted;
+    private final LongSupplier nanoTime;
+    private final ObjectMapper objectMapper;
+    private final TrafficBudget writeBudget;
+    private final TrafficBudget readBudget;
+
+    public AdmissionControlFilter(AdmissionProperties properties, ObjectMapper objectMapper, LongSupplier nanoTime) {
+        this.clientHeader = properties.getClientHeader();
+        this.clientHeaderTrusted = properties.isTrustClientHeader();
+        this.nanoTime = nanoTime;
+        this.objectMapper = objectMapper;
+        this.writeBudget = new TrafficBudget("write", properties.getWrite(), properties.getMaxClients(), nanoTime);
+        this.readBudget = new TrafficBudget("read", properties.getRead(), properties.getMaxClients(), nanoTime);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        TrafficBudget budget = budgetFor(request);
+        if (budget == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Admission admission = admit(budget, clientIdOf(request));
+        if (!admission.admitted()) {
+            reject(response, admission);
+            return;
+        }
+
+        boolean succeeded = false;
+        try {
+            chain.doFilter(request, response);
+            succeeded = response.getStatus() < 500;
+        } finally {
+            admission.release(succeeded);
+        }
+    }
+
+    /**
+     * Admits one write that does not arrive as its own request, such as a result on the
+     * match ingestion channel, against the same client bucket and concurrency limit as
+     * the write endpoints. An admitted write must be released once it is done.
+     */
+    public Admission admitWrite(String clientId) {
+        return admit(writeBudget, clientId);
+    }
+
+    public String getClientHeader() {
+        return clientHeader;
+    }
+
+    public boolean isClientHeaderTrusted() {
+        return clientHeaderTrusted;
+    }
+
+    // Drops the client buckets of both budgets that have refilled; scheduled by AdmissionConfig
+    public void sweepIdleClients() {
+        writeBudget.clients.sweep();
+        readBudget.clients.sweep();
+    }
+
+    public GradientConcurrencyLimiter getWriteLimiter() {
+        return writeBudget.limiter;
+    }
+
+    public GradientConcurrencyLimiter getReadLimiter() {
+        return readBudget.limiter;
+    }
+
+    private TrafficBudget budgetFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method)) {
+            return HEAVY_READ_PATH.matcher(path).matches() ? readBudget : null;
+        }
+        if (HttpMethod.OPTIONS.matches(method) || HttpMethod.HEAD.matches(method)) {
+            return null;
+        }
+        return WRITE_PATH.matcher(path).matches() ? writeBudget : null;
+    }
+
+    private String clientIdOf(HttpServletRequest request) {
+        String clientId = clientHeaderTrusted ? request.getHeader(clientHeader) : null;
+        return clientId != null && !clientId.isBlank() ? clientId : request.getRemoteAddr();
+    }
+
+    private Admission admit(TrafficBudget budget, String clientId) {
+        long waitNanos = budget.clients.tryTake(clientId);
+        if (waitNanos > 0) {
+            return new Admission(budget, "Too many " + budget.name + " requests: rate limit exceeded", waitNanos, 0);
+        }
+        if (!budget.limiter.tryAcquire()) {
+            return new Admission(budget, "Too many " + budget.name + " requests: server is at capacity", 0, 0);
+        }
+        return new Admission(budget, null, 0, nanoTime.getAsLong());
+    }
+
+    private void reject(HttpServletResponse response, Admission admission) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(admission.retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ErrorResponse error = new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(), admission.rejection(),
+                Instant.now());
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * The outcome of asking for admission. A refused one carries the reason and how long
+     * to wait; an admitted one holds a concurrency permit until released.
+     */
+    public final class Admission {
+
+        private final TrafficBudget budget;
+        private final String rejection;
+        private final long waitNanos;
+        private final long startedNanos;
+
+        private Admission(TrafficBudget budget, String rejection, long waitNanos, long startedNanos) {
+            this.budget = budget;
+            this.rejection = rejection;
+            this.waitNanos = waitNanos;
+            this.startedNanos = startedNanos;
+        }
+
+        public boolean admitted() {
+            return rejection == null;
+        }
+
+        public String rejection() {
+            return rejection;
+        }
+
+        public long retryAfterSeconds() {
+            return Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        }
+
+        public void release(boolean succeeded) {
+            if (admitted()) {
+                budget.limiter.release(nanoTime.getAsLong() - startedNanos, succeeded);
+            }
+        }
+    }
+
+    private static final class TrafficBudget {
+        private final String name;
+        private final GradientConcurrencyLimiter limiter;
+        private final ClientRateLimiter clients;
+
+        private TrafficBudget(String name, AdmissionProperties.Budget budget, int maxClients, LongSupplier nanoTime) {
+            this.name = name;
+            this.limiter = new GradientConcurrencyLimiter(budget.getInitialLimit(), budget.getMinLimit(), budget.getMaxLimit());
+            this.clients = new ClientRateLimiter(budget.getClientRate(), budget.getClientBurst(), maxClients, nanoTime);
+        }
+    }
+}
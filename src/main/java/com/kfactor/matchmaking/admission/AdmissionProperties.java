@@ -0,0 +1,80 @@
+package com.kfactor.matchmaking.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("matchmaking.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    // Header identifying the calling game server; only read when trusted, for example when a
+    // gateway in front sets it, since otherwise every caller could pick a fresh bucket
+    private String clientHeader = "X-Client-Id";
+    private boolean trustClientHeader = false;
+    // Buckets held per traffic class; beyond this, new clients share one bucket
+    private int maxClients = 10_000;
+    // How often buckets of idle clients are dropped
+    private Duration sweepInterval = Duration.ofSeconds(10);
+    private Budget write = new Budget(50, 8, 400, 500, 1000);
+    private Budget read = new Budget(100, 16, 800, 1000, 2000);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getClientHeader() { return clientHeader; }
+    public void setClientHeader(String clientHeader) { this.clientHeader = clientHeader; }
+
+    public boolean isTrustClientHeader() { return trustClientHeader; }
+    public void setTrustClientHeader(boolean trustClientHeader) { this.trustClientHeader = trustClientHeader; }
+
+    public int getMaxClients() { return maxClients; }
+    public void setMaxClients(int maxClients) { this.maxClients = maxClients; }
+
+    public Duration getSweepInterval() { return sweepInterval; }
+    public void setSweepInterval(Duration sweepInterval) { this.sweepInterval = sweepInterval; }
+
+    public Budget getWrite() { return write; }
+    public void setWrite(Budget write) { this.write = write; }
+
+    public Budget getRead() { return read; }
+    public void setRead(Budget read) { this.read = read; }
+
+    /**
+     * Concurrency limits shared by all clients of one traffic class, plus the token
+     * bucket each client gets for that class.
+     */
+    public static class Budget {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+        private double clientRate;
+        private int clientBurst;
+
+        public Budget() {}
+
+        public Budget(int initialLimit, int minLimit, int maxLimit, double clientRate, int clientBurst) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.clientRate = clientRate;
+            this.clientBurst = clientBurst;
+        }
+
+        public int getInitialLimit() { return initialLimit; }
+        public void setInitialLimit(int initialLimit) { this.initialLimit = initialLimit; }
+
+        public int getMinLimit() { return minLimit; }
+        public void setMinLimit(int minLimit) { this.minLimit = minLimit; }
+
+        public int getMaxLimit() { return maxLimit; }
+        public void setMaxLimit(int maxLimit) { this.maxLimit = maxLimit; }
+
+        public double getClientRate() { return clientRate; }
+        public void setClientRate(double clientRate) { this.clientRate = clientRate; }
+
+        public int getClientBurst() { return clientBurst; }
+        public void setClientBurst(int clientBurst) { this.clientBurst = clientBurst; }
+    }
+}
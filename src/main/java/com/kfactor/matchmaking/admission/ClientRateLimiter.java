@@ -0,0 +1,94 @@
+package com.kfactor.matchmaking.admission;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * One token bucket per client for a traffic class, so a single misbehaving game server
+ * exhausts its own budget instead of everyone's. The table holds at most
+ * {@code maxClients} buckets. Once it is full, clients without a bucket share a single
+ * overflow bucket until {@link #sweep()} drops the buckets of idle clients, so inventing
+ * client ids neither escapes the limit nor grows the table. A full bucket carries no
+ * state worth keeping.
+ */
+public class ClientRateLimiter {
+
+    private final double tokensPerNano;
+    private final int burst;
+    private final int maxClients;
+    private final LongSupplier nanoTime;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflow;
+
+    public ClientRateLimiter(double tokensPerSecond, int burst, int maxClients, LongSupplier nanoTime) {
+        if (tokensPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Client rate and burst must be positive");
+        }
+        if (maxClients < 1) {
+            throw new IllegalArgumentException("Max clients must be positive");
+        }
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.burst = burst;
+        this.maxClients = maxClients;
+        this.nanoTime = nanoTime;
+        this.overflow = new TokenBucket(nanoTime.getAsLong());
+    }
+
+    /**
+     * Takes a token for the client. Returns 0 when granted, otherwise the number of
+     * nanoseconds until the next token is available.
+     */
+    public long tryTake(String clientId) {
+        long now = nanoTime.getAsLong();
+        TokenBucket bucket = buckets.get(clientId);
+        if (bucket == null) {
+            // Concurrent new clients can overshoot the cap by a few buckets, which is harmless
+            bucket = buckets.size() < maxClients
+                    ? buckets.computeIfAbsent(clientId, id -> new TokenBucket(now))
+                    : overflow;
+        }
+        return bucket.tryTake(now);
+    }
+
+    /**
+     * Drops the buckets that have refilled completely. Runs on a schedule rather than on
+     * the request path; it visits every bucket.
+     */
+    public void sweep() {
+        long now = nanoTime.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private final class TokenBucket {
+        private double tokens = burst;
+        private long refilledAt;
+
+        private TokenBucket(long now) {
+            this.refilledAt = now;
+        }
+
+        private synchronized long tryTake(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+
+        private synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= burst;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.kfactor.matchmaking.admission;
+
+/**
+ * Adaptive concurrency limit in the style of TCP Vegas / Netflix's gradient limiter.
+ *
+ * <p>A slow moving average of request latency stands in for the no-load latency. Each
+ * completed request compares its own latency against it: while latency stays within
+ * tolerance the limit grows by roughly {@code sqrt(limit)}, and once requests start
+ * queueing behind the database the gradient drops below one and the limit shrinks in
+ * proportion. Requests over the limit are rejected immediately rather than queued.
+ */
+public class GradientConcurrencyLimiter {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private double limit;
+    private double longRttNanos;
+    private int inFlight;
+
+    public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Releases a permit and feeds the request latency into the limit. Requests that
+     * failed are released without a sample so errors do not look like fast responses.
+     */
+    public synchronized void release(long rttNanos, boolean sample) {
+        int inFlightAtCompletion = inFlight;
+        inFlight--;
+        if (!sample || rttNanos <= 0) {
+            return;
+        }
+
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+        }
+        // Latency has dropped well below the baseline (load shed, backend recovered): decay the
+        // baseline faster so a stale high average does not let the limit overshoot
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        // Only grow while the limit is actually being used
+        if (inFlightAtCompletion < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / rttNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
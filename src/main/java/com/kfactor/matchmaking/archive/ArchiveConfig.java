@@ -0,0 +1,14 @@
+package com.kfactor.matchmaking.archive;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cold storage for old matches. The archive itself is always present so read paths can
+ * consult it unconditionally; it stays empty and the archival job does not run unless
+ * {@code matchmaking.archive.enabled=true}.
+ */
+@Configuration
+@EnableConfigurationProperties(ArchiveProperties.class)
+public class ArchiveConfig {
+}
@@ -0,0 +1,37 @@
+package com.kfactor.matchmaking.archive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties("matchmaking.archive")
+public class ArchiveProperties {
+
+    private boolean enabled;
+    private Path directory = Path.of("data", "match-archive");
+
+    // Matches played longer ago than this are moved out of the matches table
+    private Duration maxAge = Duration.ofDays(90);
+    private Duration interval = Duration.ofHours(1);
+    private int segmentSize = 10_000;
+    private int maxSegmentsPerRun = 10;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Path getDirectory() { return directory; }
+    public void setDirectory(Path directory) { this.directory = directory; }
+
+    public Duration getMaxAge() { return maxAge; }
+    public void setMaxAge(Duration maxAge) { this.maxAge = maxAge; }
+
+    public Duration getInterval() { return interval; }
+    public void setInterval(Duration interval) { this.interval = interval; }
+
+    public int getSegmentSize() { return segmentSize; }
+    public void setSegmentSize(int segmentSize) { this.segmentSize = segmentSize; }
+
+    public int getMaxSegmentsPerRun() { return maxSegmentsPerRun; }
+    public void setMaxSegmentsPerRun(int maxSegmentsPerRun) { this.maxSegmentsPerRun = maxSegmentsPerRun; }
+}
@@ -0,0 +1,49 @@
+package com.kfactor.matchmaking.archive;
+
+import com.kfactor.matchmaking.model.Match;
+import com.kfactor.matchmaking.model.Player;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * One match as stored in an archive segment. Players are kept by id only.
+ */
+public record ArchivedMatch(long id, long playerAId, long playerBId, boolean wonByB, Instant playedAt,
+                            Integer ratingABefore, Integer ratingAAfter,
+                            Integer ratingBBefore, Integer ratingBAfter) {
+
+    public static ArchivedMatch of(Match match) {
+        return new ArchivedMatch(match.getId(), match.getPlayerA().getId(), match.getPlayerB().getId(),
+                match.getWinner().getId().equals(match.getPlayerB().getId()), match.getPlayedAt(),
+                match.getRatingABefore(), match.getRatingAAfter(),
+                match.getRatingBBefore(), match.getRatingBAfter());
+    }
+
+    public long winnerId() {
+        return wonByB ? playerBId : playerAId;
+    }
+
+    public boolean involves(long playerId) {
+        return playerAId == playerId || playerBId == playerId;
+    }
+
+    public Integer ratingAfterFor(long playerId) {
+        return playerAId == playerId ? ratingAAfter : ratingBAfter;
+    }
+
+    public boolean hasRatings() {
+        return ratingABefore != null && ratingAAfter != null && ratingBBefore != null && ratingBAfter != null;
+    }
+
+    /**
+     * Rebuilds a detached {@link Match}; players missing from {@code players} have been
+     * deleted since the match was archived.
+     */
+    public Match toMatch(Map<Long, Player> players) {
+        Player playerA = players.getOrDefault(playerAId, Player.deleted(playerAId));
+        Player playerB = players.getOrDefault(playerBId, Player.deleted(playerBId));
+        return Match.restore(id, playerA, playerB, wonByB ? playerB : playerA, playedAt,
+                ratingABefore, ratingAAfter, ratingBBefore, ratingBAfter);
+    }
+}
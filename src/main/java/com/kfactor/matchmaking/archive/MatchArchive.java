@@ -0,0 +1,203 @@
+package com.kfactor.matchmaking.archive;
+
+import com.kfactor.matchmaking.dto.RatingPointDTO;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only store of archived matches: one immutable segment file per archival batch.
+ * A segment is first written as {@code .seg.pending}, and only renamed to {@code .seg}
+ * once the rows have been deleted from the database, so a crash in between never
+ * leaves a match both live and archived.
+ *
+ * <p>Segments are decoded in full on startup to build a small in-memory summary (id and
+ * time range, matches per player). Reads use it to skip segments that cannot contain
+ * the rows asked for, and decode only the rest.
+ */
+@Component
+public class MatchArchive {
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String PENDING_SUFFIX = ".seg.pending";
+
+    private final Path directory;
+    private volatile List<Segment> segments = List.of();
+
+    public MatchArchive(ArchiveProperties properties) {
+        this.directory = properties.isEnabled() ? properties.getDirectory() : null;
+        if (directory != null) {
+            try {
+                Files.createDirectories(directory);
+                List<Segment> loaded = new ArrayList<>();
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+                    for (Path file : files) {
+                        loaded.add(Segment.of(file, read(file)));
+                    }
+                }
+                loaded.sort(Comparator.comparingLong(Segment::firstId));
+                segments = List.copyOf(loaded);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open match archive at " + directory, e);
+            }
+        }
+    }
+
+    /**
+     * Writes rows (sorted by id) to a pending segment that readers do not see yet.
+     */
+    public Path writePending(List<ArchivedMatch> rows) throws IOException {
+        requireEnabled();
+        String name = String.format("matches-%019d-%019d", rows.get(0).id(), rows.get(rows.size() - 1).id());
+        Path pending = directory.resolve(name + PENDING_SUFFIX);
+        try (FileChannel channel = FileChannel.open(pending, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+            SegmentCodec.encode(rows, out);
+            out.flush();
+            channel.force(true);
+        }
+        return pending;
+    }
+
+    public synchronized void publish(Path pending) throws IOException {
+        String name = pending.getFileName().toString();
+        Path segment = pending.resolveSibling(name.substring(0, name.length() - PENDING_SUFFIX.length()) + SEGMENT_SUFFIX);
+        Files.move(pending, segment, StandardCopyOption.ATOMIC_MOVE);
+
+        List<Segment> updated = new ArrayList<>(segments);
+        updated.add(Segment.of(segment, read(segment)));
+        updated.sort(Comparator.comparingLong(Segment::firstId));
+        segments = List.copyOf(updated);
+    }
+
+    public void discard(Path pending) throws IOException {
+        Files.deleteIfExists(pending);
+    }
+
+    public List<Path> findPending() throws IOException {
+        if (directory == null) {
+            return List.of();
+        }
+        List<Path> pending = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + PENDING_SUFFIX)) {
+            files.forEach(pending::add);
+        }
+        return pending;
+    }
+
+    public List<ArchivedMatch> readPending(Path pending) throws IOException {
+        return read(pending);
+    }
+
+    /**
+     * Archived matches of a player, newest first, skipping {@code offset} of them.
+     */
+    public List<ArchivedMatch> findMatchesForPlayer(long playerId, long offset, int limit) {
+        List<ArchivedMatch> result = new ArrayList<>();
+        long toSkip = offset;
+        List<Segment> current = segments;
+        for (int s = current.size() - 1; s >= 0 && result.size() < limit; s--) {
+            Segment segment = current.get(s);
+            int inSegment = segment.matchesByPlayer().getOrDefault(playerId, 0);
+            if (inSegment <= toSkip) {
+                toSkip -= inSegment;
+                continue;
+            }
+            List<ArchivedMatch> rows = read(segment.path());
+            for (int i = rows.size() - 1; i >= 0 && result.size() < limit; i--) {
+                ArchivedMatch row = rows.get(i);
+                if (!row.involves(playerId)) {
+                    continue;
+                }
+                if (toSkip > 0) {
+                    toSkip--;
+                } else {
+                    result.add(row);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rating after each archived match of a player played within [from, to], oldest first.
+     */
+    public List<RatingPointDTO> findRatingHistory(long playerId, Instant from, Instant to) {
+        List<RatingPointDTO> history = new ArrayList<>();
+        for (Segment segment : segments) {
+            if (!segment.matchesByPlayer().containsKey(playerId)
+                    || segment.maxPlayedAt().isBefore(from) || segment.minPlayedAt().isAfter(to)) {
+                continue;
+            }
+            for (ArchivedMatch row : read(segment.path())) {
+                if (row.involves(playerId) && row.hasRatings()
+                        && !row.playedAt().isBefore(from) && !row.playedAt().isAfter(to)) {
+                    history.add(new RatingPointDTO(row.playedAt(), row.ratingAfterFor(playerId)));
+                }
+            }
+        }
+        history.sort(Comparator.comparing(RatingPointDTO::getPlayedAt));
+        return history;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    public long getArchivedMatchCount() {
+        return segments.stream().mapToLong(Segment::rows).sum();
+    }
+
+    private void requireEnabled() {
+        if (directory == null) {
+            throw new IllegalStateException("Match archive is disabled");
+        }
+    }
+
+    private static List<ArchivedMatch> read(Path file) {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            return SegmentCodec.decode(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read archive segment " + file, e);
+        }
+    }
+
+    private record Segment(Path path, long firstId, long lastId, int rows, Instant minPlayedAt, Instant maxPlayedAt,
+                           Map<Long, Integer> matchesByPlayer) {
+
+        private static Segment of(Path path, List<ArchivedMatch> rows) {
+            Map<Long, Integer> matchesByPlayer = new HashMap<>();
+            Instant min = Instant.MAX;
+            Instant max = Instant.MIN;
+            for (ArchivedMatch row : rows) {
+                matchesByPlayer.merge(row.playerAId(), 1, Integer::sum);
+                if (row.playerBId() != row.playerAId()) {
+                    matchesByPlayer.merge(row.playerBId(), 1, Integer::sum);
+                }
+                min = row.playedAt().isBefore(min) ? row.playedAt() : min;
+                max = row.playedAt().isAfter(max) ? row.playedAt() : max;
+            }
+            return new Segment(path, rows.get(0).id(), rows.get(rows.size() - 1).id(), rows.size(), min, max,
+                    matchesByPlayer);
+        }
+    }
+}
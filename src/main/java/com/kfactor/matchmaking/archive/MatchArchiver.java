@@ -0,0 +1,158 @@
+package com.kfactor.matchmaking.archive;
+
+import com.kfactor.matchmaking.model.Match;
+import com.kfactor.matchmaking.model.PlayerArchiveStats;
+import com.kfactor.matchmaking.repository.MatchRepository;
+import com.kfactor.matchmaking.repository.PlayerArchiveStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves matches older than {@code matchmaking.archive.max-age} out of the matches table
+ * into archive segments, one segment per batch. For each batch the segment is written
+ * and synced first; the per-player archive counters are then updated and the rows
+ * deleted in one transaction; only after that commits does the segment become visible.
+ */
+@Component
+@ConditionalOnProperty("matchmaking.archive.enabled")
+public class MatchArchiver implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchArchiver.class);
+    private static final int DELETE_CHUNK = 1000;
+
+    private final MatchRepository matchRepository;
+    private final PlayerArchiveStatsRepository playerArchiveStatsRepository;
+    private final MatchArchive matchArchive;
+    private final ArchiveProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    public MatchArchiver(MatchRepository matchRepository, PlayerArchiveStatsRepository playerArchiveStatsRepository,
+                         MatchArchive matchArchive, ArchiveProperties properties,
+                         PlatformTransactionManager transactionManager, Clock clock) {
+        this.matchRepository = matchRepository;
+        this.playerArchiveStatsRepository = playerArchiveStatsRepository;
+        this.matchArchive = matchArchive;
+        this.properties = properties;
+        // Read-write transactions, so candidates are always read from the primary
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(new FixedDelayTask(this::archiveQuietly, properties.getInterval(), properties.getInterval()));
+    }
+
+    /**
+     * Settles segments left pending by a crash: if the batch's rows are gone, the delete
+     * committed and the segment is published; otherwise it is discarded.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void recoverPending() throws IOException {
+        for (Path pending : matchArchive.findPending()) {
+            ArchivedMatch first = matchArchive.readPending(pending).get(0);
+            if (matchRepository.existsById(first.id())) {
+                matchArchive.discard(pending);
+            } else {
+                matchArchive.publish(pending);
+            }
+        }
+    }
+
+    /**
+     * Archives up to {@code max-segments-per-run} batches and returns the number of
+     * matches moved.
+     */
+    public synchronized int archive() {
+        Instant cutoff = clock.instant().minus(properties.getMaxAge());
+        int archived = 0;
+        for (int run = 0; run < properties.getMaxSegmentsPerRun(); run++) {
+            List<Match> due = transactionTemplate.execute(status -> matchRepository
+                    .findByPlayedAtBeforeOrderByIdAsc(cutoff, PageRequest.of(0, properties.getSegmentSize())));
+            if (due == null || due.isEmpty()) {
+                break;
+            }
+            // Voided matches are dropped rather than archived
+            List<ArchivedMatch> batch = due.stream()
+                    .filter(match -> !match.isVoided())
+                    .map(ArchivedMatch::of)
+                    .toList();
+            List<Long> ids = due.stream().map(Match::getId).toList();
+
+            if (batch.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> moveOut(batch, ids));
+            } else {
+                try {
+                    Path pending = matchArchive.writePending(batch);
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> moveOut(batch, ids));
+                    } catch (RuntimeException e) {
+                        matchArchive.discard(pending);
+                        throw e;
+                    }
+                    matchArchive.publish(pending);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Archiving matches failed", e);
+                }
+            }
+
+            archived += batch.size();
+            if (due.size() < properties.getSegmentSize()) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} matches played before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    private void moveOut(List<ArchivedMatch> batch, List<Long> ids) {
+        Map<Long, int[]> counts = new HashMap<>();
+        for (ArchivedMatch row : batch) {
+            counts.computeIfAbsent(row.playerAId(), id -> new int[2])[0]++;
+            if (row.playerBId() != row.playerAId()) {
+                counts.computeIfAbsent(row.playerBId(), id -> new int[2])[0]++;
+            }
+            counts.get(row.winnerId())[1]++;
+        }
+
+        Map<Long, PlayerArchiveStats> stats = new HashMap<>();
+        playerArchiveStatsRepository.findAllById(counts.keySet()).forEach(s -> stats.put(s.getPlayerId(), s));
+        counts.forEach((playerId, c) -> stats.computeIfAbsent(playerId, PlayerArchiveStats::new).add(c[0], c[1]));
+        playerArchiveStatsRepository.saveAll(stats.values());
+
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK) {
+            matchRepository.deleteByIdIn(new ArrayList<>(ids.subList(from, Math.min(from + DELETE_CHUNK, ids.size()))));
+        }
+    }
+
+    private void archiveQuietly() {
+        try {
+            archive();
+        } catch (RuntimeException e) {
+            log.warn("Match archival failed", e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.kfactor.matchmaking.archive;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Binary layout of an archive segment. After a small header the rows are written
+ * column by column and the whole body is deflated:
+ * <ul>
+ *   <li>ids and play times (epoch micros) as varint deltas from the previous row,</li>
+ *   <li>player ids as varints,</li>
+ *   <li>one flag byte per row (winner side, ratings present),</li>
+ *   <li>ratings before as zig-zag varints and ratings after as deltas from before.</li>
+ * </ul>
+ * Rows are sorted by id, so the id and time columns compress to one or two bytes a row.
+ */
+final class SegmentCodec {
+
+    private static final int MAGIC = 0x4D534547; // "MSEG"
+    private static final byte VERSION = 1;
+
+    private static final int WON_BY_B = 1;
+    private static final int HAS_RATINGS = 2;
+
+    private SegmentCodec() {}
+
+    static void encode(List<ArchivedMatch> rows, OutputStream out) throws IOException {
+        DataOutputStream header = new DataOutputStream(out);
+        header.writeInt(MAGIC);
+        header.writeByte(VERSION);
+        header.writeInt(rows.size());
+        header.flush();
+
+        Deflater compressor = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            DeflaterOutputStream deflater = new DeflaterOutputStream(out, compressor, 1 << 16);
+            writeBody(rows, new DataOutputStream(deflater));
+            deflater.finish();
+        } finally {
+            compressor.end();
+        }
+    }
+
+    private static void writeBody(List<ArchivedMatch> rows, DataOutputStream body) throws IOException {
+        long previous = 0;
+        for (ArchivedMatch row : rows) {
+            writeVarLong(body, zigZag(row.id() - previous));
+            previous = row.id();
+        }
+        previous = 0;
+        for (ArchivedMatch row : rows) {
+            long micros = toMicros(row.playedAt());
+            writeVarLong(body, zigZag(micros - previous));
+            previous = micros;
+        }
+        for (ArchivedMatch row : rows) {
+            writeVarLong(body, row.playerAId());
+        }
+        for (ArchivedMatch row : rows) {
+            writeVarLong(body, row.playerBId());
+        }
+        for (ArchivedMatch row : rows) {
+            body.writeByte((row.wonByB() ? WON_BY_B : 0) | (row.hasRatings() ? HAS_RATINGS : 0));
+        }
+        for (ArchivedMatch row : rows) {
+            if (row.hasRatings()) {
+                writeVarLong(body, zigZag(row.ratingABefore()));
+                writeVarLong(body, zigZag(row.ratingAAfter() - row.ratingABefore()));
+                writeVarLong(body, zigZag(row.ratingBBefore()));
+                writeVarLong(body, zigZag(row.ratingBAfter() - row.ratingBBefore()));
+            }
+        }
+        body.flush();
+    }
+
+    static List<ArchivedMatch> decode(InputStream in) throws IOException {
+        DataInputStream header = new DataInputStream(in);
+        if (header.readInt() != MAGIC) {
+            throw new IOException("Not an archive segment");
+        }
+        byte version = header.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported archive segment version " + version);
+        }
+        int count = header.readInt();
+
+        Inflater decompressor = new Inflater();
+        try {
+            return readBody(count, new DataInputStream(new InflaterInputStream(in, decompressor, 1 << 16)));
+        } finally {
+            decompressor.end();
+        }
+    }
+
+    private static List<ArchivedMatch> readBody(int count, DataInputStream body) throws IOException {
+        long[] ids = new long[count];
+        long[] micros = new long[count];
+        long[] playerA = new long[count];
+        long[] playerB = new long[count];
+        byte[] flags = new byte[count];
+
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += unZigZag(readVarLong(body));
+            ids[i] = previous;
+        }
+        previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += unZigZag(readVarLong(body));
+            micros[i] = previous;
+        }
+        for (int i = 0; i < count; i++) {
+            playerA[i] = readVarLong(body);
+        }
+        for (int i = 0; i < count; i++) {
+            playerB[i] = readVarLong(body);
+        }
+        body.readFully(flags);
+
+        List<ArchivedMatch> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Integer aBefore = null, aAfter = null, bBefore = null, bAfter = null;
+            if ((flags[i] & HAS_RATINGS) != 0) {
+                aBefore = (int) unZigZag(readVarLong(body));
+                aAfter = aBefore + (int) unZigZag(readVarLong(body));
+                bBefore = (int) unZigZag(readVarLong(body));
+                bAfter = bBefore + (int) unZigZag(readVarLong(body));
+            }
+            rows.add(new ArchivedMatch(ids[i], playerA[i], playerB[i], (flags[i] & WON_BY_B) != 0,
+                    fromMicros(micros[i]), aBefore, aAfter, bBefore, bAfter));
+        }
+        return rows;
+    }
+
+    private static long toMicros(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1000);
+    }
+
+    private static Instant fromMicros(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1000);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated archive segment");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in archive segment");
+    }
+}
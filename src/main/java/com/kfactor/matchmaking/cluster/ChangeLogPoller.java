@@ -0,0 +1,172 @@
+package com.kfactor.matchmaking.cluster;
+
+import com.kfactor.matchmaking.event.LadderMatchRecordedEvent;
+import com.kfactor.matchmaking.event.MatchRecordedEvent;
+import com.kfactor.matchmaking.event.MatchVoidedEvent;
+import com.kfactor.matchmaking.event.PlayerCreatedEvent;
+import com.kfactor.matchmaking.event.PlayerDeletedEvent;
+import com.kfactor.matchmaking.event.PlayerRatingChangedEvent;
+import com.kfactor.matchmaking.event.SeasonRolledOverEvent;
+import com.kfactor.matchmaking.model.ChangeLogEntry;
+import com.kfactor.matchmaking.model.LadderMatch;
+import com.kfactor.matchmaking.repository.ChangeLogRepository;
+import com.kfactor.matchmaking.repository.LadderMatchRepository;
+import com.kfactor.matchmaking.repository.LadderRatingRepository;
+import com.kfactor.matchmaking.repository.MatchRepository;
+import com.kfactor.matchmaking.repository.PlayerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Polls the change log above a high-water mark and replays other nodes' changes as
+ * local domain events, so every in-process subscriber (read model, leaderboards, guards)
+ * is patched the same way as for a local write.
+ *
+ * <p>Identity values are handed out before commit, so a row can become visible after a
+ * higher id was already read. Skipped ids are remembered as gaps and re-checked until
+ * they show up or are old enough to be a rolled-back insert.
+ */
+@Component
+@ConditionalOnProperty("matchmaking.cluster.enabled")
+public class ChangeLogPoller implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogPoller.class);
+    private static final int MAX_GAPS = 10_000;
+    private static final int PRUNE_EVERY_POLLS = 600;
+
+    private final ChangeLogRepository changeLogRepository;
+    private final PlayerRepository playerRepository;
+    private final MatchRepository matchRepository;
+    private final LadderMatchRepository ladderMatchRepository;
+    private final LadderRatingRepository ladderRatingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClusterProperties properties;
+    private final Clock clock;
+
+    private final Map<Long, Instant> gaps = new LinkedHashMap<>();
+    private long highWaterMark;
+    private int pollsSincePrune;
+
+    public ChangeLogPoller(ChangeLogRepository changeLogRepository, PlayerRepository playerRepository,
+                           MatchRepository matchRepository, LadderMatchRepository ladderMatchRepository,
+                           LadderRatingRepository ladderRatingRepository, ApplicationEventPublisher eventPublisher,
+                           ClusterProperties properties, Clock clock) {
+        this.changeLogRepository = changeLogRepository;
+        this.playerRepository = playerRepository;
+        this.matchRepository = matchRepository;
+        this.ladderMatchRepository = ladderMatchRepository;
+        this.ladderRatingRepository = ladderRatingRepository;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.clock = clock;
+        // Everything before this point is covered by the startup read-model rebuild
+        this.highWaterMark = changeLogRepository.findMaxId();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(this::pollQuietly, properties.getPollInterval());
+    }
+
+    public synchronized int poll() {
+        Instant now = clock.instant();
+        List<ChangeLogEntry> changes = new ArrayList<>();
+
+        if (!gaps.isEmpty()) {
+            changes.addAll(changeLogRepository.findByIdIn(new ArrayList<>(gaps.keySet())));
+            changes.forEach(change -> gaps.remove(change.getId()));
+            Instant expiry = now.minus(properties.getGapTimeout());
+            gaps.values().removeIf(firstSeen -> firstSeen.isBefore(expiry));
+        }
+
+        List<ChangeLogEntry> batch = changeLogRepository.findByIdGreaterThanOrderByIdAsc(
+                highWaterMark, PageRequest.of(0, properties.getBatchSize()));
+        for (ChangeLogEntry change : batch) {
+            for (long missing = highWaterMark + 1; missing < change.getId(); missing++) {
+                gaps.putIfAbsent(missing, now);
+            }
+            highWaterMark = change.getId();
+            changes.add(change);
+        }
+        while (gaps.size() > MAX_GAPS) {
+            gaps.remove(gaps.keySet().iterator().next());
+        }
+
+        changes.sort(Comparator.comparing(ChangeLogEntry::getId));
+        int applied = 0;
+        for (ChangeLogEntry change : changes) {
+            if (!properties.getNodeId().equals(change.getOriginNode())) {
+                apply(change);
+                applied++;
+            }
+        }
+
+        if (++pollsSincePrune >= PRUNE_EVERY_POLLS) {
+            pollsSincePrune = 0;
+            changeLogRepository.deleteOlderThan(now.minus(properties.getRetention()));
+        }
+        return applied;
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (RuntimeException ex) {
+            log.warn("Change log poll failed", ex);
+        }
+    }
+
+    // Published outside any transaction: subscribers apply immediately and nothing is re-logged
+    private void apply(ChangeLogEntry change) {
+        switch (change.getEntityType()) {
+            case PLAYER -> {
+                switch (change.getChangeType()) {
+                    case CREATED -> playerRepository.findById(change.getEntityId())
+                            .ifPresent(player -> eventPublisher.publishEvent(PlayerCreatedEvent.of(player)));
+                    case RATING_CHANGED -> playerRepository.findById(change.getEntityId())
+                            .ifPresent(player -> eventPublisher.publishEvent(
+                                    new PlayerRatingChangedEvent(player.getId(), player.getRating(), Instant.now())));
+                    case DELETED -> eventPublisher.publishEvent(
+                            new PlayerDeletedEvent(change.getEntityId(), change.getDetail(), Instant.now()));
+                }
+            }
+            case MATCH -> matchRepository.findById(change.getEntityId()).ifPresent(match -> {
+                if (change.getChangeType() == ChangeLogEntry.ChangeType.VOIDED) {
+                    eventPublisher.publishEvent(MatchVoidedEvent.of(match));
+                } else {
+                    eventPublisher.publishEvent(MatchRecordedEvent.of(match));
+                }
+            });
+            case SEASON -> eventPublisher.publishEvent(new SeasonRolledOverEvent(change.getEntityId(), Instant.now()));
+            case LADDER_MATCH -> ladderMatchRepository.findById(change.getEntityId()).ifPresent(this::replay);
+        }
+    }
+
+    // The players' current rows stand in for the ones after the match; later rows win anyway
+    private void replay(LadderMatch match) {
+        Map<Long, LadderMatchRecordedEvent.Standing> standings = new HashMap<>();
+        ladderRatingRepository.findStandings(match.getLadder(), List.of(match.getPlayerAId(), match.getPlayerBId()))
+                .forEach(standing -> standings.put(standing.playerId(), standing));
+        LadderMatchRecordedEvent.Standing playerA = standings.get(match.getPlayerAId());
+        LadderMatchRecordedEvent.Standing playerB = standings.get(match.getPlayerBId());
+        if (playerA != null && playerB != null) {
+            eventPublisher.publishEvent(new LadderMatchRecordedEvent(match.getLadder(), match.getId(),
+                    playerA, playerB, Instant.now()));
+        }
+    }
+}
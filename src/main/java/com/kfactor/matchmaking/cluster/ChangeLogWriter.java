@@ -0,0 +1,74 @@
+package com.kfactor.matchmaking.cluster;
+
+import com.kfactor.matchmaking.event.LadderMatchRecordedEvent;
+import com.kfactor.matchmaking.event.MatchRecordedEvent;
+import com.kfactor.matchmaking.event.MatchVoidedEvent;
+import com.kfactor.matchmaking.event.PlayerCreatedEvent;
+import com.kfactor.matchmaking.event.PlayerDeletedEvent;
+import com.kfactor.matchmaking.event.PlayerRatingChangedEvent;
+import com.kfactor.matchmaking.event.SeasonRolledOverEvent;
+import com.kfactor.matchmaking.model.ChangeLogEntry;
+import com.kfactor.matchmaking.model.ChangeLogEntry.ChangeType;
+import com.kfactor.matchmaking.model.ChangeLogEntry.EntityType;
+import com.kfactor.matchmaking.repository.ChangeLogRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Appends a change-log row in the same transaction as the change itself, so a row
+ * exists if and only if the change committed. Events replayed by the poller are
+ * published outside a transaction and therefore never logged again.
+ */
+@Component
+@ConditionalOnProperty("matchmaking.cluster.enabled")
+public class ChangeLogWriter {
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ClusterProperties properties;
+
+    public ChangeLogWriter(ChangeLogRepository changeLogRepository, ClusterProperties properties) {
+        this.changeLogRepository = changeLogRepository;
+        this.properties = properties;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void on(PlayerCreatedEvent event) {
+        append(EntityType.PLAYER, event.playerId(), ChangeType.CREATED, null);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void on(PlayerRatingChangedEvent event) {
+        append(EntityType.PLAYER, event.playerId(), ChangeType.RATING_CHANGED, null);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void on(PlayerDeletedEvent event) {
+        append(EntityType.PLAYER, event.playerId(), ChangeType.DELETED, event.username());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void on(MatchRecordedEvent event) {
+        append(EntityType.MATCH, event.matchId(), ChangeType.CREATED, null);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void on(MatchVoidedEvent event) {
+        append(EntityType.MATCH, event.matchId(), ChangeType.VOIDED, null);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void on(LadderMatchRecordedEvent event) {
+        append(EntityType.LADDER_MATCH, event.matchId(), ChangeType.CREATED, null);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void on(SeasonRolledOverEvent event) {
+        append(EntityType.SEASON, event.seasonId(), ChangeType.CREATED, null);
+    }
+
+    private void append(EntityType entityType, Long entityId, ChangeType changeType, String detail) {
+        changeLogRepository.save(new ChangeLogEntry(properties.getNodeId(), entityType, entityId, changeType, detail));
+    }
+}
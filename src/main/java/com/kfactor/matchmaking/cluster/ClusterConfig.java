@@ -0,0 +1,16 @@
+package com.kfactor.matchmaking.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Multi-node coherence, enabled with {@code matchmaking.cluster.enabled=true}. Each node
+ * appends committed changes to the shared {@code change_log} table and polls it for
+ * changes made by other nodes.
+ */
+@Configuration
+@ConditionalOnProperty("matchmaking.cluster.enabled")
+@EnableConfigurationProperties(ClusterProperties.class)
+public class ClusterConfig {
+}
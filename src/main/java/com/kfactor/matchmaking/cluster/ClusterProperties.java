@@ -0,0 +1,37 @@
+package com.kfactor.matchmaking.cluster;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@ConfigurationProperties("matchmaking.cluster")
+public class ClusterProperties {
+
+    private boolean enabled;
+    private String nodeId = UUID.randomUUID().toString();
+    private Duration pollInterval = Duration.ofSeconds(1);
+    private int batchSize = 500;
+
+    // How long a skipped change-log id is waited for before it is treated as a rolled-back insert
+    private Duration gapTimeout = Duration.ofSeconds(10);
+    private Duration retention = Duration.ofHours(1);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getNodeId() { return nodeId; }
+    public void setNodeId(String nodeId) { this.nodeId = nodeId; }
+
+    public Duration getPollInterval() { return pollInterval; }
+    public void setPollInterval(Duration pollInterval) { this.pollInterval = pollInterval; }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public Duration getGapTimeout() { return gapTimeout; }
+    public void setGapTimeout(Duration gapTimeout) { this.gapTimeout = gapTimeout; }
+
+    public Duration getRetention() { return retention; }
+    public void setRetention(Duration retention) { this.retention = retention; }
+}
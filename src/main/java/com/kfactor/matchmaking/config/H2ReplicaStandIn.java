@@ -0,0 +1,62 @@
+package com.kfactor.matchmaking.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Local stand-in for asynchronous replication: copies the whole primary H2 database
+ * into the replica H2 database with {@code SCRIPT}. Between copies the replica is
+ * genuinely stale, which is what the lag guard has to cope with in production.
+ */
+public class H2ReplicaStandIn {
+
+    private static final Logger log = LoggerFactory.getLogger(H2ReplicaStandIn.class);
+
+    private final DataSource primary;
+    private final DataSource replica;
+
+    public H2ReplicaStandIn(DataSource primary, DataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+    }
+
+    public synchronized void sync() {
+        List<String> script = new ArrayList<>();
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SCRIPT NOPASSWORDS NOSETTINGS")) {
+            while (rows.next()) {
+                script.add(rows.getString(1));
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not script primary database", ex);
+        }
+
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : script) {
+                statement.execute(sql);
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not load replica database", ex);
+        }
+        log.debug("Replica stand-in synced {} statements", script.size());
+    }
+
+    void syncQuietly() {
+        try {
+            sync();
+        } catch (RuntimeException ex) {
+            log.warn("Replica stand-in sync failed", ex);
+        }
+    }
+}
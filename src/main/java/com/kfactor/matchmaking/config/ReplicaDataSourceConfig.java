@@ -0,0 +1,85 @@
+package com.kfactor.matchmaking.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primary/replica routing, enabled by setting {@code matchmaking.datasource.replica.url}.
+ * {@code spring.datasource} stays the primary; {@code @Transactional(readOnly = true)}
+ * work is routed to the replica unless the {@link ReplicaLagGuard} pins it.
+ */
+@Configuration
+@ConditionalOnProperty("matchmaking.datasource.replica.url")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public DataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().build();
+    }
+
+    @Bean
+    public DataSource replicaDataSource(ReplicaDataSourceProperties properties) {
+        return DataSourceBuilder.create()
+                .url(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource();
+        routing.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.Target.PRIMARY, primaryDataSource,
+                ReplicaRoutingDataSource.Target.REPLICA, replicaDataSource));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    @ConditionalOnProperty("matchmaking.datasource.replica.stand-in-sync-interval")
+    public ScheduledExecutorService replicaStandInScheduler(H2ReplicaStandIn standIn,
+                                                            ReplicaDataSourceProperties properties) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-stand-in");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Duration interval = properties.getStandInSyncInterval();
+        if (!interval.isZero()) {
+            scheduler.scheduleWithFixedDelay(standIn::syncQuietly, interval.toMillis(), interval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+        return scheduler;
+    }
+
+    // Depends on the EntityManagerFactory so the first copy happens after the schema exists
+    @Bean
+    @ConditionalOnProperty("matchmaking.datasource.replica.stand-in-sync-interval")
+    public H2ReplicaStandIn h2ReplicaStandIn(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                             @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                             EntityManagerFactory entityManagerFactory) {
+        H2ReplicaStandIn standIn = new H2ReplicaStandIn(primaryDataSource, replicaDataSource);
+        standIn.sync();
+        return standIn;
+    }
+}
@@ -0,0 +1,28 @@
+package com.kfactor.matchmaking.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("matchmaking.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    private String url;
+    private String username = "sa";
+    private String password = "";
+
+    // When set, the replica is an H2 stand-in refreshed from the primary at this interval
+    private Duration standInSyncInterval;
+
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+
+    public Duration getStandInSyncInterval() { return standInSyncInterval; }
+    public void setStandInSyncInterval(Duration standInSyncInterval) { this.standInSyncInterval = standInSyncInterval; }
+}
@@ -0,0 +1,102 @@
+package com.kfactor.matchmaking.config;
+
+import com.kfactor.matchmaking.event.LadderMatchRecordedEvent;
+import com.kfactor.matchmaking.event.MatchRecordedEvent;
+import com.kfactor.matchmaking.event.PlayerRatingChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-your-writes guard for replica routing. Remembers when each player was last
+ * written by {@code recordMatch}, on any ladder, or a rating correction; a read-only
+ * transaction that reads such a player within the replica's maximum lag is pinned to
+ * the primary.
+ */
+@Component
+public class ReplicaLagGuard {
+
+    private static final Object PIN_KEY = ReplicaLagGuard.class.getName() + ".PIN";
+    private static final int PRUNE_EVERY = 1024;
+
+    private final long maxLagNanos;
+    private final Map<Long, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    private final AtomicInteger writesSincePrune = new AtomicInteger();
+
+    public ReplicaLagGuard(@Value("${matchmaking.datasource.replica.max-lag:1s}") Duration maxLag) {
+        this.maxLagNanos = maxLag.toNanos();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(MatchRecordedEvent event) {
+        written(event.playerAId());
+        written(event.playerBId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(LadderMatchRecordedEvent event) {
+        written(event.playerA().playerId());
+        written(event.playerB().playerId());
+    }
+
+    // Also covers ratings corrected by voiding a match, which records no new match
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(PlayerRatingChangedEvent event) {
+        written(event.playerId());
+    }
+
+    private void written(Long playerId) {
+        long now = System.nanoTime();
+        lastWriteNanos.put(playerId, now);
+        if (writesSincePrune.incrementAndGet() >= PRUNE_EVERY) {
+            writesSincePrune.set(0);
+            lastWriteNanos.values().removeIf(writtenAt -> now - writtenAt > maxLagNanos);
+        }
+    }
+
+    /**
+     * Declares that the current transaction reads data owned by the player. Has to run
+     * before the transaction's first statement, which is when the routing decision is made.
+     */
+    public void readingPlayer(Long playerId) {
+        Long writtenAt = lastWriteNanos.get(playerId);
+        if (writtenAt == null || System.nanoTime() - writtenAt > maxLagNanos) {
+            return;
+        }
+        pin();
+    }
+
+    /**
+     * Declares that the current transaction looks up a row by the id a write just handed
+     * out, such as a match returned by its POST. Writes are not tracked per id, so these
+     * lookups always go to the primary; they are single-row reads. Has to run before the
+     * transaction's first statement.
+     */
+    public void readingById() {
+        pin();
+    }
+
+    private void pin() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(PIN_KEY)) {
+            TransactionSynchronizationManager.bindResource(PIN_KEY, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PIN_KEY);
+                }
+            });
+        }
+    }
+
+    static boolean isPinnedToPrimary() {
+        return TransactionSynchronizationManager.hasResource(PIN_KEY);
+    }
+}
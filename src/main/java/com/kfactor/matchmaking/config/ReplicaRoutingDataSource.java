@@ -0,0 +1,23 @@
+package com.kfactor.matchmaking.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * Must sit behind a {@code LazyConnectionDataSourceProxy}: the read-only flag is only
+ * bound to the thread after the transaction manager has asked for a connection.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !ReplicaLagGuard.isPinnedToPrimary()) {
+            return Target.REPLICA;
+        }
+        return Target.PRIMARY;
+    }
+}
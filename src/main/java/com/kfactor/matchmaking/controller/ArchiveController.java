@@ -0,0 +1,41 @@
+package com.kfactor.matchmaking.controller;
+
+import com.kfactor.matchmaking.archive.MatchArchive;
+import com.kfactor.matchmaking.archive.MatchArchiver;
+import com.kfactor.matchmaking.dto.ArchiveStatusDTO;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/archive")
+public class ArchiveController {
+
+    private final MatchArchive matchArchive;
+    private final ObjectProvider<MatchArchiver> matchArchiver;
+
+    public ArchiveController(MatchArchive matchArchive, ObjectProvider<MatchArchiver> matchArchiver) {
+        this.matchArchive = matchArchive;
+        this.matchArchiver = matchArchiver;
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<ArchiveStatusDTO> getStatus() {
+        return ResponseEntity.ok(status());
+    }
+
+    @PostMapping("/run")
+    public ResponseEntity<ArchiveStatusDTO> run() {
+        MatchArchiver archiver = matchArchiver.getIfAvailable();
+        if (archiver == null) {
+            throw new IllegalArgumentException("Match archival is disabled");
+        }
+        archiver.archive();
+        return ResponseEntity.ok(status());
+    }
+
+    private ArchiveStatusDTO status() {
+        return new ArchiveStatusDTO(matchArchiver.getIfAvailable() != null,
+                matchArchive.getSegmentCount(), matchArchive.getArchivedMatchCount());
+    }
+}
@@ -0,0 +1,82 @@
+package com.kfactor.matchmaking.controller;
+
+import com.kfactor.matchmaking.dto.LadderDTO;
+import com.kfactor.matchmaking.dto.MatchDTO;
+import com.kfactor.matchmaking.dto.PlayerStatsDTO;
+import com.kfactor.matchmaking.dto.RatingPointDTO;
+import com.kfactor.matchmaking.model.LadderMatch;
+import com.kfactor.matchmaking.readmodel.PlayerView;
+import com.kfactor.matchmaking.service.LadderService;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/ladders")
+public class LadderController {
+
+    private final LadderService ladderService;
+
+    public LadderController(LadderService ladderService) {
+        this.ladderService = ladderService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<LadderDTO>> getLadders() {
+        return ResponseEntity.ok(ladderService.getLadders());
+    }
+
+    @PostMapping("/{ladder}/matches")
+    public ResponseEntity<LadderMatch> recordMatch(@PathVariable String ladder,
+                                                   @Valid @RequestBody MatchDTO matchDTO) {
+        LadderMatch match = ladderService.recordMatch(
+                ladder,
+                matchDTO.getPlayerAId(),
+                matchDTO.getPlayerBId(),
+                matchDTO.getWinnerId(),
+                matchDTO.getIdempotencyKey()
+        );
+        return ResponseEntity.status(HttpStatus.CREATED).body(match);
+    }
+
+    @GetMapping("/{ladder}/matches/{id}")
+    public ResponseEntity<LadderMatch> getMatchById(@PathVariable String ladder, @PathVariable Long id) {
+        return ResponseEntity.ok(ladderService.getMatchById(ladder, id));
+    }
+
+    @GetMapping("/{ladder}/matches/player/{playerId}")
+    public ResponseEntity<List<LadderMatch>> getMatchesForPlayer(
+            @PathVariable String ladder,
+            @PathVariable Long playerId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ladderService.getMatchesForPlayer(ladder, playerId, page, size));
+    }
+
+    @GetMapping("/{ladder}/players/leaderboard")
+    public ResponseEntity<List<PlayerView>> getLeaderboard(
+            @PathVariable String ladder,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ladderService.getLeaderboard(ladder, limit));
+    }
+
+    @GetMapping("/{ladder}/players/{id}/stats")
+    public ResponseEntity<PlayerStatsDTO> getPlayerStats(@PathVariable String ladder, @PathVariable Long id) {
+        return ResponseEntity.ok(ladderService.getPlayerStats(ladder, id));
+    }
+
+    @GetMapping("/{ladder}/players/{id}/rating-history")
+    public ResponseEntity<List<RatingPointDTO>> getRatingHistory(
+            @PathVariable String ladder,
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) Integer points) {
+        return ResponseEntity.ok(ladderService.getRatingHistory(ladder, id, from, to, points));
+    }
+}
@@ -1,8 +1,11 @@
 package com.kfactor.matchmaking.controller;
 
 import com.kfactor.matchmaking.dto.MatchDTO;
+import com.kfactor.matchmaking.dto.MatchVoidResultDTO;
 import com.kfactor.matchmaking.model.Match;
 import com.kfactor.matchmaking.service.MatchService;
+import com.kfactor.matchmaking.service.MatchSubmissionService;
+import com.kfactor.matchmaking.service.MatchVoidService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,17 +18,23 @@ import java.util.List;
 public class MatchController {
 
     private final MatchService matchService;
+    private final MatchSubmissionService matchSubmissionService;
+    private final MatchVoidService matchVoidService;
 
-    public MatchController(MatchService matchService) {
+    public MatchController(MatchService matchService, MatchSubmissionService matchSubmissionService,
+                           MatchVoidService matchVoidService) {
         this.matchService = matchService;
+        this.matchSubmissionService = matchSubmissionService;
+        this.matchVoidService = matchVoidService;
     }
 
     @PostMapping
     public ResponseEntity<Match> recordMatch(@Valid @RequestBody MatchDTO matchDTO) {
-        Match match = matchService.recordMatch(
+        Match match = matchSubmissionService.submit(
                 matchDTO.getPlayerAId(),
                 matchDTO.getPlayerBId(),
-                matchDTO.getWinnerId()
+                matchDTO.getWinnerId(),
+                matchDTO.getIdempotencyKey()
         );
         return ResponseEntity.status(HttpStatus.CREATED).body(match);
     }
@@ -40,8 +49,16 @@ public class MatchController {
         return ResponseEntity.ok(matchService.getMatchById(id));
     }
 
+    @DeleteMapping("/{id}")
+    public ResponseEntity<MatchVoidResultDTO> voidMatch(@PathVariable Long id) {
+        return ResponseEntity.ok(matchVoidService.voidMatch(id));
+    }
+
     @GetMapping("/player/{playerId}")
-    public ResponseEntity<List<Match>> getMatchesForPlayer(@PathVariable Long playerId) {
-        return ResponseEntity.ok(matchService.getMatchesForPlayer(playerId));
+    public ResponseEntity<List<Match>> getMatchesForPlayer(
+            @PathVariable Long playerId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(matchService.getMatchesForPlayer(playerId, page, size));
     }
 }
\ No newline at end of file
@@ -1,15 +1,31 @@
 package com.kfactor.matchmaking.controller;
 
+import com.kfactor.matchmaking.dto.BatchPlayerDTO;
+import com.kfactor.matchmaking.dto.BatchRegistrationResultDTO;
+import com.kfactor.matchmaking.dto.HistoricalLeaderboardDTO;
 import com.kfactor.matchmaking.dto.PlayerDTO;
 import com.kfactor.matchmaking.dto.PlayerStatsDTO;
+import com.kfactor.matchmaking.dto.RankPointDTO;
+import com.kfactor.matchmaking.dto.RatingPointDTO;
+import com.kfactor.matchmaking.dto.WindowedStandingDTO;
 import com.kfactor.matchmaking.model.Player;
+import com.kfactor.matchmaking.readmodel.PlayerView;
+import com.kfactor.matchmaking.readmodel.RecentResult;
+import com.kfactor.matchmaking.service.LeaderboardMetric;
+import com.kfactor.matchmaking.service.LeaderboardWindow;
+import com.kfactor.matchmaking.service.PlayerQueryService;
+import com.kfactor.matchmaking.service.PlayerRegistrationService;
 import com.kfactor.matchmaking.service.PlayerService;
 import com.kfactor.matchmaking.service.StatsService;
+import com.kfactor.matchmaking.service.WindowedLeaderboardService;
+import com.kfactor.matchmaking.snapshot.LeaderboardHistoryService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.List;
 
 @RestController
@@ -17,11 +33,22 @@ import java.util.List;
 public class PlayerController {
 
     private final PlayerService playerService;
+    private final PlayerQueryService playerQueryService;
+    private final PlayerRegistrationService playerRegistrationService;
     private final StatsService statsService;
+    private final WindowedLeaderboardService windowedLeaderboardService;
+    private final LeaderboardHistoryService leaderboardHistoryService;
 
-    public PlayerController(PlayerService playerService, StatsService statsService) {
+    public PlayerController(PlayerService playerService, PlayerQueryService playerQueryService,
+                            PlayerRegistrationService playerRegistrationService,
+                            StatsService statsService, WindowedLeaderboardService windowedLeaderboardService,
+                            LeaderboardHistoryService leaderboardHistoryService) {
         this.playerService = playerService;
+        this.playerQueryService = playerQueryService;
+        this.playerRegistrationService = playerRegistrationService;
         this.statsService = statsService;
+        this.windowedLeaderboardService = windowedLeaderboardService;
+        this.leaderboardHistoryService = leaderboardHistoryService;
     }
 
     @PostMapping
@@ -30,19 +57,24 @@ public class PlayerController {
         return ResponseEntity.status(HttpStatus.CREATED).body(player);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchRegistrationResultDTO> createPlayers(@Valid @RequestBody BatchPlayerDTO batchPlayerDTO) {
+        return ResponseEntity.ok(playerRegistrationService.registerAll(batchPlayerDTO.getUsernames()));
+    }
+
     @GetMapping
-    public ResponseEntity<List<Player>> getAllPlayers() {
-        return ResponseEntity.ok(playerService.getAllPlayers());
+    public ResponseEntity<List<PlayerView>> getAllPlayers() {
+        return ResponseEntity.ok(playerQueryService.getAllPlayers());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Player> getPlayerById(@PathVariable Long id) {
-        return ResponseEntity.ok(playerService.getPlayerById(id));
+    public ResponseEntity<PlayerView> getPlayerById(@PathVariable Long id) {
+        return ResponseEntity.ok(playerQueryService.getPlayerById(id));
     }
 
     @GetMapping("/username/{username}")
-    public ResponseEntity<Player> getPlayerByUsername(@PathVariable String username) {
-        return ResponseEntity.ok(playerService.getPlayerByUsername(username));
+    public ResponseEntity<PlayerView> getPlayerByUsername(@PathVariable String username) {
+        return ResponseEntity.ok(playerQueryService.getPlayerByUsername(username));
     }
 
     @DeleteMapping("/{id}")
@@ -52,13 +84,51 @@ public class PlayerController {
     }
 
     @GetMapping("/leaderboard")
-    public ResponseEntity<List<Player>> getLeaderboard(
+    public ResponseEntity<List<PlayerView>> getLeaderboard(
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(playerQueryService.getLeaderboard(limit));
+    }
+
+    @GetMapping(value = "/leaderboard", params = "window")
+    public ResponseEntity<List<WindowedStandingDTO>> getWindowedLeaderboard(
+            @RequestParam String window,
+            @RequestParam(defaultValue = "gain") String sort,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(windowedLeaderboardService.getLeaderboard(
+                LeaderboardWindow.fromParam(window), LeaderboardMetric.fromParam(sort), limit));
+    }
+
+    @GetMapping(value = "/leaderboard", params = "at")
+    public ResponseEntity<HistoricalLeaderboardDTO> getLeaderboardAt(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant at,
             @RequestParam(defaultValue = "10") int limit) {
-        return ResponseEntity.ok(playerService.getLeaderboard(limit));
+        return ResponseEntity.ok(leaderboardHistoryService.getLeaderboardAt(at, limit));
     }
 
     @GetMapping("/{id}/stats")
     public ResponseEntity<PlayerStatsDTO> getPlayerStats(@PathVariable Long id) {
-        return ResponseEntity.ok(statsService.getPlayerStats(id));
+        return ResponseEntity.ok(playerQueryService.getPlayerStats(id));
+    }
+
+    @GetMapping("/{id}/rating-history")
+    public ResponseEntity<List<RatingPointDTO>> getRatingHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) Integer points) {
+        return ResponseEntity.ok(statsService.getRatingHistory(id, from, to, points));
+    }
+
+    @GetMapping("/{id}/rank-history")
+    public ResponseEntity<List<RankPointDTO>> getRankHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        return ResponseEntity.ok(leaderboardHistoryService.getRankHistory(id, from, to));
+    }
+
+    @GetMapping("/{id}/recent")
+    public ResponseEntity<List<RecentResult>> getRecentResults(@PathVariable Long id) {
+        return ResponseEntity.ok(playerQueryService.getRecentResults(id));
     }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.kfactor.matchmaking.controller;
+
+import com.kfactor.matchmaking.dto.PredictionRequestDTO;
+import com.kfactor.matchmaking.dto.PredictionResultDTO;
+import com.kfactor.matchmaking.service.PredictionService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/predict")
+public class PredictionController {
+
+    private final PredictionService predictionService;
+
+    public PredictionController(PredictionService predictionService) {
+        this.predictionService = predictionService;
+    }
+
+    @PostMapping
+    public ResponseEntity<PredictionResultDTO> predict(@RequestBody PredictionRequestDTO request) {
+        return ResponseEntity.ok(predictionService.predict(request));
+    }
+}
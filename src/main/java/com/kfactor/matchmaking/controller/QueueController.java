@@ -0,0 +1,45 @@
+package com.kfactor.matchmaking.controller;
+
+import com.kfactor.matchmaking.dto.MatchmakingTickDTO;
+import com.kfactor.matchmaking.dto.QueueStatusDTO;
+import com.kfactor.matchmaking.queue.MatchmakingService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/queue")
+public class QueueController {
+
+    private final MatchmakingService matchmakingService;
+
+    public QueueController(MatchmakingService matchmakingService) {
+        this.matchmakingService = matchmakingService;
+    }
+
+    @PostMapping("/{playerId}")
+    public ResponseEntity<QueueStatusDTO> join(@PathVariable Long playerId) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(matchmakingService.join(playerId));
+    }
+
+    @GetMapping("/{playerId}")
+    public ResponseEntity<QueueStatusDTO> getStatus(@PathVariable Long playerId) {
+        return ResponseEntity.ok(matchmakingService.getStatus(playerId));
+    }
+
+    @DeleteMapping("/{playerId}")
+    public ResponseEntity<Void> leave(@PathVariable Long playerId) {
+        matchmakingService.leave(playerId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/tick")
+    public ResponseEntity<MatchmakingTickDTO> tick() {
+        return ResponseEntity.ok(matchmakingService.tick());
+    }
+
+    @GetMapping("/tick")
+    public ResponseEntity<MatchmakingTickDTO> getLastTick() {
+        return ResponseEntity.ok(matchmakingService.getLastTick());
+    }
+}
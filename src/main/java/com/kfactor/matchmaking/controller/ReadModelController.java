@@ -0,0 +1,31 @@
+package com.kfactor.matchmaking.controller;
+
+import com.kfactor.matchmaking.dto.ReadModelStatusDTO;
+import com.kfactor.matchmaking.readmodel.PlayerReadModel;
+import com.kfactor.matchmaking.readmodel.ReadModelProjector;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/read-model")
+public class ReadModelController {
+
+    private final PlayerReadModel readModel;
+    private final ReadModelProjector projector;
+
+    public ReadModelController(PlayerReadModel readModel, ReadModelProjector projector) {
+        this.readModel = readModel;
+        this.projector = projector;
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<ReadModelStatusDTO> getStatus() {
+        return ResponseEntity.ok(readModel.getStatus());
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<ReadModelStatusDTO> rebuild() {
+        projector.rebuild();
+        return ResponseEntity.ok(readModel.getStatus());
+    }
+}
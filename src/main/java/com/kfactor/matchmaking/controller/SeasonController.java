@@ -0,0 +1,39 @@
+package com.kfactor.matchmaking.controller;
+
+import com.kfactor.matchmaking.dto.SeasonDTO;
+import com.kfactor.matchmaking.dto.SeasonStandingDTO;
+import com.kfactor.matchmaking.season.SeasonService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/seasons")
+public class SeasonController {
+
+    private final SeasonService seasonService;
+
+    public SeasonController(SeasonService seasonService) {
+        this.seasonService = seasonService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<SeasonDTO>> getSeasons() {
+        return ResponseEntity.ok(seasonService.getSeasons());
+    }
+
+    @PostMapping("/rollover")
+    public ResponseEntity<SeasonDTO> rollover() {
+        return ResponseEntity.status(HttpStatus.CREATED).body(seasonService.rollover());
+    }
+
+    @GetMapping("/{id}/leaderboard")
+    public ResponseEntity<List<SeasonStandingDTO>> getLeaderboard(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(seasonService.getLeaderboard(id, offset, limit));
+    }
+}
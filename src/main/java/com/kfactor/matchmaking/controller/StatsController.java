@@ -0,0 +1,23 @@
+package com.kfactor.matchmaking.controller;
+
+import com.kfactor.matchmaking.dto.RatingDistributionDTO;
+import com.kfactor.matchmaking.service.PlayerQueryService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    private final PlayerQueryService playerQueryService;
+
+    public StatsController(PlayerQueryService playerQueryService) {
+        this.playerQueryService = playerQueryService;
+    }
+
+    @GetMapping("/ratings/distribution")
+    public ResponseEntity<RatingDistributionDTO> getRatingDistribution(
+            @RequestParam(defaultValue = "25") int bucket) {
+        return ResponseEntity.ok(playerQueryService.getRatingDistribution(bucket));
+    }
+}
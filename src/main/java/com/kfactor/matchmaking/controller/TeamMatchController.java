@@ -0,0 +1,31 @@
+package com.kfactor.matchmaking.controller;
+
+import com.kfactor.matchmaking.dto.TeamMatchDTO;
+import com.kfactor.matchmaking.model.TeamMatch;
+import com.kfactor.matchmaking.service.TeamMatchService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/team-matches")
+public class TeamMatchController {
+
+    private final TeamMatchService teamMatchService;
+
+    public TeamMatchController(TeamMatchService teamMatchService) {
+        this.teamMatchService = teamMatchService;
+    }
+
+    @PostMapping
+    public ResponseEntity<TeamMatch> recordMatch(@Valid @RequestBody TeamMatchDTO teamMatchDTO) {
+        TeamMatch match = teamMatchService.recordMatch(teamMatchDTO.getParticipants());
+        return ResponseEntity.status(HttpStatus.CREATED).body(match);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<TeamMatch> getMatchById(@PathVariable Long id) {
+        return ResponseEntity.ok(teamMatchService.getMatchById(id));
+    }
+}
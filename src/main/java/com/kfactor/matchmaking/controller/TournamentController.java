@@ -0,0 +1,67 @@
+package com.kfactor.matchmaking.controller;
+
+import com.kfactor.matchmaking.dto.TournamentDTO;
+import com.kfactor.matchmaking.dto.TournamentEntriesDTO;
+import com.kfactor.matchmaking.dto.TournamentPairingDTO;
+import com.kfactor.matchmaking.dto.TournamentResultDTO;
+import com.kfactor.matchmaking.dto.TournamentStandingDTO;
+import com.kfactor.matchmaking.model.Tournament;
+import com.kfactor.matchmaking.service.TournamentService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/tournaments")
+public class TournamentController {
+
+    private final TournamentService tournamentService;
+
+    public TournamentController(TournamentService tournamentService) {
+        this.tournamentService = tournamentService;
+    }
+
+    @PostMapping
+    public ResponseEntity<Tournament> createTournament(@Valid @RequestBody TournamentDTO tournamentDTO) {
+        Tournament tournament = tournamentService.createTournament(
+                tournamentDTO.getName(), tournamentDTO.getFormat(), tournamentDTO.getRounds());
+        return ResponseEntity.status(HttpStatus.CREATED).body(tournament);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Tournament> getTournament(@PathVariable Long id) {
+        return ResponseEntity.ok(tournamentService.getTournament(id));
+    }
+
+    @PostMapping("/{id}/entries")
+    public ResponseEntity<Map<String, Integer>> register(@PathVariable Long id,
+                                                         @Valid @RequestBody TournamentEntriesDTO entriesDTO) {
+        int entries = tournamentService.register(id, entriesDTO.getPlayerIds());
+        return ResponseEntity.ok(Map.of("entries", entries));
+    }
+
+    @PostMapping("/{id}/rounds")
+    public ResponseEntity<List<TournamentPairingDTO>> startNextRound(@PathVariable Long id) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(tournamentService.startNextRound(id));
+    }
+
+    @GetMapping("/{id}/rounds/{round}")
+    public ResponseEntity<List<TournamentPairingDTO>> getRound(@PathVariable Long id, @PathVariable int round) {
+        return ResponseEntity.ok(tournamentService.getRound(id, round));
+    }
+
+    @PostMapping("/{id}/pairings/{pairingId}/result")
+    public ResponseEntity<TournamentPairingDTO> recordResult(@PathVariable Long id, @PathVariable Long pairingId,
+                                                             @Valid @RequestBody TournamentResultDTO resultDTO) {
+        return ResponseEntity.ok(tournamentService.recordResult(id, pairingId, resultDTO.getWinnerId()));
+    }
+
+    @GetMapping("/{id}/standings")
+    public ResponseEntity<List<TournamentStandingDTO>> getStandings(@PathVariable Long id) {
+        return ResponseEntity.ok(tournamentService.getStandings(id));
+    }
+}
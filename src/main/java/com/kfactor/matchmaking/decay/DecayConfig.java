@@ -0,0 +1,13 @@
+package com.kfactor.matchmaking.decay;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Rating decay for inactive players. The job does not run unless
+ * {@code matchmaking.decay.enabled=true}.
+ */
+@Configuration
+@EnableConfigurationProperties(DecayProperties.class)
+public class DecayConfig {
+}
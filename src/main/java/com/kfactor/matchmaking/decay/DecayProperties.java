@@ -0,0 +1,38 @@
+package com.kfactor.matchmaking.decay;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("matchmaking.decay")
+public class DecayProperties {
+
+    private boolean enabled;
+    private Duration interval = Duration.ofDays(1);
+
+    // Players who have not played for this long lose rating on every run
+    private Duration inactiveAfter = Duration.ofDays(30);
+    private int floor = 1200;
+
+    // Share of the distance to the floor lost per run, rounded up to at least one point
+    private int percent = 5;
+    private int chunkSize = 1000;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Duration getInterval() { return interval; }
+    public void setInterval(Duration interval) { this.interval = interval; }
+
+    public Duration getInactiveAfter() { return inactiveAfter; }
+    public void setInactiveAfter(Duration inactiveAfter) { this.inactiveAfter = inactiveAfter; }
+
+    public int getFloor() { return floor; }
+    public void setFloor(int floor) { this.floor = floor; }
+
+    public int getPercent() { return percent; }
+    public void setPercent(int percent) { this.percent = percent; }
+
+    public int getChunkSize() { return chunkSize; }
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+}
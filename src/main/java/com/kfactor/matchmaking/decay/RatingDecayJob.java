@@ -0,0 +1,109 @@
+package com.kfactor.matchmaking.decay;
+
+import com.kfactor.matchmaking.event.PlayerRatingChangedEvent;
+import com.kfactor.matchmaking.model.RatingDecayRun;
+import com.kfactor.matchmaking.repository.PlayerBatchRepository;
+import com.kfactor.matchmaking.repository.RatingDecayRunRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+/**
+ * Lowers the ratings of players who have not played for {@code matchmaking.decay.inactive-after}
+ * toward {@code matchmaking.decay.floor}. Each run walks the players in id ranges of
+ * {@code chunk-size}; every range is one set-based UPDATE in its own short transaction,
+ * which also advances the run's checkpoint. A run interrupted by a crash is resumed
+ * from its checkpoint by the next call. Rating-changed events are published for the
+ * decayed players, so the read model and other instances follow.
+ */
+@Component
+@ConditionalOnProperty("matchmaking.decay.enabled")
+public class RatingDecayJob implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingDecayJob.class);
+
+    private final PlayerBatchRepository playerBatchRepository;
+    private final RatingDecayRunRepository runRepository;
+    private final DecayProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    public RatingDecayJob(PlayerBatchRepository playerBatchRepository, RatingDecayRunRepository runRepository,
+                          DecayProperties properties, ApplicationEventPublisher eventPublisher,
+                          PlatformTransactionManager transactionManager, Clock clock) {
+        this.playerBatchRepository = playerBatchRepository;
+        this.runRepository = runRepository;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(new FixedDelayTask(this::decayQuietly, properties.getInterval(), properties.getInterval()));
+    }
+
+    /**
+     * Finishes the interrupted run if there is one, otherwise runs a new pass, and returns
+     * the number of players decayed by this call.
+     */
+    public synchronized long decay() {
+        RatingDecayRun run = transactionTemplate.execute(status -> runRepository.findFirstByFinishedAtIsNullOrderByIdAsc()
+                .orElseGet(this::start));
+        // Players decayed within the last interval, by an earlier pass or this one before a crash, are skipped
+        Instant decayedBefore = run.getStartedAt().minus(properties.getInterval());
+        int chunkSize = properties.getChunkSize();
+
+        long decayed = 0;
+        for (long next = run.getNextPlayerId(); next <= run.getLastPlayerId(); next += chunkSize) {
+            long from = next;
+            long to = Math.min(from + chunkSize - 1, run.getLastPlayerId());
+            decayed += transactionTemplate.execute(status -> decayChunk(run, from, to, decayedBefore));
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                runRepository.findById(run.getId()).orElseThrow().finish(clock.instant()));
+
+        if (decayed > 0) {
+            log.info("Decayed the ratings of {} players inactive since {}", decayed, run.getInactiveBefore());
+        }
+        return decayed;
+    }
+
+    private RatingDecayRun start() {
+        // Micros, so the stamp matches what the timestamp column stores
+        Instant startedAt = clock.instant().truncatedTo(ChronoUnit.MICROS);
+        return runRepository.save(new RatingDecayRun(startedAt, startedAt.minus(properties.getInactiveAfter()),
+                playerBatchRepository.findMaxId(), properties.getFloor(), properties.getPercent()));
+    }
+
+    private int decayChunk(RatingDecayRun run, long from, long to, Instant decayedBefore) {
+        Map<Long, Integer> ratings = playerBatchRepository.decayRatings(from, to, run.getFloor(), run.getPercent(),
+                run.getInactiveBefore(), decayedBefore, run.getStartedAt());
+        Instant now = clock.instant();
+        ratings.forEach((playerId, rating) -> eventPublisher.publishEvent(new PlayerRatingChangedEvent(playerId, rating, now)));
+        runRepository.findById(run.getId()).orElseThrow().advance(to + 1, ratings.size());
+        return ratings.size();
+    }
+
+    private void decayQuietly() {
+        try {
+            decay();
+        } catch (RuntimeException e) {
+            log.warn("Rating decay failed", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.kfactor.matchmaking.dto;
+
+public class ArchiveStatusDTO {
+    private boolean enabled;
+    private int segments;
+    private long archivedMatches;
+
+    public ArchiveStatusDTO(boolean enabled, int segments, long archivedMatches) {
+        this.enabled = enabled;
+        this.segments = segments;
+        this.archivedMatches = archivedMatches;
+    }
+
+    // Getters
+    public boolean isEnabled() { return enabled; }
+    public int getSegments() { return segments; }
+    public long getArchivedMatches() { return archivedMatches; }
+}
@@ -0,0 +1,24 @@
+package com.kfactor.matchmaking.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BatchPlayerDTO {
+
+    @NotEmpty(message = "Usernames are required")
+    @Size(max = 100000, message = "At most 100000 usernames per batch")
+    private List<String> usernames;
+
+    // Constructors
+    public BatchPlayerDTO() {}
+
+    public BatchPlayerDTO(List<String> usernames) {
+        this.usernames = usernames;
+    }
+
+    // Getters and setters
+    public List<String> getUsernames() { return usernames; }
+    public void setUsernames(List<String> usernames) { this.usernames = usernames; }
+}
@@ -0,0 +1,21 @@
+package com.kfactor.matchmaking.dto;
+
+import java.util.Map;
+
+public class BatchRegistrationResultDTO {
+
+    // Username -> id of each created player, in request order
+    private Map<String, Long> created;
+
+    // Username -> reason it was not created
+    private Map<String, String> conflicts;
+
+    public BatchRegistrationResultDTO(Map<String, Long> created, Map<String, String> conflicts) {
+        this.created = created;
+        this.conflicts = conflicts;
+    }
+
+    // Getters
+    public Map<String, Long> getCreated() { return created; }
+    public Map<String, String> getConflicts() { return conflicts; }
+}
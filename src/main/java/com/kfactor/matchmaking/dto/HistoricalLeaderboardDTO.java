@@ -0,0 +1,21 @@
+package com.kfactor.matchmaking.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class HistoricalLeaderboardDTO {
+    private Instant snapshotTakenAt;
+    private int players;
+    private List<RankedPlayerDTO> standings;
+
+    public HistoricalLeaderboardDTO(Instant snapshotTakenAt, int players, List<RankedPlayerDTO> standings) {
+        this.snapshotTakenAt = snapshotTakenAt;
+        this.players = players;
+        this.standings = standings;
+    }
+
+    // Getters
+    public Instant getSnapshotTakenAt() { return snapshotTakenAt; }
+    public int getPlayers() { return players; }
+    public List<RankedPlayerDTO> getStandings() { return standings; }
+}
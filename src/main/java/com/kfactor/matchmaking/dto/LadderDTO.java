@@ -0,0 +1,15 @@
+package com.kfactor.matchmaking.dto;
+
+public class LadderDTO {
+    private String name;
+    private long players;
+
+    public LadderDTO(String name, long players) {
+        this.name = name;
+        this.players = players;
+    }
+
+    // Getters
+    public String getName() { return name; }
+    public long getPlayers() { return players; }
+}
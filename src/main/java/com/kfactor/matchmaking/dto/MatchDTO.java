@@ -1,6 +1,7 @@
 package com.kfactor.matchmaking.dto;
 
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 public class MatchDTO {
 
@@ -13,6 +14,9 @@ public class MatchDTO {
     @NotNull(message = "Winner ID is required")
     private Long winnerId;
 
+    @Size(max = 64, message = "Idempotency key must be at most 64 characters")
+    private String idempotencyKey;
+
     // Constructors
     public MatchDTO() {}
 
@@ -31,4 +35,7 @@ public class MatchDTO {
 
     public Long getWinnerId() { return winnerId; }
     public void setWinnerId(Long winnerId) { this.winnerId = winnerId; }
+
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
 }
\ No newline at end of file
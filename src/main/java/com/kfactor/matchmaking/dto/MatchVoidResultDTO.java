@@ -0,0 +1,21 @@
+package com.kfactor.matchmaking.dto;
+
+public class MatchVoidResultDTO {
+    private Long matchId;
+    private int touchedMatches;
+    private int playersUpdated;
+    private long elapsedMillis;
+
+    public MatchVoidResultDTO(Long matchId, int touchedMatches, int playersUpdated, long elapsedMillis) {
+        this.matchId = matchId;
+        this.touchedMatches = touchedMatches;
+        this.playersUpdated = playersUpdated;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // Getters
+    public Long getMatchId() { return matchId; }
+    public int getTouchedMatches() { return touchedMatches; }
+    public int getPlayersUpdated() { return playersUpdated; }
+    public long getElapsedMillis() { return elapsedMillis; }
+}
@@ -0,0 +1,36 @@
+package com.kfactor.matchmaking.dto;
+
+import java.time.Instant;
+
+public class MatchmakingTickDTO {
+    private Instant ranAt;
+    private int waiting;
+    private int pairs;
+    private int stillWaiting;
+    private int bands;
+    private double meanRatingGap;
+    private int maxRatingGap;
+    private double computeMillis;
+
+    public MatchmakingTickDTO(Instant ranAt, int waiting, int pairs, int stillWaiting, int bands,
+                              double meanRatingGap, int maxRatingGap, double computeMillis) {
+        this.ranAt = ranAt;
+        this.waiting = waiting;
+        this.pairs = pairs;
+        this.stillWaiting = stillWaiting;
+        this.bands = bands;
+        this.meanRatingGap = meanRatingGap;
+        this.maxRatingGap = maxRatingGap;
+        this.computeMillis = computeMillis;
+    }
+
+    // Getters
+    public Instant getRanAt() { return ranAt; }
+    public int getWaiting() { return waiting; }
+    public int getPairs() { return pairs; }
+    public int getStillWaiting() { return stillWaiting; }
+    public int getBands() { return bands; }
+    public double getMeanRatingGap() { return meanRatingGap; }
+    public int getMaxRatingGap() { return maxRatingGap; }
+    public double getComputeMillis() { return computeMillis; }
+}
@@ -1,5 +1,7 @@
 package com.kfactor.matchmaking.dto;
 
+import java.time.Instant;
+
 public class PlayerStatsDTO {
     private Long playerId;
     private String username;
@@ -8,8 +10,14 @@ public class PlayerStatsDTO {
     private int wins;
     private int losses;
     private double winRate;
+    private Instant lastPlayedAt;
 
     public PlayerStatsDTO(Long playerId, String username, int rating, int totalMatches, int wins, int losses) {
+        this(playerId, username, rating, totalMatches, wins, losses, null);
+    }
+
+    public PlayerStatsDTO(Long playerId, String username, int rating, int totalMatches, int wins, int losses,
+                          Instant lastPlayedAt) {
         this.playerId = playerId;
         this.username = username;
         this.rating = rating;
@@ -17,6 +25,7 @@ public class PlayerStatsDTO {
         this.wins = wins;
         this.losses = losses;
         this.winRate = totalMatches > 0 ? (double) wins / totalMatches * 100 : 0.0;
+        this.lastPlayedAt = lastPlayedAt;
     }
 
     // Getters
@@ -27,4 +36,5 @@ public class PlayerStatsDTO {
     public int getWins() { return wins; }
     public int getLosses() { return losses; }
     public double getWinRate() { return winRate; }
+    public Instant getLastPlayedAt() { return lastPlayedAt; }
 }
\ No newline at end of file
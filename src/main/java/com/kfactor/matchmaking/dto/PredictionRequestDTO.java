@@ -0,0 +1,26 @@
+package com.kfactor.matchmaking.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PredictionRequestDTO {
+    // Each entry is [playerAId, playerBId]
+    private List<long[]> playerPairs = new ArrayList<>();
+    // Each entry is [ratingA, ratingB]
+    private List<int[]> ratingPairs = new ArrayList<>();
+
+    // Constructors
+    public PredictionRequestDTO() {}
+
+    public PredictionRequestDTO(List<long[]> playerPairs, List<int[]> ratingPairs) {
+        this.playerPairs = playerPairs;
+        this.ratingPairs = ratingPairs;
+    }
+
+    // Getters and setters
+    public List<long[]> getPlayerPairs() { return playerPairs; }
+    public void setPlayerPairs(List<long[]> playerPairs) { this.playerPairs = playerPairs; }
+
+    public List<int[]> getRatingPairs() { return ratingPairs; }
+    public void setRatingPairs(List<int[]> ratingPairs) { this.ratingPairs = ratingPairs; }
+}
@@ -0,0 +1,16 @@
+package com.kfactor.matchmaking.dto;
+
+public class PredictionResultDTO {
+    // Probability that A wins, in request order
+    private double[] playerPairs;
+    private double[] ratingPairs;
+
+    public PredictionResultDTO(double[] playerPairs, double[] ratingPairs) {
+        this.playerPairs = playerPairs;
+        this.ratingPairs = ratingPairs;
+    }
+
+    // Getters
+    public double[] getPlayerPairs() { return playerPairs; }
+    public double[] getRatingPairs() { return ratingPairs; }
+}
@@ -0,0 +1,27 @@
+package com.kfactor.matchmaking.dto;
+
+public class QueueStatusDTO {
+
+    public enum State { WAITING, MATCHED }
+
+    private Long playerId;
+    private State state;
+    private int rating;
+    private long waitedMillis;
+    private Long opponentId;
+
+    public QueueStatusDTO(Long playerId, State state, int rating, long waitedMillis, Long opponentId) {
+        this.playerId = playerId;
+        this.state = state;
+        this.rating = rating;
+        this.waitedMillis = waitedMillis;
+        this.opponentId = opponentId;
+    }
+
+    // Getters
+    public Long getPlayerId() { return playerId; }
+    public State getState() { return state; }
+    public int getRating() { return rating; }
+    public long getWaitedMillis() { return waitedMillis; }
+    public Long getOpponentId() { return opponentId; }
+}
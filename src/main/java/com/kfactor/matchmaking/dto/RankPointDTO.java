@@ -0,0 +1,23 @@
+package com.kfactor.matchmaking.dto;
+
+import java.time.Instant;
+
+public class RankPointDTO {
+    private Instant takenAt;
+    private int rank;
+    private int rating;
+    private int players;
+
+    public RankPointDTO(Instant takenAt, int rank, int rating, int players) {
+        this.takenAt = takenAt;
+        this.rank = rank;
+        this.rating = rating;
+        this.players = players;
+    }
+
+    // Getters
+    public Instant getTakenAt() { return takenAt; }
+    public int getRank() { return rank; }
+    public int getRating() { return rating; }
+    public int getPlayers() { return players; }
+}
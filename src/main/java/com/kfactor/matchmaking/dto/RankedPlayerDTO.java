@@ -0,0 +1,21 @@
+package com.kfactor.matchmaking.dto;
+
+public class RankedPlayerDTO {
+    private int rank;
+    private Long playerId;
+    private String username;
+    private int rating;
+
+    public RankedPlayerDTO(int rank, Long playerId, String username, int rating) {
+        this.rank = rank;
+        this.playerId = playerId;
+        this.username = username;
+        this.rating = rating;
+    }
+
+    // Getters
+    public int getRank() { return rank; }
+    public Long getPlayerId() { return playerId; }
+    public String getUsername() { return username; }
+    public int getRating() { return rating; }
+}
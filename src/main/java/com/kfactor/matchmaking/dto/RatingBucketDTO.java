@@ -0,0 +1,18 @@
+package com.kfactor.matchmaking.dto;
+
+public class RatingBucketDTO {
+    private int from;
+    private int to;
+    private long count;
+
+    public RatingBucketDTO(int from, int to, long count) {
+        this.from = from;
+        this.to = to;
+        this.count = count;
+    }
+
+    // Getters
+    public int getFrom() { return from; }
+    public int getTo() { return to; }
+    public long getCount() { return count; }
+}
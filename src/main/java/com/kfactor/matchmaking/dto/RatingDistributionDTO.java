@@ -0,0 +1,37 @@
+package com.kfactor.matchmaking.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class RatingDistributionDTO {
+    private long players;
+    private double mean;
+    private double stddev;
+    private Integer min;
+    private Integer max;
+    private int bucket;
+    private Map<String, Integer> quantiles;
+    private List<RatingBucketDTO> buckets;
+
+    public RatingDistributionDTO(long players, double mean, double stddev, Integer min, Integer max, int bucket,
+                                 Map<String, Integer> quantiles, List<RatingBucketDTO> buckets) {
+        this.players = players;
+        this.mean = mean;
+        this.stddev = stddev;
+        this.min = min;
+        this.max = max;
+        this.bucket = bucket;
+        this.quantiles = quantiles;
+        this.buckets = buckets;
+    }
+
+    // Getters
+    public long getPlayers() { return players; }
+    public double getMean() { return mean; }
+    public double getStddev() { return stddev; }
+    public Integer getMin() { return min; }
+    public Integer getMax() { return max; }
+    public int getBucket() { return bucket; }
+    public Map<String, Integer> getQuantiles() { return quantiles; }
+    public List<RatingBucketDTO> getBuckets() { return buckets; }
+}
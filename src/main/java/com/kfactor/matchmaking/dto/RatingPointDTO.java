@@ -0,0 +1,17 @@
+package com.kfactor.matchmaking.dto;
+
+import java.time.Instant;
+
+public class RatingPointDTO {
+    private Instant playedAt;
+    private int rating;
+
+    public RatingPointDTO(Instant playedAt, Integer rating) {
+        this.playedAt = playedAt;
+        this.rating = rating;
+    }
+
+    // Getters
+    public Instant getPlayedAt() { return playedAt; }
+    public int getRating() { return rating; }
+}
@@ -0,0 +1,33 @@
+package com.kfactor.matchmaking.dto;
+
+import java.time.Instant;
+
+public class ReadModelStatusDTO {
+    private int players;
+    private long eventsApplied;
+    private long lastEventLagMicros;
+    private long maxEventLagMicros;
+    private Instant lastEventAppliedAt;
+    private Instant lastRebuildAt;
+    private long lastRebuildMillis;
+
+    public ReadModelStatusDTO(int players, long eventsApplied, long lastEventLagMicros, long maxEventLagMicros,
+                              Instant lastEventAppliedAt, Instant lastRebuildAt, long lastRebuildMillis) {
+        this.players = players;
+        this.eventsApplied = eventsApplied;
+        this.lastEventLagMicros = lastEventLagMicros;
+        this.maxEventLagMicros = maxEventLagMicros;
+        this.lastEventAppliedAt = lastEventAppliedAt;
+        this.lastRebuildAt = lastRebuildAt;
+        this.lastRebuildMillis = lastRebuildMillis;
+    }
+
+    // Getters
+    public int getPlayers() { return players; }
+    public long getEventsApplied() { return eventsApplied; }
+    public long getLastEventLagMicros() { return lastEventLagMicros; }
+    public long getMaxEventLagMicros() { return maxEventLagMicros; }
+    public Instant getLastEventAppliedAt() { return lastEventAppliedAt; }
+    public Instant getLastRebuildAt() { return lastRebuildAt; }
+    public long getLastRebuildMillis() { return lastRebuildMillis; }
+}
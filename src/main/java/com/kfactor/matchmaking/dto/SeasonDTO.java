@@ -0,0 +1,26 @@
+package com.kfactor.matchmaking.dto;
+
+import java.time.Instant;
+
+public class SeasonDTO {
+    private Long id;
+    private Instant startedAt;
+    private Instant endedAt;
+    private long players;
+    private boolean resetComplete;
+
+    public SeasonDTO(Long id, Instant startedAt, Instant endedAt, long players, boolean resetComplete) {
+        this.id = id;
+        this.startedAt = startedAt;
+        this.endedAt = endedAt;
+        this.players = players;
+        this.resetComplete = resetComplete;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public Instant getStartedAt() { return startedAt; }
+    public Instant getEndedAt() { return endedAt; }
+    public long getPlayers() { return players; }
+    public boolean isResetComplete() { return resetComplete; }
+}
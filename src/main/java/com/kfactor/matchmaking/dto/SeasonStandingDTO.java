@@ -0,0 +1,21 @@
+package com.kfactor.matchmaking.dto;
+
+public class SeasonStandingDTO {
+    private int place;
+    private Long playerId;
+    private String username;
+    private int rating;
+
+    public SeasonStandingDTO(int place, Long playerId, String username, int rating) {
+        this.place = place;
+        this.playerId = playerId;
+        this.username = username;
+        this.rating = rating;
+    }
+
+    // Getters
+    public int getPlace() { return place; }
+    public Long getPlayerId() { return playerId; }
+    public String getUsername() { return username; }
+    public int getRating() { return rating; }
+}
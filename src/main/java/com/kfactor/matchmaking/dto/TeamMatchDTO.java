@@ -0,0 +1,25 @@
+package com.kfactor.matchmaking.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class TeamMatchDTO {
+
+    @NotNull(message = "Participants are required")
+    @Size(min = 2, max = 128, message = "A match has between 2 and 128 participants")
+    private List<@Valid TeamMatchParticipantDTO> participants;
+
+    // Constructors
+    public TeamMatchDTO() {}
+
+    public TeamMatchDTO(List<TeamMatchParticipantDTO> participants) {
+        this.participants = participants;
+    }
+
+    // Getters and setters
+    public List<TeamMatchParticipantDTO> getParticipants() { return participants; }
+    public void setParticipants(List<TeamMatchParticipantDTO> participants) { this.participants = participants; }
+}
@@ -0,0 +1,36 @@
+package com.kfactor.matchmaking.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class TeamMatchParticipantDTO {
+
+    @NotNull(message = "Player ID is required")
+    private Long playerId;
+
+    // Omitted in a free-for-all: every player is then their own team
+    private Integer team;
+
+    @NotNull(message = "Placement is required")
+    @Min(value = 1, message = "Placement must be at least 1")
+    private Integer placement;
+
+    // Constructors
+    public TeamMatchParticipantDTO() {}
+
+    public TeamMatchParticipantDTO(Long playerId, Integer team, Integer placement) {
+        this.playerId = playerId;
+        this.team = team;
+        this.placement = placement;
+    }
+
+    // Getters and setters
+    public Long getPlayerId() { return playerId; }
+    public void setPlayerId(Long playerId) { this.playerId = playerId; }
+
+    public Integer getTeam() { return team; }
+    public void setTeam(Integer team) { this.team = team; }
+
+    public Integer getPlacement() { return placement; }
+    public void setPlacement(Integer placement) { this.placement = placement; }
+}
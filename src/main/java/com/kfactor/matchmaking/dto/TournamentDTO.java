@@ -0,0 +1,40 @@
+package com.kfactor.matchmaking.dto;
+
+import com.kfactor.matchmaking.model.Tournament;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public class TournamentDTO {
+
+    @NotBlank(message = "Name is required")
+    private String name;
+
+    @NotNull(message = "Format is required")
+    private Tournament.Format format;
+
+    // Swiss only; defaults to enough rounds to separate a single winner
+    @Min(value = 1, message = "A tournament has at least 1 round")
+    @Max(value = 64, message = "A tournament has at most 64 rounds")
+    private Integer rounds;
+
+    // Constructors
+    public TournamentDTO() {}
+
+    public TournamentDTO(String name, Tournament.Format format, Integer rounds) {
+        this.name = name;
+        this.format = format;
+        this.rounds = rounds;
+    }
+
+    // Getters and setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Tournament.Format getFormat() { return format; }
+    public void setFormat(Tournament.Format format) { this.format = format; }
+
+    public Integer getRounds() { return rounds; }
+    public void setRounds(Integer rounds) { this.rounds = rounds; }
+}
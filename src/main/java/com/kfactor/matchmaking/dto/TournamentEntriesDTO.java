@@ -0,0 +1,24 @@
+package com.kfactor.matchmaking.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class TournamentEntriesDTO {
+
+    @NotEmpty(message = "Player IDs are required")
+    @Size(max = 100000, message = "At most 100000 entries per request")
+    private List<Long> playerIds;
+
+    // Constructors
+    public TournamentEntriesDTO() {}
+
+    public TournamentEntriesDTO(List<Long> playerIds) {
+        this.playerIds = playerIds;
+    }
+
+    // Getters and setters
+    public List<Long> getPlayerIds() { return playerIds; }
+    public void setPlayerIds(List<Long> playerIds) { this.playerIds = playerIds; }
+}
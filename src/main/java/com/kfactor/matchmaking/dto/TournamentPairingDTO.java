@@ -0,0 +1,41 @@
+package com.kfactor.matchmaking.dto;
+
+import com.kfactor.matchmaking.model.TournamentPairing;
+
+public class TournamentPairingDTO {
+    private Long id;
+    private int round;
+    private int slot;
+    private Long playerAId;
+    private String playerAUsername;
+    private Long playerBId;
+    private String playerBUsername;
+    private Long matchId;
+    private Long winnerId;
+
+    public TournamentPairingDTO(TournamentPairing pairing) {
+        this.id = pairing.getId();
+        this.round = pairing.getRound();
+        this.slot = pairing.getSlot();
+        this.playerAId = pairing.getPlayerA().getId();
+        this.playerAUsername = pairing.getPlayerA().getUsername();
+        if (pairing.getPlayerB() != null) {
+            this.playerBId = pairing.getPlayerB().getId();
+            this.playerBUsername = pairing.getPlayerB().getUsername();
+        }
+        this.matchId = pairing.getMatch() != null ? pairing.getMatch().getId() : null;
+        this.winnerId = pairing.getWinnerId();
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public int getRound() { return round; }
+    public int getSlot() { return slot; }
+    public Long getPlayerAId() { return playerAId; }
+    public String getPlayerAUsername() { return playerAUsername; }
+    public Long getPlayerBId() { return playerBId; }
+    public String getPlayerBUsername() { return playerBUsername; }
+    public Long getMatchId() { return matchId; }
+    public Long getWinnerId() { return winnerId; }
+    public boolean isBye() { return playerBId == null; }
+}
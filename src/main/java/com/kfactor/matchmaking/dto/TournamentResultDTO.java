@@ -0,0 +1,20 @@
+package com.kfactor.matchmaking.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public class TournamentResultDTO {
+
+    @NotNull(message = "Winner ID is required")
+    private Long winnerId;
+
+    // Constructors
+    public TournamentResultDTO() {}
+
+    public TournamentResultDTO(Long winnerId) {
+        this.winnerId = winnerId;
+    }
+
+    // Getters and setters
+    public Long getWinnerId() { return winnerId; }
+    public void setWinnerId(Long winnerId) { this.winnerId = winnerId; }
+}
@@ -0,0 +1,32 @@
+package com.kfactor.matchmaking.dto;
+
+public class TournamentStandingDTO {
+    private int rank;
+    private Long playerId;
+    private String username;
+    private int rating;
+    private int score;
+    // Sum of the scores of everyone the player has met; breaks ties on score
+    private int buchholz;
+    private boolean eliminated;
+
+    public TournamentStandingDTO(int rank, Long playerId, String username, int rating,
+                                 int score, int buchholz, boolean eliminated) {
+        this.rank = rank;
+        this.playerId = playerId;
+        this.username = username;
+        this.rating = rating;
+        this.score = score;
+        this.buchholz = buchholz;
+        this.eliminated = eliminated;
+    }
+
+    // Getters
+    public int getRank() { return rank; }
+    public Long getPlayerId() { return playerId; }
+    public String getUsername() { return username; }
+    public int getRating() { return rating; }
+    public int getScore() { return score; }
+    public int getBuchholz() { return buchholz; }
+    public boolean isEliminated() { return eliminated; }
+}
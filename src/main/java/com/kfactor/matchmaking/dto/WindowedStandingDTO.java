@@ -0,0 +1,27 @@
+package com.kfactor.matchmaking.dto;
+
+public class WindowedStandingDTO {
+    private Long playerId;
+    private String username;
+    private int rating;
+    private int ratingChange;
+    private int wins;
+    private int matches;
+
+    public WindowedStandingDTO(Long playerId, String username, int rating, int ratingChange, int wins, int matches) {
+        this.playerId = playerId;
+        this.username = username;
+        this.rating = rating;
+        this.ratingChange = ratingChange;
+        this.wins = wins;
+        this.matches = matches;
+    }
+
+    // Getters
+    public Long getPlayerId() { return playerId; }
+    public String getUsername() { return username; }
+    public int getRating() { return rating; }
+    public int getRatingChange() { return ratingChange; }
+    public int getWins() { return wins; }
+    public int getMatches() { return matches; }
+}
@@ -0,0 +1,11 @@
+package com.kfactor.matchmaking.event;
+
+import java.time.Instant;
+
+/**
+ * Marker for events published by the write side. {@code occurredAt} is taken inside the
+ * writing transaction, so subscribers can measure how far behind the write they are.
+ */
+public interface DomainEvent {
+    Instant occurredAt();
+}
@@ -0,0 +1,43 @@
+package com.kfactor.matchmaking.event;
+
+import com.kfactor.matchmaking.model.Match;
+import com.kfactor.matchmaking.model.Player;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PreRemove;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Turns JPA lifecycle callbacks on {@link Player} and {@link Match} into domain events.
+ * Hooking the entities rather than the services means every write path, including
+ * repository calls, is seen. Subscribers use {@code @TransactionalEventListener} so
+ * they only observe committed changes.
+ */
+@Component
+public class DomainEventEntityListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    public DomainEventEntityListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        if (entity instanceof Player player) {
+            publisher.publishEvent(PlayerCreatedEvent.of(player));
+        } else if (entity instanceof Match match) {
+            publisher.publishEvent(MatchRecordedEvent.of(match));
+        }
+    }
+
+    // PreRemove rather than PostRemove: the delete is only flushed at commit, too late to publish
+    @PreRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof Player player) {
+            publisher.publishEvent(new PlayerDeletedEvent(player.getId(), player.getUsername(), Instant.now()));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.kfactor.matchmaking.event;
+
+import com.kfactor.matchmaking.model.LadderRating;
+
+import java.time.Instant;
+
+/**
+ * A match recorded on a ladder, with both players' ladder rows as they stand after it.
+ * Whole rows rather than deltas make the event safe to apply twice or on top of a load
+ * that already saw it: a row is only newer than the one held if it counts more matches.
+ */
+public record LadderMatchRecordedEvent(String ladder, Long matchId, Standing playerA, Standing playerB,
+                                       Instant occurredAt) implements DomainEvent {
+
+    public record Standing(Long playerId, String username, int rating, int wins, int losses,
+                           Instant joinedAt, Instant lastPlayedAt) {
+
+        public static Standing of(LadderRating rating, String username) {
+            return new Standing(rating.getPlayerId(), username, rating.getRating(), rating.getWins(),
+                    rating.getLosses(), rating.getJoinedAt(), rating.getLastPlayedAt());
+        }
+
+        public int totalMatches() { return wins + losses; }
+    }
+}
@@ -0,0 +1,28 @@
+package com.kfactor.matchmaking.event;
+
+import com.kfactor.matchmaking.model.Match;
+
+import java.time.Instant;
+
+public record MatchRecordedEvent(Long matchId,
+                                 Long playerAId, String playerAUsername,
+                                 Long playerBId, String playerBUsername,
+                                 Long winnerId,
+                                 Integer ratingABefore, Integer ratingAAfter,
+                                 Integer ratingBBefore, Integer ratingBAfter,
+                                 Instant playedAt, Instant occurredAt) implements DomainEvent {
+
+    public static MatchRecordedEvent of(Match match) {
+        return new MatchRecordedEvent(match.getId(),
+                match.getPlayerA().getId(), match.getPlayerA().getUsername(),
+                match.getPlayerB().getId(), match.getPlayerB().getUsername(),
+                match.getWinner().getId(),
+                match.getRatingABefore(), match.getRatingAAfter(),
+                match.getRatingBBefore(), match.getRatingBAfter(),
+                match.getPlayedAt(), Instant.now());
+    }
+
+    public boolean wonBy(Long playerId) {
+        return winnerId.equals(playerId);
+    }
+}
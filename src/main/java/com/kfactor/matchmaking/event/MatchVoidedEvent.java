@@ -0,0 +1,28 @@
+package com.kfactor.matchmaking.event;
+
+import com.kfactor.matchmaking.model.Match;
+
+import java.time.Instant;
+
+/**
+ * A match was voided. Carries the rating snapshot the match had when it was voided, so
+ * subscribers can take back exactly what they counted for it.
+ */
+public record MatchVoidedEvent(Long matchId,
+                               Long playerAId, Long playerBId, Long winnerId,
+                               Integer ratingABefore, Integer ratingAAfter,
+                               Integer ratingBBefore, Integer ratingBAfter,
+                               Instant playedAt, Instant occurredAt) implements DomainEvent {
+
+    public static MatchVoidedEvent of(Match match) {
+        return new MatchVoidedEvent(match.getId(),
+                match.getPlayerA().getId(), match.getPlayerB().getId(), match.getWinner().getId(),
+                match.getRatingABefore(), match.getRatingAAfter(),
+                match.getRatingBBefore(), match.getRatingBAfter(),
+                match.getPlayedAt(), Instant.now());
+    }
+
+    public boolean wonBy(Long playerId) {
+        return winnerId.equals(playerId);
+    }
+}
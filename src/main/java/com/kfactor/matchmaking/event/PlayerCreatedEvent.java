@@ -0,0 +1,14 @@
+package com.kfactor.matchmaking.event;
+
+import com.kfactor.matchmaking.model.Player;
+
+import java.time.Instant;
+
+public record PlayerCreatedEvent(Long playerId, String username, int rating, Instant createdAt,
+                                 Instant occurredAt) implements DomainEvent {
+
+    public static PlayerCreatedEvent of(Player player) {
+        return new PlayerCreatedEvent(player.getId(), player.getUsername(), player.getRating(),
+                player.getCreatedAt(), Instant.now());
+    }
+}
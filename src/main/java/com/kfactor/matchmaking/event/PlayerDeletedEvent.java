@@ -0,0 +1,6 @@
+package com.kfactor.matchmaking.event;
+
+import java.time.Instant;
+
+public record PlayerDeletedEvent(Long playerId, String username, Instant occurredAt) implements DomainEvent {
+}
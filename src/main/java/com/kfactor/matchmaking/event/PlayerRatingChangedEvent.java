@@ -0,0 +1,6 @@
+package com.kfactor.matchmaking.event;
+
+import java.time.Instant;
+
+public record PlayerRatingChangedEvent(Long playerId, int rating, Instant occurredAt) implements DomainEvent {
+}
@@ -0,0 +1,10 @@
+package com.kfactor.matchmaking.event;
+
+import java.time.Instant;
+
+/**
+ * Published once a season's standings are archived and every rating has been soft-reset.
+ * Too many ratings change to send one event each; subscribers reload instead.
+ */
+public record SeasonRolledOverEvent(Long seasonId, Instant occurredAt) implements DomainEvent {
+}
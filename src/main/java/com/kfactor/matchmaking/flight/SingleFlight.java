@@ -0,0 +1,142 @@
+package com.kfactor.matchmaking.flight;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical reads into one. The first caller for a key runs the
+ * load on its own thread; callers arriving while it runs wait for it and share its
+ * result, or its exception. With a positive {@code ttl} the result is then served for
+ * {@code ttl}, and for one more {@code ttl} it is served stale to everyone but the one
+ * caller that reloads it. Without a ttl nothing is kept once a load finishes.
+ *
+ * <p>Results are shared between threads as they are, so they must not be modified by
+ * callers. Entries for data that changed are dropped with {@link #forget}; a load
+ * already running when that happens still answers the callers waiting for it, but its
+ * result is not kept.
+ */
+public class SingleFlight<K, V> {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    public SingleFlight(Duration ttl, LongSupplier nanoTime) {
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("Single-flight ttl must not be negative");
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    public SingleFlight(Duration ttl) {
+        this(ttl, System::nanoTime);
+    }
+
+    // A finished load, if there has been one, and the load running now, if any. Compared
+    // by identity when entries are swapped, never by value.
+    private static final class Entry<V> {
+        private final V value;
+        private final long loadedAt;
+        private final boolean loaded;
+        private final CompletableFuture<V> loading;
+
+        private Entry(V value, long loadedAt, boolean loaded, CompletableFuture<V> loading) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+            this.loaded = loaded;
+            this.loading = loading;
+        }
+
+        private Entry<V> reloading(CompletableFuture<V> next) {
+            return new Entry<>(value, loadedAt, loaded, next);
+        }
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        while (true) {
+            long now = nanoTime.getAsLong();
+            Entry<V> current = entries.get(key);
+            if (current != null) {
+                long age = now - current.loadedAt;
+                if (current.loaded && age < ttlNanos) {
+                    return current.value;
+                }
+                if (current.loading != null) {
+                    if (current.loaded && age < 2 * ttlNanos) {
+                        return current.value;
+                    }
+                    return await(current.loading);
+                }
+            }
+
+            CompletableFuture<V> loading = new CompletableFuture<>();
+            Entry<V> claimed = current == null
+                    ? new Entry<>(null, now, false, loading)
+                    : current.reloading(loading);
+            boolean won = current == null
+                    ? entries.putIfAbsent(key, claimed) == null
+                    : entries.replace(key, current, claimed);
+            if (won) {
+                return load(key, claimed, loader);
+            }
+        }
+    }
+
+    /** Drops the entry for the key, so the next caller loads afresh. */
+    public void forget(K key) {
+        entries.remove(key);
+    }
+
+    public void forgetIf(Predicate<K> stale) {
+        entries.keySet().removeIf(stale);
+    }
+
+    public void forgetAll() {
+        entries.clear();
+    }
+
+    private V load(K key, Entry<V> claimed, Supplier<V> loader) {
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException | Error e) {
+            entries.remove(key, claimed);
+            claimed.loading.completeExceptionally(e);
+            throw e;
+        }
+        if (ttlNanos > 0) {
+            long now = nanoTime.getAsLong();
+            entries.replace(key, claimed, new Entry<>(value, now, true, null));
+            if (entries.size() > MAX_ENTRIES) {
+                entries.values().removeIf(entry -> entry.loading == null && now - entry.loadedAt >= 2 * ttlNanos);
+            }
+        } else {
+            entries.remove(key, claimed);
+        }
+        claimed.loading.complete(value);
+        return value;
+    }
+
+    private static <V> V await(CompletableFuture<V> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.kfactor.matchmaking.flight;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Coalescing of rating-history reads in {@code StatsService} is always on;
+ * {@code matchmaking.single-flight.ttl} additionally keeps results for a short while.
+ */
+@Configuration
+@EnableConfigurationProperties(SingleFlightProperties.class)
+public class SingleFlightConfig {
+}
@@ -0,0 +1,15 @@
+package com.kfactor.matchmaking.flight;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("matchmaking.single-flight")
+public class SingleFlightProperties {
+
+    // How long a shared result is served after its load; zero only shares loads in flight
+    private Duration ttl = Duration.ZERO;
+
+    public Duration getTtl() { return ttl; }
+    public void setTtl(Duration ttl) { this.ttl = ttl; }
+}
@@ -0,0 +1,74 @@
+package com.kfactor.matchmaking.ingest;
+
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sends one connection's acks without blocking the thread that records matches. A
+ * WebSocket allows one asynchronous send at a time, so acks queue up while a send is in
+ * progress and go out together in the next message. At most {@code window} acks may be
+ * unsent; a client that stops reading them stops having its submissions read too.
+ */
+final class AckWriter implements SendHandler {
+
+    private final RemoteEndpoint.Async remote;
+    private final Semaphore window;
+    private final Queue<byte[]> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean sending = new AtomicBoolean();
+    // Acks in the message being sent; only touched by the thread holding the send
+    private int inMessage;
+
+    AckWriter(RemoteEndpoint.Async remote, int window) {
+        this.remote = remote;
+        this.window = new Semaphore(window);
+    }
+
+    /** Waits for room for one more ack; false if none came free in time. */
+    boolean reserve(long timeoutMillis) throws InterruptedException {
+        return window.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void send(byte[] ack) {
+        pending.add(ack);
+        flush();
+    }
+
+    @Override
+    public void onResult(SendResult result) {
+        // A failed send means the connection is gone; the acks cannot be delivered anyway
+        window.release(inMessage);
+        sending.set(false);
+        flush();
+    }
+
+    private void flush() {
+        while (!pending.isEmpty() && sending.compareAndSet(false, true)) {
+            int size = 0;
+            int count = 0;
+            byte[][] batch = new byte[pending.size() + 16][];
+            for (byte[] ack; count < batch.length && (ack = pending.poll()) != null; ) {
+                batch[count++] = ack;
+                size += ack.length;
+            }
+            if (count == 0) {
+                sending.set(false);
+                continue;
+            }
+            ByteBuffer message = ByteBuffer.allocate(size);
+            for (int i = 0; i < count; i++) {
+                message.put(batch[i]);
+            }
+            inMessage = count;
+            remote.sendBinary(message.flip(), this);
+            return;
+        }
+    }
+}
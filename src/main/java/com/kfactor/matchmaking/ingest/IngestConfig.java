@@ -0,0 +1,26 @@
+package com.kfactor.matchmaking.ingest;
+
+import com.kfactor.matchmaking.admission.AdmissionControlFilter;
+import com.kfactor.matchmaking.service.MatchSubmissionService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * WebSocket channel for game servers to stream match results over one connection. On
+ * by default; {@code matchmaking.ingest.enabled=false} turns it off.
+ */
+@Configuration
+@ConditionalOnProperty(value = "matchmaking.ingest.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(IngestProperties.class)
+public class IngestConfig {
+
+    @Bean
+    public MatchIngestRegistrar matchIngestRegistrar(MatchSubmissionService matchSubmissionService,
+                                                     ObjectProvider<AdmissionControlFilter> admissionControl,
+                                                     IngestProperties properties) {
+        return new MatchIngestRegistrar(matchSubmissionService, admissionControl.getIfAvailable(), properties);
+    }
+}
@@ -0,0 +1,34 @@
+package com.kfactor.matchmaking.ingest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("matchmaking.ingest")
+public class IngestProperties {
+
+    private boolean enabled = true;
+    private String path = "/ws/matches";
+    private int maxMessageSize = 64 * 1024;
+
+    // Unsent acks allowed per connection before its submissions stop being read
+    private int maxPendingAcks = 10_000;
+
+    // How long a connection may go without reading its acks before it is closed
+    private Duration ackTimeout = Duration.ofSeconds(30);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
+
+    public int getMaxMessageSize() { return maxMessageSize; }
+    public void setMaxMessageSize(int maxMessageSize) { this.maxMessageSize = maxMessageSize; }
+
+    public int getMaxPendingAcks() { return maxPendingAcks; }
+    public void setMaxPendingAcks(int maxPendingAcks) { this.maxPendingAcks = maxPendingAcks; }
+
+    public Duration getAckTimeout() { return ackTimeout; }
+    public void setAckTimeout(Duration ackTimeout) { this.ackTimeout = ackTimeout; }
+}
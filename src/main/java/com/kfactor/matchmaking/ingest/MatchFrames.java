@@ -0,0 +1,123 @@
+package com.kfactor.matchmaking.ingest;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wire format of the match ingestion channel. Every WebSocket binary message carries one
+ * or more records back to back, big-endian, so a game server can batch whatever it has
+ * ready into one message and keep sending without waiting for acks.
+ *
+ * <p>A submission is {@code int sequence, long playerAId, long playerBId, long winnerId},
+ * then the idempotency key as a length byte and UTF-8, with length 0 for none: 29 bytes
+ * without a key. The sequence is the client's own and is only echoed back.
+ *
+ * <p>An ack is {@code int sequence, byte status}. A {@link #RECORDED} ack goes on with
+ * {@code long matchId, int ratingDeltaA, int ratingDeltaB}; a {@link #REJECTED},
+ * {@link #FAILED} or {@link #THROTTLED} one with the error as a {@code short} length and
+ * UTF-8. Acks arrive in batches as results are recorded, and their order is not
+ * guaranteed.
+ */
+public final class MatchFrames {
+
+    public static final byte RECORDED = 0;
+    // The submission was invalid, as a 400 would be on the REST path
+    public static final byte REJECTED = 1;
+    public static final byte FAILED = 2;
+    // Refused by admission control, as a 429 would be; the submission can be sent again later
+    public static final byte THROTTLED = 3;
+
+    private static final int SUBMISSION_BYTES = 29;
+    private static final int MAX_ERROR_BYTES = 1024;
+
+    public record Submission(int sequence, long playerAId, long playerBId, long winnerId, String idempotencyKey) {}
+
+    public record Ack(int sequence, byte status, long matchId, int ratingDeltaA, int ratingDeltaB, String error) {}
+
+    private MatchFrames() {}
+
+    public static ByteBuffer encodeSubmissions(List<Submission> submissions) {
+        List<byte[]> keys = new ArrayList<>(submissions.size());
+        int size = 0;
+        for (Submission submission : submissions) {
+            byte[] key = submission.idempotencyKey() == null
+                    ? new byte[0]
+                    : submission.idempotencyKey().getBytes(StandardCharsets.UTF_8);
+            if (key.length > 255) {
+                throw new IllegalArgumentException("Idempotency key must be at most 255 bytes");
+            }
+            keys.add(key);
+            size += SUBMISSION_BYTES + key.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (int i = 0; i < submissions.size(); i++) {
+            Submission submission = submissions.get(i);
+            buffer.putInt(submission.sequence())
+                    .putLong(submission.playerAId())
+                    .putLong(submission.playerBId())
+                    .putLong(submission.winnerId())
+                    .put((byte) keys.get(i).length)
+                    .put(keys.get(i));
+        }
+        return buffer.flip();
+    }
+
+    public static List<Submission> decodeSubmissions(ByteBuffer message) {
+        List<Submission> submissions = new ArrayList<>(message.remaining() / SUBMISSION_BYTES);
+        try {
+            while (message.hasRemaining()) {
+                int sequence = message.getInt();
+                long playerAId = message.getLong();
+                long playerBId = message.getLong();
+                long winnerId = message.getLong();
+                byte[] key = new byte[message.get() & 0xFF];
+                message.get(key);
+                submissions.add(new Submission(sequence, playerAId, playerBId, winnerId,
+                        key.length == 0 ? null : new String(key, StandardCharsets.UTF_8)));
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated match submission");
+        }
+        return submissions;
+    }
+
+    static byte[] recorded(int sequence, long matchId, int ratingDeltaA, int ratingDeltaB) {
+        return ByteBuffer.allocate(21)
+                .putInt(sequence)
+                .put(RECORDED)
+                .putLong(matchId)
+                .putInt(ratingDeltaA)
+                .putInt(ratingDeltaB)
+                .array();
+    }
+
+    static byte[] error(int sequence, byte status, String message) {
+        byte[] text = String.valueOf(message).getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(text.length, MAX_ERROR_BYTES);
+        return ByteBuffer.allocate(7 + length)
+                .putInt(sequence)
+                .put(status)
+                .putShort((short) length)
+                .put(text, 0, length)
+                .array();
+    }
+
+    public static List<Ack> decodeAcks(ByteBuffer message) {
+        List<Ack> acks = new ArrayList<>();
+        while (message.hasRemaining()) {
+            int sequence = message.getInt();
+            byte status = message.get();
+            if (status == RECORDED) {
+                acks.add(new Ack(sequence, status, message.getLong(), message.getInt(), message.getInt(), null));
+            } else {
+                byte[] text = new byte[message.getShort()];
+                message.get(text);
+                acks.add(new Ack(sequence, status, 0, 0, 0, new String(text, StandardCharsets.UTF_8)));
+            }
+        }
+        return acks;
+    }
+}
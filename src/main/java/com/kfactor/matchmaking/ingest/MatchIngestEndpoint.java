@@ -0,0 +1,122 @@
+package com.kfactor.matchmaking.ingest;
+
+import com.kfactor.matchmaking.admission.AdmissionControlFilter;
+import com.kfactor.matchmaking.model.Match;
+import com.kfactor.matchmaking.service.MatchSubmissionService;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.Endpoint;
+import jakarta.websocket.EndpointConfig;
+import jakarta.websocket.MessageHandler;
+import jakarta.websocket.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * One game server connection. Each binary message is decoded into submissions, which
+ * are recorded in order through {@link MatchSubmissionService}, exactly as
+ * {@code POST /api/matches} records them, idempotency keys included. Acks go back
+ * asynchronously through the connection's {@link AckWriter}, so the server can pipeline
+ * results instead of waiting a round trip for each.
+ *
+ * <p>Each submission is admitted like a write request: it takes from the client's bucket
+ * and holds a write permit while it is recorded, and a refused one is acked
+ * {@link MatchFrames#THROTTLED}. The client is named by the admission client header on
+ * the upgrade request. Without it, the connection gets a bucket of its own, since the
+ * container does not expose the peer address to endpoints.
+ */
+class MatchIngestEndpoint extends Endpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchIngestEndpoint.class);
+    private static final int MAX_KEY_LENGTH = 64;
+
+    static final String CLIENT_ID = MatchIngestEndpoint.class.getName() + ".clientId";
+
+    private final MatchSubmissionService matchSubmissionService;
+    private final AdmissionControlFilter admissionControl;
+    private final IngestProperties properties;
+
+    // admissionControl is null when admission control is turned off
+    MatchIngestEndpoint(MatchSubmissionService matchSubmissionService, AdmissionControlFilter admissionControl,
+                        IngestProperties properties) {
+        this.matchSubmissionService = matchSubmissionService;
+        this.admissionControl = admissionControl;
+        this.properties = properties;
+    }
+
+    @Override
+    public void onOpen(Session session, EndpointConfig config) {
+        session.setMaxBinaryMessageBufferSize(properties.getMaxMessageSize());
+        AckWriter acks = new AckWriter(session.getAsyncRemote(), properties.getMaxPendingAcks());
+        Object header = config.getUserProperties().get(CLIENT_ID);
+        String clientId = header != null ? (String) header : "ws:" + session.getId();
+        session.addMessageHandler(ByteBuffer.class,
+                (MessageHandler.Whole<ByteBuffer>) message -> receive(session, acks, clientId, message));
+    }
+
+    private void receive(Session session, AckWriter acks, String clientId, ByteBuffer message) {
+        List<MatchFrames.Submission> submissions;
+        try {
+            submissions = MatchFrames.decodeSubmissions(message);
+        } catch (IllegalArgumentException e) {
+            close(session, CloseReason.CloseCodes.PROTOCOL_ERROR, e.getMessage());
+            return;
+        }
+        try {
+            for (MatchFrames.Submission submission : submissions) {
+                if (!acks.reserve(properties.getAckTimeout().toMillis())) {
+                    close(session, CloseReason.CloseCodes.TRY_AGAIN_LATER, "Acks are not being read");
+                    return;
+                }
+                acks.send(record(clientId, submission));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close(session, CloseReason.CloseCodes.GOING_AWAY, "Shutting down");
+        }
+    }
+
+    private byte[] record(String clientId, MatchFrames.Submission submission) {
+        int sequence = submission.sequence();
+        if (submission.idempotencyKey() != null && submission.idempotencyKey().length() > MAX_KEY_LENGTH) {
+            return MatchFrames.error(sequence, MatchFrames.REJECTED, "Idempotency key must be at most 64 characters");
+        }
+        AdmissionControlFilter.Admission admission = admissionControl != null
+                ? admissionControl.admitWrite(clientId)
+                : null;
+        if (admission != null && !admission.admitted()) {
+            return MatchFrames.error(sequence, MatchFrames.THROTTLED, admission.rejection());
+        }
+        // Like the filter, only failures count against the limit; a rejected submission was handled
+        boolean succeeded = false;
+        try {
+            Match match = matchSubmissionService.submit(submission.playerAId(), submission.playerBId(),
+                    submission.winnerId(), submission.idempotencyKey());
+            succeeded = true;
+            return MatchFrames.recorded(sequence, match.getId(),
+                    match.getRatingAAfter() - match.getRatingABefore(),
+                    match.getRatingBAfter() - match.getRatingBBefore());
+        } catch (IllegalArgumentException e) {
+            succeeded = true;
+            return MatchFrames.error(sequence, MatchFrames.REJECTED, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Recording match submission {} failed", sequence, e);
+            return MatchFrames.error(sequence, MatchFrames.FAILED, "Internal error");
+        } finally {
+            if (admission != null) {
+                admission.release(succeeded);
+            }
+        }
+    }
+
+    private void close(Session session, CloseReason.CloseCode code, String reason) {
+        try {
+            session.close(new CloseReason(code, reason));
+        } catch (IOException e) {
+            log.debug("Closing match ingestion connection failed", e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.kfactor.matchmaking.ingest;
+
+import com.kfactor.matchmaking.admission.AdmissionControlFilter;
+import com.kfactor.matchmaking.service.MatchSubmissionService;
+import jakarta.servlet.ServletContext;
+import jakarta.websocket.DeploymentException;
+import jakarta.websocket.HandshakeResponse;
+import jakarta.websocket.server.HandshakeRequest;
+import jakarta.websocket.server.ServerContainer;
+import jakarta.websocket.server.ServerEndpointConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.web.context.ServletContextAware;
+
+import java.util.List;
+
+/**
+ * Registers the ingestion endpoint with the servlet container's WebSocket support once
+ * the embedded server has started it. Without a running server, as under MockMvc, there
+ * is nothing to register with and the channel is skipped.
+ */
+public class MatchIngestRegistrar implements ServletContextAware, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchIngestRegistrar.class);
+
+    private final MatchSubmissionService matchSubmissionService;
+    private final AdmissionControlFilter admissionControl;
+    private final IngestProperties properties;
+    private ServletContext servletContext;
+
+    public MatchIngestRegistrar(MatchSubmissionService matchSubmissionService, AdmissionControlFilter admissionControl,
+                                IngestProperties properties) {
+        this.matchSubmissionService = matchSubmissionService;
+        this.admissionControl = admissionControl;
+        this.properties = properties;
+    }
+
+    @Override
+    public void setServletContext(ServletContext servletContext) {
+        this.servletContext = servletContext;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        ServerContainer container = servletContext == null ? null
+                : (ServerContainer) servletContext.getAttribute(ServerContainer.class.getName());
+        if (container == null) {
+            log.debug("No WebSocket container; match ingestion channel not registered");
+            return;
+        }
+        ServerEndpointConfig endpoint = ServerEndpointConfig.Builder.create(MatchIngestEndpoint.class, properties.getPath())
+                .configurator(new ServerEndpointConfig.Configurator() {
+                    // The user properties here are the connection's own copy
+                    @Override
+                    public void modifyHandshake(ServerEndpointConfig config, HandshakeRequest request,
+                                                HandshakeResponse response) {
+                        if (admissionControl == null || !admissionControl.isClientHeaderTrusted()) {
+                            return;
+                        }
+                        List<String> clientId = request.getHeaders().get(admissionControl.getClientHeader());
+                        if (clientId != null && !clientId.isEmpty() && !clientId.get(0).isBlank()) {
+                            config.getUserProperties().put(MatchIngestEndpoint.CLIENT_ID, clientId.get(0));
+                        }
+                    }
+
+                    @Override
+                    public <T> T getEndpointInstance(Class<T> endpointClass) {
+                        return endpointClass.cast(new MatchIngestEndpoint(matchSubmissionService, admissionControl,
+                                properties));
+                    }
+                })
+                .build();
+        try {
+            container.addEndpoint(endpoint);
+        } catch (DeploymentException e) {
+            throw new IllegalStateException("Could not register the match ingestion endpoint", e);
+        }
+        log.info("Match ingestion channel listening on {}", properties.getPath());
+    }
+}
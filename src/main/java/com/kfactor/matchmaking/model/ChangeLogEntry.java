@@ -0,0 +1,66 @@
+package com.kfactor.matchmaking.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * One row per committed change that other nodes must reflect in their in-process state.
+ * Rows only identify what changed; readers reload the current entity state.
+ */
+@Entity
+@Table(name = "change_log", indexes = @Index(name = "idx_change_log_created_at", columnList = "createdAt"))
+public class ChangeLogEntry {
+
+    public enum EntityType { PLAYER, MATCH, SEASON, LADDER_MATCH }
+
+    public enum ChangeType { CREATED, RATING_CHANGED, DELETED, VOIDED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private String originNode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private EntityType entityType;
+
+    @Column(nullable = false, updatable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private ChangeType changeType;
+
+    // Username of a deleted player, which can no longer be reloaded
+    private String detail;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+    }
+
+    // Constructors
+    public ChangeLogEntry() {}
+
+    public ChangeLogEntry(String originNode, EntityType entityType, Long entityId, ChangeType changeType, String detail) {
+        this.originNode = originNode;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.changeType = changeType;
+        this.detail = detail;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getOriginNode() { return originNode; }
+    public EntityType getEntityType() { return entityType; }
+    public Long getEntityId() { return entityId; }
+    public ChangeType getChangeType() { return changeType; }
+    public String getDetail() { return detail; }
+    public Instant getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,82 @@
+package com.kfactor.matchmaking.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * A match played on a ladder. Kept apart from {@link Match}, which rates the shared
+ * global ladder, so per-ladder results never reach global ratings, stats, the archive
+ * or the read model. Players are referenced by id and the rating snapshots are the
+ * players' ratings on this ladder.
+ */
+@Entity
+@Table(name = "ladder_matches", indexes = {
+        @Index(name = "idx_ladder_matches_player_a_id", columnList = "ladder, playerAId, id"),
+        @Index(name = "idx_ladder_matches_player_b_id", columnList = "ladder, playerBId, id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_ladder_matches_idempotency_key", columnNames = {"ladder", "idempotencyKey"})
+})
+public class LadderMatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, updatable = false, length = 32)
+    private String ladder;
+
+    @Column(nullable = false, updatable = false)
+    private Long playerAId;
+
+    @Column(nullable = false, updatable = false)
+    private Long playerBId;
+
+    @Column(nullable = false, updatable = false)
+    private Long winnerId;
+
+    @Column(nullable = false, updatable = false)
+    private Instant playedAt;
+
+    // Client-supplied key that makes resubmitting the same result a no-op; unique per ladder
+    @Column(updatable = false, length = 64)
+    private String idempotencyKey;
+
+    // Ladder rating snapshots taken when the match was recorded
+    private int ratingABefore;
+    private int ratingAAfter;
+    private int ratingBBefore;
+    private int ratingBAfter;
+
+    // Constructors
+    public LadderMatch() {}
+
+    public LadderMatch(String ladder, Long playerAId, Long playerBId, Long winnerId, Instant playedAt,
+                       String idempotencyKey) {
+        this.ladder = ladder;
+        this.playerAId = playerAId;
+        this.playerBId = playerBId;
+        this.winnerId = winnerId;
+        this.playedAt = playedAt;
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public void setRatings(int ratingABefore, int ratingAAfter, int ratingBBefore, int ratingBAfter) {
+        this.ratingABefore = ratingABefore;
+        this.ratingAAfter = ratingAAfter;
+        this.ratingBBefore = ratingBBefore;
+        this.ratingBAfter = ratingBAfter;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getLadder() { return ladder; }
+    public Long getPlayerAId() { return playerAId; }
+    public Long getPlayerBId() { return playerBId; }
+    public Long getWinnerId() { return winnerId; }
+    public Instant getPlayedAt() { return playedAt; }
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public int getRatingABefore() { return ratingABefore; }
+    public int getRatingAAfter() { return ratingAAfter; }
+    public int getRatingBBefore() { return ratingBBefore; }
+    public int getRatingBAfter() { return ratingBAfter; }
+}
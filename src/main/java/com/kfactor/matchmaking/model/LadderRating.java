@@ -0,0 +1,95 @@
+package com.kfactor.matchmaking.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A player's rating on one ladder, such as a game title or mode. Each player has a row
+ * per ladder, so matches on different ladders never lock the same row, even when they
+ * share a player, and the ladder index makes a ladder's ratings one range to load. A
+ * player joins a ladder at the starting rating with their first match on it.
+ */
+@Entity
+@IdClass(LadderRating.Key.class)
+@Table(name = "ladder_ratings", indexes = {
+        @Index(name = "idx_ladder_ratings_ladder", columnList = "ladder")
+})
+public class LadderRating {
+
+    public static final int STARTING_RATING = 1000;
+
+    @Id
+    @Column(length = 32)
+    private String ladder;
+
+    @Id
+    private Long playerId;
+
+    @Column(nullable = false)
+    private int rating;
+
+    @Column(nullable = false)
+    private int wins;
+
+    @Column(nullable = false)
+    private int losses;
+
+    @Column(nullable = false, updatable = false)
+    private Instant joinedAt;
+
+    private Instant lastPlayedAt;
+
+    // Constructors
+    public LadderRating() {}
+
+    public LadderRating(String ladder, Long playerId, Instant joinedAt) {
+        this.ladder = ladder;
+        this.playerId = playerId;
+        this.rating = STARTING_RATING;
+        this.joinedAt = joinedAt;
+    }
+
+    public void recordResult(int newRating, boolean won, Instant playedAt) {
+        rating = newRating;
+        if (won) {
+            wins++;
+        } else {
+            losses++;
+        }
+        lastPlayedAt = playedAt;
+    }
+
+    // Getters
+    public String getLadder() { return ladder; }
+    public Long getPlayerId() { return playerId; }
+    public int getRating() { return rating; }
+    public int getWins() { return wins; }
+    public int getLosses() { return losses; }
+    public Instant getJoinedAt() { return joinedAt; }
+    public Instant getLastPlayedAt() { return lastPlayedAt; }
+
+    public static class Key implements Serializable {
+
+        private String ladder;
+        private Long playerId;
+
+        public Key() {}
+
+        public Key(String ladder, Long playerId) {
+            this.ladder = ladder;
+            this.playerId = playerId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && Objects.equals(ladder, key.ladder) && Objects.equals(playerId, key.playerId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ladder, playerId);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.kfactor.matchmaking.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * The leaderboard at one moment. A base holds every player's rating and username; a
+ * delta holds only the players who changed, joined or left since the snapshot before it,
+ * so the table grows with activity rather than with the number of players. The board
+ * at a snapshot is its latest base with the deltas after it applied in id order.
+ */
+@Entity
+@Table(name = "leaderboard_snapshots", indexes =
+        @Index(name = "idx_leaderboard_snapshots_taken_at", columnList = "takenAt"))
+public class LeaderboardSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private Instant takenAt;
+
+    @Column(nullable = false, updatable = false)
+    private boolean base;
+
+    // Players on the board once this snapshot is applied
+    @Column(nullable = false, updatable = false)
+    private int players;
+
+    // Players who changed, joined or left since the snapshot before
+    @Column(nullable = false, updatable = false)
+    private int changes;
+
+    @Lob
+    @Column(nullable = false, updatable = false)
+    private byte[] payload;
+
+    // Constructors
+    public LeaderboardSnapshot() {}
+
+    public LeaderboardSnapshot(Instant takenAt, boolean base, int players, int changes, byte[] payload) {
+        this.takenAt = takenAt;
+        this.base = base;
+        this.players = players;
+        this.changes = changes;
+        this.payload = payload;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public Instant getTakenAt() { return takenAt; }
+    public boolean isBase() { return base; }
+    public int getPlayers() { return players; }
+    public int getChanges() { return changes; }
+    public byte[] getPayload() { return payload; }
+}
@@ -1,10 +1,17 @@
 package com.kfactor.matchmaking.model;
 
+import com.kfactor.matchmaking.event.DomainEventEntityListener;
 import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "matches")
+@EntityListeners(DomainEventEntityListener.class)
+@Table(name = "matches", indexes = {
+        @Index(name = "idx_matches_player_a_played_at", columnList = "player_a_id, playedAt"),
+        @Index(name = "idx_matches_player_b_played_at", columnList = "player_b_id, playedAt"),
+        @Index(name = "idx_matches_player_a_id", columnList = "player_a_id, id"),
+        @Index(name = "idx_matches_player_b_id", columnList = "player_b_id, id")
+})
 public class Match {
 
     @Id
@@ -26,6 +33,20 @@ public class Match {
     @Column(nullable = false, updatable = false)
     private Instant playedAt;
 
+    // Client-supplied key that makes resubmitting the same result a no-op
+    @Column(unique = true, updatable = false, length = 64)
+    private String idempotencyKey;
+
+    // Rating snapshots taken when the match was recorded
+    private Integer ratingABefore;
+    private Integer ratingAAfter;
+    private Integer ratingBBefore;
+    private Integer ratingBAfter;
+
+    // A voided match stays on record but no longer counts towards ratings or stats
+    @Column(nullable = false)
+    private boolean voided;
+
     @PrePersist
     protected void onCreate() {
         playedAt = Instant.now();
@@ -40,15 +61,44 @@ public class Match {
         this.winner = winner;
     }
 
+    /**
+     * Rebuilds a match read back from the archive. The result is not managed by JPA
+     * and must not be saved.
+     */
+    public static Match restore(Long id, Player playerA, Player playerB, Player winner, Instant playedAt,
+                                Integer ratingABefore, Integer ratingAAfter,
+                                Integer ratingBBefore, Integer ratingBAfter) {
+        Match match = new Match(playerA, playerB, winner);
+        match.id = id;
+        match.playedAt = playedAt;
+        match.ratingABefore = ratingABefore;
+        match.ratingAAfter = ratingAAfter;
+        match.ratingBBefore = ratingBBefore;
+        match.ratingBAfter = ratingBAfter;
+        return match;
+    }
+
     // Getters
     public Long getId() { return id; }
     public Player getPlayerA() { return playerA; }
     public Player getPlayerB() { return playerB; }
     public Player getWinner() { return winner; }
     public Instant getPlayedAt() { return playedAt; }
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public Integer getRatingABefore() { return ratingABefore; }
+    public Integer getRatingAAfter() { return ratingAAfter; }
+    public Integer getRatingBBefore() { return ratingBBefore; }
+    public Integer getRatingBAfter() { return ratingBAfter; }
+    public boolean isVoided() { return voided; }
 
     // Setters
     public void setPlayerA(Player playerA) { this.playerA = playerA; }
     public void setPlayerB(Player playerB) { this.playerB = playerB; }
     public void setWinner(Player winner) { this.winner = winner; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+    public void setRatingABefore(Integer ratingABefore) { this.ratingABefore = ratingABefore; }
+    public void setRatingAAfter(Integer ratingAAfter) { this.ratingAAfter = ratingAAfter; }
+    public void setRatingBBefore(Integer ratingBBefore) { this.ratingBBefore = ratingBBefore; }
+    public void setRatingBAfter(Integer ratingBAfter) { this.ratingBAfter = ratingBAfter; }
+    public void setVoided(boolean voided) { this.voided = voided; }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.kfactor.matchmaking.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * One player's line in a {@link TeamMatch}: their team, where the team placed and the
+ * rating snapshot taken when the match was recorded.
+ */
+@Embeddable
+public class MatchParticipant {
+
+    @Column(name = "player_id", nullable = false)
+    private Long playerId;
+
+    @Column(nullable = false)
+    private int team;
+
+    // 1 is first; teams that tied share a placement
+    @Column(nullable = false)
+    private int placement;
+
+    private Integer ratingBefore;
+    private Integer ratingAfter;
+
+    // Constructors
+    public MatchParticipant() {}
+
+    public MatchParticipant(Long playerId, int team, int placement, int ratingBefore, int ratingAfter) {
+        this.playerId = playerId;
+        this.team = team;
+        this.placement = placement;
+        this.ratingBefore = ratingBefore;
+        this.ratingAfter = ratingAfter;
+    }
+
+    // Getters
+    public Long getPlayerId() { return playerId; }
+    public int getTeam() { return team; }
+    public int getPlacement() { return placement; }
+    public Integer getRatingBefore() { return ratingBefore; }
+    public Integer getRatingAfter() { return ratingAfter; }
+}
@@ -1,10 +1,13 @@
 package com.kfactor.matchmaking.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.kfactor.matchmaking.event.DomainEventEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import java.time.Instant;
 
 @Entity
+@EntityListeners(DomainEventEntityListener.class)
 @Table(name = "players")
 public class Player {
 
@@ -22,6 +25,12 @@ public class Player {
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
 
+    // Null until the first match; inactivity is then measured from createdAt
+    private Instant lastPlayedAt;
+
+    // Set only by the decay job, so a run never decays a player twice
+    private Instant ratingDecayedAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = Instant.now();
@@ -35,6 +44,16 @@ public class Player {
         this.rating = 1000;
     }
 
+    /**
+     * Stand-in for a player that has been deleted but still appears in archived matches.
+     * Not managed by JPA.
+     */
+    public static Player deleted(Long id) {
+        Player player = new Player("[deleted]");
+        player.id = id;
+        return player;
+    }
+
     // Getters and setters
     public Long getId() { return id; }
 
@@ -45,4 +64,11 @@ public class Player {
     public void setRating(int rating) { this.rating = rating; }
 
     public Instant getCreatedAt() { return createdAt; }
+
+    @JsonIgnore
+    public Instant getLastPlayedAt() { return lastPlayedAt; }
+    public void setLastPlayedAt(Instant lastPlayedAt) { this.lastPlayedAt = lastPlayedAt; }
+
+    @JsonIgnore
+    public Instant getRatingDecayedAt() { return ratingDecayedAt; }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.kfactor.matchmaking.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Match and win counts for a player's matches that have been moved to the archive.
+ * Added to the live counts wherever per-player totals are computed.
+ */
+@Entity
+@Table(name = "player_archive_stats")
+public class PlayerArchiveStats {
+
+    @Id
+    private Long playerId;
+
+    @Column(nullable = false)
+    private int matches;
+
+    @Column(nullable = false)
+    private int wins;
+
+    // Constructors
+    public PlayerArchiveStats() {}
+
+    public PlayerArchiveStats(Long playerId) {
+        this.playerId = playerId;
+    }
+
+    public void add(int matches, int wins) {
+        this.matches += matches;
+        this.wins += wins;
+    }
+
+    // Getters
+    public Long getPlayerId() { return playerId; }
+    public int getMatches() { return matches; }
+    public int getWins() { return wins; }
+}
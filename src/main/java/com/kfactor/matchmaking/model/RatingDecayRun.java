@@ -0,0 +1,74 @@
+package com.kfactor.matchmaking.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Progress of one pass of the rating decay job over all players. The settings the pass
+ * started with are kept, so a pass resumed after a crash finishes the way it began.
+ */
+@Entity
+@Table(name = "rating_decay_runs")
+public class RatingDecayRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private Instant startedAt;
+
+    // Players who have not played since before this are decayed
+    @Column(nullable = false, updatable = false)
+    private Instant inactiveBefore;
+
+    // Highest id when the pass started; players registered later are active anyway
+    @Column(nullable = false, updatable = false)
+    private long lastPlayerId;
+
+    @Column(nullable = false, updatable = false)
+    private int floor;
+
+    @Column(nullable = false, updatable = false)
+    private int percent;
+
+    // First id of the next chunk, advanced in the same transaction as the chunk's update
+    @Column(nullable = false)
+    private long nextPlayerId = 1;
+
+    @Column(nullable = false)
+    private long decayedPlayers;
+
+    private Instant finishedAt;
+
+    // Constructors
+    public RatingDecayRun() {}
+
+    public RatingDecayRun(Instant startedAt, Instant inactiveBefore, long lastPlayerId, int floor, int percent) {
+        this.startedAt = startedAt;
+        this.inactiveBefore = inactiveBefore;
+        this.lastPlayerId = lastPlayerId;
+        this.floor = floor;
+        this.percent = percent;
+    }
+
+    public void advance(long nextPlayerId, int decayed) {
+        this.nextPlayerId = nextPlayerId;
+        this.decayedPlayers += decayed;
+    }
+
+    public void finish(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public Instant getStartedAt() { return startedAt; }
+    public Instant getInactiveBefore() { return inactiveBefore; }
+    public long getLastPlayerId() { return lastPlayerId; }
+    public int getFloor() { return floor; }
+    public int getPercent() { return percent; }
+    public long getNextPlayerId() { return nextPlayerId; }
+    public long getDecayedPlayers() { return decayedPlayers; }
+    public Instant getFinishedAt() { return finishedAt; }
+}
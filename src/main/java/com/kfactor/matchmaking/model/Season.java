@@ -0,0 +1,71 @@
+package com.kfactor.matchmaking.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * A finished season. Its final standings are frozen in {@link SeasonStandingBlock}s when it
+ * is created; the soft reset of live ratings that follows is checkpointed here, so an
+ * interrupted rollover can be completed.
+ */
+@Entity
+@Table(name = "seasons")
+public class Season {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // End of the previous season; null for the first
+    @Column(updatable = false)
+    private Instant startedAt;
+
+    @Column(nullable = false, updatable = false)
+    private Instant endedAt;
+
+    private long players;
+
+    // Share of each rating's distance from the reset centre that survives the reset
+    @Column(nullable = false, updatable = false)
+    private int keepPercent;
+
+    // Highest id when the season ended; players registered later are already at the centre
+    @Column(nullable = false, updatable = false)
+    private long resetLastPlayerId;
+
+    // First id of the next chunk, advanced in the same transaction as the chunk's update
+    @Column(nullable = false)
+    private long resetNextPlayerId = 1;
+
+    private Instant resetFinishedAt;
+
+    // Constructors
+    public Season() {}
+
+    public Season(Instant startedAt, Instant endedAt, int keepPercent, long resetLastPlayerId) {
+        this.startedAt = startedAt;
+        this.endedAt = endedAt;
+        this.keepPercent = keepPercent;
+        this.resetLastPlayerId = resetLastPlayerId;
+    }
+
+    public void setPlayers(long players) { this.players = players; }
+
+    public void advanceReset(long nextPlayerId) {
+        this.resetNextPlayerId = nextPlayerId;
+    }
+
+    public void finishReset(Instant finishedAt) {
+        this.resetFinishedAt = finishedAt;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public Instant getStartedAt() { return startedAt; }
+    public Instant getEndedAt() { return endedAt; }
+    public long getPlayers() { return players; }
+    public int getKeepPercent() { return keepPercent; }
+    public long getResetLastPlayerId() { return resetLastPlayerId; }
+    public long getResetNextPlayerId() { return resetNextPlayerId; }
+    public Instant getResetFinishedAt() { return resetFinishedAt; }
+}
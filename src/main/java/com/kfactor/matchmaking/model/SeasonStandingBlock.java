@@ -0,0 +1,65 @@
+package com.kfactor.matchmaking.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A run of consecutive places from a finished season's final leaderboard, encoded as one
+ * compressed value: a million players are a thousand rows, and any page of the board is
+ * read from at most two of them. Usernames and ratings are copied, so the standings
+ * survive later renames, rating changes and deletions.
+ */
+@Entity
+@IdClass(SeasonStandingBlock.Key.class)
+@Table(name = "season_standing_blocks")
+public class SeasonStandingBlock {
+
+    @Id
+    private Long seasonId;
+
+    // Holds places block * size + 1 onward
+    @Id
+    private int block;
+
+    @Lob
+    @Column(nullable = false, updatable = false)
+    private byte[] standings;
+
+    // Constructors
+    public SeasonStandingBlock() {}
+
+    public SeasonStandingBlock(Long seasonId, int block, byte[] standings) {
+        this.seasonId = seasonId;
+        this.block = block;
+        this.standings = standings;
+    }
+
+    // Getters
+    public Long getSeasonId() { return seasonId; }
+    public int getBlock() { return block; }
+    public byte[] getStandings() { return standings; }
+
+    public static class Key implements Serializable {
+
+        private Long seasonId;
+        private int block;
+
+        public Key() {}
+
+        public Key(Long seasonId, int block) {
+            this.seasonId = seasonId;
+            this.block = block;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && block == key.block && Objects.equals(seasonId, key.seasonId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(seasonId, block);
+        }
+    }
+}
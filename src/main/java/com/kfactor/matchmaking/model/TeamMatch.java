@@ -0,0 +1,46 @@
+package com.kfactor.matchmaking.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A match between any number of teams, including a free-for-all where every player is
+ * their own team. Two-player matches keep using {@link Match}.
+ */
+@Entity
+@Table(name = "team_matches")
+public class TeamMatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private Instant playedAt;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "team_match_participants",
+            joinColumns = @JoinColumn(name = "match_id"),
+            indexes = @Index(name = "idx_team_match_participants_player", columnList = "player_id"))
+    @OrderColumn(name = "position")
+    private List<MatchParticipant> participants = new ArrayList<>();
+
+    @PrePersist
+    protected void onCreate() {
+        playedAt = Instant.now();
+    }
+
+    // Constructors
+    public TeamMatch() {}
+
+    public TeamMatch(List<MatchParticipant> participants) {
+        this.participants = new ArrayList<>(participants);
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public Instant getPlayedAt() { return playedAt; }
+    public List<MatchParticipant> getParticipants() { return participants; }
+}
@@ -0,0 +1,66 @@
+package com.kfactor.matchmaking.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import java.time.Instant;
+
+@Entity
+@Table(name = "tournaments")
+public class Tournament {
+
+    public enum Format { SWISS, SINGLE_ELIMINATION }
+
+    public enum Status { REGISTRATION, IN_PROGRESS, COMPLETED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank
+    @Column(nullable = false)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private Format format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.REGISTRATION;
+
+    // Planned rounds; a single-elimination bracket sets it when it starts
+    private int rounds;
+
+    private int currentRound;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+    }
+
+    // Constructors
+    public Tournament() {}
+
+    public Tournament(String name, Format format, int rounds) {
+        this.name = name;
+        this.format = format;
+        this.rounds = rounds;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public Format getFormat() { return format; }
+    public Status getStatus() { return status; }
+    public int getRounds() { return rounds; }
+    public int getCurrentRound() { return currentRound; }
+    public Instant getCreatedAt() { return createdAt; }
+
+    // Setters
+    public void setStatus(Status status) { this.status = status; }
+    public void setRounds(int rounds) { this.rounds = rounds; }
+    public void setCurrentRound(int currentRound) { this.currentRound = currentRound; }
+}
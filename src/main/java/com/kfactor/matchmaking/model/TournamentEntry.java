@@ -0,0 +1,48 @@
+package com.kfactor.matchmaking.model;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "tournament_entries", uniqueConstraints =
+        @UniqueConstraint(name = "uk_tournament_entries_player", columnNames = {"tournament_id", "player_id"}))
+public class TournamentEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tournament_id", nullable = false, updatable = false)
+    private Long tournamentId;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "player_id")
+    private Player player;
+
+    // One point per win or bye
+    private int score;
+
+    private int byes;
+
+    private boolean eliminated;
+
+    // Constructors
+    public TournamentEntry() {}
+
+    public TournamentEntry(Long tournamentId, Player player) {
+        this.tournamentId = tournamentId;
+        this.player = player;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public Long getTournamentId() { return tournamentId; }
+    public Player getPlayer() { return player; }
+    public int getScore() { return score; }
+    public int getByes() { return byes; }
+    public boolean isEliminated() { return eliminated; }
+
+    // Setters
+    public void setScore(int score) { this.score = score; }
+    public void setByes(int byes) { this.byes = byes; }
+    public void setEliminated(boolean eliminated) { this.eliminated = eliminated; }
+}
@@ -0,0 +1,73 @@
+package com.kfactor.matchmaking.model;
+
+import jakarta.persistence.*;
+
+/**
+ * One board of a tournament round. A pairing without {@code playerB} is a bye, which
+ * {@code playerA} wins without a match.
+ */
+@Entity
+@Table(name = "tournament_pairings", indexes =
+        @Index(name = "idx_tournament_pairings_round", columnList = "tournament_id, round, slot"))
+public class TournamentPairing {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tournament_id", nullable = false, updatable = false)
+    private Long tournamentId;
+
+    @Column(nullable = false, updatable = false)
+    private int round;
+
+    // Board number; in a bracket, slots 2k and 2k + 1 feed slot k of the next round
+    @Column(nullable = false, updatable = false)
+    private int slot;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "player_a_id")
+    private Player playerA;
+
+    @ManyToOne
+    @JoinColumn(name = "player_b_id")
+    private Player playerB;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "match_id")
+    private Match match;
+
+    private Long winnerId;
+
+    // Constructors
+    public TournamentPairing() {}
+
+    public TournamentPairing(Long tournamentId, int round, int slot, Player playerA, Player playerB) {
+        this.tournamentId = tournamentId;
+        this.round = round;
+        this.slot = slot;
+        this.playerA = playerA;
+        this.playerB = playerB;
+        if (playerB == null) {
+            this.winnerId = playerA.getId();
+        }
+    }
+
+    public boolean isBye() {
+        return playerB == null;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public Long getTournamentId() { return tournamentId; }
+    public int getRound() { return round; }
+    public int getSlot() { return slot; }
+    public Player getPlayerA() { return playerA; }
+    public Player getPlayerB() { return playerB; }
+    public Match getMatch() { return match; }
+    public Long getWinnerId() { return winnerId; }
+
+    // Setters
+    public void setMatch(Match match) { this.match = match; }
+    public void setWinnerId(Long winnerId) { this.winnerId = winnerId; }
+}
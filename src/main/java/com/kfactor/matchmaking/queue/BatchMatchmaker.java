@@ -0,0 +1,171 @@
+package com.kfactor.matchmaking.queue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pairs a snapshot of the queue in one batch.
+ *
+ * <p>Waiting players are sorted by rating. A pair costs its rating gap, divided by
+ * {@code 1 + meanWait / waitScale}, so players who have waited longer accept wider gaps.
+ * Leaving a player waiting costs half of {@code maxGap}. Two fresh players are therefore
+ * paired only when their gap is under {@code maxGap}. A dynamic program over the sorted
+ * order finds the cheapest plan in which every pair is two neighbours. At each position
+ * it either leaves the player waiting or pairs them with their lower neighbour.
+ *
+ * <p>The sorted order is cut into bands of about {@code bandSize} players, each cut at
+ * the widest rating gap near the band boundary. Bands are solved independently on a
+ * fork/join pool. The only pairs lost are those that would have spanned a cut.
+ */
+public class BatchMatchmaker {
+
+    // How far either side of a band's midpoint to look for the widest gap to cut at
+    private static final int CUT_SEARCH = 64;
+
+    private static final byte WAIT = 0;
+    private static final byte PAIR = 1;
+
+    private final double skipCost;
+    private final double waitScaleSeconds;
+    private final int bandSize;
+    private final ForkJoinPool pool;
+
+    public BatchMatchmaker(int maxGap, Duration waitScale, int bandSize, ForkJoinPool pool) {
+        if (maxGap <= 0 || waitScale.isNegative() || waitScale.isZero() || bandSize < 2) {
+            throw new IllegalArgumentException("maxGap, waitScale and bandSize must be positive");
+        }
+        this.skipCost = maxGap / 2.0;
+        this.waitScaleSeconds = waitScale.toMillis() / 1000.0;
+        this.bandSize = bandSize;
+        this.pool = pool;
+    }
+
+    public record Pairing(QueuedPlayer playerA, QueuedPlayer playerB) {
+        public int ratingGap() {
+            return Math.abs(playerA.rating() - playerB.rating());
+        }
+    }
+
+    public record Result(List<Pairing> pairings, int bands) {
+    }
+
+    public Result match(List<QueuedPlayer> waiting, Instant now) {
+        QueuedPlayer[] sorted = waiting.toArray(QueuedPlayer[]::new);
+        Arrays.parallelSort(sorted, Comparator.comparingInt(QueuedPlayer::rating));
+        int n = sorted.length;
+        long nowMillis = now.toEpochMilli();
+        int[] ratings = new int[n];
+        double[] waits = new double[n];
+        Arrays.parallelSetAll(ratings, i -> sorted[i].rating());
+        Arrays.parallelSetAll(waits, i -> Math.max(0, nowMillis - sorted[i].queuedAt().toEpochMilli()) / 1000.0);
+
+        Tick tick = new Tick(ratings, waits);
+        int[] pairs = n < 2 ? new int[0] : pool.invoke(tick.new Band(0, n));
+        List<Pairing> pairings = new ArrayList<>(pairs.length / 2);
+        for (int i = 0; i < pairs.length; i += 2) {
+            pairings.add(new Pairing(sorted[pairs[i]], sorted[pairs[i + 1]]));
+        }
+        return new Result(pairings, Math.max(tick.bands.get(), 1));
+    }
+
+    /**
+     * The arrays of one snapshot, shared read-only by all of its bands.
+     */
+    private final class Tick {
+        private final int[] ratings;
+        private final double[] waits;
+        private final AtomicInteger bands = new AtomicInteger();
+
+        Tick(int[] ratings, double[] waits) {
+            this.ratings = ratings;
+            this.waits = waits;
+        }
+
+        /**
+         * Pairs positions {@code [from, to)} of the sorted snapshot. Returns the paired
+         * positions as a flat array of (a, b) pairs.
+         */
+        private final class Band extends RecursiveTask<int[]> {
+            private final int from;
+            private final int to;
+
+            Band(int from, int to) {
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected int[] compute() {
+                if (to - from <= bandSize) {
+                    bands.incrementAndGet();
+                    return solve();
+                }
+                int cut = widestGapNear((from + to) >>> 1);
+                Band upper = new Band(cut, to);
+                upper.fork();
+                int[] lower = new Band(from, cut).compute();
+                int[] higher = upper.join();
+                int[] pairs = Arrays.copyOf(lower, lower.length + higher.length);
+                System.arraycopy(higher, 0, pairs, lower.length, higher.length);
+                return pairs;
+            }
+
+            private int widestGapNear(int middle) {
+                int lo = Math.max(from + 1, middle - CUT_SEARCH);
+                int hi = Math.min(to - 1, middle + CUT_SEARCH);
+                int cut = middle;
+                int widest = -1;
+                for (int i = lo; i <= hi; i++) {
+                    int gap = ratings[i] - ratings[i - 1];
+                    if (gap > widest) {
+                        widest = gap;
+                        cut = i;
+                    }
+                }
+                return cut;
+            }
+
+            private int[] solve() {
+                int n = to - from;
+                double[] cost = new double[n + 1];
+                byte[] move = new byte[n + 1];
+                for (int k = 1; k <= n; k++) {
+                    cost[k] = cost[k - 1] + skipCost;
+                    move[k] = WAIT;
+                    if (k >= 2) {
+                        double paired = cost[k - 2] + pairCost(from + k - 2, from + k - 1);
+                        if (paired < cost[k]) {
+                            cost[k] = paired;
+                            move[k] = PAIR;
+                        }
+                    }
+                }
+
+                int[] pairs = new int[n - n % 2];
+                int count = 0;
+                for (int k = n; k > 0; ) {
+                    if (move[k] == PAIR) {
+                        pairs[count++] = from + k - 2;
+                        pairs[count++] = from + k - 1;
+                        k -= 2;
+                    } else {
+                        k--;
+                    }
+                }
+                return Arrays.copyOf(pairs, count);
+            }
+
+            private double pairCost(int a, int b) {
+                double meanWait = (waits[a] + waits[b]) / 2;
+                return (ratings[b] - ratings[a]) / (1 + meanWait / waitScaleSeconds);
+            }
+        }
+    }
+}
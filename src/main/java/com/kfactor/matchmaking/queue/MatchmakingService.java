@@ -0,0 +1,168 @@
+package com.kfactor.matchmaking.queue;
+
+import com.kfactor.matchmaking.dto.MatchmakingTickDTO;
+import com.kfactor.matchmaking.dto.QueueStatusDTO;
+import com.kfactor.matchmaking.event.MatchRecordedEvent;
+import com.kfactor.matchmaking.event.PlayerDeletedEvent;
+import com.kfactor.matchmaking.model.Player;
+import com.kfactor.matchmaking.service.PlayerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * In-memory matchmaking queue. Players wait until a tick takes a snapshot of the queue
+ * and pairs it in one batch with {@link BatchMatchmaker}. A paired player leaves the
+ * queue and can read their opponent from their queue status until the two record a
+ * match, either of them queues again, or {@code matched-ttl} passes without a match.
+ * The match itself is then played and recorded through the match endpoints as usual.
+ */
+@Service
+public class MatchmakingService implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchmakingService.class);
+
+    private final PlayerService playerService;
+    private final QueueProperties properties;
+    private final Clock clock;
+    private final BatchMatchmaker matchmaker;
+
+    private final Map<Long, QueuedPlayer> waiting = new ConcurrentHashMap<>();
+    private final Map<Long, Opponent> opponents = new ConcurrentHashMap<>();
+    private volatile MatchmakingTickDTO lastTick;
+
+    public MatchmakingService(PlayerService playerService, QueueProperties properties, Clock clock) {
+        this.playerService = playerService;
+        this.properties = properties;
+        this.clock = clock;
+        this.matchmaker = new BatchMatchmaker(properties.getMaxGap(), properties.getWaitScale(),
+                properties.getBandSize(), ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (properties.isEnabled()) {
+            registrar.addFixedDelayTask(new FixedDelayTask(this::tickQuietly, properties.getInterval(), properties.getInterval()));
+        }
+    }
+
+    public QueueStatusDTO join(Long playerId) {
+        Player player = playerService.getPlayerById(playerId);
+        QueuedPlayer queued = new QueuedPlayer(playerId, player.getRating(), clock.instant());
+        if (waiting.putIfAbsent(playerId, queued) != null) {
+            throw new IllegalArgumentException("Player " + playerId + " is already queued");
+        }
+        opponents.remove(playerId);
+        return new QueueStatusDTO(playerId, QueueStatusDTO.State.WAITING, queued.rating(), 0, null);
+    }
+
+    public void leave(Long playerId) {
+        if (waiting.remove(playerId) == null) {
+            throw new IllegalArgumentException("Player " + playerId + " is not queued");
+        }
+    }
+
+    public QueueStatusDTO getStatus(Long playerId) {
+        QueuedPlayer queued = waiting.get(playerId);
+        if (queued != null) {
+            long waited = Duration.between(queued.queuedAt(), clock.instant()).toMillis();
+            return new QueueStatusDTO(playerId, QueueStatusDTO.State.WAITING, queued.rating(), waited, null);
+        }
+        Opponent opponent = opponents.get(playerId);
+        if (opponent == null || opponent.expiredAt(clock.instant(), properties.getMatchedTtl())) {
+            throw new IllegalArgumentException("Player " + playerId + " is not queued");
+        }
+        return new QueueStatusDTO(playerId, QueueStatusDTO.State.MATCHED, 0, 0, opponent.playerId());
+    }
+
+    // A pairing has served its purpose once the two have played each other
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(MatchRecordedEvent event) {
+        settle(event.playerAId(), event.playerBId());
+        settle(event.playerBId(), event.playerAId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(PlayerDeletedEvent event) {
+        waiting.remove(event.playerId());
+        opponents.remove(event.playerId());
+    }
+
+    /**
+     * Pairs a snapshot of the queue. Players who leave while the tick is computing are
+     * dropped from their pairing; their partner stays queued for the next tick. Pairings
+     * older than {@code matched-ttl} are dropped first.
+     */
+    public synchronized MatchmakingTickDTO tick() {
+        Instant now = clock.instant();
+        opponents.values().removeIf(opponent -> opponent.expiredAt(now, properties.getMatchedTtl()));
+        List<QueuedPlayer> snapshot = new ArrayList<>(waiting.values());
+        long started = System.nanoTime();
+        BatchMatchmaker.Result result = matchmaker.match(snapshot, now);
+        double computeMillis = (System.nanoTime() - started) / 1e6;
+
+        int paired = 0;
+        long totalGap = 0;
+        int maxGap = 0;
+        for (BatchMatchmaker.Pairing pairing : result.pairings()) {
+            QueuedPlayer a = pairing.playerA();
+            QueuedPlayer b = pairing.playerB();
+            if (!waiting.remove(a.playerId(), a)) {
+                continue;
+            }
+            if (!waiting.remove(b.playerId(), b)) {
+                waiting.putIfAbsent(a.playerId(), a);
+                continue;
+            }
+            opponents.put(a.playerId(), new Opponent(b.playerId(), now));
+            opponents.put(b.playerId(), new Opponent(a.playerId(), now));
+            paired++;
+            totalGap += pairing.ratingGap();
+            maxGap = Math.max(maxGap, pairing.ratingGap());
+        }
+
+        lastTick = new MatchmakingTickDTO(now, snapshot.size(), paired, snapshot.size() - 2 * paired,
+                result.bands(), paired == 0 ? 0 : (double) totalGap / paired, maxGap, computeMillis);
+        return lastTick;
+    }
+
+    public MatchmakingTickDTO getLastTick() {
+        if (lastTick == null) {
+            throw new IllegalArgumentException("No matchmaking tick has run yet");
+        }
+        return lastTick;
+    }
+
+    private void settle(Long playerId, Long opponentId) {
+        opponents.computeIfPresent(playerId,
+                (id, opponent) -> opponent.playerId().equals(opponentId) ? null : opponent);
+    }
+
+    private void tickQuietly() {
+        try {
+            tick();
+        } catch (RuntimeException e) {
+            log.warn("Matchmaking tick failed", e);
+        }
+    }
+
+    private record Opponent(Long playerId, Instant matchedAt) {
+
+        boolean expiredAt(Instant now, Duration ttl) {
+            return !matchedAt.plus(ttl).isAfter(now);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.kfactor.matchmaking.queue;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Matchmaking queue. Players can always queue and ticks can always be run on demand; the
+ * periodic tick only runs with {@code matchmaking.queue.enabled=true}.
+ */
+@Configuration
+@EnableConfigurationProperties(QueueProperties.class)
+public class QueueConfig {
+}
@@ -0,0 +1,43 @@
+package com.kfactor.matchmaking.queue;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("matchmaking.queue")
+public class QueueProperties {
+
+    // Runs the batch matchmaker on a timer; ticks can always be triggered through the API
+    private boolean enabled;
+    private Duration interval = Duration.ofSeconds(2);
+
+    // Largest rating gap accepted between two players who have only just joined
+    private int maxGap = 200;
+
+    // Waiting this long on average doubles the gap a pair is allowed to have
+    private Duration waitScale = Duration.ofSeconds(30);
+
+    // Target players per independently matched rating band
+    private int bandSize = 4096;
+
+    // How long a paired player can read their opponent if the two never record a match
+    private Duration matchedTtl = Duration.ofMinutes(10);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Duration getInterval() { return interval; }
+    public void setInterval(Duration interval) { this.interval = interval; }
+
+    public int getMaxGap() { return maxGap; }
+    public void setMaxGap(int maxGap) { this.maxGap = maxGap; }
+
+    public Duration getWaitScale() { return waitScale; }
+    public void setWaitScale(Duration waitScale) { this.waitScale = waitScale; }
+
+    public int getBandSize() { return bandSize; }
+    public void setBandSize(int bandSize) { this.bandSize = bandSize; }
+
+    public Duration getMatchedTtl() { return matchedTtl; }
+    public void setMatchedTtl(Duration matchedTtl) { this.matchedTtl = matchedTtl; }
+}
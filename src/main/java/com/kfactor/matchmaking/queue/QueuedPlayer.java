@@ -0,0 +1,9 @@
+package com.kfactor.matchmaking.queue;
+
+import java.time.Instant;
+
+/**
+ * A waiting player, with the rating they had when they joined the queue.
+ */
+public record QueuedPlayer(long playerId, int rating, Instant queuedAt) {
+}
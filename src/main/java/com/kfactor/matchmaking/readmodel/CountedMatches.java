@@ -0,0 +1,90 @@
+package com.kfactor.matchmaking.readmodel;
+
+import com.kfactor.matchmaking.repository.MatchRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The match ids a rebuild snapshot counted: every id from {@code first} to {@code last}
+ * except the gaps, which are ids that were still uncommitted, rolled back or deleted
+ * when the snapshot was read. An id assigned before the snapshot can commit after it,
+ * so a single high-water mark would drop its event; here only the ids actually counted
+ * are skipped. Gaps are kept as sorted, inclusive ranges and are few in practice.
+ */
+public final class CountedMatches {
+
+    private static final CountedMatches NONE = new CountedMatches(1, 0, new long[0]);
+
+    private final long first;
+    private final long last;
+    // Pairs of inclusive [start, end] ranges, sorted by start
+    private final long[] gaps;
+
+    private CountedMatches(long first, long last, long[] gaps) {
+        this.first = first;
+        this.last = last;
+        this.gaps = gaps;
+    }
+
+    public static CountedMatches none() {
+        return NONE;
+    }
+
+    /**
+     * The match ids committed as seen by the current transaction. Callers that read more
+     * than one query against it need repeatable read to see the same matches throughout.
+     */
+    public static CountedMatches load(MatchRepository matchRepository) {
+        long last = matchRepository.findMaxId();
+        if (last == 0) {
+            return NONE;
+        }
+        List<long[]> gaps = new ArrayList<>();
+        for (Object[] row : matchRepository.findIdGapsUpTo(last)) {
+            gaps.add(new long[] {((Number) row[0]).longValue(), ((Number) row[1]).longValue()});
+        }
+        return between(matchRepository.findMinId(), last, gaps);
+    }
+
+    /**
+     * Ids {@code first} to {@code last} with the given gaps taken out. Each gap is an
+     * inclusive {@code [start, end]} pair; gaps must be in ascending order and disjoint.
+     */
+    public static CountedMatches between(long first, long last, List<long[]> gaps) {
+        if (first > last) {
+            return NONE;
+        }
+        long[] ranges = new long[gaps.size() * 2];
+        for (int i = 0; i < gaps.size(); i++) {
+            ranges[2 * i] = gaps.get(i)[0];
+            ranges[2 * i + 1] = gaps.get(i)[1];
+        }
+        return new CountedMatches(first, last, ranges);
+    }
+
+    // Highest id counted, or 0 when there were no matches
+    public long last() {
+        return last;
+    }
+
+    public boolean contains(long matchId) {
+        if (matchId < first || matchId > last) {
+            return false;
+        }
+        // Last gap starting at or before the id
+        int low = 0;
+        int high = gaps.length / 2 - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (gaps[2 * mid] <= matchId) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found < 0 || gaps[2 * found + 1] < matchId;
+    }
+}
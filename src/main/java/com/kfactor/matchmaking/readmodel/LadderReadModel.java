@@ -0,0 +1,112 @@
+package com.kfactor.matchmaking.readmodel;
+
+import com.kfactor.matchmaking.event.LadderMatchRecordedEvent;
+import com.kfactor.matchmaking.event.PlayerDeletedEvent;
+import com.kfactor.matchmaking.repository.LadderRatingRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-ladder counterpart of the {@link PlayerReadModel}: every ladder has its own
+ * {@link PlayerColumns} partition with its own writer lock, so a busy ladder's writes
+ * never wait on another ladder's, and ladders are applied in parallel on as many cores
+ * as there are request threads writing to them.
+ *
+ * <p>A partition is loaded from the database the first time its ladder is read. Events
+ * for a ladder with no partition are dropped, as they committed before any load could
+ * start. Events carry whole rows, and a row only replaces one counting fewer matches, so
+ * an event that lands before, during or after the load of its partition is applied once.
+ * A ladder that loads empty gets no partition, so reads of unknown ladders leave nothing
+ * behind.
+ */
+@Component
+public class LadderReadModel {
+
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+    private final LadderRatingRepository ladderRatingRepository;
+    private final TransactionTemplate loadTransaction;
+
+    public LadderReadModel(LadderRatingRepository ladderRatingRepository, PlatformTransactionManager transactionManager) {
+        this.ladderRatingRepository = ladderRatingRepository;
+        // Loaded on the primary: a replica could still miss a match whose event was already dropped
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void apply(LadderMatchRecordedEvent event) {
+        Partition partition = partitions.get(event.ladder());
+        if (partition != null) {
+            partition.apply(event.playerA(), event.playerB());
+        }
+    }
+
+    public void apply(PlayerDeletedEvent event) {
+        partitions.values().forEach(partition -> partition.remove(event.playerId()));
+    }
+
+    public List<PlayerView> getTopPlayers(String ladder, int limit) {
+        return partition(ladder).players.top(limit);
+    }
+
+    public Optional<PlayerReadModel.PlayerEntry> findById(String ladder, Long id) {
+        return partition(ladder).players.findById(id);
+    }
+
+    public boolean isLoaded(String ladder) {
+        Partition partition = partitions.get(ladder);
+        return partition != null && partition.loaded;
+    }
+
+    private Partition partition(String ladder) {
+        Partition partition = partitions.computeIfAbsent(ladder, name -> new Partition());
+        if (!partition.loaded) {
+            partition.load(ladder);
+        }
+        return partition;
+    }
+
+    private final class Partition {
+
+        private final PlayerColumns players = new PlayerColumns(0);
+        private volatile boolean loaded;
+
+        synchronized void load(String ladder) {
+            if (loaded) {
+                return;
+            }
+            List<LadderMatchRecordedEvent.Standing> standings =
+                    loadTransaction.execute(status -> ladderRatingRepository.findStandings(ladder));
+            standings.forEach(this::put);
+            if (players.size() == 0) {
+                partitions.remove(ladder, this);
+            }
+            loaded = true;
+        }
+
+        synchronized void apply(LadderMatchRecordedEvent.Standing playerA, LadderMatchRecordedEvent.Standing playerB) {
+            put(playerA);
+            put(playerB);
+        }
+
+        synchronized void remove(long playerId) {
+            players.remove(playerId);
+        }
+
+        private void put(LadderMatchRecordedEvent.Standing standing) {
+            Optional<PlayerReadModel.PlayerEntry> held = players.findById(standing.playerId());
+            if (held.isPresent() && held.get().totalMatches() >= standing.totalMatches()) {
+                return;
+            }
+            players.put(new PlayerReadModel.PlayerEntry(
+                    new PlayerView(standing.playerId(), standing.username(), standing.rating(), standing.joinedAt()),
+                    standing.wins(), standing.losses(), standing.lastPlayedAt()));
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package com.kfactor.matchmaking.readmodel;
+
+import com.kfactor.matchmaking.dto.RatingDistributionDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Column-per-field storage behind the {@link PlayerReadModel}.
+ *
+ * <p>Each player gets a dense ordinal, and each field lives in a primitive array indexed
+ * by it. Usernames are packed as UTF-8 into one byte array, in ordinal order, so a name
+ * ends where the next one starts. Ids and usernames are resolved to ordinals through
+ * open-addressing tables of ordinals, and the ranking is a {@link RankIndex} of packed
+ * rating and id keys. A million players is therefore a few thousand arrays rather than
+ * millions of entities, boxed ids, strings and map nodes for the collector to trace.
+ * Deleted rows keep their ordinal, and their table slots act as tombstones, until the next
+ * rebuild. A {@link RatingHistogram} follows every rating change for the distribution, and
+ * {@link RecentResults} keeps each player's latest results.
+ *
+ * <p>Writers are serialized by the read model and take the write lock. Readers take an
+ * optimistic read and fall back to the read lock when a write overlapped, so a row is
+ * never seen half updated.
+ */
+final class PlayerColumns {
+
+    // Ranking keys pack the rating above the id
+    private static final long MAX_ID = 0xFFFFFFFFL;
+    private static final long NEVER = Long.MIN_VALUE;
+    private static final int EMPTY = -1;
+
+    private final StampedLock lock = new StampedLock();
+    private final RankIndex ranking = new RankIndex();
+    private final RatingHistogram histogram = new RatingHistogram();
+    private final RecentResults recent = new RecentResults();
+
+    private int size;
+    private int live;
+    private long[] ids;
+    private int[] ratings;
+    private int[] wins;
+    private int[] losses;
+    private long[] createdAtNanos;
+    private long[] lastPlayedAtNanos;
+    private int[] nameOffsets;
+    private byte[] names;
+    private int namesSize;
+    private int[] byId;
+    private int[] byName;
+    private int indexed;
+
+    PlayerColumns(int capacity) {
+        int rows = Math.max(capacity, 16);
+        ids = new long[rows];
+        ratings = new int[rows];
+        wins = new int[rows];
+        losses = new int[rows];
+        createdAtNanos = new long[rows];
+        lastPlayedAtNanos = new long[rows];
+        nameOffsets = new int[rows];
+        names = new byte[rows * 8];
+        byId = emptyTable(rows);
+        byName = emptyTable(rows);
+    }
+
+    int size() {
+        return read(() -> live);
+    }
+
+    Optional<PlayerReadModel.PlayerEntry> findById(long id) {
+        return Optional.ofNullable(read(() -> {
+            int ordinal = ordinalOf(id);
+            return ordinal == EMPTY ? null : row(ordinal);
+        }));
+    }
+
+    Optional<PlayerReadModel.PlayerEntry> findByUsername(String username) {
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        return Optional.ofNullable(read(() -> {
+            int ordinal = ordinalOf(name);
+            return ordinal == EMPTY ? null : row(ordinal);
+        }));
+    }
+
+    int ratings(long[] ids, int[] into) {
+        return read(() -> {
+            for (int i = 0; i < ids.length; i++) {
+                int ordinal = ordinalOf(ids[i]);
+                if (ordinal == EMPTY) {
+                    return i;
+                }
+                into[i] = ratings[ordinal];
+            }
+            return -1;
+        });
+    }
+
+    /**
+     * The player's latest results, newest first, or empty when there is no such player.
+     */
+    Optional<List<RecentResult>> recentResults(long id) {
+        return Optional.ofNullable(read(() -> {
+            int ordinal = ordinalOf(id);
+            return ordinal == EMPTY ? null : recent.list(ordinal);
+        }));
+    }
+
+    /**
+     * Players by rating, highest first, ties by id.
+     */
+    List<PlayerView> top(int limit) {
+        return read(() -> {
+            long[] keys = ranking.first(limit);
+            List<PlayerView> top = new ArrayList<>(keys.length);
+            for (long key : keys) {
+                top.add(row(ordinalOf(key & MAX_ID)).view());
+            }
+            return top;
+        });
+    }
+
+    RatingDistributionDTO distribution(int bucket) {
+        return read(histogram::copy).describe(bucket);
+    }
+
+    List<PlayerView> all() {
+        int rows = read(() -> size);
+        List<PlayerView> all = new ArrayList<>(rows);
+        for (int ordinal = 0; ordinal < rows; ordinal++) {
+            int row = ordinal;
+            PlayerReadModel.PlayerEntry entry = read(() -> row(row));
+            if (entry != null) {
+                all.add(entry.view());
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Adds a player, or replaces the row of a player already present.
+     */
+    void put(PlayerReadModel.PlayerEntry entry) {
+        PlayerView view = entry.view();
+        if (view.id() <= 0 || view.id() > MAX_ID) {
+            throw new IllegalArgumentException("Player id out of range: " + view.id());
+        }
+        long stamp = lock.writeLock();
+        try {
+            int ordinal = ordinalOf(view.id());
+            if (ordinal != EMPTY && !view.username().equals(name(ordinal))) {
+                delete(ordinal);
+                ordinal = EMPTY;
+            }
+            if (ordinal == EMPTY) {
+                ordinal = append(view.id(), view.username().getBytes(StandardCharsets.UTF_8));
+            } else {
+                ranking.remove(rankKey(ratings[ordinal], view.id()));
+                histogram.remove(ratings[ordinal]);
+            }
+            ratings[ordinal] = view.rating();
+            wins[ordinal] = entry.wins();
+            losses[ordinal] = entry.losses();
+            createdAtNanos[ordinal] = toNanos(view.createdAt());
+            lastPlayedAtNanos[ordinal] = toNanos(entry.lastPlayedAt());
+            ranking.add(rankKey(view.rating(), view.id()));
+            histogram.add(view.rating());
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    void remove(long id) {
+        long stamp = lock.writeLock();
+        try {
+            int ordinal = ordinalOf(id);
+            if (ordinal != EMPTY) {
+                delete(ordinal);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    void setRating(long id, int rating) {
+        long stamp = lock.writeLock();
+        try {
+            int ordinal = ordinalOf(id);
+            if (ordinal != EMPTY) {
+                rerank(ordinal, rating);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Counts a win or a loss, adds it to the player's recent results and, when given,
+     * moves the player to their rating after it.
+     */
+    void recordResult(long id, long matchId, long opponentId, Integer ratingBefore, Integer ratingAfter,
+                      boolean won, Instant playedAt) {
+        long stamp = lock.writeLock();
+        try {
+            int ordinal = ordinalOf(id);
+            if (ordinal == EMPTY) {
+                return;
+            }
+            if (ratingAfter != null) {
+                rerank(ordinal, ratingAfter);
+            }
+            int delta = ratingBefore != null && ratingAfter != null ? ratingAfter - ratingBefore : 0;
+            recent.record(ordinal, matchId, opponentId, won, delta, toNanos(playedAt));
+            if (won) {
+                wins[ordinal]++;
+            } else {
+                losses[ordinal]++;
+            }
+            lastPlayedAtNanos[ordinal] = Math.max(lastPlayedAtNanos[ordinal], toNanos(playedAt));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    void revokeResult(long id, long matchId, boolean won) {
+        long stamp = lock.writeLock();
+        try {
+            int ordinal = ordinalOf(id);
+            if (ordinal == EMPTY) {
+                return;
+            }
+            recent.remove(ordinal, matchId);
+            if (won) {
+                wins[ordinal] = Math.max(0, wins[ordinal] - 1);
+            } else {
+                losses[ordinal] = Math.max(0, losses[ordinal] - 1);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Appends a result loaded by a rebuild; results must arrive oldest first.
+     */
+    void addRecentResult(long id, RecentResult result) {
+        long stamp = lock.writeLock();
+        try {
+            int ordinal = ordinalOf(id);
+            if (ordinal != EMPTY) {
+                recent.record(ordinal, result.matchId(), result.opponentId(), result.won(), result.ratingDelta(),
+                        toNanos(result.playedAt()));
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = reader.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException torn) {
+                // A write moved the columns mid-read; read again under the lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private PlayerReadModel.PlayerEntry row(int ordinal) {
+        long id = ids[ordinal];
+        if (id == 0) {
+            return null;
+        }
+        PlayerView view = new PlayerView(id, name(ordinal), ratings[ordinal], toInstant(createdAtNanos[ordinal]));
+        return new PlayerReadModel.PlayerEntry(view, wins[ordinal], losses[ordinal],
+                toInstant(lastPlayedAtNanos[ordinal]));
+    }
+
+    private String name(int ordinal) {
+        int from = nameOffsets[ordinal];
+        return new String(names, from, nameEnd(ordinal) - from, StandardCharsets.UTF_8);
+    }
+
+    private int nameEnd(int ordinal) {
+        return ordinal + 1 < size ? nameOffsets[ordinal + 1] : namesSize;
+    }
+
+    private int append(long id, byte[] name) {
+        if (size == ids.length) {
+            int rows = size + (size >> 1);
+            ids = Arrays.copyOf(ids, rows);
+            ratings = Arrays.copyOf(ratings, rows);
+            wins = Arrays.copyOf(wins, rows);
+            losses = Arrays.copyOf(losses, rows);
+            createdAtNanos = Arrays.copyOf(createdAtNanos, rows);
+            lastPlayedAtNanos = Arrays.copyOf(lastPlayedAtNanos, rows);
+            nameOffsets = Arrays.copyOf(nameOffsets, rows);
+        }
+        if (namesSize + name.length > names.length) {
+            names = Arrays.copyOf(names, Math.max(namesSize + name.length, names.length + (names.length >> 1)));
+        }
+        int ordinal = size++;
+        ids[ordinal] = id;
+        nameOffsets[ordinal] = namesSize;
+        System.arraycopy(name, 0, names, namesSize, name.length);
+        namesSize += name.length;
+        live++;
+
+        // Tombstones count towards the load too; rehashing drops them
+        if ((indexed + 1) * 2 > byId.length) {
+            byId = emptyTable(live * 2);
+            byName = emptyTable(live * 2);
+            indexed = 0;
+            for (int row = 0; row < size; row++) {
+                if (ids[row] != 0) {
+                    index(row);
+                }
+            }
+        } else {
+            index(ordinal);
+        }
+        return ordinal;
+    }
+
+    private void index(int ordinal) {
+        insert(byId, mix(ids[ordinal]), ordinal);
+        insert(byName, mix(hash(names, nameOffsets[ordinal], nameEnd(ordinal))), ordinal);
+        indexed++;
+    }
+
+    private void delete(int ordinal) {
+        ranking.remove(rankKey(ratings[ordinal], ids[ordinal]));
+        histogram.remove(ratings[ordinal]);
+        ids[ordinal] = 0;
+        live--;
+    }
+
+    private void rerank(int ordinal, int rating) {
+        ranking.remove(rankKey(ratings[ordinal], ids[ordinal]));
+        histogram.move(ratings[ordinal], rating);
+        ratings[ordinal] = rating;
+        ranking.add(rankKey(rating, ids[ordinal]));
+    }
+
+    private int ordinalOf(long id) {
+        int[] table = byId;
+        long[] rowIds = ids;
+        int mask = table.length - 1;
+        int slot = mix(id) & mask;
+        for (int probes = 0; probes < table.length; probes++, slot = (slot + 1) & mask) {
+            int ordinal = table[slot];
+            if (ordinal == EMPTY) {
+                return EMPTY;
+            }
+            if (rowIds[ordinal] == id) {
+                return ordinal;
+            }
+        }
+        return EMPTY;
+    }
+
+    private int ordinalOf(byte[] name) {
+        int[] table = byName;
+        int mask = table.length - 1;
+        int slot = mix(hash(name, 0, name.length)) & mask;
+        for (int probes = 0; probes < table.length; probes++, slot = (slot + 1) & mask) {
+            int ordinal = table[slot];
+            if (ordinal == EMPTY) {
+                return EMPTY;
+            }
+            // A deleted row's slot is a tombstone: its username may have been taken since
+            if (ids[ordinal] != 0
+                    && Arrays.equals(names, nameOffsets[ordinal], nameEnd(ordinal), name, 0, name.length)) {
+                return ordinal;
+            }
+        }
+        return EMPTY;
+    }
+
+    private static void insert(int[] table, int hash, int ordinal) {
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = ordinal;
+    }
+
+    // At least twice the rows, so probe chains stay short
+    private static int[] emptyTable(int rows) {
+        int[] table = new int[Integer.highestOneBit(Math.max(rows, 8) * 2 - 1) << 1];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+
+    private static int hash(byte[] bytes, int from, int to) {
+        int hash = 1;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        return hash;
+    }
+
+    private static int mix(long value) {
+        long mixed = value * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    // Higher ratings sort first; the id breaks ties
+    private static long rankKey(int rating, long id) {
+        return (-(long) rating) << 32 | id;
+    }
+
+    private static long toNanos(Instant instant) {
+        if (instant == null) {
+            return NEVER;
+        }
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+    }
+
+    private static Instant toInstant(long nanos) {
+        return nanos == NEVER ? null : Instant.ofEpochSecond(0, nanos);
+    }
+}
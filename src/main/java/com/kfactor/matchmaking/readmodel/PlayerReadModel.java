@@ -0,0 +1,162 @@
+package com.kfactor.matchmaking.readmodel;
+
+import com.kfactor.matchmaking.dto.RatingDistributionDTO;
+import com.kfactor.matchmaking.dto.ReadModelStatusDTO;
+import com.kfactor.matchmaking.event.DomainEvent;
+import com.kfactor.matchmaking.event.MatchRecordedEvent;
+import com.kfactor.matchmaking.event.MatchVoidedEvent;
+import com.kfactor.matchmaking.event.PlayerCreatedEvent;
+import com.kfactor.matchmaking.event.PlayerDeletedEvent;
+import com.kfactor.matchmaking.event.PlayerRatingChangedEvent;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Denormalized, in-memory view of players, their win/loss counters and the rating
+ * ranking, held in {@link PlayerColumns}. Writes come only from committed domain events
+ * and are serialized; reads never block on them and never touch the database.
+ */
+@Component
+public class PlayerReadModel {
+
+    private final Clock clock;
+    private volatile State state = new State(new PlayerColumns(0), CountedMatches.none());
+
+    private long eventsApplied;
+    private long lastEventLagMicros;
+    private long maxEventLagMicros;
+    private Instant lastEventAppliedAt;
+    private Instant lastRebuildAt;
+    private long lastRebuildMillis;
+
+    public PlayerReadModel(Clock clock) {
+        this.clock = clock;
+    }
+
+    public synchronized void apply(PlayerCreatedEvent event) {
+        state.players.put(new PlayerEntry(new PlayerView(event.playerId(), event.username(), event.rating(),
+                event.createdAt()), 0, 0, null));
+        recordLag(event);
+    }
+
+    public synchronized void apply(PlayerDeletedEvent event) {
+        state.players.remove(event.playerId());
+        recordLag(event);
+    }
+
+    public synchronized void apply(PlayerRatingChangedEvent event) {
+        state.players.setRating(event.playerId(), event.rating());
+        recordLag(event);
+    }
+
+    public synchronized void apply(MatchRecordedEvent event) {
+        State current = state;
+        // Matches already counted by the last rebuild must not be counted twice
+        if (!current.countedMatches.contains(event.matchId())) {
+            current.players.recordResult(event.playerAId(), event.matchId(), event.playerBId(), event.ratingABefore(),
+                    event.ratingAAfter(), event.wonBy(event.playerAId()), event.playedAt());
+            current.players.recordResult(event.playerBId(), event.matchId(), event.playerAId(), event.ratingBBefore(),
+                    event.ratingBAfter(), event.wonBy(event.playerBId()), event.playedAt());
+        }
+        recordLag(event);
+    }
+
+    // Ratings are corrected by the rating-changed events published alongside
+    public synchronized void apply(MatchVoidedEvent event) {
+        State current = state;
+        current.players.revokeResult(event.playerAId(), event.matchId(), event.wonBy(event.playerAId()));
+        current.players.revokeResult(event.playerBId(), event.matchId(), event.wonBy(event.playerBId()));
+        recordLag(event);
+    }
+
+    /**
+     * Rebuilds the model from a snapshot of the write side. The loader runs while
+     * event application is blocked, so no event can land in the state being discarded;
+     * readers keep using the old state until the new one is swapped in.
+     */
+    public synchronized void rebuild(Supplier<Snapshot> loader) {
+        Instant started = clock.instant();
+        Snapshot snapshot = loader.get();
+        PlayerColumns players = new PlayerColumns(snapshot.entries().size());
+        snapshot.entries().forEach(players::put);
+        snapshot.recentResults().forEach((id, results) -> results.forEach(result -> players.addRecentResult(id, result)));
+        state = new State(players, snapshot.countedMatches());
+        lastRebuildAt = clock.instant();
+        lastRebuildMillis = Duration.between(started, lastRebuildAt).toMillis();
+    }
+
+    public List<PlayerView> getAllPlayers() {
+        return state.players.all();
+    }
+
+    public Optional<PlayerEntry> findById(Long id) {
+        return state.players.findById(id);
+    }
+
+    public Optional<PlayerEntry> findByUsername(String username) {
+        return state.players.findByUsername(username);
+    }
+
+    /**
+     * Copies the rating of each player in {@code ids} into {@code into}. Returns the index
+     * of the first id with no player, or -1 when all were found.
+     */
+    public int findRatings(long[] ids, int[] into) {
+        return state.players.ratings(ids, into);
+    }
+
+    public Optional<List<RecentResult>> findRecentResults(Long id) {
+        return state.players.recentResults(id);
+    }
+
+    public List<PlayerView> getTopPlayers(int limit) {
+        return state.players.top(limit);
+    }
+
+    public RatingDistributionDTO getRatingDistribution(int bucket) {
+        return state.players.distribution(bucket);
+    }
+
+    public synchronized ReadModelStatusDTO getStatus() {
+        return new ReadModelStatusDTO(state.players.size(), eventsApplied, lastEventLagMicros, maxEventLagMicros,
+                lastEventAppliedAt, lastRebuildAt, lastRebuildMillis);
+    }
+
+    private void recordLag(DomainEvent event) {
+        Instant now = clock.instant();
+        long lagMicros = Math.max(0, Duration.between(event.occurredAt(), now).toNanos() / 1000);
+        eventsApplied++;
+        lastEventLagMicros = lagMicros;
+        maxEventLagMicros = Math.max(maxEventLagMicros, lagMicros);
+        lastEventAppliedAt = now;
+    }
+
+    /**
+     * The write side as it stood with exactly {@code countedMatches} committed.
+     * {@code recentResults} holds each player's latest results, oldest first.
+     */
+    public record Snapshot(Collection<PlayerEntry> entries, Map<Long, List<RecentResult>> recentResults,
+                           CountedMatches countedMatches) {
+
+        public Snapshot(Collection<PlayerEntry> entries, CountedMatches countedMatches) {
+            this(entries, Map.of(), countedMatches);
+        }
+    }
+
+    /**
+     * A player with their counters. {@code lastPlayedAt} is null until their first match.
+     */
+    public record PlayerEntry(PlayerView view, int wins, int losses, Instant lastPlayedAt) {
+        public int totalMatches() { return wins + losses; }
+    }
+
+    private record State(PlayerColumns players, CountedMatches countedMatches) {}
+}
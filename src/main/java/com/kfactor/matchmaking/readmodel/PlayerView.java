@@ -0,0 +1,10 @@
+package com.kfactor.matchmaking.readmodel;
+
+import java.time.Instant;
+
+/**
+ * Read-side projection of a player. Serializes to the same JSON shape as the
+ * {@code Player} entity so GET endpoints are unchanged for clients.
+ */
+public record PlayerView(Long id, String username, int rating, Instant createdAt) {
+}
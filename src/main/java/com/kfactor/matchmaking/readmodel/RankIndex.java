@@ -0,0 +1,111 @@
+package com.kfactor.matchmaking.readmodel;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of {@code long} keys, kept in blocks of at most {@link #BLOCK} keys. An
+ * insert or removal shifts keys inside one block, and splits a full block in two or drops
+ * an empty one. Five million keys are about ten thousand arrays, with no object per key.
+ *
+ * <p>Not thread-safe; {@link PlayerColumns} guards it with its lock.
+ */
+final class RankIndex {
+
+    static final int BLOCK = 512;
+
+    private long[][] blocks = new long[16][];
+    private int[] sizes = new int[16];
+    private int blockCount;
+
+    void add(long key) {
+        if (blockCount == 0) {
+            insertBlock(0, new long[BLOCK], 0);
+        }
+        int block = blockFor(key);
+        long[] keys = blocks[block];
+        int size = sizes[block];
+        int position = Arrays.binarySearch(keys, 0, size, key);
+        if (position >= 0) {
+            return;
+        }
+        position = -position - 1;
+        if (size == BLOCK) {
+            // Split, then insert into whichever half the key belongs to
+            long[] upper = new long[BLOCK];
+            int half = BLOCK / 2;
+            System.arraycopy(keys, half, upper, 0, BLOCK - half);
+            sizes[block] = half;
+            insertBlock(block + 1, upper, BLOCK - half);
+            if (position > half) {
+                block++;
+                position -= half;
+                keys = upper;
+            }
+            size = sizes[block];
+        }
+        System.arraycopy(keys, position, keys, position + 1, size - position);
+        keys[position] = key;
+        sizes[block]++;
+    }
+
+    void remove(long key) {
+        if (blockCount == 0) {
+            return;
+        }
+        int block = blockFor(key);
+        long[] keys = blocks[block];
+        int size = sizes[block];
+        int position = Arrays.binarySearch(keys, 0, size, key);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+        sizes[block]--;
+        if (sizes[block] == 0) {
+            System.arraycopy(blocks, block + 1, blocks, block, blockCount - block - 1);
+            System.arraycopy(sizes, block + 1, sizes, block, blockCount - block - 1);
+            blocks[--blockCount] = null;
+        }
+    }
+
+    /**
+     * The smallest {@code limit} keys, in order.
+     */
+    long[] first(int limit) {
+        long[] first = new long[Math.max(0, limit)];
+        int count = 0;
+        for (int block = 0; block < blockCount && count < first.length; block++) {
+            int take = Math.min(sizes[block], first.length - count);
+            System.arraycopy(blocks[block], 0, first, count, take);
+            count += take;
+        }
+        return count == first.length ? first : Arrays.copyOf(first, count);
+    }
+
+    // The last block whose first key is not above the key, or the first block
+    private int blockFor(long key) {
+        int low = 0;
+        int high = blockCount - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (blocks[middle][0] <= key) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private void insertBlock(int index, long[] keys, int size) {
+        if (blockCount == blocks.length) {
+            blocks = Arrays.copyOf(blocks, blockCount * 2);
+            sizes = Arrays.copyOf(sizes, blockCount * 2);
+        }
+        System.arraycopy(blocks, index, blocks, index + 1, blockCount - index);
+        System.arraycopy(sizes, index, sizes, index + 1, blockCount - index);
+        blocks[index] = keys;
+        sizes[index] = size;
+        blockCount++;
+    }
+}
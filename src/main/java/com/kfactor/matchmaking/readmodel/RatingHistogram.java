@@ -0,0 +1,117 @@
+package com.kfactor.matchmaking.readmodel;
+
+import com.kfactor.matchmaking.dto.RatingBucketDTO;
+import com.kfactor.matchmaking.dto.RatingDistributionDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Player count at every rating point, with the running sum and sum of squares of all
+ * ratings. Each rating change moves one player between two counts in constant time.
+ * Because counts are kept per point, quantiles read from them are exact, and any bucket
+ * width can be served by adding up neighbouring counts.
+ *
+ * <p>Not thread-safe; {@link PlayerColumns} guards it with its lock.
+ */
+final class RatingHistogram {
+
+    private static final int MARGIN = 512;
+    private static final int[] PERCENTILES = {1, 10, 25, 50, 75, 90, 99};
+
+    private int[] counts = new int[0];
+    private int base;
+    private long players;
+    private long sum;
+    private long sumOfSquares;
+
+    void add(int rating) {
+        if (rating < base || rating >= base + counts.length) {
+            grow(rating);
+        }
+        counts[rating - base]++;
+        players++;
+        sum += rating;
+        sumOfSquares += (long) rating * rating;
+    }
+
+    void remove(int rating) {
+        counts[rating - base]--;
+        players--;
+        sum -= rating;
+        sumOfSquares -= (long) rating * rating;
+    }
+
+    void move(int from, int to) {
+        remove(from);
+        add(to);
+    }
+
+    RatingHistogram copy() {
+        RatingHistogram copy = new RatingHistogram();
+        copy.counts = Arrays.copyOf(counts, counts.length);
+        copy.base = base;
+        copy.players = players;
+        copy.sum = sum;
+        copy.sumOfSquares = sumOfSquares;
+        return copy;
+    }
+
+    RatingDistributionDTO describe(int bucket) {
+        if (players == 0) {
+            return new RatingDistributionDTO(0, 0, 0, null, null, bucket, Map.of(), List.of());
+        }
+        int low = 0;
+        while (counts[low] == 0) {
+            low++;
+        }
+        int high = counts.length - 1;
+        while (counts[high] == 0) {
+            high--;
+        }
+        double mean = (double) sum / players;
+        double variance = Math.max(0, (double) sumOfSquares / players - mean * mean);
+
+        // Nearest rank: the lowest rating with at least ceil(p% of players) at or below it
+        Map<String, Integer> quantiles = new LinkedHashMap<>();
+        long seen = 0;
+        int index = low;
+        for (int percentile : PERCENTILES) {
+            long rank = Math.max(1, (players * percentile + 99) / 100);
+            while (seen + counts[index] < rank) {
+                seen += counts[index++];
+            }
+            quantiles.put("p" + percentile, base + index);
+        }
+
+        List<RatingBucketDTO> buckets = new ArrayList<>();
+        for (long from = Math.floorDiv(base + low, bucket) * (long) bucket; from <= base + high; from += bucket) {
+            long count = 0;
+            int start = (int) Math.max(from - base, low);
+            int end = (int) Math.min(from + bucket - base, high + 1);
+            for (int i = start; i < end; i++) {
+                count += counts[i];
+            }
+            buckets.add(new RatingBucketDTO((int) from, (int) (from + bucket), count));
+        }
+        return new RatingDistributionDTO(players, mean, Math.sqrt(variance), base + low, base + high, bucket,
+                quantiles, buckets);
+    }
+
+    private void grow(int rating) {
+        if (counts.length == 0) {
+            base = rating - MARGIN;
+            counts = new int[2 * MARGIN];
+            return;
+        }
+        int newBase = Math.min(base, rating - MARGIN);
+        int newEnd = Math.max(base + counts.length, rating + MARGIN);
+        int[] grown = new int[newEnd - newBase];
+        System.arraycopy(counts, 0, grown, base - newBase, counts.length);
+        counts = grown;
+        base = newBase;
+    }
+}
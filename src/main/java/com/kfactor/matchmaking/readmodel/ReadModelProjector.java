@@ -0,0 +1,146 @@
+package com.kfactor.matchmaking.readmodel;
+
+import com.kfactor.matchmaking.event.LadderMatchRecordedEvent;
+import com.kfactor.matchmaking.event.MatchRecordedEvent;
+import com.kfactor.matchmaking.event.MatchVoidedEvent;
+import com.kfactor.matchmaking.event.PlayerCreatedEvent;
+import com.kfactor.matchmaking.event.PlayerDeletedEvent;
+import com.kfactor.matchmaking.event.PlayerRatingChangedEvent;
+import com.kfactor.matchmaking.event.SeasonRolledOverEvent;
+import com.kfactor.matchmaking.model.PlayerArchiveStats;
+import com.kfactor.matchmaking.repository.MatchRepository;
+import com.kfactor.matchmaking.repository.PlayerArchiveStatsRepository;
+import com.kfactor.matchmaking.repository.PlayerRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Feeds committed domain events into the {@link PlayerReadModel} and the
+ * {@link LadderReadModel}, and rebuilds the former from the database on startup or on
+ * demand. Ladder partitions load themselves on first use.
+ */
+@Component
+public class ReadModelProjector {
+
+    private final PlayerReadModel readModel;
+    private final LadderReadModel ladderReadModel;
+    private final PlayerRepository playerRepository;
+    private final MatchRepository matchRepository;
+    private final PlayerArchiveStatsRepository playerArchiveStatsRepository;
+    private final TransactionTemplate rebuildTransaction;
+
+    public ReadModelProjector(PlayerReadModel readModel, LadderReadModel ladderReadModel,
+                              PlayerRepository playerRepository,
+                              MatchRepository matchRepository, PlayerArchiveStatsRepository playerArchiveStatsRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.readModel = readModel;
+        this.ladderReadModel = ladderReadModel;
+        this.playerRepository = playerRepository;
+        this.matchRepository = matchRepository;
+        this.playerArchiveStatsRepository = playerArchiveStatsRepository;
+        // Events arrive after their transaction has committed, so a rebuild they trigger needs its own
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.rebuildTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(PlayerCreatedEvent event) {
+        readModel.apply(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(PlayerDeletedEvent event) {
+        readModel.apply(event);
+        ladderReadModel.apply(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(PlayerRatingChangedEvent event) {
+        readModel.apply(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(MatchRecordedEvent event) {
+        readModel.apply(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(LadderMatchRecordedEvent event) {
+        ladderReadModel.apply(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(MatchVoidedEvent event) {
+        readModel.apply(event);
+    }
+
+    // A rollover resets every rating at once; reloading is cheaper than an event per player
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(SeasonRolledOverEvent event) {
+        rebuildTransaction.executeWithoutResult(status -> readModel.rebuild(this::loadSnapshot));
+    }
+
+    // Read-write transaction on purpose: a rebuild must see the primary, never a lagging replica.
+    // Repeatable read gives every query of the snapshot the same set of committed matches.
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public void rebuild() {
+        readModel.rebuild(this::loadSnapshot);
+    }
+
+    private PlayerReadModel.Snapshot loadSnapshot() {
+        // Record exactly which matches the counters include, so later events never overlap them
+        CountedMatches countedMatches = CountedMatches.load(matchRepository);
+        long matchHighWater = countedMatches.last();
+        Map<Long, int[]> counters = new HashMap<>();
+        for (Object[] row : matchRepository.countMatchesByPlayerUpTo(matchHighWater)) {
+            counters.computeIfAbsent((Long) row[0], id -> new int[2])[1] += ((Number) row[1]).intValue();
+        }
+        for (Object[] row : matchRepository.countWinsByPlayerUpTo(matchHighWater)) {
+            counters.computeIfAbsent((Long) row[0], id -> new int[2])[0] += ((Number) row[1]).intValue();
+        }
+        // Matches moved to the archive no longer appear in the counts above
+        for (PlayerArchiveStats archived : playerArchiveStatsRepository.findAll()) {
+            int[] counts = counters.computeIfAbsent(archived.getPlayerId(), id -> new int[2]);
+            counts[0] += archived.getWins();
+            counts[1] += archived.getMatches();
+        }
+
+        // Oldest first per player, so the last result seen is when they last played
+        Map<Long, List<RecentResult>> recentResults = new HashMap<>();
+        for (Object[] row : matchRepository.findRecentByPlayerUpTo(matchHighWater, RecentResults.SIZE)) {
+            Long playerId = (Long) row[0];
+            Integer before = (Integer) row[4];
+            Integer after = (Integer) row[5];
+            recentResults.computeIfAbsent(playerId, id -> new ArrayList<>()).add(new RecentResult((Long) row[1],
+                    (Long) row[2], playerId.equals(row[3]), before != null && after != null ? after - before : 0,
+                    (Instant) row[6]));
+        }
+
+        List<PlayerReadModel.PlayerEntry> entries = new ArrayList<>();
+        for (Object[] row : playerRepository.findAllSummaries()) {
+            Long playerId = (Long) row[0];
+            int[] counts = counters.getOrDefault(playerId, new int[2]);
+            PlayerView view = new PlayerView(playerId, (String) row[1], (Integer) row[2], (Instant) row[3]);
+            List<RecentResult> recent = recentResults.getOrDefault(playerId, List.of());
+            Instant lastPlayedAt = recent.isEmpty() ? null : recent.get(recent.size() - 1).playedAt();
+            entries.add(new PlayerReadModel.PlayerEntry(view, counts[0], counts[1] - counts[0], lastPlayedAt));
+        }
+
+        return new PlayerReadModel.Snapshot(entries, recentResults, countedMatches);
+    }
+}
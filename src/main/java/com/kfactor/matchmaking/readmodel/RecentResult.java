@@ -0,0 +1,9 @@
+package com.kfactor.matchmaking.readmodel;
+
+import java.time.Instant;
+
+/**
+ * One of a player's latest results, from that player's side.
+ */
+public record RecentResult(Long matchId, Long opponentId, boolean won, int ratingDelta, Instant playedAt) {
+}
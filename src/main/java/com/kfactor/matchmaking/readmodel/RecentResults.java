@@ -0,0 +1,115 @@
+package com.kfactor.matchmaking.readmodel;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The last {@link #SIZE} results of every player who has played, as fixed-size rings in
+ * primitive arrays. A player's ring is allocated at their first result and then never
+ * grows: a new result overwrites the oldest. Players who have never played take only
+ * their entry in the ordinal-to-ring table.
+ *
+ * <p>Each slot holds the match id, the opponent id, the rating delta with the outcome in
+ * its lowest bit, and the time played. Not thread-safe; {@link PlayerColumns} guards it
+ * with its lock.
+ */
+final class RecentResults {
+
+    static final int SIZE = 10;
+    private static final int NONE = -1;
+
+    private int[] ringOf = new int[0];
+    private int rings;
+    private byte[] heads = new byte[0];
+    private byte[] counts = new byte[0];
+    private long[] matchIds = new long[0];
+    private int[] opponentIds = new int[0];
+    private int[] outcomes = new int[0];
+    private long[] playedAtNanos = new long[0];
+
+    void record(int ordinal, long matchId, long opponentId, boolean won, int ratingDelta, long playedAt) {
+        int ring = ringFor(ordinal);
+        int slot = ring * SIZE + heads[ring];
+        matchIds[slot] = matchId;
+        opponentIds[slot] = (int) opponentId;
+        outcomes[slot] = ratingDelta << 1 | (won ? 1 : 0);
+        playedAtNanos[slot] = playedAt;
+        heads[ring] = (byte) ((heads[ring] + 1) % SIZE);
+        counts[ring] = (byte) Math.min(counts[ring] + 1, SIZE);
+    }
+
+    /**
+     * Takes a voided match out of the ring. The slot it leaves stays empty until the
+     * player's next result, or the next rebuild.
+     */
+    void remove(int ordinal, long matchId) {
+        int ring = ordinal < ringOf.length ? ringOf[ordinal] : NONE;
+        if (ring == NONE) {
+            return;
+        }
+        // Shift every newer result one slot back over the removed one
+        int count = counts[ring];
+        int position = 0;
+        while (position < count && matchIds[slot(ring, position)] != matchId) {
+            position++;
+        }
+        if (position == count) {
+            return;
+        }
+        for (; position > 0; position--) {
+            int to = slot(ring, position);
+            int from = slot(ring, position - 1);
+            matchIds[to] = matchIds[from];
+            opponentIds[to] = opponentIds[from];
+            outcomes[to] = outcomes[from];
+            playedAtNanos[to] = playedAtNanos[from];
+        }
+        heads[ring] = (byte) ((heads[ring] + SIZE - 1) % SIZE);
+        counts[ring]--;
+    }
+
+    /**
+     * Newest first.
+     */
+    List<RecentResult> list(int ordinal) {
+        int ring = ordinal < ringOf.length ? ringOf[ordinal] : NONE;
+        if (ring == NONE) {
+            return List.of();
+        }
+        List<RecentResult> recent = new ArrayList<>(counts[ring]);
+        for (int position = 0; position < counts[ring]; position++) {
+            int slot = slot(ring, position);
+            recent.add(new RecentResult(matchIds[slot], Integer.toUnsignedLong(opponentIds[slot]),
+                    (outcomes[slot] & 1) != 0, outcomes[slot] >> 1, Instant.ofEpochSecond(0, playedAtNanos[slot])));
+        }
+        return recent;
+    }
+
+    // Position 0 is the newest result
+    private int slot(int ring, int position) {
+        return ring * SIZE + (heads[ring] - 1 - position + 2 * SIZE) % SIZE;
+    }
+
+    private int ringFor(int ordinal) {
+        if (ordinal >= ringOf.length) {
+            int grown = ringOf.length;
+            ringOf = Arrays.copyOf(ringOf, Math.max(ordinal + 1, grown + (grown >> 1) + 16));
+            Arrays.fill(ringOf, grown, ringOf.length, NONE);
+        }
+        if (ringOf[ordinal] == NONE) {
+            if (rings == heads.length) {
+                int capacity = rings + (rings >> 1) + 16;
+                heads = Arrays.copyOf(heads, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+                matchIds = Arrays.copyOf(matchIds, capacity * SIZE);
+                opponentIds = Arrays.copyOf(opponentIds, capacity * SIZE);
+                outcomes = Arrays.copyOf(outcomes, capacity * SIZE);
+                playedAtNanos = Arrays.copyOf(playedAtNanos, capacity * SIZE);
+            }
+            ringOf[ordinal] = rings++;
+        }
+        return ringOf[ordinal];
+    }
+}
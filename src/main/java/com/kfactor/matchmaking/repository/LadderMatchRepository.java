@@ -0,0 +1,35 @@
+package com.kfactor.matchmaking.repository;
+
+import com.kfactor.matchmaking.dto.RatingPointDTO;
+import com.kfactor.matchmaking.model.LadderMatch;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LadderMatchRepository extends JpaRepository<LadderMatch, Long> {
+
+    Optional<LadderMatch> findByIdAndLadder(Long id, String ladder);
+
+    Optional<LadderMatch> findByLadderAndIdempotencyKey(String ladder, String idempotencyKey);
+
+    @Query("SELECT m FROM LadderMatch m WHERE m.ladder = :ladder " +
+            "AND (m.playerAId = :playerId OR m.playerBId = :playerId)")
+    List<LadderMatch> findByLadderAndPlayer(@Param("ladder") String ladder, @Param("playerId") Long playerId,
+                                            Pageable pageable);
+
+    @Query("SELECT new com.kfactor.matchmaking.dto.RatingPointDTO(m.playedAt, " +
+            "CASE WHEN m.playerAId = :playerId THEN m.ratingAAfter ELSE m.ratingBAfter END) " +
+            "FROM LadderMatch m WHERE m.ladder = :ladder AND (m.playerAId = :playerId OR m.playerBId = :playerId) " +
+            "AND m.playedAt >= :from AND m.playedAt <= :to ORDER BY m.playedAt, m.id")
+    List<RatingPointDTO> findRatingHistory(@Param("ladder") String ladder,
+                                           @Param("playerId") Long playerId,
+                                           @Param("from") Instant from,
+                                           @Param("to") Instant to);
+}
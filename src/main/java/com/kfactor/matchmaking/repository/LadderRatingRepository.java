@@ -0,0 +1,40 @@
+package com.kfactor.matchmaking.repository;
+
+import com.kfactor.matchmaking.dto.LadderDTO;
+import com.kfactor.matchmaking.event.LadderMatchRecordedEvent;
+import com.kfactor.matchmaking.model.LadderRating;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LadderRatingRepository extends JpaRepository<LadderRating, LadderRating.Key> {
+
+    // Locks both rows of a match in one statement; a player with no row is new to the ladder
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM LadderRating r WHERE r.ladder = :ladder AND r.playerId IN :playerIds")
+    List<LadderRating> findForUpdate(@Param("ladder") String ladder, @Param("playerIds") Collection<Long> playerIds);
+
+    // Rows of deleted players are left behind and dropped by the join
+    @Query("SELECT new com.kfactor.matchmaking.event.LadderMatchRecordedEvent$Standing(r.playerId, p.username, " +
+            "r.rating, r.wins, r.losses, r.joinedAt, r.lastPlayedAt) " +
+            "FROM LadderRating r JOIN Player p ON p.id = r.playerId WHERE r.ladder = :ladder")
+    List<LadderMatchRecordedEvent.Standing> findStandings(@Param("ladder") String ladder);
+
+    @Query("SELECT new com.kfactor.matchmaking.event.LadderMatchRecordedEvent$Standing(r.playerId, p.username, " +
+            "r.rating, r.wins, r.losses, r.joinedAt, r.lastPlayedAt) " +
+            "FROM LadderRating r JOIN Player p ON p.id = r.playerId " +
+            "WHERE r.ladder = :ladder AND r.playerId IN :playerIds")
+    List<LadderMatchRecordedEvent.Standing> findStandings(@Param("ladder") String ladder,
+                                                          @Param("playerIds") Collection<Long> playerIds);
+
+    @Query("SELECT new com.kfactor.matchmaking.dto.LadderDTO(r.ladder, COUNT(r)) " +
+            "FROM LadderRating r JOIN Player p ON p.id = r.playerId GROUP BY r.ladder ORDER BY r.ladder")
+    List<LadderDTO> findLadders();
+}
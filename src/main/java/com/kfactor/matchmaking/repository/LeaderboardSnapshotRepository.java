@@ -0,0 +1,28 @@
+package com.kfactor.matchmaking.repository;
+
+import com.kfactor.matchmaking.model.LeaderboardSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface LeaderboardSnapshotRepository extends JpaRepository<LeaderboardSnapshot, Long> {
+
+    @Query("SELECT MAX(s.id) FROM LeaderboardSnapshot s")
+    Long findLatestId();
+
+    @Query("SELECT MAX(s.id) FROM LeaderboardSnapshot s WHERE s.takenAt <= :at")
+    Long findLatestIdAt(@Param("at") Instant at);
+
+    @Query("SELECT MAX(s.id) FROM LeaderboardSnapshot s WHERE s.base = true AND s.id <= :id")
+    Long findBaseIdOf(@Param("id") Long id);
+
+    @Query("SELECT s.id FROM LeaderboardSnapshot s WHERE s.takenAt BETWEEN :from AND :to ORDER BY s.id")
+    List<Long> findIdsTakenBetween(@Param("from") Instant from, @Param("to") Instant to);
+
+    List<LeaderboardSnapshot> findByIdBetweenOrderById(Long fromId, Long toId);
+}
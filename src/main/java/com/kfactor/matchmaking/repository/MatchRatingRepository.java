@@ -0,0 +1,84 @@
+package com.kfactor.matchmaking.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads and rewrites the rating snapshots of matches without going through the entity
+ * manager. Re-rating a stretch of history loads thousands of matches, and as managed
+ * entities every query in between would dirty-check all of them. Rows updated here do
+ * not trigger entity listeners.
+ */
+@Repository
+public class MatchRatingRepository {
+
+    private static final String COLUMNS =
+            "id, player_a_id, player_b_id, winner_id, ratingabefore, ratingaafter, ratingbbefore, ratingbafter";
+
+    private static final RowMapper<RatedMatch> ROW_MAPPER = (rs, rowNum) -> new RatedMatch(
+            rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4),
+            (Integer) rs.getObject(5), (Integer) rs.getObject(6), (Integer) rs.getObject(7), (Integer) rs.getObject(8));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MatchRatingRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The first {@code limit} non-voided matches after {@code afterId} that involve any of
+     * the players, in id order.
+     */
+    public List<RatedMatch> findLaterMatchesOfPlayers(long afterId, Collection<Long> playerIds, int limit) {
+        String placeholders = String.join(",", Collections.nCopies(playerIds.size(), "?"));
+        List<Object> args = new ArrayList<>(playerIds.size() * 2 + 2);
+        args.add(afterId);
+        args.addAll(playerIds);
+        args.addAll(playerIds);
+        args.add(limit);
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM matches WHERE id > ? AND voided = false " +
+                "AND (player_a_id IN (" + placeholders + ") OR player_b_id IN (" + placeholders + ")) " +
+                "ORDER BY id LIMIT ?", ROW_MAPPER, args.toArray());
+    }
+
+    public List<RatedMatch> findLaterMatches(long afterId, int limit) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM matches WHERE id > ? AND voided = false " +
+                "ORDER BY id LIMIT ?", ROW_MAPPER, afterId, limit);
+    }
+
+    // One branch per side, so each can use its (player, id) index
+    public List<RatedMatch> findMatchesOfPlayerBetween(long playerId, long fromId, long toId) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM matches " +
+                "WHERE player_a_id = ? AND id BETWEEN ? AND ? AND voided = false " +
+                "UNION ALL SELECT " + COLUMNS + " FROM matches " +
+                "WHERE player_b_id = ? AND player_a_id <> ? AND id BETWEEN ? AND ? AND voided = false",
+                ROW_MAPPER, playerId, fromId, toId, playerId, playerId, fromId, toId);
+    }
+
+    public void updateRatings(List<RatedMatch> matches) {
+        jdbcTemplate.batchUpdate("UPDATE matches SET ratingabefore = ?, ratingaafter = ?, " +
+                        "ratingbbefore = ?, ratingbafter = ? WHERE id = ?",
+                matches.stream().map(m -> new Object[] {m.ratingABefore(), m.ratingAAfter(),
+                        m.ratingBBefore(), m.ratingBAfter(), m.id()}).toList());
+    }
+
+    public record RatedMatch(long id, long playerAId, long playerBId, long winnerId,
+                             Integer ratingABefore, Integer ratingAAfter,
+                             Integer ratingBBefore, Integer ratingBAfter) {
+
+        public boolean hasRatings() {
+            return ratingABefore != null && ratingAAfter != null && ratingBBefore != null && ratingBAfter != null;
+        }
+
+        public RatedMatch withRatings(int ratingABefore, int ratingAAfter, int ratingBBefore, int ratingBAfter) {
+            return new RatedMatch(id, playerAId, playerBId, winnerId,
+                    ratingABefore, ratingAAfter, ratingBBefore, ratingBAfter);
+        }
+    }
+}
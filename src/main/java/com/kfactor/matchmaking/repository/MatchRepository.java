@@ -1,21 +1,114 @@
 package com.kfactor.matchmaking.repository;
 
+import com.kfactor.matchmaking.dto.RatingPointDTO;
 import com.kfactor.matchmaking.model.Match;
 import com.kfactor.matchmaking.model.Player;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MatchRepository extends JpaRepository<Match, Long> {
+    // Match lists join their players in the same query instead of loading each one separately
+    @Override
+    @EntityGraph(attributePaths = {"playerA", "playerB", "winner"})
+    List<Match> findAll();
+
+    @EntityGraph(attributePaths = {"playerA", "playerB", "winner"})
     List<Match> findByPlayerAOrPlayerBOrderByPlayedAtDesc(Player playerA, Player playerB);
 
-    @Query("SELECT COUNT(m) FROM Match m WHERE m.playerA = :player OR m.playerB = :player")
+    @EntityGraph(attributePaths = {"playerA", "playerB", "winner"})
+    List<Match> findByPlayerAOrPlayerB(Player playerA, Player playerB, Pageable pageable);
+
+    long countByPlayerAOrPlayerB(Player playerA, Player playerB);
+
+    List<Match> findByPlayedAtBeforeOrderByIdAsc(Instant cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Match m WHERE m.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    Optional<Match> findByIdempotencyKey(String idempotencyKey);
+
+    // Holds the row until commit, so two voids of the same match run one after the other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Match m WHERE m.id = :id")
+    Optional<Match> findForUpdate(@Param("id") Long id);
+
+    @Query("SELECT COUNT(m) FROM Match m WHERE (m.playerA = :player OR m.playerB = :player) AND m.voided = false")
     int countMatchesByPlayer(@Param("player") Player player);
 
-    @Query("SELECT COUNT(m) FROM Match m WHERE m.winner = :player")
+    @Query("SELECT COUNT(m) FROM Match m WHERE m.winner = :player AND m.voided = false")
     int countWinsByPlayer(@Param("player") Player player);
+
+    @Query("SELECT COALESCE(MAX(m.id), 0) FROM Match m")
+    long findMaxId();
+
+    /**
+     * Live matches played at or after {@code since}, oldest first, as (match id, player A
+     * id, player A username, player B id, player B username, winner id, rating A before,
+     * rating A after, rating B before, rating B after, played at) rows.
+     */
+    @Query("SELECT m.id, m.playerA.id, m.playerA.username, m.playerB.id, m.playerB.username, m.winner.id, " +
+            "m.ratingABefore, m.ratingAAfter, m.ratingBBefore, m.ratingBAfter, m.playedAt " +
+            "FROM Match m WHERE m.playedAt >= :since AND m.voided = false ORDER BY m.playedAt, m.id")
+    List<Object[]> findResultsPlayedSince(@Param("since") Instant since);
+
+    @Query("SELECT m.id FROM Match m WHERE m.playedAt >= :since AND m.voided = true")
+    List<Long> findVoidedIdsPlayedSince(@Param("since") Instant since);
+
+    @Query("SELECT COALESCE(MIN(m.id), 0) FROM Match m")
+    long findMinId();
+
+    // Rows of [first, last] missing ids between live matches up to maxId, in id order
+    @Query(value = "SELECT g.previous + 1, g.id - 1 FROM (SELECT id, LAG(id) OVER (ORDER BY id) AS previous " +
+            "FROM matches WHERE id <= :maxId) g WHERE g.id - g.previous > 1 ORDER BY g.id", nativeQuery = true)
+    List<Object[]> findIdGapsUpTo(@Param("maxId") long maxId);
+
+    // Rows of [playerId, count]; a player appears once per side they played on
+    @Query("SELECT m.playerA.id, COUNT(m) FROM Match m WHERE m.id <= :maxId AND m.voided = false GROUP BY m.playerA.id " +
+            "UNION ALL SELECT m.playerB.id, COUNT(m) FROM Match m WHERE m.id <= :maxId AND m.voided = false " +
+            "GROUP BY m.playerB.id")
+    List<Object[]> countMatchesByPlayerUpTo(@Param("maxId") long maxId);
+
+    @Query("SELECT m.winner.id, COUNT(m) FROM Match m WHERE m.id <= :maxId AND m.voided = false GROUP BY m.winner.id")
+    List<Object[]> countWinsByPlayerUpTo(@Param("maxId") long maxId);
+
+    /**
+     * Each player's latest {@code perPlayer} live matches up to {@code maxId}, seen from
+     * that player's side, as (player id, match id, opponent id, winner id, rating before,
+     * rating after, played at) rows ordered by player, then oldest match first.
+     */
+    @Query("SELECT r.playerId, r.matchId, r.opponentId, r.winnerId, r.ratingBefore, r.ratingAfter, r.playedAt " +
+            "FROM (SELECT s.playerId AS playerId, s.matchId AS matchId, s.opponentId AS opponentId, " +
+            "s.winnerId AS winnerId, s.ratingBefore AS ratingBefore, s.ratingAfter AS ratingAfter, " +
+            "s.playedAt AS playedAt, " +
+            "row_number() OVER (PARTITION BY s.playerId ORDER BY s.matchId DESC) AS recency " +
+            "FROM (SELECT m.playerA.id AS playerId, m.id AS matchId, m.playerB.id AS opponentId, " +
+            "m.winner.id AS winnerId, m.ratingABefore AS ratingBefore, m.ratingAAfter AS ratingAfter, " +
+            "m.playedAt AS playedAt FROM Match m WHERE m.id <= :maxId AND m.voided = false " +
+            "UNION ALL SELECT m.playerB.id, m.id, m.playerA.id, m.winner.id, m.ratingBBefore, m.ratingBAfter, " +
+            "m.playedAt FROM Match m WHERE m.id <= :maxId AND m.voided = false) s) r " +
+            "WHERE r.recency <= :perPlayer ORDER BY r.playerId, r.matchId")
+    List<Object[]> findRecentByPlayerUpTo(@Param("maxId") long maxId, @Param("perPlayer") int perPlayer);
+
+    @Query("SELECT new com.kfactor.matchmaking.dto.RatingPointDTO(m.playedAt, " +
+            "CASE WHEN m.playerA.id = :playerId THEN m.ratingAAfter ELSE m.ratingBAfter END) " +
+            "FROM Match m WHERE (m.playerA.id = :playerId OR m.playerB.id = :playerId) " +
+            "AND m.playedAt >= :from AND m.playedAt <= :to AND m.ratingAAfter IS NOT NULL AND m.voided = false " +
+            "ORDER BY m.playedAt, m.id")
+    List<RatingPointDTO> findRatingHistory(@Param("playerId") Long playerId,
+                                           @Param("from") Instant from,
+                                           @Param("to") Instant to);
 }
\ No newline at end of file
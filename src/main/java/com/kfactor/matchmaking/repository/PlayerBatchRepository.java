@@ -0,0 +1,148 @@
+package com.kfactor.matchmaking.repository;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Set-based player writes that bypass the entity manager. JPA cannot batch inserts into
+ * an IDENTITY table, so bulk registration goes through JDBC batches instead. Rows
+ * written here do not trigger entity listeners; callers publish the domain events.
+ */
+@Repository
+public class PlayerBatchRepository {
+
+    // Keeps IN lists and batches well inside driver and statement-cache limits
+    static final int CHUNK_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PlayerBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Set<String> findExistingUsernames(Collection<String> usernames) {
+        List<String> all = new ArrayList<>(usernames);
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < all.size(); from += CHUNK_SIZE) {
+            List<String> chunk = all.subList(from, Math.min(from + CHUNK_SIZE, all.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            existing.addAll(jdbcTemplate.queryForList(
+                    "SELECT username FROM players WHERE username IN (" + placeholders + ")",
+                    String.class, chunk.toArray()));
+        }
+        return existing;
+    }
+
+    /**
+     * Inserts the players in JDBC batches and returns their generated ids in input order.
+     */
+    public List<Long> insertAll(List<String> usernames, int rating, Instant createdAt) {
+        List<Long> ids = new ArrayList<>(usernames.size());
+        Timestamp created = Timestamp.from(createdAt);
+        for (int from = 0; from < usernames.size(); from += CHUNK_SIZE) {
+            List<String> chunk = usernames.subList(from, Math.min(from + CHUNK_SIZE, usernames.size()));
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    con -> con.prepareStatement("INSERT INTO players (username, rating, created_at) VALUES (?, ?, ?)",
+                            new String[] {"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ps.setString(1, chunk.get(i));
+                            ps.setInt(2, rating);
+                            ps.setTimestamp(3, created);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keys);
+            for (Map<String, Object> key : keys.getKeyList()) {
+                ids.add(((Number) key.values().iterator().next()).longValue());
+            }
+        }
+        return ids;
+    }
+
+    @FunctionalInterface
+    public interface RatedPlayerHandler {
+        void accept(long id, String username, int rating);
+    }
+
+    /**
+     * Streams every player, highest rating first and by id within a rating, in one read
+     * and without creating entities.
+     */
+    public void forEachByRating(RatedPlayerHandler handler) {
+        jdbcTemplate.query("SELECT id, username, rating FROM players ORDER BY rating DESC, id",
+                rs -> {
+                    handler.accept(rs.getLong(1), rs.getString(2), rs.getInt(3));
+                });
+    }
+
+    /** Streams every player in id order, as {@link #forEachByRating} does by rating. */
+    public void forEachById(RatedPlayerHandler handler) {
+        jdbcTemplate.query("SELECT id, username, rating FROM players ORDER BY id",
+                rs -> {
+                    handler.accept(rs.getLong(1), rs.getString(2), rs.getInt(3));
+                });
+    }
+
+    public long findMaxId() {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM players", Long.class);
+        return max == null ? 0 : max;
+    }
+
+    /**
+     * Moves each player in the id range who is above {@code floor} and has not played
+     * since {@code inactiveBefore} {@code percent} of the way down to the floor, by at
+     * least one point, and stamps them with {@code decayedAt}. Players stamped after
+     * {@code decayedBefore} are left alone, so repeating a chunk changes nothing. Returns
+     * the new ratings of the players this pass has decayed, by id.
+     */
+    public Map<Long, Integer> decayRatings(long fromId, long toId, int floor, int percent,
+                                           Instant inactiveBefore, Instant decayedBefore, Instant decayedAt) {
+        Timestamp stamp = Timestamp.from(decayedAt);
+        jdbcTemplate.update("UPDATE players SET rating = rating - ((rating - ?) * ? + 99) / 100, rating_decayed_at = ? " +
+                        "WHERE id BETWEEN ? AND ? AND rating > ? AND COALESCE(last_played_at, created_at) < ? " +
+                        "AND (rating_decayed_at IS NULL OR rating_decayed_at <= ?)",
+                floor, percent, stamp, fromId, toId, floor, Timestamp.from(inactiveBefore), Timestamp.from(decayedBefore));
+
+        Map<Long, Integer> ratings = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT id, rating FROM players WHERE id BETWEEN ? AND ? AND rating_decayed_at = ?",
+                rs -> {
+                    ratings.put(rs.getLong(1), rs.getInt(2));
+                }, fromId, toId, stamp);
+        return ratings;
+    }
+
+    /**
+     * Pulls every rating in the id range toward {@code centre}, keeping {@code keepPercent}
+     * of its distance. Integer division truncates toward zero, so ratings on either side
+     * move in symmetrically. Players already at the centre are not written. Returns the
+     * number of players reset.
+     */
+    public int softResetRatings(long fromId, long toId, int centre, int keepPercent) {
+        return jdbcTemplate.update("UPDATE players SET rating = ? + (rating - ?) * ? / 100 " +
+                        "WHERE id BETWEEN ? AND ? AND rating <> ?",
+                centre, centre, keepPercent, fromId, toId, centre);
+    }
+}
@@ -0,0 +1,18 @@
+package com.kfactor.matchmaking.repository;
+
+import com.kfactor.matchmaking.model.Player;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PlayerLocking {
+
+    /**
+     * Locks the players' rows until the transaction ends and returns them as committed,
+     * refreshing any the transaction had already loaded. Rating writes that read through
+     * this cannot overwrite a concurrent bulk update such as a decay run or season reset:
+     * either the update committed first and is read here, or it waits for this transaction
+     * and applies on top of the result. Null and missing ids are left out.
+     */
+    List<Player> lockAllById(Collection<Long> ids);
+}
@@ -0,0 +1,52 @@
+package com.kfactor.matchmaking.repository;
+
+import com.kfactor.matchmaking.model.Player;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+class PlayerLockingImpl implements PlayerLocking {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Player> lockAllById(Collection<Long> ids) {
+        // A locking query hands back players already in the persistence context as they were
+        // loaded, so those are set aside to be re-read once their rows are locked
+        Set<Long> sorted = ids.stream().filter(Objects::nonNull).collect(Collectors.toCollection(TreeSet::new));
+        if (sorted.isEmpty()) {
+            return List.of();
+        }
+        List<Player> loaded = new ArrayList<>();
+        for (Long id : sorted) {
+            Player reference = entityManager.getReference(Player.class, id);
+            if (Hibernate.isInitialized(reference)) {
+                loaded.add(reference);
+            } else {
+                entityManager.detach(reference);
+            }
+        }
+        // Rows are locked in id order so two writers sharing players cannot deadlock
+        List<Player> players = entityManager.createQuery(
+                        "SELECT p FROM Player p WHERE p.id IN :ids ORDER BY p.id", Player.class)
+                .setParameter("ids", sorted)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        for (Player player : loaded) {
+            if (players.contains(player)) {
+                entityManager.refresh(player);
+            }
+        }
+        return players;
+    }
+}
@@ -2,12 +2,21 @@ package com.kfactor.matchmaking.repository;
 
 import com.kfactor.matchmaking.model.Player;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface PlayerRepository extends JpaRepository<Player, Long> {
+public interface PlayerRepository extends JpaRepository<Player, Long>, PlayerLocking {
     Optional<Player> findByUsername(String username);
     boolean existsByUsername(String username);
+
+    @Query("SELECT p.username FROM Player p")
+    List<String> findAllUsernames();
+
+    // Rows of (id, username, rating, createdAt), without managing an entity per player
+    @Query("SELECT p.id, p.username, p.rating, p.createdAt FROM Player p")
+    List<Object[]> findAllSummaries();
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.kfactor.matchmaking.repository;
+
+import com.kfactor.matchmaking.model.RatingDecayRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface RatingDecayRunRepository extends JpaRepository<RatingDecayRun, Long> {
+    Optional<RatingDecayRun> findFirstByFinishedAtIsNullOrderByIdAsc();
+}
@@ -0,0 +1,15 @@
+package com.kfactor.matchmaking.repository;
+
+import com.kfactor.matchmaking.model.Season;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SeasonRepository extends JpaRepository<Season, Long> {
+    Optional<Season> findFirstByOrderByIdDesc();
+    Optional<Season> findFirstByResetFinishedAtIsNullOrderByIdAsc();
+    List<Season> findAllByOrderByIdAsc();
+}
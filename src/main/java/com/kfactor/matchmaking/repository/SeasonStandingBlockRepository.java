@@ -0,0 +1,22 @@
+package com.kfactor.matchmaking.repository;
+
+import com.kfactor.matchmaking.model.SeasonStandingBlock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SeasonStandingBlockRepository extends JpaRepository<SeasonStandingBlock, SeasonStandingBlock.Key> {
+
+    // A plain insert: save() would first look for the block, since its key is assigned
+    @Modifying
+    @Query(value = "INSERT INTO season_standing_blocks (season_id, block, standings) VALUES (:seasonId, :block, :standings)",
+            nativeQuery = true)
+    void insert(@Param("seasonId") Long seasonId, @Param("block") int block, @Param("standings") byte[] standings);
+
+    List<SeasonStandingBlock> findBySeasonIdAndBlockBetweenOrderByBlock(Long seasonId, int fromBlock, int toBlock);
+}
@@ -0,0 +1,9 @@
+package com.kfactor.matchmaking.repository;
+
+import com.kfactor.matchmaking.model.TeamMatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TeamMatchRepository extends JpaRepository<TeamMatch, Long> {
+}
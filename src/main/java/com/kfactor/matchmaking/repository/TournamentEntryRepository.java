@@ -0,0 +1,22 @@
+package com.kfactor.matchmaking.repository;
+
+import com.kfactor.matchmaking.model.TournamentEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TournamentEntryRepository extends JpaRepository<TournamentEntry, Long> {
+    // Players are fetched in the same query; a round over thousands of entries needs all of them
+    @Query("SELECT e FROM TournamentEntry e JOIN FETCH e.player WHERE e.tournamentId = :tournamentId")
+    List<TournamentEntry> findByTournamentId(@Param("tournamentId") Long tournamentId);
+
+    Optional<TournamentEntry> findByTournamentIdAndPlayerId(Long tournamentId, Long playerId);
+
+    @Query("SELECT e.player.id FROM TournamentEntry e WHERE e.tournamentId = :tournamentId")
+    List<Long> findPlayerIds(@Param("tournamentId") Long tournamentId);
+}
@@ -0,0 +1,31 @@
+package com.kfactor.matchmaking.repository;
+
+import com.kfactor.matchmaking.model.TournamentPairing;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TournamentPairingRepository extends JpaRepository<TournamentPairing, Long> {
+    @Query("SELECT p FROM TournamentPairing p JOIN FETCH p.playerA LEFT JOIN FETCH p.playerB " +
+            "WHERE p.tournamentId = :tournamentId AND p.round = :round ORDER BY p.slot")
+    List<TournamentPairing> findRound(@Param("tournamentId") Long tournamentId, @Param("round") int round);
+
+    // Holds the row until commit, so two results for the same board are recorded one after the other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM TournamentPairing p WHERE p.id = :id")
+    Optional<TournamentPairing> findForUpdate(@Param("id") Long id);
+
+    long countByTournamentIdAndRoundAndWinnerIdIsNull(Long tournamentId, int round);
+
+    // Rows of [playerAId, playerBId] for every played board; byes are left out
+    @Query("SELECT p.playerA.id, p.playerB.id FROM TournamentPairing p " +
+            "WHERE p.tournamentId = :tournamentId AND p.playerB IS NOT NULL")
+    List<Object[]> findPairedPlayerIds(@Param("tournamentId") Long tournamentId);
+}
@@ -0,0 +1,13 @@
+package com.kfactor.matchmaking.season;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Season rollover is always available; {@code matchmaking.season.*} only tunes how hard
+ * ratings are reset and how many players each reset statement covers.
+ */
+@Configuration
+@EnableConfigurationProperties(SeasonProperties.class)
+public class SeasonConfig {
+}
@@ -0,0 +1,17 @@
+package com.kfactor.matchmaking.season;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("matchmaking.season")
+public class SeasonProperties {
+
+    // Share of each rating's distance from 1000 that survives the reset
+    private int keepPercent = 50;
+    private int chunkSize = 10_000;
+
+    public int getKeepPercent() { return keepPercent; }
+    public void setKeepPercent(int keepPercent) { this.keepPercent = keepPercent; }
+
+    public int getChunkSize() { return chunkSize; }
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+}
@@ -0,0 +1,148 @@
+package com.kfactor.matchmaking.season;
+
+import com.kfactor.matchmaking.dto.SeasonDTO;
+import com.kfactor.matchmaking.dto.SeasonStandingDTO;
+import com.kfactor.matchmaking.event.SeasonRolledOverEvent;
+import com.kfactor.matchmaking.model.Season;
+import com.kfactor.matchmaking.repository.PlayerBatchRepository;
+import com.kfactor.matchmaking.repository.SeasonRepository;
+import com.kfactor.matchmaking.model.SeasonStandingBlock;
+import com.kfactor.matchmaking.repository.SeasonStandingBlockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ends the current season: its leaderboard is read once in rating order and frozen into
+ * compressed blocks of standings, in the same transaction that creates the season. Every rating is
+ * then pulled toward {@link #RESET_CENTRE} by one set-based UPDATE per id range of
+ * {@code matchmaking.season.chunk-size}, each in its own transaction with the season's
+ * checkpoint. A rollover interrupted by a crash is completed on the next start, or by the
+ * next rollover request, before a new season can end.
+ */
+@Service
+public class SeasonService {
+
+    // The rating new players start with
+    static final int RESET_CENTRE = 1000;
+    static final int MAX_LIMIT = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(SeasonService.class);
+
+    private final SeasonRepository seasonRepository;
+    private final SeasonStandingBlockRepository seasonStandingBlockRepository;
+    private final PlayerBatchRepository playerBatchRepository;
+    private final SeasonProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    public SeasonService(SeasonRepository seasonRepository, SeasonStandingBlockRepository seasonStandingBlockRepository,
+                         PlayerBatchRepository playerBatchRepository, SeasonProperties properties,
+                         ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                         Clock clock) {
+        this.seasonRepository = seasonRepository;
+        this.seasonStandingBlockRepository = seasonStandingBlockRepository;
+        this.playerBatchRepository = playerBatchRepository;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        // Read-write transactions, so the snapshot is always taken on the primary
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    /**
+     * Archives the current standings, resets every rating and returns the season that
+     * ended. If an earlier rollover was interrupted, that one is completed and returned
+     * instead; call again to end the season after it.
+     */
+    public synchronized SeasonDTO rollover() {
+        Season season = transactionTemplate.execute(status -> seasonRepository.findFirstByResetFinishedAtIsNullOrderByIdAsc()
+                .orElseGet(this::end));
+        return toDTO(reset(season));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void resumeInterrupted() {
+        transactionTemplate.execute(status -> seasonRepository.findFirstByResetFinishedAtIsNullOrderByIdAsc()).ifPresent(season -> {
+            log.info("Completing the interrupted rollover of season {}", season.getId());
+            reset(season);
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public List<SeasonDTO> getSeasons() {
+        return seasonRepository.findAllByOrderByIdAsc().stream().map(this::toDTO).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<SeasonStandingDTO> getLeaderboard(Long seasonId, int offset, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        if (!seasonRepository.existsById(seasonId)) {
+            throw new IllegalArgumentException("Season not found with id: " + seasonId);
+        }
+        int firstBlock = offset / StandingsWriter.BLOCK;
+        int lastBlock = (int) (((long) offset + limit - 1) / StandingsWriter.BLOCK);
+        List<SeasonStandingDTO> standings = new ArrayList<>(limit);
+        for (SeasonStandingBlock block : seasonStandingBlockRepository
+                .findBySeasonIdAndBlockBetweenOrderByBlock(seasonId, firstBlock, lastBlock)) {
+            standings.addAll(StandingsCodec.decode(block.getStandings(), block.getBlock() * StandingsWriter.BLOCK + 1));
+        }
+        int from = Math.min(offset - firstBlock * StandingsWriter.BLOCK, standings.size());
+        return standings.subList(from, Math.min(from + limit, standings.size()));
+    }
+
+    private Season end() {
+        Instant startedAt = seasonRepository.findFirstByOrderByIdDesc().map(Season::getEndedAt).orElse(null);
+        // Micros, so the season reads back as it was returned
+        Instant endedAt = clock.instant().truncatedTo(ChronoUnit.MICROS);
+        Season season = seasonRepository.save(new Season(startedAt, endedAt, properties.getKeepPercent(),
+                playerBatchRepository.findMaxId()));
+        StandingsWriter writer = new StandingsWriter(season.getId(), seasonStandingBlockRepository);
+        playerBatchRepository.forEachByRating(writer);
+        season.setPlayers(writer.finish());
+        return season;
+    }
+
+    private Season reset(Season season) {
+        int chunkSize = properties.getChunkSize();
+        for (long next = season.getResetNextPlayerId(); next <= season.getResetLastPlayerId(); next += chunkSize) {
+            long from = next;
+            long to = Math.min(from + chunkSize - 1, season.getResetLastPlayerId());
+            transactionTemplate.executeWithoutResult(status -> {
+                playerBatchRepository.softResetRatings(from, to, RESET_CENTRE, season.getKeepPercent());
+                seasonRepository.findById(season.getId()).orElseThrow().advanceReset(to + 1);
+            });
+        }
+        Season finished = transactionTemplate.execute(status -> {
+            Season current = seasonRepository.findById(season.getId()).orElseThrow();
+            current.finishReset(clock.instant());
+            eventPublisher.publishEvent(new SeasonRolledOverEvent(current.getId(), clock.instant()));
+            return current;
+        });
+        log.info("Season {} rolled over with {} players", finished.getId(), finished.getPlayers());
+        return finished;
+    }
+
+    private SeasonDTO toDTO(Season season) {
+        return new SeasonDTO(season.getId(), season.getStartedAt(), season.getEndedAt(), season.getPlayers(),
+                season.getResetFinishedAt() != null);
+    }
+}
@@ -0,0 +1,136 @@
+package com.kfactor.matchmaking.season;
+
+import com.kfactor.matchmaking.dto.SeasonStandingDTO;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Binary layout of a block of season standings. After a version byte and the row count
+ * the rows are written column by column and the body is deflated:
+ * <ul>
+ *   <li>player ids as varints,</li>
+ *   <li>the first rating as a zig-zag varint, then each rating's drop from the one above
+ *       it, which is never negative and mostly zero or one on a large board,</li>
+ *   <li>usernames as a varint byte length followed by UTF-8.</li>
+ * </ul>
+ * Places are implied by the block's position.
+ */
+final class StandingsCodec {
+
+    private static final byte VERSION = 1;
+
+    private StandingsCodec() {}
+
+    static byte[] encode(long[] playerIds, String[] usernames, int[] ratings, int count) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(count * 8);
+        out.write(VERSION);
+        Deflater compressor = new Deflater(Deflater.BEST_SPEED);
+        try {
+            DataOutputStream header = new DataOutputStream(out);
+            header.writeInt(count);
+            header.flush();
+            DeflaterOutputStream deflater = new DeflaterOutputStream(out, compressor, 1 << 14);
+            // Buffered, as the deflater would otherwise run once per varint byte
+            DataOutputStream body = new DataOutputStream(new BufferedOutputStream(deflater, 1 << 14));
+            for (int i = 0; i < count; i++) {
+                writeVarLong(body, playerIds[i]);
+            }
+            for (int i = 0; i < count; i++) {
+                writeVarLong(body, i == 0 ? zigZag(ratings[0]) : ratings[i - 1] - ratings[i]);
+            }
+            for (int i = 0; i < count; i++) {
+                byte[] name = usernames[i].getBytes(StandardCharsets.UTF_8);
+                writeVarLong(body, name.length);
+                body.write(name);
+            }
+            body.flush();
+            deflater.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            compressor.end();
+        }
+        return out.toByteArray();
+    }
+
+    static List<SeasonStandingDTO> decode(byte[] data, int firstPlace) {
+        if (data.length == 0 || data[0] != VERSION) {
+            throw new IllegalStateException("Unsupported season standings block");
+        }
+        Inflater decompressor = new Inflater();
+        try {
+            DataInputStream header = new DataInputStream(new ByteArrayInputStream(data, 1, data.length - 1));
+            int count = header.readInt();
+            DataInputStream body = new DataInputStream(
+                    new BufferedInputStream(new InflaterInputStream(header, decompressor, 1 << 14), 1 << 14));
+
+            long[] playerIds = new long[count];
+            int[] ratings = new int[count];
+            for (int i = 0; i < count; i++) {
+                playerIds[i] = readVarLong(body);
+            }
+            for (int i = 0; i < count; i++) {
+                long value = readVarLong(body);
+                ratings[i] = i == 0 ? (int) unZigZag(value) : ratings[i - 1] - (int) value;
+            }
+            List<SeasonStandingDTO> standings = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                byte[] name = new byte[(int) readVarLong(body)];
+                body.readFully(name);
+                standings.add(new SeasonStandingDTO(firstPlace + i, playerIds[i],
+                        new String(name, StandardCharsets.UTF_8), ratings[i]));
+            }
+            return standings;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            decompressor.end();
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated season standings block");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in season standings block");
+    }
+}
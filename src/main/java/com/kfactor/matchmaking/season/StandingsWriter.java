@@ -0,0 +1,54 @@
+package com.kfactor.matchmaking.season;
+
+import com.kfactor.matchmaking.repository.PlayerBatchRepository;
+import com.kfactor.matchmaking.repository.SeasonStandingBlockRepository;
+
+/**
+ * Cuts the players, as they stream in by rating, into blocks of {@link #BLOCK} places
+ * and saves each block as soon as it is full.
+ */
+final class StandingsWriter implements PlayerBatchRepository.RatedPlayerHandler {
+
+    static final int BLOCK = 1000;
+
+    private final Long seasonId;
+    private final SeasonStandingBlockRepository repository;
+    private final long[] playerIds = new long[BLOCK];
+    private final String[] usernames = new String[BLOCK];
+    private final int[] ratings = new int[BLOCK];
+    private int count;
+    private int block;
+
+    StandingsWriter(Long seasonId, SeasonStandingBlockRepository repository) {
+        this.seasonId = seasonId;
+        this.repository = repository;
+    }
+
+    @Override
+    public void accept(long id, String username, int rating) {
+        playerIds[count] = id;
+        usernames[count] = username;
+        ratings[count] = rating;
+        if (++count == BLOCK) {
+            flush();
+        }
+    }
+
+    /**
+     * Saves the last, partly filled block and returns the number of players written.
+     */
+    long finish() {
+        if (count > 0) {
+            flush();
+        }
+        return (long) block * BLOCK + count;
+    }
+
+    private void flush() {
+        repository.insert(seasonId, block, StandingsCodec.encode(playerIds, usernames, ratings, count));
+        if (count == BLOCK) {
+            block++;
+            count = 0;
+        }
+    }
+}
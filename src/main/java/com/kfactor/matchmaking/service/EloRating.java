@@ -0,0 +1,66 @@
+package com.kfactor.matchmaking.service;
+
+/**
+ * The Elo update used for every rated match, K = 32. Matches between more than two teams
+ * are decomposed into one Elo game per pair of teams.
+ */
+public final class EloRating {
+
+    public static final int K = 32;
+
+    private EloRating() {}
+
+    public static double expectedScore(int rating, int opponentRating) {
+        return 1.0 / (1.0 + Math.pow(10, (opponentRating - rating) / 400.0));
+    }
+
+    /**
+     * Rating after one game against {@code opponentRating}; {@code score} is 1 for a win
+     * and 0 for a loss.
+     */
+    public static int newRating(int rating, int opponentRating, double score) {
+        return (int) Math.round(rating + K * (score - expectedScore(rating, opponentRating)));
+    }
+
+    /**
+     * New ratings after a match between teams, in one pass over primitive arrays.
+     * {@code teamOf[i]} is participant i's team, numbered from 0, and
+     * {@code teamPlacement[t]} is where team t placed (lower is better, equal is a tie).
+     *
+     * <p>A team plays at the mean rating of its members. Every pair of teams is scored as
+     * an Elo game, with K split across the {@code teams - 1} opponents, and each member
+     * takes their team's total change. Two single-player teams give the plain Elo update.
+     */
+    public static int[] newRatings(int[] ratings, int[] teamOf, int[] teamPlacement) {
+        int teams = teamPlacement.length;
+        double[] teamRating = new double[teams];
+        int[] teamSize = new int[teams];
+        for (int i = 0; i < ratings.length; i++) {
+            teamRating[teamOf[i]] += ratings[i];
+            teamSize[teamOf[i]]++;
+        }
+        for (int t = 0; t < teams; t++) {
+            teamRating[t] /= teamSize[t];
+        }
+
+        // Each pair is computed once; what one team gains the other loses
+        double k = (double) K / (teams - 1);
+        double[] change = new double[teams];
+        for (int t = 0; t < teams; t++) {
+            for (int u = t + 1; u < teams; u++) {
+                double expected = 1.0 / (1.0 + Math.pow(10, (teamRating[u] - teamRating[t]) / 400.0));
+                double score = teamPlacement[t] < teamPlacement[u] ? 1.0
+                        : teamPlacement[t] == teamPlacement[u] ? 0.5 : 0.0;
+                double delta = k * (score - expected);
+                change[t] += delta;
+                change[u] -= delta;
+            }
+        }
+
+        int[] updated = new int[ratings.length];
+        for (int i = 0; i < ratings.length; i++) {
+            updated[i] = (int) Math.round(ratings[i] + change[teamOf[i]]);
+        }
+        return updated;
+    }
+}
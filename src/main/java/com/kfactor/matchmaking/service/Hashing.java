@@ -0,0 +1,26 @@
+package com.kfactor.matchmaking.service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 64-bit string hashing for the in-memory membership filters.
+ */
+final class Hashing {
+
+    private Hashing() {}
+
+    // 64-bit FNV-1a with a murmur finalizer so the high and low halves are both well mixed
+    static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,126 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.model.Match;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * In-memory filter of recently used idempotency keys.
+ *
+ * <p>A Bloom filter answers "definitely new" for the common case without touching the
+ * database. A positive answer is confirmed against a time-bucketed cache of the matches
+ * recorded under recent keys, which also serves the original match back to a retry.
+ * Keys that are past the cache window, or Bloom false positives, fall through to a
+ * database lookup, and the unique constraint on {@code matches.idempotency_key} remains
+ * the final authority.
+ *
+ * <p>The Bloom filter has two generations. When the current one has taken its expected
+ * number of keys it becomes the previous one, which bounds both memory and the false
+ * positive rate.
+ */
+@Component
+public class IdempotencyKeyFilter {
+
+    private final Clock clock;
+    private final int expectedKeys;
+    private final int bitCount;
+    private final int hashCount;
+    private final long bucketMillis;
+    private final int bucketCount;
+
+    private long[] currentBits;
+    private long[] previousBits;
+    private int currentInsertions;
+
+    // Bucket start (epoch millis) -> recent matches keyed by idempotency key
+    private final TreeMap<Long, Map<String, Match>> recentBuckets = new TreeMap<>();
+
+    public IdempotencyKeyFilter(Clock clock,
+                                @Value("${matchmaking.idempotency.expected-keys:100000}") int expectedKeys,
+                                @Value("${matchmaking.idempotency.false-positive-rate:0.01}") double falsePositiveRate,
+                                @Value("${matchmaking.idempotency.confirmation-window:10m}") Duration confirmationWindow) {
+        this.clock = clock;
+        this.expectedKeys = expectedKeys;
+        // Standard Bloom sizing: m = -n ln p / (ln 2)^2, k = m/n ln 2
+        this.bitCount = Math.max(64, (int) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedKeys * Math.log(2)));
+        this.bucketCount = 10;
+        this.bucketMillis = Math.max(1, confirmationWindow.toMillis() / bucketCount);
+        this.currentBits = new long[(bitCount + 63) / 64];
+        this.previousBits = new long[currentBits.length];
+    }
+
+    public synchronized boolean mightContain(String key) {
+        long hash = Hashing.hash64(key);
+        return contains(currentBits, hash) || contains(previousBits, hash);
+    }
+
+    /**
+     * Returns the match recorded under the key if it is still within the confirmation
+     * window, otherwise null.
+     */
+    public synchronized Match findRecent(String key) {
+        expireBuckets();
+        for (Map<String, Match> bucket : recentBuckets.descendingMap().values()) {
+            Match match = bucket.get(key);
+            if (match != null) {
+                return match;
+            }
+        }
+        return null;
+    }
+
+    public synchronized void remember(String key, Match match) {
+        long hash = Hashing.hash64(key);
+        if (!contains(currentBits, hash)) {
+            if (currentInsertions >= expectedKeys) {
+                previousBits = currentBits;
+                currentBits = new long[previousBits.length];
+                currentInsertions = 0;
+            }
+            set(currentBits, hash);
+            currentInsertions++;
+        }
+
+        expireBuckets();
+        long bucket = Math.floorDiv(clock.millis(), bucketMillis) * bucketMillis;
+        recentBuckets.computeIfAbsent(bucket, b -> new HashMap<>()).put(key, match);
+    }
+
+    private void expireBuckets() {
+        long oldest = Math.floorDiv(clock.millis(), bucketMillis) * bucketMillis - (bucketCount - 1) * bucketMillis;
+        Iterator<Long> buckets = recentBuckets.keySet().iterator();
+        while (buckets.hasNext() && buckets.next() < oldest) {
+            buckets.remove();
+        }
+    }
+
+    // Double hashing: the two halves of the 64-bit hash generate all probe positions
+    private boolean contains(long[] bits, long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void set(long[] bits, long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.config.ReplicaLagGuard;
+import com.kfactor.matchmaking.dto.LadderDTO;
+import com.kfactor.matchmaking.dto.PlayerStatsDTO;
+import com.kfactor.matchmaking.dto.RatingPointDTO;
+import com.kfactor.matchmaking.event.LadderMatchRecordedEvent;
+import com.kfactor.matchmaking.model.LadderMatch;
+import com.kfactor.matchmaking.model.LadderRating;
+import com.kfactor.matchmaking.model.Player;
+import com.kfactor.matchmaking.readmodel.LadderReadModel;
+import com.kfactor.matchmaking.readmodel.PlayerReadModel;
+import com.kfactor.matchmaking.readmodel.PlayerView;
+import com.kfactor.matchmaking.repository.LadderMatchRepository;
+import com.kfactor.matchmaking.repository.LadderRatingRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Ratings and matches per ladder, such as one per game title and mode. A ladder rates
+ * its players independently of the global rating and of every other ladder, and a
+ * player joins a ladder with their first match on it. Recording a match locks only the
+ * two players' rows on that ladder, and reads are served by the ladder's own partition
+ * of the {@link LadderReadModel}, so ladders neither block nor slow down one another.
+ *
+ * <p>Idempotency keys are scoped to their ladder and behave as for global matches: a
+ * retry gets the original match back and ratings are not applied again.
+ */
+@Service
+public class LadderService {
+
+    static final int MAX_LIMIT = 1000;
+
+    private static final Pattern LADDER_NAME = Pattern.compile("[a-z0-9][a-z0-9_-]{0,31}");
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "playedAt", "id");
+
+    private final LadderRatingRepository ladderRatingRepository;
+    private final LadderMatchRepository ladderMatchRepository;
+    private final PlayerService playerService;
+    private final LadderReadModel ladderReadModel;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate recordTransaction;
+    private final Clock clock;
+
+    public LadderService(LadderRatingRepository ladderRatingRepository, LadderMatchRepository ladderMatchRepository,
+                         PlayerService playerService, LadderReadModel ladderReadModel,
+                         ReplicaLagGuard replicaLagGuard, ApplicationEventPublisher eventPublisher,
+                         PlatformTransactionManager transactionManager, Clock clock) {
+        this.ladderRatingRepository = ladderRatingRepository;
+        this.ladderMatchRepository = ladderMatchRepository;
+        this.playerService = playerService;
+        this.ladderReadModel = ladderReadModel;
+        this.replicaLagGuard = replicaLagGuard;
+        this.eventPublisher = eventPublisher;
+        this.recordTransaction = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    /**
+     * Records a match on the ladder. A constraint violation means either a concurrent
+     * retry committed the same idempotency key first, or a concurrent match added one
+     * of the players to the ladder first; the former returns the original match and the
+     * latter is recorded again, now against the committed row.
+     */
+    public LadderMatch recordMatch(String ladder, Long playerAId, Long playerBId, Long winnerId,
+                                   String idempotencyKey) {
+        checkName(ladder);
+        String key = idempotencyKey == null || idempotencyKey.isBlank() ? null : idempotencyKey;
+        if (key != null) {
+            Optional<LadderMatch> original = ladderMatchRepository.findByLadderAndIdempotencyKey(ladder, key);
+            if (original.isPresent()) {
+                return verifiedOriginal(original.get(), playerAId, playerBId, winnerId);
+            }
+        }
+
+        try {
+            return recordTransaction.execute(status -> record(ladder, playerAId, playerBId, winnerId, key));
+        } catch (DataIntegrityViolationException e) {
+            if (key != null) {
+                Optional<LadderMatch> original = ladderMatchRepository.findByLadderAndIdempotencyKey(ladder, key);
+                if (original.isPresent()) {
+                    return verifiedOriginal(original.get(), playerAId, playerBId, winnerId);
+                }
+            }
+            return recordTransaction.execute(status -> record(ladder, playerAId, playerBId, winnerId, key));
+        }
+    }
+
+    private LadderMatch record(String ladder, Long playerAId, Long playerBId, Long winnerId, String idempotencyKey) {
+        Player playerA = playerService.getPlayerById(playerAId);
+        Player playerB = playerService.getPlayerById(playerBId);
+        if (playerAId.equals(playerBId)) {
+            throw new IllegalArgumentException("A player cannot play against themselves");
+        }
+        if (!winnerId.equals(playerAId) && !winnerId.equals(playerBId)) {
+            throw new IllegalArgumentException("Winner must be one of the players in the match");
+        }
+
+        Instant playedAt = clock.instant().truncatedTo(ChronoUnit.MICROS);
+        Map<Long, LadderRating> rows = ladderRatingRepository.findForUpdate(ladder, List.of(playerAId, playerBId))
+                .stream()
+                .collect(Collectors.toMap(LadderRating::getPlayerId, Function.identity()));
+        LadderRating ratingA = rows.getOrDefault(playerAId, new LadderRating(ladder, playerAId, playedAt));
+        LadderRating ratingB = rows.getOrDefault(playerBId, new LadderRating(ladder, playerBId, playedAt));
+
+        boolean aWon = winnerId.equals(playerAId);
+        int newRatingA = EloRating.newRating(ratingA.getRating(), ratingB.getRating(), aWon ? 1.0 : 0.0);
+        int newRatingB = EloRating.newRating(ratingB.getRating(), ratingA.getRating(), aWon ? 0.0 : 1.0);
+
+        LadderMatch match = new LadderMatch(ladder, playerAId, playerBId, winnerId, playedAt, idempotencyKey);
+        match.setRatings(ratingA.getRating(), newRatingA, ratingB.getRating(), newRatingB);
+        ratingA.recordResult(newRatingA, aWon, playedAt);
+        ratingB.recordResult(newRatingB, !aWon, playedAt);
+
+        // Rows read under the lock are managed and flush on commit; only newcomers need saving
+        if (!rows.containsKey(playerAId)) {
+            ladderRatingRepository.save(ratingA);
+        }
+        if (!rows.containsKey(playerBId)) {
+            ladderRatingRepository.save(ratingB);
+        }
+        LadderMatch saved = ladderMatchRepository.save(match);
+        eventPublisher.publishEvent(new LadderMatchRecordedEvent(ladder, saved.getId(),
+                LadderMatchRecordedEvent.Standing.of(ratingA, playerA.getUsername()),
+                LadderMatchRecordedEvent.Standing.of(ratingB, playerB.getUsername()),
+                Instant.now()));
+        return saved;
+    }
+
+    private LadderMatch verifiedOriginal(LadderMatch original, Long playerAId, Long playerBId, Long winnerId) {
+        if (!original.getPlayerAId().equals(playerAId)
+                || !original.getPlayerBId().equals(playerBId)
+                || !original.getWinnerId().equals(winnerId)) {
+            throw new IllegalArgumentException("Idempotency key was already used for a different match");
+        }
+        return original;
+    }
+
+    @Transactional(readOnly = true)
+    public List<LadderDTO> getLadders() {
+        return ladderRatingRepository.findLadders();
+    }
+
+    @Transactional(readOnly = true)
+    public LadderMatch getMatchById(String ladder, Long id) {
+        checkName(ladder);
+        replicaLagGuard.readingById();
+        return ladderMatchRepository.findByIdAndLadder(id, ladder)
+                .orElseThrow(() -> new IllegalArgumentException("Match not found with id: " + id));
+    }
+
+    /**
+     * Matches of a player on the ladder, newest first.
+     */
+    @Transactional(readOnly = true)
+    public List<LadderMatch> getMatchesForPlayer(String ladder, Long playerId, Integer page, Integer size) {
+        checkName(ladder);
+        replicaLagGuard.readingPlayer(playerId);
+        playerService.getPlayerById(playerId);
+
+        int pageNumber = page != null ? page : 0;
+        int pageSize = size != null ? size : MatchService.DEFAULT_PAGE_SIZE;
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (pageSize < 1 || pageSize > MatchService.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MatchService.MAX_PAGE_SIZE);
+        }
+        return ladderMatchRepository.findByLadderAndPlayer(ladder, playerId,
+                PageRequest.of(pageNumber, pageSize, NEWEST_FIRST));
+    }
+
+    public List<PlayerView> getLeaderboard(String ladder, int limit) {
+        checkName(ladder);
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return ladderReadModel.getTopPlayers(ladder, limit);
+    }
+
+    public PlayerStatsDTO getPlayerStats(String ladder, Long playerId) {
+        checkName(ladder);
+        PlayerReadModel.PlayerEntry entry = ladderReadModel.findById(ladder, playerId)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Player " + playerId + " has not played on ladder: " + ladder));
+        return new PlayerStatsDTO(
+                entry.view().id(),
+                entry.view().username(),
+                entry.view().rating(),
+                entry.totalMatches(),
+                entry.wins(),
+                entry.losses(),
+                entry.lastPlayedAt());
+    }
+
+    @Transactional(readOnly = true)
+    public List<RatingPointDTO> getRatingHistory(String ladder, Long playerId, Instant from, Instant to,
+                                                 Integer points) {
+        checkName(ladder);
+        replicaLagGuard.readingPlayer(playerId);
+        playerService.getPlayerById(playerId);
+
+        int threshold = points != null ? points : StatsService.DEFAULT_HISTORY_POINTS;
+        if (threshold < 3) {
+            throw new IllegalArgumentException("Points must be at least 3");
+        }
+        Instant start = from != null ? from : Instant.EPOCH;
+        Instant end = to != null ? to : clock.instant();
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("From must not be after to");
+        }
+        return RatingHistoryDownsampler.downsample(
+                ladderMatchRepository.findRatingHistory(ladder, playerId, start, end), threshold);
+    }
+
+    private static void checkName(String ladder) {
+        if (ladder == null || !LADDER_NAME.matcher(ladder).matches()) {
+            throw new IllegalArgumentException(
+                    "Ladder name must be 1 to 32 lowercase letters, digits, '-' or '_', starting with a letter or digit");
+        }
+    }
+}
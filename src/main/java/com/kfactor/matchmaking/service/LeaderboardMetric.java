@@ -0,0 +1,16 @@
+package com.kfactor.matchmaking.service;
+
+import java.util.Locale;
+
+public enum LeaderboardMetric {
+    GAIN,
+    WINS;
+
+    public static LeaderboardMetric fromParam(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown leaderboard metric: " + value);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.kfactor.matchmaking.service;
+
+import java.util.Locale;
+
+public enum LeaderboardWindow {
+    DAY(24),
+    WEEK(24 * 7),
+    SEASON(-1); // never expires, cleared on season rollover
+
+    private final int hours;
+
+    LeaderboardWindow(int hours) {
+        this.hours = hours;
+    }
+
+    public int getHours() { return hours; }
+
+    public boolean expires() { return hours > 0; }
+
+    public static LeaderboardWindow fromParam(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown leaderboard window: " + value);
+        }
+    }
+}
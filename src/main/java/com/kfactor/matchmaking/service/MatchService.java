@@ -1,26 +1,58 @@
 package com.kfactor.matchmaking.service;
 
+import com.kfactor.matchmaking.archive.ArchivedMatch;
+import com.kfactor.matchmaking.archive.MatchArchive;
+import com.kfactor.matchmaking.config.ReplicaLagGuard;
 import com.kfactor.matchmaking.model.Match;
 import com.kfactor.matchmaking.model.Player;
 import com.kfactor.matchmaking.repository.MatchRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class MatchService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "playedAt", "id");
+
     private final MatchRepository matchRepository;
     private final PlayerService playerService;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final MatchArchive matchArchive;
 
-    public MatchService(MatchRepository matchRepository, PlayerService playerService) {
+    public MatchService(MatchRepository matchRepository, PlayerService playerService,
+                        ReplicaLagGuard replicaLagGuard, MatchArchive matchArchive) {
         this.matchRepository = matchRepository;
         this.playerService = playerService;
+        this.replicaLagGuard = replicaLagGuard;
+        this.matchArchive = matchArchive;
     }
 
     @Transactional
     public Match recordMatch(Long playerAId, Long playerBId, Long winnerId) {
+        return recordMatch(playerAId, playerBId, winnerId, null);
+    }
+
+    @Transactional
+    public Match recordMatch(Long playerAId, Long playerBId, Long winnerId, String idempotencyKey) {
+        // Rates from the committed rows, locked until commit so a decay run or season reset
+        // running alongside is neither read stale nor overwritten; the reads below then hit
+        // the persistence context
+        playerService.lockPlayers(Arrays.asList(playerAId, playerBId));
         Player playerA = playerService.getPlayerById(playerAId);
         Player playerB = playerService.getPlayerById(playerBId);
         Player winner = playerService.getPlayerById(winnerId);
@@ -30,43 +62,111 @@ public class MatchService {
             throw new IllegalArgumentException("Winner must be one of the players in the match");
         }
 
-        // Create and save match
+        // Update ratings using K-factor algorithm, then save the match with its rating snapshot
         Match match = new Match(playerA, playerB, winner);
-        match = matchRepository.save(match);
-
-        // Update ratings using K-factor algorithm
-        updateRatings(playerA, playerB, winner);
-
-        return match;
+        match.setIdempotencyKey(idempotencyKey);
+        updateRatings(match);
+
+        Match saved = matchRepository.save(match);
+        // Both players are already dirty from the rating update, so this adds no statement
+        playerA.setLastPlayedAt(saved.getPlayedAt());
+        playerB.setLastPlayedAt(saved.getPlayedAt());
+        return saved;
     }
 
-    private void updateRatings(Player playerA, Player playerB, Player winner) {
-        int K = 32; // K-factor for rating changes
-
-        double expectedA = 1.0 / (1.0 + Math.pow(10, (playerB.getRating() - playerA.getRating()) / 400.0));
-        double expectedB = 1.0 / (1.0 + Math.pow(10, (playerA.getRating() - playerB.getRating()) / 400.0));
+    private void updateRatings(Match match) {
+        Player playerA = match.getPlayerA();
+        Player playerB = match.getPlayerB();
+        Player winner = match.getWinner();
 
         double scoreA = winner.getId().equals(playerA.getId()) ? 1.0 : 0.0;
         double scoreB = winner.getId().equals(playerB.getId()) ? 1.0 : 0.0;
 
-        int newRatingA = (int) Math.round(playerA.getRating() + K * (scoreA - expectedA));
-        int newRatingB = (int) Math.round(playerB.getRating() + K * (scoreB - expectedB));
+        int newRatingA = EloRating.newRating(playerA.getRating(), playerB.getRating(), scoreA);
+        int newRatingB = EloRating.newRating(playerB.getRating(), playerA.getRating(), scoreB);
+
+        match.setRatingABefore(playerA.getRating());
+        match.setRatingAAfter(newRatingA);
+        match.setRatingBBefore(playerB.getRating());
+        match.setRatingBAfter(newRatingB);
 
         playerService.updateRating(playerA.getId(), newRatingA);
         playerService.updateRating(playerB.getId(), newRatingB);
     }
 
+    @Transactional(readOnly = true)
     public List<Match> getAllMatches() {
         return matchRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public List<Match> getMatchesForPlayer(Long playerId) {
+        return getMatchesForPlayer(playerId, null, null);
+    }
+
+    /**
+     * Matches of a player, newest first. Recent matches come from the matches table and
+     * older pages read through to the archive. Without page or size, everything is returned.
+     */
+    @Transactional(readOnly = true)
+    public List<Match> getMatchesForPlayer(Long playerId, Integer page, Integer size) {
+        replicaLagGuard.readingPlayer(playerId);
         Player player = playerService.getPlayerById(playerId);
-        return matchRepository.findByPlayerAOrPlayerBOrderByPlayedAtDesc(player, player);
+
+        if (page == null && size == null) {
+            List<Match> matches = new ArrayList<>(matchRepository.findByPlayerAOrPlayerBOrderByPlayedAtDesc(player, player));
+            matches.addAll(restore(matchArchive.findMatchesForPlayer(playerId, 0, Integer.MAX_VALUE)));
+            return matches;
+        }
+
+        int pageNumber = page != null ? page : 0;
+        int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        long offset = (long) pageNumber * pageSize;
+        // Voided matches are still listed, so count them for paging too
+        long live = matchRepository.countByPlayerAOrPlayerB(player, player);
+        List<Match> matches = new ArrayList<>(pageSize);
+        if (offset < live) {
+            matches.addAll(matchRepository.findByPlayerAOrPlayerB(player, player,
+                    PageRequest.of(pageNumber, pageSize, NEWEST_FIRST)));
+        }
+        if (matches.size() < pageSize) {
+            long archiveOffset = Math.max(0, offset - live);
+            matches.addAll(restore(matchArchive.findMatchesForPlayer(playerId, archiveOffset, pageSize - matches.size())));
+        }
+        return matches;
     }
 
+    @Transactional(readOnly = true)
     public Match getMatchById(Long id) {
+        replicaLagGuard.readingById();
         return matchRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Match not found with id: " + id));
     }
-}
\ No newline at end of file
+
+    private List<Match> restore(List<ArchivedMatch> archived) {
+        if (archived.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> playerIds = new HashSet<>();
+        for (ArchivedMatch row : archived) {
+            playerIds.add(row.playerAId());
+            playerIds.add(row.playerBId());
+        }
+        Map<Long, Player> players = playerService.getPlayersByIds(playerIds).stream()
+                .collect(Collectors.toMap(Player::getId, Function.identity()));
+        return archived.stream().map(row -> row.toMatch(players)).toList();
+    }
+
+    // Read-write on purpose so the lookup hits the primary, where the original was just written
+    @Transactional
+    public Optional<Match> findByIdempotencyKey(String idempotencyKey) {
+        return matchRepository.findByIdempotencyKey(idempotencyKey);
+    }
+}
@@ -0,0 +1,65 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.model.Match;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Entry point for match submissions from game servers. Submissions carrying an
+ * idempotency key are recorded at most once: a retry of an already recorded key gets
+ * the original match back and ratings are not applied again.
+ *
+ * <p>A key the in-memory filter has never seen is recorded straight away, so the
+ * common non-duplicate case costs no extra database round trip. Concurrent retries of a
+ * brand new key race on the unique constraint; the losers roll back and return the
+ * winner's match.
+ */
+@Service
+public class MatchSubmissionService {
+
+    private final MatchService matchService;
+    private final IdempotencyKeyFilter idempotencyKeyFilter;
+
+    public MatchSubmissionService(MatchService matchService, IdempotencyKeyFilter idempotencyKeyFilter) {
+        this.matchService = matchService;
+        this.idempotencyKeyFilter = idempotencyKeyFilter;
+    }
+
+    public Match submit(Long playerAId, Long playerBId, Long winnerId, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return matchService.recordMatch(playerAId, playerBId, winnerId);
+        }
+
+        if (idempotencyKeyFilter.mightContain(idempotencyKey)) {
+            Match recent = idempotencyKeyFilter.findRecent(idempotencyKey);
+            Optional<Match> original = recent != null
+                    ? Optional.of(recent)
+                    : matchService.findByIdempotencyKey(idempotencyKey);
+            if (original.isPresent()) {
+                return verifiedOriginal(original.get(), playerAId, playerBId, winnerId);
+            }
+        }
+
+        try {
+            Match match = matchService.recordMatch(playerAId, playerBId, winnerId, idempotencyKey);
+            idempotencyKeyFilter.remember(idempotencyKey, match);
+            return match;
+        } catch (DataIntegrityViolationException e) {
+            // Another submission with the same key committed first
+            Match original = matchService.findByIdempotencyKey(idempotencyKey).orElseThrow(() -> e);
+            idempotencyKeyFilter.remember(idempotencyKey, original);
+            return verifiedOriginal(original, playerAId, playerBId, winnerId);
+        }
+    }
+
+    private Match verifiedOriginal(Match original, Long playerAId, Long playerBId, Long winnerId) {
+        if (!original.getPlayerA().getId().equals(playerAId)
+                || !original.getPlayerB().getId().equals(playerBId)
+                || !original.getWinner().getId().equals(winnerId)) {
+            throw new IllegalArgumentException("Idempotency key was already used for a different match");
+        }
+        return original;
+    }
+}
@@ -0,0 +1,151 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.dto.MatchVoidResultDTO;
+import com.kfactor.matchmaking.event.MatchVoidedEvent;
+import com.kfactor.matchmaking.model.Match;
+import com.kfactor.matchmaking.model.Player;
+import com.kfactor.matchmaking.repository.MatchRatingRepository;
+import com.kfactor.matchmaking.repository.MatchRatingRepository.RatedMatch;
+import com.kfactor.matchmaking.repository.MatchRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Voids a match and corrects the rating history that followed it.
+ *
+ * <p>Only the dependency frontier is replayed. The frontier holds each affected player's
+ * correction: their corrected rating minus the stored one. It starts as the two players
+ * of the voided match, each corrected by what that match gave or took. Later matches are
+ * walked in id order, and a match is recomputed only if one of its players is on the
+ * frontier. A frontier player goes into the match with the stored rating plus their
+ * correction, so anything that moved the rating between two matches, such as a team
+ * match, a decay run, a season reset or an admin update, is kept. A season reset shifts
+ * the correction along rather than scaling it. A player whose recomputed rating differs
+ * from the stored snapshot joins the frontier. A player whose rating comes out equal to
+ * the stored snapshot leaves it, because every later snapshot of theirs is then already
+ * correct. The walk stops when the frontier is empty or the history ends, and each player
+ * still on it has the correction added to their current rating.
+ */
+@Service
+public class MatchVoidService {
+
+    static final int CHUNK_SIZE = 500;
+    // Above this many frontier players, scanning all later matches beats a huge IN list
+    static final int MAX_FILTERED_PLAYERS = 1000;
+
+    private final MatchRepository matchRepository;
+    private final MatchRatingRepository matchRatingRepository;
+    private final PlayerService playerService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public MatchVoidService(MatchRepository matchRepository, MatchRatingRepository matchRatingRepository,
+                            PlayerService playerService, ApplicationEventPublisher eventPublisher) {
+        this.matchRepository = matchRepository;
+        this.matchRatingRepository = matchRatingRepository;
+        this.playerService = playerService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public MatchVoidResultDTO voidMatch(Long matchId) {
+        long started = System.nanoTime();
+        // Locked before the flag is checked, so a retried void waits and then sees it set
+        Match voided = matchRepository.findForUpdate(matchId)
+                .orElseThrow(() -> new IllegalArgumentException("Match not found with id: " + matchId));
+        if (voided.isVoided()) {
+            throw new IllegalArgumentException("Match is already voided");
+        }
+        if (voided.getRatingABefore() == null || voided.getRatingBBefore() == null) {
+            throw new IllegalArgumentException("Match has no rating snapshot to correct");
+        }
+        voided.setVoided(true);
+        eventPublisher.publishEvent(MatchVoidedEvent.of(voided));
+
+        // Frontier: player id -> corrected minus stored rating after their last walked match
+        Map<Long, Integer> frontier = new HashMap<>();
+        advance(frontier, voided.getPlayerA().getId(), voided.getRatingABefore() - voided.getRatingAAfter());
+        advance(frontier, voided.getPlayerB().getId(), voided.getRatingBBefore() - voided.getRatingBAfter());
+
+        long cursor = voided.getId();
+        int touched = 0;
+        while (!frontier.isEmpty()) {
+            List<RatedMatch> chunk = frontier.size() <= MAX_FILTERED_PLAYERS
+                    ? matchRatingRepository.findLaterMatchesOfPlayers(cursor, frontier.keySet(), CHUNK_SIZE)
+                    : matchRatingRepository.findLaterMatches(cursor, CHUNK_SIZE);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            // The chunk was selected for the frontier as it stood. Players joining inside the
+            // window bring their own matches up to the window's end.
+            long windowEnd = chunk.size() < CHUNK_SIZE ? Long.MAX_VALUE : chunk.get(chunk.size() - 1).id();
+            TreeMap<Long, RatedMatch> window = new TreeMap<>();
+            chunk.forEach(match -> window.put(match.id(), match));
+
+            List<RatedMatch> corrected = new ArrayList<>();
+            Map.Entry<Long, RatedMatch> next;
+            while ((next = window.pollFirstEntry()) != null) {
+                RatedMatch match = next.getValue();
+                long playerA = match.playerAId();
+                long playerB = match.playerBId();
+                // Matches recorded before rating snapshots existed have nothing to correct
+                if (!match.hasRatings() || (!frontier.containsKey(playerA) && !frontier.containsKey(playerB))) {
+                    continue;
+                }
+
+                int beforeA = match.ratingABefore() + frontier.getOrDefault(playerA, 0);
+                int beforeB = match.ratingBBefore() + frontier.getOrDefault(playerB, 0);
+                double scoreA = match.winnerId() == playerA ? 1.0 : 0.0;
+                int afterA = EloRating.newRating(beforeA, beforeB, scoreA);
+                int afterB = EloRating.newRating(beforeB, beforeA, 1.0 - scoreA);
+
+                if (advance(frontier, playerA, afterA - match.ratingAAfter())) {
+                    addMatchesOfPlayer(window, playerA, match.id() + 1, windowEnd);
+                }
+                if (advance(frontier, playerB, afterB - match.ratingBAfter())) {
+                    addMatchesOfPlayer(window, playerB, match.id() + 1, windowEnd);
+                }
+                corrected.add(match.withRatings(beforeA, afterA, beforeB, afterB));
+            }
+            matchRatingRepository.updateRatings(corrected);
+            touched += corrected.size();
+
+            if (windowEnd == Long.MAX_VALUE) {
+                break;
+            }
+            cursor = windowEnd;
+        }
+
+        // Corrections land on the current ratings, read under lock so nothing since is lost;
+        // players deleted since have nothing to correct
+        for (Player player : playerService.lockPlayers(frontier.keySet())) {
+            playerService.updateRating(player.getId(), player.getRating() + frontier.get(player.getId()));
+        }
+        return new MatchVoidResultDTO(matchId, touched, frontier.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void addMatchesOfPlayer(TreeMap<Long, RatedMatch> window, long playerId, long fromId, long toId) {
+        for (RatedMatch match : matchRatingRepository.findMatchesOfPlayerBetween(playerId, fromId, toId)) {
+            window.putIfAbsent(match.id(), match);
+        }
+    }
+
+    /**
+     * Moves a player's correction past one match. Returns true if the player was not on
+     * the frontier before.
+     */
+    private static boolean advance(Map<Long, Integer> frontier, long playerId, int correction) {
+        if (correction == 0) {
+            frontier.remove(playerId);
+            return false;
+        }
+        return frontier.put(playerId, correction) == null;
+    }
+}
@@ -0,0 +1,74 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.dto.PlayerStatsDTO;
+import com.kfactor.matchmaking.dto.RatingDistributionDTO;
+import com.kfactor.matchmaking.readmodel.PlayerReadModel;
+import com.kfactor.matchmaking.readmodel.PlayerView;
+import com.kfactor.matchmaking.readmodel.RecentResult;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Query side for players: every read is answered from the {@link PlayerReadModel},
+ * so GET traffic never competes with match recording for rows or connections.
+ */
+@Service
+public class PlayerQueryService {
+
+    static final int MAX_BUCKET = 1000;
+
+    private final PlayerReadModel readModel;
+
+    public PlayerQueryService(PlayerReadModel readModel) {
+        this.readModel = readModel;
+    }
+
+    public List<PlayerView> getAllPlayers() {
+        return readModel.getAllPlayers();
+    }
+
+    public PlayerView getPlayerById(Long id) {
+        return getEntry(id).view();
+    }
+
+    public PlayerView getPlayerByUsername(String username) {
+        return readModel.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("Player not found with username: " + username))
+                .view();
+    }
+
+    public List<PlayerView> getLeaderboard(int limit) {
+        return readModel.getTopPlayers(limit);
+    }
+
+    public PlayerStatsDTO getPlayerStats(Long playerId) {
+        PlayerReadModel.PlayerEntry entry = getEntry(playerId);
+        return new PlayerStatsDTO(
+                entry.view().id(),
+                entry.view().username(),
+                entry.view().rating(),
+                entry.totalMatches(),
+                entry.wins(),
+                entry.losses(),
+                entry.lastPlayedAt()
+        );
+    }
+
+    public List<RecentResult> getRecentResults(Long playerId) {
+        return readModel.findRecentResults(playerId)
+                .orElseThrow(() -> new IllegalArgumentException("Player not found with id: " + playerId));
+    }
+
+    public RatingDistributionDTO getRatingDistribution(int bucket) {
+        if (bucket < 1 || bucket > MAX_BUCKET) {
+            throw new IllegalArgumentException("Bucket must be between 1 and " + MAX_BUCKET);
+        }
+        return readModel.getRatingDistribution(bucket);
+    }
+
+    private PlayerReadModel.PlayerEntry getEntry(Long id) {
+        return readModel.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Player not found with id: " + id));
+    }
+}
@@ -0,0 +1,89 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.dto.BatchRegistrationResultDTO;
+import com.kfactor.matchmaking.event.PlayerCreatedEvent;
+import com.kfactor.matchmaking.repository.PlayerBatchRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk player registration. Usernames are checked against the table with one set-based
+ * lookup per chunk and the remaining players are inserted in JDBC batches, instead of
+ * an exists query plus a single-row insert per player.
+ */
+@Service
+public class PlayerRegistrationService {
+
+    private static final int INITIAL_RATING = 1000;
+
+    private final PlayerBatchRepository playerBatchRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PlayerRegistrationService(PlayerBatchRepository playerBatchRepository,
+                                     ApplicationEventPublisher eventPublisher) {
+        this.playerBatchRepository = playerBatchRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public BatchRegistrationResultDTO registerAll(List<String> usernames) {
+        Map<String, String> conflicts = new LinkedHashMap<>();
+        Set<String> candidates = new LinkedHashSet<>();
+        for (String username : usernames) {
+            String problem = validate(username);
+            if (problem != null) {
+                conflicts.put(String.valueOf(username), problem);
+            } else if (!candidates.add(username)) {
+                conflicts.put(username, "Duplicate username in request");
+            }
+        }
+
+        Set<String> existing = playerBatchRepository.findExistingUsernames(candidates);
+        List<String> toCreate = new ArrayList<>(candidates.size());
+        for (String username : candidates) {
+            if (existing.contains(username)) {
+                conflicts.put(username, "Username already exists");
+            } else {
+                toCreate.add(username);
+            }
+        }
+
+        Instant createdAt = Instant.now();
+        List<Long> ids;
+        try {
+            ids = playerBatchRepository.insertAll(toCreate, INITIAL_RATING, createdAt);
+        } catch (DataIntegrityViolationException e) {
+            // Another request registered one of these names after the lookup
+            throw new IllegalArgumentException("Usernames were registered concurrently; retry the batch");
+        }
+
+        Map<String, Long> created = new LinkedHashMap<>();
+        for (int i = 0; i < toCreate.size(); i++) {
+            created.put(toCreate.get(i), ids.get(i));
+            eventPublisher.publishEvent(new PlayerCreatedEvent(ids.get(i), toCreate.get(i), INITIAL_RATING,
+                    createdAt, createdAt));
+        }
+        return new BatchRegistrationResultDTO(created, conflicts);
+    }
+
+    // Same rules as PlayerDTO, applied per username so one bad entry does not fail the batch
+    private String validate(String username) {
+        if (username == null || username.isBlank()) {
+            return "Username is required";
+        }
+        if (username.length() < 3 || username.length() > 20) {
+            return "Username must be between 3 and 20 characters";
+        }
+        return null;
+    }
+}
@@ -1,40 +1,74 @@
 package com.kfactor.matchmaking.service;
 
+import com.kfactor.matchmaking.config.ReplicaLagGuard;
+import com.kfactor.matchmaking.event.PlayerRatingChangedEvent;
 import com.kfactor.matchmaking.model.Player;
 import com.kfactor.matchmaking.repository.PlayerRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 @Service
 public class PlayerService {
 
     private final PlayerRepository playerRepository;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UsernameRegistry usernameRegistry;
 
-    public PlayerService(PlayerRepository playerRepository) {
+    public PlayerService(PlayerRepository playerRepository, ReplicaLagGuard replicaLagGuard,
+                         ApplicationEventPublisher eventPublisher, UsernameRegistry usernameRegistry) {
         this.playerRepository = playerRepository;
+        this.replicaLagGuard = replicaLagGuard;
+        this.eventPublisher = eventPublisher;
+        this.usernameRegistry = usernameRegistry;
     }
 
     @Transactional
     public Player createPlayer(String username) {
-        if (playerRepository.existsByUsername(username)) {
+        // Only names the registry has seen need the existence query; new names go straight to insert
+        if (usernameRegistry.mightContain(username) && playerRepository.existsByUsername(username)) {
             throw new IllegalArgumentException("Username already exists");
         }
         Player player = new Player(username);
-        return playerRepository.save(player);
+        try {
+            return playerRepository.save(player);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a registration the registry had not seen yet
+            throw new IllegalArgumentException("Username already exists");
+        }
     }
 
+    @Transactional(readOnly = true)
     public Player getPlayerById(Long id) {
+        replicaLagGuard.readingPlayer(id);
         return playerRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Player not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
     public Player getPlayerByUsername(String username) {
         return playerRepository.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("Player not found with username: " + username));
     }
 
+    @Transactional(readOnly = true)
+    public List<Player> getPlayersByIds(Collection<Long> ids) {
+        return playerRepository.findAllById(ids);
+    }
+
+    // Locks the players' rows for a rating write, so a concurrent bulk update is not lost
+    @Transactional
+    public List<Player> lockPlayers(Collection<Long> ids) {
+        return playerRepository.lockAllById(ids);
+    }
+
+    @Transactional(readOnly = true)
     public List<Player> getAllPlayers() {
         return playerRepository.findAll();
     }
@@ -51,9 +85,12 @@ public class PlayerService {
     public Player updateRating(Long id, int newRating) {
         Player player = getPlayerById(id);
         player.setRating(newRating);
-        return playerRepository.save(player);
+        player = playerRepository.save(player);
+        eventPublisher.publishEvent(new PlayerRatingChangedEvent(id, newRating, Instant.now()));
+        return player;
     }
 
+    @Transactional(readOnly = true)
     public List<Player> getLeaderboard(int limit) {
         return playerRepository.findAll().stream()
                 .sorted((p1, p2) -> Integer.compare(p2.getRating(), p1.getRating()))
@@ -0,0 +1,73 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.dto.PredictionRequestDTO;
+import com.kfactor.matchmaking.dto.PredictionResultDTO;
+import com.kfactor.matchmaking.readmodel.PlayerReadModel;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Win probabilities for batches of pairings. Player ratings come from the
+ * {@link PlayerReadModel}; all pairs of a request are computed in one
+ * {@link WinProbability} pass.
+ */
+@Service
+public class PredictionService {
+
+    static final int MAX_PAIRS = 100_000;
+
+    private final PlayerReadModel readModel;
+
+    public PredictionService(PlayerReadModel readModel) {
+        this.readModel = readModel;
+    }
+
+    public PredictionResultDTO predict(PredictionRequestDTO request) {
+        List<long[]> playerPairs = request.getPlayerPairs() != null ? request.getPlayerPairs() : List.of();
+        List<int[]> ratingPairs = request.getRatingPairs() != null ? request.getRatingPairs() : List.of();
+        int players = playerPairs.size();
+        int total = players + ratingPairs.size();
+        if (total > MAX_PAIRS) {
+            throw new IllegalArgumentException("At most " + MAX_PAIRS + " pairs per request");
+        }
+
+        long[] ids = new long[2 * players];
+        for (int i = 0; i < players; i++) {
+            long[] pair = playerPairs.get(i);
+            if (pair == null || pair.length != 2) {
+                throw new IllegalArgumentException("Each pair must have exactly two entries");
+            }
+            ids[2 * i] = pair[0];
+            ids[2 * i + 1] = pair[1];
+        }
+        int[] resolved = new int[ids.length];
+        int missing = readModel.findRatings(ids, resolved);
+        if (missing >= 0) {
+            throw new IllegalArgumentException("Player not found with id: " + ids[missing]);
+        }
+
+        int[] ratingA = new int[total];
+        int[] ratingB = new int[total];
+        for (int i = 0; i < players; i++) {
+            ratingA[i] = resolved[2 * i];
+            ratingB[i] = resolved[2 * i + 1];
+        }
+        for (int i = 0; i < ratingPairs.size(); i++) {
+            int[] pair = ratingPairs.get(i);
+            if (pair == null || pair.length != 2) {
+                throw new IllegalArgumentException("Each pair must have exactly two entries");
+            }
+            ratingA[players + i] = pair[0];
+            ratingB[players + i] = pair[1];
+        }
+
+        double[] probabilities = new double[total];
+        WinProbability.predict(ratingA, ratingB, probabilities);
+        double[] forPlayers = new double[players];
+        double[] forRatings = new double[total - players];
+        System.arraycopy(probabilities, 0, forPlayers, 0, players);
+        System.arraycopy(probabilities, players, forRatings, 0, forRatings.length);
+        return new PredictionResultDTO(forPlayers, forRatings);
+    }
+}
@@ -0,0 +1,71 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.dto.RatingPointDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling for rating time series.
+ * Keeps the first and last point and, for every bucket in between, the point
+ * that forms the largest triangle with its neighbours, which preserves the
+ * visual peaks and dips of the chart.
+ */
+final class RatingHistoryDownsampler {
+
+    private RatingHistoryDownsampler() {}
+
+    static List<RatingPointDTO> downsample(List<RatingPointDTO> points, int threshold) {
+        int size = points.size();
+        if (threshold >= size || threshold < 3) {
+            return points;
+        }
+
+        List<RatingPointDTO> sampled = new ArrayList<>(threshold);
+        double bucketSize = (double) (size - 2) / (threshold - 2);
+
+        int selected = 0;
+        sampled.add(points.get(0));
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // Average of the next bucket is the third vertex of the triangle
+            int nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, size);
+            double avgX = 0;
+            double avgY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                avgX += x(points.get(i));
+                avgY += points.get(i).getRating();
+            }
+            int nextCount = nextEnd - nextStart;
+            avgX /= nextCount;
+            avgY /= nextCount;
+
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            int end = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            double selectedX = x(points.get(selected));
+            double selectedY = points.get(selected).getRating();
+
+            double maxArea = -1;
+            int maxIndex = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((selectedX - avgX) * (points.get(i).getRating() - selectedY)
+                        - (selectedX - x(points.get(i))) * (avgY - selectedY));
+                if (area > maxArea) {
+                    maxArea = area;
+                    maxIndex = i;
+                }
+            }
+
+            sampled.add(points.get(maxIndex));
+            selected = maxIndex;
+        }
+
+        sampled.add(points.get(size - 1));
+        return sampled;
+    }
+
+    private static double x(RatingPointDTO point) {
+        return point.getPlayedAt().toEpochMilli();
+    }
+}
@@ -1,26 +1,65 @@
 package com.kfactor.matchmaking.service;
 
+import com.kfactor.matchmaking.archive.MatchArchive;
+import com.kfactor.matchmaking.config.ReplicaLagGuard;
 import com.kfactor.matchmaking.dto.PlayerStatsDTO;
+import com.kfactor.matchmaking.dto.RatingPointDTO;
+import com.kfactor.matchmaking.event.MatchRecordedEvent;
+import com.kfactor.matchmaking.event.MatchVoidedEvent;
+import com.kfactor.matchmaking.event.PlayerDeletedEvent;
+import com.kfactor.matchmaking.event.PlayerRatingChangedEvent;
+import com.kfactor.matchmaking.event.SeasonRolledOverEvent;
+import com.kfactor.matchmaking.flight.SingleFlight;
+import com.kfactor.matchmaking.flight.SingleFlightProperties;
 import com.kfactor.matchmaking.model.Player;
+import com.kfactor.matchmaking.model.PlayerArchiveStats;
 import com.kfactor.matchmaking.repository.MatchRepository;
+import com.kfactor.matchmaking.repository.PlayerArchiveStatsRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 public class StatsService {
 
+    static final int DEFAULT_HISTORY_POINTS = 500;
+
     private final PlayerService playerService;
     private final MatchRepository matchRepository;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final MatchArchive matchArchive;
+    private final PlayerArchiveStatsRepository playerArchiveStatsRepository;
+
+    // Concurrent identical reads share one load; a player's entries are dropped when they change
+    private final SingleFlight<HistoryKey, List<RatingPointDTO>> historyFlight;
 
-    public StatsService(PlayerService playerService, MatchRepository matchRepository) {
+    private record HistoryKey(Long playerId, Instant from, Instant to, Integer points) {}
+
+    public StatsService(PlayerService playerService, MatchRepository matchRepository,
+                        ReplicaLagGuard replicaLagGuard, MatchArchive matchArchive,
+                        PlayerArchiveStatsRepository playerArchiveStatsRepository,
+                        SingleFlightProperties singleFlightProperties) {
         this.playerService = playerService;
         this.matchRepository = matchRepository;
+        this.replicaLagGuard = replicaLagGuard;
+        this.matchArchive = matchArchive;
+        this.playerArchiveStatsRepository = playerArchiveStatsRepository;
+        this.historyFlight = new SingleFlight<>(singleFlightProperties.getTtl());
     }
 
+    @Transactional(readOnly = true)
     public PlayerStatsDTO getPlayerStats(Long playerId) {
+        replicaLagGuard.readingPlayer(playerId);
         Player player = playerService.getPlayerById(playerId);
 
-        int totalMatches = matchRepository.countMatchesByPlayer(player);
-        int wins = matchRepository.countWinsByPlayer(player);
+        PlayerArchiveStats archived = playerArchiveStatsRepository.findById(playerId)
+                .orElseGet(() -> new PlayerArchiveStats(playerId));
+        int totalMatches = matchRepository.countMatchesByPlayer(player) + archived.getMatches();
+        int wins = matchRepository.countWinsByPlayer(player) + archived.getWins();
         int losses = totalMatches - wins;
 
         return new PlayerStatsDTO(
@@ -32,4 +71,62 @@ public class StatsService {
                 losses
         );
     }
+
+    @Transactional(readOnly = true)
+    public List<RatingPointDTO> getRatingHistory(Long playerId, Instant from, Instant to, Integer points) {
+        replicaLagGuard.readingPlayer(playerId);
+        return historyFlight.get(new HistoryKey(playerId, from, to, points),
+                () -> loadRatingHistory(playerId, from, to, points));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(MatchRecordedEvent event) {
+        forget(event.playerAId());
+        forget(event.playerBId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(MatchVoidedEvent event) {
+        forget(event.playerAId());
+        forget(event.playerBId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(PlayerRatingChangedEvent event) {
+        forget(event.playerId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(PlayerDeletedEvent event) {
+        forget(event.playerId());
+    }
+
+    // The soft reset changes every rating without per-player events
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(SeasonRolledOverEvent event) {
+        historyFlight.forgetAll();
+    }
+
+    private void forget(Long playerId) {
+        historyFlight.forgetIf(key -> key.playerId().equals(playerId));
+    }
+
+    private List<RatingPointDTO> loadRatingHistory(Long playerId, Instant from, Instant to, Integer points) {
+        Player player = playerService.getPlayerById(playerId);
+
+        int threshold = points != null ? points : DEFAULT_HISTORY_POINTS;
+        if (threshold < 3) {
+            throw new IllegalArgumentException("Points must be at least 3");
+        }
+        Instant start = from != null ? from : Instant.EPOCH;
+        Instant end = to != null ? to : Instant.now();
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("From must not be after to");
+        }
+
+        // Archived matches are all older than live ones, so the two lists concatenate in order
+        List<RatingPointDTO> history = new ArrayList<>(matchArchive.findRatingHistory(playerId, start, end));
+        history.addAll(matchRepository.findRatingHistory(player.getId(), start, end));
+        return RatingHistoryDownsampler.downsample(history, threshold);
+    }
 }
\ No newline at end of file
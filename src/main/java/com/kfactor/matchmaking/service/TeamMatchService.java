@@ -0,0 +1,109 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.config.ReplicaLagGuard;
+import com.kfactor.matchmaking.dto.TeamMatchParticipantDTO;
+import com.kfactor.matchmaking.event.PlayerRatingChangedEvent;
+import com.kfactor.matchmaking.model.MatchParticipant;
+import com.kfactor.matchmaking.model.Player;
+import com.kfactor.matchmaking.model.TeamMatch;
+import com.kfactor.matchmaking.repository.PlayerRepository;
+import com.kfactor.matchmaking.repository.TeamMatchRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Records team and free-for-all matches. All participants are loaded in one query, rated
+ * in one pass by {@link EloRating#newRatings}, and written back in a single transaction:
+ * the rating updates and participant rows go out as JDBC batches.
+ */
+@Service
+public class TeamMatchService {
+
+    private final TeamMatchRepository teamMatchRepository;
+    private final PlayerRepository playerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReplicaLagGuard replicaLagGuard;
+
+    public TeamMatchService(TeamMatchRepository teamMatchRepository, PlayerRepository playerRepository,
+                            ApplicationEventPublisher eventPublisher, ReplicaLagGuard replicaLagGuard) {
+        this.teamMatchRepository = teamMatchRepository;
+        this.playerRepository = playerRepository;
+        this.eventPublisher = eventPublisher;
+        this.replicaLagGuard = replicaLagGuard;
+    }
+
+    @Transactional
+    public TeamMatch recordMatch(List<TeamMatchParticipantDTO> participants) {
+        int count = participants.size();
+        Set<Long> playerIds = new HashSet<>();
+        // Teams are renumbered from 0 in order of first appearance; no team means a team of one
+        Map<Integer, Integer> teamNumbers = new HashMap<>();
+        List<Integer> placements = new ArrayList<>();
+        int[] teamOf = new int[count];
+        for (int i = 0; i < count; i++) {
+            TeamMatchParticipantDTO participant = participants.get(i);
+            if (!playerIds.add(participant.getPlayerId())) {
+                throw new IllegalArgumentException("Player " + participant.getPlayerId() + " appears more than once");
+            }
+            Integer team = participant.getTeam() != null ? teamNumbers.get(participant.getTeam()) : null;
+            if (team == null) {
+                team = placements.size();
+                placements.add(participant.getPlacement());
+                if (participant.getTeam() != null) {
+                    teamNumbers.put(participant.getTeam(), team);
+                }
+            } else if (!placements.get(team).equals(participant.getPlacement())) {
+                throw new IllegalArgumentException("Players on the same team must share a placement");
+            }
+            teamOf[i] = team;
+        }
+        if (placements.size() < 2) {
+            throw new IllegalArgumentException("A match needs at least two teams");
+        }
+
+        // Locked until commit, so a concurrent decay run or season reset is not overwritten
+        Map<Long, Player> players = playerRepository.lockAllById(playerIds).stream()
+                .collect(Collectors.toMap(Player::getId, Function.identity()));
+        int[] ratings = new int[count];
+        for (int i = 0; i < count; i++) {
+            Long playerId = participants.get(i).getPlayerId();
+            Player player = players.get(playerId);
+            if (player == null) {
+                throw new IllegalArgumentException("Player not found with id: " + playerId);
+            }
+            ratings[i] = player.getRating();
+        }
+        int[] teamPlacement = placements.stream().mapToInt(Integer::intValue).toArray();
+        int[] updated = EloRating.newRatings(ratings, teamOf, teamPlacement);
+
+        // Managed players are flushed as one batch of updates at commit
+        Instant now = Instant.now();
+        List<MatchParticipant> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Long playerId = participants.get(i).getPlayerId();
+            players.get(playerId).setRating(updated[i]);
+            players.get(playerId).setLastPlayedAt(now);
+            rows.add(new MatchParticipant(playerId, teamOf[i], teamPlacement[teamOf[i]], ratings[i], updated[i]));
+            eventPublisher.publishEvent(new PlayerRatingChangedEvent(playerId, updated[i], now));
+        }
+        return teamMatchRepository.save(new TeamMatch(rows));
+    }
+
+    @Transactional(readOnly = true)
+    public TeamMatch getMatchById(Long id) {
+        replicaLagGuard.readingById();
+        return teamMatchRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Team match not found with id: " + id));
+    }
+}
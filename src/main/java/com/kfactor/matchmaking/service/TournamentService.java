@@ -0,0 +1,333 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.config.ReplicaLagGuard;
+import com.kfactor.matchmaking.dto.TournamentPairingDTO;
+import com.kfactor.matchmaking.dto.TournamentStandingDTO;
+import com.kfactor.matchmaking.model.Match;
+import com.kfactor.matchmaking.model.Player;
+import com.kfactor.matchmaking.model.Tournament;
+import com.kfactor.matchmaking.model.TournamentEntry;
+import com.kfactor.matchmaking.model.TournamentPairing;
+import com.kfactor.matchmaking.repository.PlayerRepository;
+import com.kfactor.matchmaking.repository.TournamentEntryRepository;
+import com.kfactor.matchmaking.repository.TournamentPairingRepository;
+import com.kfactor.matchmaking.repository.TournamentRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs Swiss and single-elimination tournaments. Rounds are paired on demand once the
+ * previous round is finished; every result goes through {@link MatchService#recordMatch}
+ * so tournament games rate players like any other match.
+ */
+@Service
+public class TournamentService {
+
+    private final TournamentRepository tournamentRepository;
+    private final TournamentEntryRepository entryRepository;
+    private final TournamentPairingRepository pairingRepository;
+    private final PlayerRepository playerRepository;
+    private final MatchService matchService;
+    private final ReplicaLagGuard replicaLagGuard;
+
+    public TournamentService(TournamentRepository tournamentRepository, TournamentEntryRepository entryRepository,
+                             TournamentPairingRepository pairingRepository, PlayerRepository playerRepository,
+                             MatchService matchService, ReplicaLagGuard replicaLagGuard) {
+        this.tournamentRepository = tournamentRepository;
+        this.entryRepository = entryRepository;
+        this.pairingRepository = pairingRepository;
+        this.playerRepository = playerRepository;
+        this.matchService = matchService;
+        this.replicaLagGuard = replicaLagGuard;
+    }
+
+    @Transactional
+    public Tournament createTournament(String name, Tournament.Format format, Integer rounds) {
+        return tournamentRepository.save(new Tournament(name, format, rounds != null ? rounds : 0));
+    }
+
+    @Transactional(readOnly = true)
+    public Tournament getTournament(Long id) {
+        // Tournament state changes with every write to it; a no-op inside those writes
+        replicaLagGuard.readingById();
+        return tournamentRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Tournament not found with id: " + id));
+    }
+
+    /**
+     * Enters players into a tournament that has not started. Returns the number of entries.
+     */
+    @Transactional
+    public int register(Long tournamentId, List<Long> playerIds) {
+        Tournament tournament = getTournament(tournamentId);
+        if (tournament.getStatus() != Tournament.Status.REGISTRATION) {
+            throw new IllegalArgumentException("Tournament registration is closed");
+        }
+        Set<Long> requested = new LinkedHashSet<>();
+        for (Long playerId : playerIds) {
+            if (!requested.add(playerId)) {
+                throw new IllegalArgumentException("Player " + playerId + " appears more than once");
+            }
+        }
+        Set<Long> registered = new HashSet<>(entryRepository.findPlayerIds(tournamentId));
+        Map<Long, Player> players = playerRepository.findAllById(requested).stream()
+                .collect(Collectors.toMap(Player::getId, Function.identity()));
+
+        List<TournamentEntry> entries = new ArrayList<>(requested.size());
+        for (Long playerId : requested) {
+            Player player = players.get(playerId);
+            if (player == null) {
+                throw new IllegalArgumentException("Player not found with id: " + playerId);
+            }
+            if (registered.contains(playerId)) {
+                throw new IllegalArgumentException("Player " + playerId + " is already registered");
+            }
+            entries.add(new TournamentEntry(tournamentId, player));
+        }
+        entryRepository.saveAll(entries);
+        return registered.size() + entries.size();
+    }
+
+    /**
+     * Pairs the next round. The first call closes registration and starts the tournament;
+     * later calls need every result of the current round.
+     */
+    @Transactional
+    public List<TournamentPairingDTO> startNextRound(Long tournamentId) {
+        Tournament tournament = getTournament(tournamentId);
+        List<TournamentEntry> entries = entryRepository.findByTournamentId(tournamentId);
+        switch (tournament.getStatus()) {
+            case COMPLETED -> throw new IllegalArgumentException("Tournament is completed");
+            case REGISTRATION -> {
+                if (entries.size() < 2) {
+                    throw new IllegalArgumentException("A tournament needs at least two entries");
+                }
+                tournament.setStatus(Tournament.Status.IN_PROGRESS);
+                int rounds = ceilLog2(entries.size());
+                if (tournament.getFormat() == Tournament.Format.SINGLE_ELIMINATION || tournament.getRounds() == 0) {
+                    tournament.setRounds(rounds);
+                }
+            }
+            case IN_PROGRESS -> requireRoundFinished(tournament);
+        }
+
+        int round = tournament.getCurrentRound() + 1;
+        tournament.setCurrentRound(round);
+        List<TournamentPairing> pairings = tournament.getFormat() == Tournament.Format.SWISS
+                ? pairSwiss(tournament, round, entries)
+                : pairBracket(tournament, round, entries);
+        // A bye scores like a win
+        Map<Long, TournamentEntry> entryByPlayer = entries.stream()
+                .collect(Collectors.toMap(entry -> entry.getPlayer().getId(), Function.identity()));
+        for (TournamentPairing pairing : pairings) {
+            if (pairing.isBye()) {
+                TournamentEntry entry = entryByPlayer.get(pairing.getPlayerA().getId());
+                entry.setScore(entry.getScore() + 1);
+                entry.setByes(entry.getByes() + 1);
+            }
+        }
+        return pairingRepository.saveAll(pairings).stream().map(TournamentPairingDTO::new).toList();
+    }
+
+    @Transactional
+    public TournamentPairingDTO recordResult(Long tournamentId, Long pairingId, Long winnerId) {
+        Tournament tournament = getTournament(tournamentId);
+        // Locked before the winner is checked, so a second submission waits and then sees it set
+        TournamentPairing pairing = pairingRepository.findForUpdate(pairingId)
+                .filter(p -> p.getTournamentId().equals(tournamentId))
+                .orElseThrow(() -> new IllegalArgumentException("Pairing not found with id: " + pairingId));
+        if (pairing.getWinnerId() != null) {
+            throw new IllegalArgumentException("Result already recorded");
+        }
+        Long playerAId = pairing.getPlayerA().getId();
+        Long playerBId = pairing.getPlayerB().getId();
+        if (!winnerId.equals(playerAId) && !winnerId.equals(playerBId)) {
+            throw new IllegalArgumentException("Winner must be one of the paired players");
+        }
+
+        Match match = matchService.recordMatch(playerAId, playerBId, winnerId);
+        pairing.setMatch(match);
+        pairing.setWinnerId(winnerId);
+
+        TournamentEntry winner = findEntry(tournamentId, winnerId);
+        winner.setScore(winner.getScore() + 1);
+        if (tournament.getFormat() == Tournament.Format.SINGLE_ELIMINATION) {
+            findEntry(tournamentId, winnerId.equals(playerAId) ? playerBId : playerAId).setEliminated(true);
+        }
+
+        if (tournament.getCurrentRound() == tournament.getRounds()
+                && pairingRepository.countByTournamentIdAndRoundAndWinnerIdIsNull(tournamentId, pairing.getRound()) == 0) {
+            tournament.setStatus(Tournament.Status.COMPLETED);
+        }
+        return new TournamentPairingDTO(pairing);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TournamentPairingDTO> getRound(Long tournamentId, int round) {
+        Tournament tournament = getTournament(tournamentId);
+        if (round < 1 || round > tournament.getCurrentRound()) {
+            throw new IllegalArgumentException("Round " + round + " has not been paired");
+        }
+        return pairingRepository.findRound(tournamentId, round).stream().map(TournamentPairingDTO::new).toList();
+    }
+
+    /**
+     * Entries ranked by score, then Buchholz, then rating.
+     */
+    @Transactional(readOnly = true)
+    public List<TournamentStandingDTO> getStandings(Long tournamentId) {
+        getTournament(tournamentId);
+        List<TournamentEntry> entries = entryRepository.findByTournamentId(tournamentId);
+        Map<Long, Integer> scores = new HashMap<>();
+        entries.forEach(entry -> scores.put(entry.getPlayer().getId(), entry.getScore()));
+        Map<Long, Integer> buchholz = new HashMap<>();
+        for (Object[] pair : pairingRepository.findPairedPlayerIds(tournamentId)) {
+            Long playerA = (Long) pair[0];
+            Long playerB = (Long) pair[1];
+            buchholz.merge(playerA, scores.getOrDefault(playerB, 0), Integer::sum);
+            buchholz.merge(playerB, scores.getOrDefault(playerA, 0), Integer::sum);
+        }
+
+        List<TournamentEntry> ranked = new ArrayList<>(entries);
+        ranked.sort(Comparator.comparingInt(TournamentEntry::getScore).reversed()
+                .thenComparing(entry -> -buchholz.getOrDefault(entry.getPlayer().getId(), 0))
+                .thenComparing(entry -> -entry.getPlayer().getRating()));
+        List<TournamentStandingDTO> standings = new ArrayList<>(ranked.size());
+        for (TournamentEntry entry : ranked) {
+            Player player = entry.getPlayer();
+            standings.add(new TournamentStandingDTO(standings.size() + 1, player.getId(), player.getUsername(),
+                    player.getRating(), entry.getScore(), buchholz.getOrDefault(player.getId(), 0),
+                    entry.isEliminated()));
+        }
+        return standings;
+    }
+
+    private void requireRoundFinished(Tournament tournament) {
+        int round = tournament.getCurrentRound();
+        if (pairingRepository.countByTournamentIdAndRoundAndWinnerIdIsNull(tournament.getId(), round) > 0) {
+            throw new IllegalArgumentException("Round " + round + " is not finished");
+        }
+    }
+
+    private List<TournamentPairing> pairSwiss(Tournament tournament, int round, List<TournamentEntry> entries) {
+        int n = entries.size();
+        long[] playerIds = new long[n];
+        int[] scores = new int[n];
+        int[] ratings = new int[n];
+        boolean[] hadBye = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            TournamentEntry entry = entries.get(i);
+            playerIds[i] = entry.getPlayer().getId();
+            scores[i] = entry.getScore();
+            ratings[i] = entry.getPlayer().getRating();
+            hadBye[i] = entry.getByes() > 0;
+        }
+        Set<Long> playedPairs = new HashSet<>();
+        for (Object[] pair : pairingRepository.findPairedPlayerIds(tournament.getId())) {
+            playedPairs.add(SwissPairing.pairKey((Long) pair[0], (Long) pair[1]));
+        }
+
+        int[] opponent = SwissPairing.pair(playerIds, scores, ratings, hadBye, playedPairs);
+
+        // Top boards first; within a board the higher-ranked player is player A
+        Comparator<Integer> byRank = Comparator.<Integer>comparingInt(i -> -scores[i]).thenComparingInt(i -> -ratings[i]);
+        List<Integer> order = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            order.add(i);
+        }
+        order.sort(byRank);
+        List<TournamentPairing> pairings = new ArrayList<>(n / 2 + 1);
+        Player bye = null;
+        boolean[] seated = new boolean[n];
+        for (int i : order) {
+            if (seated[i]) {
+                continue;
+            }
+            Player player = entries.get(i).getPlayer();
+            if (opponent[i] == SwissPairing.BYE) {
+                bye = player;
+                continue;
+            }
+            seated[i] = true;
+            seated[opponent[i]] = true;
+            pairings.add(new TournamentPairing(tournament.getId(), round, pairings.size(), player,
+                    entries.get(opponent[i]).getPlayer()));
+        }
+        // The bye goes on the last board
+        if (bye != null) {
+            pairings.add(new TournamentPairing(tournament.getId(), round, pairings.size(), bye, null));
+        }
+        return pairings;
+    }
+
+    /**
+     * Round one seeds players by rating into a bracket padded to a power of two, so the
+     * byes go to the top seeds. Later rounds send the winners of slots 2k and 2k + 1 to slot k.
+     */
+    private List<TournamentPairing> pairBracket(Tournament tournament, int round, List<TournamentEntry> entries) {
+        List<TournamentPairing> pairings = new ArrayList<>();
+        if (round == 1) {
+            List<Player> seeded = entries.stream()
+                    .map(TournamentEntry::getPlayer)
+                    .sorted(Comparator.comparingInt(Player::getRating).reversed().thenComparing(Player::getId))
+                    .toList();
+            int[] seeds = seedOrder(1 << tournament.getRounds());
+            for (int slot = 0; slot < seeds.length / 2; slot++) {
+                Player playerA = seeded.get(seeds[2 * slot] - 1);
+                int seedB = seeds[2 * slot + 1];
+                Player playerB = seedB <= seeded.size() ? seeded.get(seedB - 1) : null;
+                pairings.add(new TournamentPairing(tournament.getId(), round, slot, playerA, playerB));
+            }
+            return pairings;
+        }
+
+        List<TournamentPairing> previous = pairingRepository.findRound(tournament.getId(), round - 1);
+        Map<Long, Player> players = entries.stream()
+                .map(TournamentEntry::getPlayer)
+                .collect(Collectors.toMap(Player::getId, Function.identity()));
+        for (int slot = 0; slot < previous.size() / 2; slot++) {
+            Player playerA = players.get(previous.get(2 * slot).getWinnerId());
+            Player playerB = players.get(previous.get(2 * slot + 1).getWinnerId());
+            pairings.add(new TournamentPairing(tournament.getId(), round, slot, playerA, playerB));
+        }
+        return pairings;
+    }
+
+    /**
+     * Standard bracket order for {@code size} seeds: 1 v size, 2 v size - 1 and so on,
+     * arranged so the top two seeds can only meet in the final.
+     */
+    static int[] seedOrder(int size) {
+        int[] order = {1};
+        while (order.length < size) {
+            int length = order.length * 2;
+            int[] next = new int[length];
+            for (int i = 0; i < order.length; i++) {
+                next[2 * i] = order[i];
+                next[2 * i + 1] = length + 1 - order[i];
+            }
+            order = next;
+        }
+        return order;
+    }
+
+    private TournamentEntry findEntry(Long tournamentId, Long playerId) {
+        return entryRepository.findByTournamentIdAndPlayerId(tournamentId, playerId)
+                .orElseThrow(() -> new IllegalArgumentException("Player " + playerId + " is not entered"));
+    }
+
+    private static int ceilLog2(int n) {
+        return 32 - Integer.numberOfLeadingZeros(n - 1);
+    }
+}
@@ -0,0 +1,135 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.event.PlayerCreatedEvent;
+import com.kfactor.matchmaking.event.PlayerDeletedEvent;
+import com.kfactor.matchmaking.repository.PlayerRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Membership set of registered usernames, so registrations of new names can skip the
+ * {@code existsByUsername} query. Only 64-bit fingerprints are kept, in an
+ * open-addressing table of longs: about 16 bytes per player instead of a String per
+ * player.
+ *
+ * <p>A miss means the name is not registered (as of the last committed event), so the
+ * insert goes ahead and the unique constraint settles any race with a registration
+ * still in flight. A hit is only a hint, because fingerprints can collide and another
+ * node's delete may not have been polled yet; callers confirm it against the database.
+ */
+@Component
+public class UsernameRegistry {
+
+    private static final long EMPTY = 0;
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    private final PlayerRepository playerRepository;
+
+    private long[] table = new long[INITIAL_CAPACITY];
+    private int size;
+
+    public UsernameRegistry(PlayerRepository playerRepository) {
+        this.playerRepository = playerRepository;
+    }
+
+    // Loaded under the lock so a create or delete committed meanwhile is applied after, not lost
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public synchronized void load() {
+        table = new long[INITIAL_CAPACITY];
+        size = 0;
+        playerRepository.findAllUsernames().forEach(this::add);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(PlayerCreatedEvent event) {
+        add(event.username());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(PlayerDeletedEvent event) {
+        remove(event.username());
+    }
+
+    public synchronized boolean mightContain(String username) {
+        return slotOf(fingerprint(username)) >= 0;
+    }
+
+    public synchronized void add(String username) {
+        long fingerprint = fingerprint(username);
+        if (slotOf(fingerprint) >= 0) {
+            return;
+        }
+        // Keep the load factor at or below one half so probe sequences stay short
+        if ((size + 1) * 2 > table.length) {
+            resize(table.length * 2);
+        }
+        insert(table, fingerprint);
+        size++;
+    }
+
+    public synchronized void remove(String username) {
+        int slot = slotOf(fingerprint(username));
+        if (slot < 0) {
+            return;
+        }
+        table[slot] = EMPTY;
+        size--;
+        // Backward-shift deletion: move later entries of the probe run into the hole
+        int mask = table.length - 1;
+        int hole = slot;
+        for (int i = (slot + 1) & mask; table[i] != EMPTY; i = (i + 1) & mask) {
+            int home = home(table[i], mask);
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                table[hole] = table[i];
+                table[i] = EMPTY;
+                hole = i;
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private int slotOf(long fingerprint) {
+        int mask = table.length - 1;
+        for (int i = home(fingerprint, mask); table[i] != EMPTY; i = (i + 1) & mask) {
+            if (table[i] == fingerprint) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void resize(int capacity) {
+        long[] resized = new long[capacity];
+        for (long fingerprint : table) {
+            if (fingerprint != EMPTY) {
+                insert(resized, fingerprint);
+            }
+        }
+        table = resized;
+    }
+
+    private static void insert(long[] target, long fingerprint) {
+        int mask = target.length - 1;
+        int i = home(fingerprint, mask);
+        while (target[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        target[i] = fingerprint;
+    }
+
+    private static int home(long fingerprint, int mask) {
+        return (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+    }
+
+    private static long fingerprint(String username) {
+        long hash = Hashing.hash64(username);
+        return hash == EMPTY ? 1 : hash;
+    }
+}
@@ -0,0 +1,40 @@
+package com.kfactor.matchmaking.service;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link WinProbability} on the Vector API. Only loaded reflectively, so the rest of the
+ * application runs without the incubator module.
+ *
+ * <p>{@code 10^(d / 400)} is computed as {@code e^(d * ln 10 / 400)}. Ratings are loaded
+ * as ints at half the vector width and widened to doubles.
+ */
+final class VectorWinProbability implements WinProbability.Kernel {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+    private static final double SCALE = Math.log(10) / 400;
+
+    @Override
+    public void predict(int[] ratingA, int[] ratingB, double[] into) {
+        int n = ratingA.length;
+        int vectorEnd = DOUBLES.loopBound(n);
+        DoubleVector one = DoubleVector.broadcast(DOUBLES, 1.0);
+        int i = 0;
+        for (; i < vectorEnd; i += DOUBLES.length()) {
+            IntVector gap = IntVector.fromArray(INTS, ratingB, i).sub(IntVector.fromArray(INTS, ratingA, i));
+            DoubleVector power = ((DoubleVector) gap.convertShape(VectorOperators.I2D, DOUBLES, 0))
+                    .mul(SCALE)
+                    .lanewise(VectorOperators.EXP);
+            one.div(power.add(one)).intoArray(into, i);
+        }
+        for (; i < n; i++) {
+            into[i] = EloRating.expectedScore(ratingA[i], ratingB[i]);
+        }
+    }
+}
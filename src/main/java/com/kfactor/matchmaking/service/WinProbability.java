@@ -0,0 +1,51 @@
+package com.kfactor.matchmaking.service;
+
+/**
+ * Elo win probabilities for many pairings at once, the same expected score that
+ * {@link EloRating} uses for rating updates.
+ *
+ * <p>The loop runs on the incubating Vector API when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}, several pairs per instruction. Without the
+ * module the vector class cannot load, and a scalar loop over the same arrays is used.
+ */
+public final class WinProbability {
+
+    interface Kernel {
+        /**
+         * Writes the probability that A beats B for each index of the arrays.
+         */
+        void predict(int[] ratingA, int[] ratingB, double[] into);
+    }
+
+    static final Kernel SCALAR = WinProbability::predictScalar;
+    // Null when the Vector API module is not available
+    static final Kernel VECTOR = loadVectorKernel();
+
+    private WinProbability() {}
+
+    public static void predict(int[] ratingA, int[] ratingB, double[] into) {
+        if (ratingA.length != ratingB.length || into.length < ratingA.length) {
+            throw new IllegalArgumentException("Rating arrays must be the same length");
+        }
+        (VECTOR != null ? VECTOR : SCALAR).predict(ratingA, ratingB, into);
+    }
+
+    public static boolean isVectorized() {
+        return VECTOR != null;
+    }
+
+    private static void predictScalar(int[] ratingA, int[] ratingB, double[] into) {
+        for (int i = 0; i < ratingA.length; i++) {
+            into[i] = EloRating.expectedScore(ratingA[i], ratingB[i]);
+        }
+    }
+
+    private static Kernel loadVectorKernel() {
+        try {
+            return (Kernel) Class.forName("com.kfactor.matchmaking.service.VectorWinProbability")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError unavailable) {
+            return null;
+        }
+    }
+}
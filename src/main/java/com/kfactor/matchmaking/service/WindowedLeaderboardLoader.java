@@ -0,0 +1,68 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.event.MatchRecordedEvent;
+import com.kfactor.matchmaking.model.Season;
+import com.kfactor.matchmaking.readmodel.CountedMatches;
+import com.kfactor.matchmaking.repository.MatchRepository;
+import com.kfactor.matchmaking.repository.SeasonRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Seeds the {@link WindowedLeaderboardService} from the matches table on startup, so the
+ * day, week and season boards survive a restart. Matches already moved to the archive
+ * are not read back, so a season longer than the archive's {@code max-age} restarts
+ * with only its live matches.
+ */
+@Component
+public class WindowedLeaderboardLoader {
+
+    private final WindowedLeaderboardService windowedLeaderboardService;
+    private final MatchRepository matchRepository;
+    private final SeasonRepository seasonRepository;
+    private final Clock clock;
+
+    public WindowedLeaderboardLoader(WindowedLeaderboardService windowedLeaderboardService,
+                                     MatchRepository matchRepository, SeasonRepository seasonRepository,
+                                     Clock clock) {
+        this.windowedLeaderboardService = windowedLeaderboardService;
+        this.matchRepository = matchRepository;
+        this.seasonRepository = seasonRepository;
+        this.clock = clock;
+    }
+
+    // Read-write on purpose, to read the primary; repeatable read keeps the queries consistent
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public void load() {
+        windowedLeaderboardService.seed(this::loadSeed);
+    }
+
+    private WindowedLeaderboardService.Seed loadSeed() {
+        // The season in progress started when the last one ended
+        Instant seasonStartedAt = seasonRepository.findFirstByOrderByIdDesc().map(Season::getEndedAt).orElse(Instant.EPOCH);
+        Instant weekStartedAt = clock.instant().minus(Duration.ofHours(LeaderboardWindow.WEEK.getHours() + 1));
+        Instant since = seasonStartedAt.isBefore(weekStartedAt) ? seasonStartedAt : weekStartedAt;
+
+        CountedMatches countedMatches = CountedMatches.load(matchRepository);
+        List<MatchRecordedEvent> matches = new ArrayList<>();
+        for (Object[] row : matchRepository.findResultsPlayedSince(since)) {
+            Instant playedAt = (Instant) row[10];
+            matches.add(new MatchRecordedEvent((Long) row[0], (Long) row[1], (String) row[2], (Long) row[3],
+                    (String) row[4], (Long) row[5], (Integer) row[6], (Integer) row[7], (Integer) row[8],
+                    (Integer) row[9], playedAt, playedAt));
+        }
+        return new WindowedLeaderboardService.Seed(matches, seasonStartedAt, countedMatches,
+                new HashSet<>(matchRepository.findVoidedIdsPlayedSince(since)));
+    }
+}
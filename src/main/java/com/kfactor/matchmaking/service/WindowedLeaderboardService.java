@@ -0,0 +1,308 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.dto.WindowedStandingDTO;
+import com.kfactor.matchmaking.event.MatchRecordedEvent;
+import com.kfactor.matchmaking.event.MatchVoidedEvent;
+import com.kfactor.matchmaking.event.PlayerDeletedEvent;
+import com.kfactor.matchmaking.event.SeasonRolledOverEvent;
+import com.kfactor.matchmaking.readmodel.CountedMatches;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * Day / week / season leaderboards maintained incrementally from committed matches.
+ * Results are aggregated into hourly buckets; each window keeps running totals per
+ * player plus sorted indexes, and subtracts a bucket once it falls out of the window.
+ * Reads never touch the matches table and cost O(limit). On startup the windows are
+ * seeded from the matches table, and a player's name and rating are kept only while
+ * they stand in some window.
+ */
+@Service
+public class WindowedLeaderboardService {
+
+    private static final long HOUR_SECONDS = 3600;
+
+    private static final Comparator<Totals> BY_GAIN = Comparator
+            .comparingInt((Totals t) -> t.gain).reversed()
+            .thenComparing(Comparator.comparingInt((Totals t) -> t.wins).reversed())
+            .thenComparingLong(t -> t.playerId);
+
+    private static final Comparator<Totals> BY_WINS = Comparator
+            .comparingInt((Totals t) -> t.wins).reversed()
+            .thenComparing(Comparator.comparingInt((Totals t) -> t.gain).reversed())
+            .thenComparingLong(t -> t.playerId);
+
+    private final Clock clock;
+    private final NavigableMap<Long, Map<Long, Totals>> hourlyBuckets = new TreeMap<>();
+    private final Map<LeaderboardWindow, WindowState> windows = new EnumMap<>(LeaderboardWindow.class);
+    private final Map<Long, PlayerInfo> players = new HashMap<>();
+    private Instant seasonStartedAt = Instant.MIN;
+
+    // What the last seed already counted, so late events for those matches are skipped
+    private CountedMatches seededMatches = CountedMatches.none();
+    private Set<Long> seededVoids = Set.of();
+
+    public WindowedLeaderboardService(Clock clock) {
+        this.clock = clock;
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            windows.put(window, new WindowState(window));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void on(MatchRecordedEvent event) {
+        if (seededMatches.contains(event.matchId())) {
+            return;
+        }
+        record(event.playedAt(), event.playerAId(), event.playerAUsername(),
+                event.ratingABefore(), event.ratingAAfter(), event.wonBy(event.playerAId()));
+        record(event.playedAt(), event.playerBId(), event.playerBUsername(),
+                event.ratingBBefore(), event.ratingBAfter(), event.wonBy(event.playerBId()));
+    }
+
+    /**
+     * Takes back what the voided match contributed. Matches re-rated because of the void
+     * keep the gains they were recorded with.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void on(MatchVoidedEvent event) {
+        if (seededVoids.contains(event.matchId())) {
+            return;
+        }
+        revoke(event.playedAt(), event.playerAId(), event.ratingABefore(), event.ratingAAfter(),
+                event.wonBy(event.playerAId()));
+        revoke(event.playedAt(), event.playerBId(), event.ratingBBefore(), event.ratingBAfter(),
+                event.wonBy(event.playerBId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void on(PlayerDeletedEvent event) {
+        for (WindowState state : windows.values()) {
+            state.remove(event.playerId());
+        }
+        for (Map<Long, Totals> bucket : hourlyBuckets.values()) {
+            bucket.remove(event.playerId());
+        }
+        players.remove(event.playerId());
+    }
+
+    /**
+     * Replaces every window with the matches the loader returns. The loader runs while
+     * events are blocked, like a read-model rebuild.
+     */
+    public synchronized void seed(Supplier<Seed> loader) {
+        Seed seed = loader.get();
+        hourlyBuckets.clear();
+        players.clear();
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            windows.put(window, new WindowState(window));
+        }
+        seasonStartedAt = seed.seasonStartedAt();
+        for (MatchRecordedEvent match : seed.matches()) {
+            record(match.playedAt(), match.playerAId(), match.playerAUsername(),
+                    match.ratingABefore(), match.ratingAAfter(), match.wonBy(match.playerAId()));
+            record(match.playedAt(), match.playerBId(), match.playerBUsername(),
+                    match.ratingBBefore(), match.ratingBAfter(), match.wonBy(match.playerBId()));
+        }
+        seededMatches = seed.countedMatches();
+        seededVoids = seed.voidedMatchIds();
+    }
+
+    public synchronized void record(Instant playedAt, Long playerId, String username,
+                                    Integer ratingBefore, Integer ratingAfter, boolean won) {
+        long nowHour = hourOf(clock.instant());
+        expire(nowHour);
+
+        int gain = ratingBefore != null && ratingAfter != null ? ratingAfter - ratingBefore : 0;
+        if (ratingAfter != null) {
+            players.put(playerId, new PlayerInfo(username, ratingAfter));
+        }
+
+        long hour = hourOf(playedAt);
+        Totals bucket = hourlyBuckets.computeIfAbsent(hour, h -> new HashMap<>())
+                .computeIfAbsent(playerId, Totals::new);
+        bucket.add(gain, won ? 1 : 0, 1);
+
+        for (WindowState state : windows.values()) {
+            if (covers(state, playedAt, hour, nowHour)) {
+                state.add(playerId, gain, won ? 1 : 0, 1);
+            }
+        }
+        // A match too old for every window leaves nothing behind
+        forgetIfUnranked(playerId);
+    }
+
+    private void revoke(Instant playedAt, Long playerId, Integer ratingBefore, Integer ratingAfter, boolean won) {
+        long nowHour = hourOf(clock.instant());
+        expire(nowHour);
+
+        long hour = hourOf(playedAt);
+        int gain = ratingBefore != null && ratingAfter != null ? ratingAfter - ratingBefore : 0;
+        // The hourly bucket is gone once no expiring window needs it; the season still counts it
+        Map<Long, Totals> bucket = hourlyBuckets.get(hour);
+        Totals totals = bucket != null ? bucket.get(playerId) : null;
+        if (totals != null) {
+            totals.add(-gain, won ? -1 : 0, -1);
+            if (totals.matches <= 0) {
+                bucket.remove(playerId);
+            }
+        }
+
+        for (WindowState state : windows.values()) {
+            if (covers(state, playedAt, hour, nowHour) && state.add(playerId, -gain, won ? -1 : 0, -1)) {
+                forgetIfUnranked(playerId);
+            }
+        }
+    }
+
+    public synchronized List<WindowedStandingDTO> getLeaderboard(LeaderboardWindow window, LeaderboardMetric metric, int limit) {
+        expire(hourOf(clock.instant()));
+
+        WindowState state = windows.get(window);
+        TreeSet<Totals> index = metric == LeaderboardMetric.WINS ? state.byWins : state.byGain;
+        List<WindowedStandingDTO> standings = new ArrayList<>(Math.min(limit, index.size()));
+        for (Totals totals : index) {
+            if (standings.size() >= limit) {
+                break;
+            }
+            PlayerInfo info = players.get(totals.playerId);
+            standings.add(new WindowedStandingDTO(totals.playerId, info.username, info.rating,
+                    totals.gain, totals.wins, totals.matches));
+        }
+        return standings;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(SeasonRolledOverEvent event) {
+        resetSeason();
+    }
+
+    public synchronized void resetSeason() {
+        WindowState ended = windows.put(LeaderboardWindow.SEASON, new WindowState(LeaderboardWindow.SEASON));
+        seasonStartedAt = clock.instant();
+        ended.totals.keySet().forEach(this::forgetIfUnranked);
+    }
+
+    // Matches played before the current season started only count towards day and week
+    private boolean covers(WindowState state, Instant playedAt, long hour, long nowHour) {
+        return state.covers(hour, nowHour) && (state.window.expires() || !playedAt.isBefore(seasonStartedAt));
+    }
+
+    private void forgetIfUnranked(long playerId) {
+        for (WindowState state : windows.values()) {
+            if (state.totals.containsKey(playerId)) {
+                return;
+            }
+        }
+        players.remove(playerId);
+    }
+
+    // Subtract hourly buckets that have left a window, then drop buckets no window needs
+    private void expire(long nowHour) {
+        long oldestNeeded = nowHour;
+        for (WindowState state : windows.values()) {
+            if (!state.window.expires()) {
+                continue;
+            }
+            long cutoff = nowHour - state.window.getHours();
+            if (cutoff > state.expiredThrough) {
+                for (Map.Entry<Long, Map<Long, Totals>> bucket
+                        : hourlyBuckets.subMap(state.expiredThrough, false, cutoff, true).entrySet()) {
+                    for (Totals totals : bucket.getValue().values()) {
+                        if (state.add(totals.playerId, -totals.gain, -totals.wins, -totals.matches)) {
+                            forgetIfUnranked(totals.playerId);
+                        }
+                    }
+                }
+                state.expiredThrough = cutoff;
+            }
+            oldestNeeded = Math.min(oldestNeeded, cutoff);
+        }
+        hourlyBuckets.headMap(oldestNeeded, true).clear();
+    }
+
+    private static long hourOf(Instant instant) {
+        return Math.floorDiv(instant.getEpochSecond(), HOUR_SECONDS);
+    }
+
+    /**
+     * Matches to seed the windows with, oldest first, and what the load counted:
+     * {@code countedMatches} are the ids committed when it was read and
+     * {@code voidedMatchIds} the matches it left out as already voided.
+     */
+    public record Seed(List<MatchRecordedEvent> matches, Instant seasonStartedAt,
+                       CountedMatches countedMatches, Set<Long> voidedMatchIds) {}
+
+    private record PlayerInfo(String username, int rating) {}
+
+    private static final class Totals {
+        private final long playerId;
+        private int gain;
+        private int wins;
+        private int matches;
+
+        private Totals(long playerId) {
+            this.playerId = playerId;
+        }
+
+        private void add(int gain, int wins, int matches) {
+            this.gain += gain;
+            this.wins += wins;
+            this.matches += matches;
+        }
+    }
+
+    private static final class WindowState {
+        private final LeaderboardWindow window;
+        private final Map<Long, Totals> totals = new HashMap<>();
+        private final TreeSet<Totals> byGain = new TreeSet<>(BY_GAIN);
+        private final TreeSet<Totals> byWins = new TreeSet<>(BY_WINS);
+        private long expiredThrough = Long.MIN_VALUE;
+
+        private WindowState(LeaderboardWindow window) {
+            this.window = window;
+        }
+
+        private boolean covers(long hour, long nowHour) {
+            return !window.expires() || hour > nowHour - window.getHours();
+        }
+
+        // Returns true when the player has left the window
+        private boolean add(long playerId, int gain, int wins, int matches) {
+            Totals current = totals.computeIfAbsent(playerId, Totals::new);
+            // Re-index: the sorted sets must not see a key mutate in place
+            byGain.remove(current);
+            byWins.remove(current);
+            current.add(gain, wins, matches);
+            if (current.matches <= 0) {
+                totals.remove(playerId);
+                return true;
+            }
+            byGain.add(current);
+            byWins.add(current);
+            return false;
+        }
+
+        private void remove(long playerId) {
+            Totals current = totals.remove(playerId);
+            if (current != null) {
+                byGain.remove(current);
+                byWins.remove(current);
+            }
+        }
+    }
+}
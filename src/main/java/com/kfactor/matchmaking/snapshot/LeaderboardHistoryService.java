@@ -0,0 +1,164 @@
+package com.kfactor.matchmaking.snapshot;
+
+import com.kfactor.matchmaking.dto.HistoricalLeaderboardDTO;
+import com.kfactor.matchmaking.dto.RankPointDTO;
+import com.kfactor.matchmaking.dto.RankedPlayerDTO;
+import com.kfactor.matchmaking.model.LeaderboardSnapshot;
+import com.kfactor.matchmaking.repository.LeaderboardSnapshotRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers questions about past leaderboards from the stored snapshots: the board is the
+ * latest base before the requested time with the deltas after it applied, which costs
+ * one pass over the players plus one per delta, not a replay of every match. The last
+ * board rebuilt is kept, so repeated queries between two snapshots read only its id.
+ */
+@Service
+public class LeaderboardHistoryService {
+
+    static final int MAX_LIMIT = 1000;
+    static final int MAX_POINTS = 1000;
+    private static final int PAGE = 24;
+
+    /**
+     * A rebuilt board, with what is needed to name its players: the base, and the names of
+     * players who joined since it, to which names read from the base are added as found.
+     */
+    record Reconstruction(long snapshotId, long baseId, int deltas, Instant takenAt, Standings standings,
+                          Standings base, byte[] basePayload, Map<Long, String> usernames) {}
+
+    private final LeaderboardSnapshotRepository repository;
+    private final Clock clock;
+    private volatile Reconstruction cached;
+
+    public LeaderboardHistoryService(LeaderboardSnapshotRepository repository, Clock clock) {
+        this.repository = repository;
+        this.clock = clock;
+    }
+
+    public HistoricalLeaderboardDTO getLeaderboardAt(Instant at, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        Long snapshotId = repository.findLatestIdAt(at);
+        if (snapshotId == null) {
+            throw new IllegalArgumentException("No leaderboard snapshot at or before " + at);
+        }
+        Reconstruction board = reconstruct(snapshotId);
+
+        int[] top = board.standings().top(limit);
+        Map<Long, String> usernames = usernames(board, top);
+        List<RankedPlayerDTO> standings = new ArrayList<>(top.length);
+        for (int i = 0; i < top.length; i++) {
+            long playerId = board.standings().ids[top[i]];
+            standings.add(new RankedPlayerDTO(i + 1, playerId, usernames.get(playerId),
+                    board.standings().ratings[top[i]]));
+        }
+        return new HistoricalLeaderboardDTO(board.takenAt(), board.standings().size, standings);
+    }
+
+    /**
+     * The player's rank and rating at every snapshot taken between {@code from} and
+     * {@code to} while they were on the board. Snapshots are read a page at a time, so
+     * only one board and a page of payloads are held at once.
+     */
+    public List<RankPointDTO> getRankHistory(Long playerId, Instant from, Instant to) {
+        Instant start = from != null ? from : Instant.EPOCH;
+        Instant end = to != null ? to : clock.instant();
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("From must not be after to");
+        }
+        List<Long> ids = repository.findIdsTakenBetween(start, end);
+        if (ids.size() > MAX_POINTS) {
+            throw new IllegalArgumentException("Range covers more than " + MAX_POINTS + " snapshots");
+        }
+        List<RankPointDTO> points = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return points;
+        }
+
+        Reconstruction first = reconstruct(ids.get(0));
+        Standings board = first.standings();
+        addPoint(points, board, playerId, first.takenAt());
+        long last = ids.get(ids.size() - 1);
+        for (long next = ids.get(0) + 1; next <= last; next += PAGE) {
+            for (LeaderboardSnapshot snapshot : repository.findByIdBetweenOrderById(next, Math.min(next + PAGE - 1, last))) {
+                board = snapshot.isBase()
+                        ? SnapshotCodec.decodeBase(snapshot.getPayload())
+                        : board.apply(SnapshotCodec.decodeDelta(snapshot.getPayload()));
+                addPoint(points, board, playerId, snapshot.getTakenAt());
+            }
+        }
+        return points;
+    }
+
+    /** The board at the newest snapshot, for the snapshotter to diff against after a restart. */
+    Optional<Reconstruction> reconstructLatest() {
+        Long snapshotId = repository.findLatestId();
+        return snapshotId == null ? Optional.empty() : Optional.of(reconstruct(snapshotId));
+    }
+
+    private Reconstruction reconstruct(long snapshotId) {
+        Reconstruction board = cached;
+        if (board != null && board.snapshotId() == snapshotId) {
+            return board;
+        }
+        long baseId = repository.findBaseIdOf(snapshotId);
+        List<LeaderboardSnapshot> chain = repository.findByIdBetweenOrderById(baseId, snapshotId);
+
+        LeaderboardSnapshot base = chain.get(0);
+        Standings baseStandings = SnapshotCodec.decodeBase(base.getPayload());
+        Standings standings = baseStandings;
+        Map<Long, String> usernames = new ConcurrentHashMap<>();
+        for (LeaderboardSnapshot snapshot : chain.subList(1, chain.size())) {
+            SnapshotCodec.Delta delta = SnapshotCodec.decodeDelta(snapshot.getPayload());
+            for (int i = 0; i < delta.size(); i++) {
+                if (delta.kinds()[i] == SnapshotCodec.ADDED) {
+                    usernames.put(delta.ids()[i], delta.usernames()[i]);
+                }
+            }
+            standings = standings.apply(delta);
+        }
+        LeaderboardSnapshot latest = chain.get(chain.size() - 1);
+        board = new Reconstruction(snapshotId, baseId, chain.size() - 1, latest.getTakenAt(), standings,
+                baseStandings, base.getPayload(), usernames);
+        cached = board;
+        return board;
+    }
+
+    private Map<Long, String> usernames(Reconstruction board, int[] indexes) {
+        int[] basePositions = new int[indexes.length];
+        int missing = 0;
+        for (int index : indexes) {
+            long playerId = board.standings().ids[index];
+            if (!board.usernames().containsKey(playerId)) {
+                basePositions[missing++] = board.base().indexOf(playerId);
+            }
+        }
+        if (missing > 0) {
+            basePositions = Arrays.copyOf(basePositions, missing);
+            Arrays.sort(basePositions);
+            String[] names = SnapshotCodec.decodeBaseUsernames(board.basePayload(), basePositions);
+            for (int i = 0; i < missing; i++) {
+                board.usernames().put(board.base().ids[basePositions[i]], names[i]);
+            }
+        }
+        return board.usernames();
+    }
+
+    private void addPoint(List<RankPointDTO> points, Standings board, long playerId, Instant takenAt) {
+        int rank = board.rankOf(playerId);
+        if (rank > 0) {
+            points.add(new RankPointDTO(takenAt, rank, board.ratings[board.indexOf(playerId)], board.size));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.kfactor.matchmaking.snapshot;
+
+import com.kfactor.matchmaking.model.LeaderboardSnapshot;
+import com.kfactor.matchmaking.repository.LeaderboardSnapshotRepository;
+import com.kfactor.matchmaking.repository.PlayerBatchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Takes a leaderboard snapshot every {@code matchmaking.snapshots.interval}. Each run
+ * reads the players once in id order and merges them with the board it stored last,
+ * kept in memory as two primitive arrays; when the board is not in memory, after a
+ * restart, it is rebuilt from the stored snapshots first. Every
+ * {@code matchmaking.snapshots.base-every}th snapshot is a full base, the others are
+ * deltas, and nothing is stored when no player has changed.
+ */
+@Component
+@ConditionalOnProperty("matchmaking.snapshots.enabled")
+public class LeaderboardSnapshotter implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardSnapshotter.class);
+
+    private record Previous(Standings standings, int deltas) {}
+
+    private final PlayerBatchRepository playerBatchRepository;
+    private final LeaderboardSnapshotRepository snapshotRepository;
+    private final LeaderboardHistoryService historyService;
+    private final SnapshotProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private Previous previous;
+
+    public LeaderboardSnapshotter(PlayerBatchRepository playerBatchRepository,
+                                  LeaderboardSnapshotRepository snapshotRepository,
+                                  LeaderboardHistoryService historyService, SnapshotProperties properties,
+                                  PlatformTransactionManager transactionManager, Clock clock) {
+        this.playerBatchRepository = playerBatchRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.historyService = historyService;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(new FixedDelayTask(this::snapshotQuietly, properties.getInterval(), properties.getInterval()));
+    }
+
+    /** Stores a snapshot of the current board and returns it, or null if nothing changed. */
+    public synchronized LeaderboardSnapshot snapshot() {
+        if (previous == null) {
+            previous = historyService.reconstructLatest()
+                    .map(board -> new Previous(board.standings(), board.deltas()))
+                    .orElse(new Previous(Standings.EMPTY, Integer.MAX_VALUE - 1));
+        }
+        boolean base = previous.deltas() + 1 >= properties.getBaseEvery();
+        SnapshotScan scan = new SnapshotScan(previous.standings(), base);
+
+        LeaderboardSnapshot snapshot = transactionTemplate.execute(status -> {
+            // Micros, so the time matches what the timestamp column stores
+            Instant takenAt = clock.instant().truncatedTo(ChronoUnit.MICROS);
+            playerBatchRepository.forEachById(scan);
+            scan.finish();
+            if (scan.changes() == 0) {
+                return null;
+            }
+            Standings standings = scan.standings();
+            return snapshotRepository.save(new LeaderboardSnapshot(takenAt, base, standings.size, scan.changes(),
+                    base ? scan.encodeBase() : scan.encodeDelta()));
+        });
+        if (snapshot != null) {
+            previous = new Previous(scan.standings(), base ? 0 : previous.deltas() + 1);
+            log.info("Stored leaderboard {} of {} players with {} changes", base ? "base" : "delta",
+                    snapshot.getPlayers(), snapshot.getChanges());
+        }
+        return snapshot;
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.warn("Leaderboard snapshot failed", e);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.kfactor.matchmaking.snapshot;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Binary layout of leaderboard snapshots. After a version byte and the row count the
+ * rows, sorted by player id, are written column by column and the body is deflated:
+ * <ul>
+ *   <li>player ids as the varint gap from the previous id, mostly one on a full board,</li>
+ *   <li>in a delta, one byte per row saying whether the player changed, joined or left,</li>
+ *   <li>ratings as zig-zag varints of their distance from 1000, left out for players who
+ *       left,</li>
+ *   <li>usernames as a varint byte length followed by UTF-8, for every player in a base
+ *       and only for players who joined in a delta; usernames never change.</li>
+ * </ul>
+ */
+final class SnapshotCodec {
+
+    static final byte CHANGED = 0;
+    static final byte ADDED = 1;
+    static final byte REMOVED = 2;
+
+    private static final byte VERSION = 1;
+    private static final int CENTRE = 1000;
+
+    /** Rows of a delta, sorted by id; {@code usernames} is only set for added players. */
+    record Delta(long[] ids, byte[] kinds, int[] ratings, String[] usernames, int size) {}
+
+    private SnapshotCodec() {}
+
+    static byte[] encodeBase(long[] ids, int[] ratings, String[] usernames, int count) {
+        return encode(count, body -> {
+            writeIds(body, ids, count);
+            for (int i = 0; i < count; i++) {
+                writeVarLong(body, zigZag(ratings[i] - CENTRE));
+            }
+            for (int i = 0; i < count; i++) {
+                writeString(body, usernames[i]);
+            }
+        });
+    }
+
+    static byte[] encodeDelta(Delta delta) {
+        return encode(delta.size(), body -> {
+            writeIds(body, delta.ids(), delta.size());
+            body.write(delta.kinds(), 0, delta.size());
+            for (int i = 0; i < delta.size(); i++) {
+                if (delta.kinds()[i] != REMOVED) {
+                    writeVarLong(body, zigZag(delta.ratings()[i] - CENTRE));
+                }
+            }
+            for (int i = 0; i < delta.size(); i++) {
+                if (delta.kinds()[i] == ADDED) {
+                    writeString(body, delta.usernames()[i]);
+                }
+            }
+        });
+    }
+
+    /** Ids and ratings of a base; the usernames are not read. */
+    static Standings decodeBase(byte[] data) {
+        return decode(data, (body, count) -> {
+            long[] ids = readIds(body, count);
+            int[] ratings = new int[count];
+            for (int i = 0; i < count; i++) {
+                ratings[i] = CENTRE + (int) unZigZag(readVarLong(body));
+            }
+            return new Standings(ids, ratings, count);
+        });
+    }
+
+    /**
+     * Usernames of the base rows at the given positions, which must be ascending. The
+     * other names are skipped without being decoded.
+     */
+    static String[] decodeBaseUsernames(byte[] data, int[] positions) {
+        return decode(data, (body, count) -> {
+            for (int i = 0; i < count * 2; i++) {
+                readVarLong(body);
+            }
+            String[] usernames = new String[positions.length];
+            int next = 0;
+            for (int i = 0; i < count && next < positions.length; i++) {
+                int length = (int) readVarLong(body);
+                if (i == positions[next]) {
+                    byte[] name = new byte[length];
+                    body.readFully(name);
+                    usernames[next++] = new String(name, StandardCharsets.UTF_8);
+                } else {
+                    body.skipNBytes(length);
+                }
+            }
+            return usernames;
+        });
+    }
+
+    static Delta decodeDelta(byte[] data) {
+        return decode(data, (body, count) -> {
+            long[] ids = readIds(body, count);
+            byte[] kinds = new byte[count];
+            body.readFully(kinds);
+            int[] ratings = new int[count];
+            for (int i = 0; i < count; i++) {
+                if (kinds[i] != REMOVED) {
+                    ratings[i] = CENTRE + (int) unZigZag(readVarLong(body));
+                }
+            }
+            String[] usernames = new String[count];
+            for (int i = 0; i < count; i++) {
+                if (kinds[i] == ADDED) {
+                    byte[] name = new byte[(int) readVarLong(body)];
+                    body.readFully(name);
+                    usernames[i] = new String(name, StandardCharsets.UTF_8);
+                }
+            }
+            return new Delta(ids, kinds, ratings, usernames, count);
+        });
+    }
+
+    private interface BodyWriter {
+        void write(DataOutputStream body) throws IOException;
+    }
+
+    private interface BodyReader<T> {
+        T read(DataInputStream body, int count) throws IOException;
+    }
+
+    private static byte[] encode(int count, BodyWriter writer) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(count * 4, 64));
+        out.write(VERSION);
+        Deflater compressor = new Deflater(Deflater.BEST_SPEED);
+        try {
+            DataOutputStream header = new DataOutputStream(out);
+            header.writeInt(count);
+            header.flush();
+            DeflaterOutputStream deflater = new DeflaterOutputStream(out, compressor, 1 << 14);
+            // Buffered, as the deflater would otherwise run once per varint byte
+            DataOutputStream body = new DataOutputStream(new BufferedOutputStream(deflater, 1 << 14));
+            writer.write(body);
+            body.flush();
+            deflater.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            compressor.end();
+        }
+        return out.toByteArray();
+    }
+
+    private static <T> T decode(byte[] data, BodyReader<T> reader) {
+        if (data.length == 0 || data[0] != VERSION) {
+            throw new IllegalStateException("Unsupported leaderboard snapshot");
+        }
+        Inflater decompressor = new Inflater();
+        try {
+            DataInputStream header = new DataInputStream(new ByteArrayInputStream(data, 1, data.length - 1));
+            int count = header.readInt();
+            DataInputStream body = new DataInputStream(
+                    new BufferedInputStream(new InflaterInputStream(header, decompressor, 1 << 14), 1 << 14));
+            return reader.read(body, count);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            decompressor.end();
+        }
+    }
+
+    private static void writeIds(DataOutputStream body, long[] ids, int count) throws IOException {
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            writeVarLong(body, ids[i] - previous);
+            previous = ids[i];
+        }
+    }
+
+    private static long[] readIds(DataInputStream body, int count) throws IOException {
+        long[] ids = new long[count];
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += readVarLong(body);
+            ids[i] = previous;
+        }
+        return ids;
+    }
+
+    private static void writeString(DataOutputStream body, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(body, bytes.length);
+        body.write(bytes);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated leaderboard snapshot");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in leaderboard snapshot");
+    }
+}
@@ -0,0 +1,13 @@
+package com.kfactor.matchmaking.snapshot;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Periodic leaderboard snapshots. Past boards can always be queried, but none are taken
+ * unless {@code matchmaking.snapshots.enabled=true}.
+ */
+@Configuration
+@EnableConfigurationProperties(SnapshotProperties.class)
+public class SnapshotConfig {
+}
@@ -0,0 +1,24 @@
+package com.kfactor.matchmaking.snapshot;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("matchmaking.snapshots")
+public class SnapshotProperties {
+
+    private boolean enabled;
+    private Duration interval = Duration.ofHours(1);
+
+    // Every this many stored snapshots is a full base, which bounds the deltas a query applies
+    private int baseEvery = 24;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Duration getInterval() { return interval; }
+    public void setInterval(Duration interval) { this.interval = interval; }
+
+    public int getBaseEvery() { return baseEvery; }
+    public void setBaseEvery(int baseEvery) { this.baseEvery = baseEvery; }
+}
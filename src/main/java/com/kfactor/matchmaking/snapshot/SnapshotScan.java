@@ -0,0 +1,103 @@
+package com.kfactor.matchmaking.snapshot;
+
+import com.kfactor.matchmaking.repository.PlayerBatchRepository;
+
+import java.util.Arrays;
+
+/**
+ * Merges the players, streamed in id order, with the previous board, collecting the new
+ * board and what changed in one pass. Usernames are only kept for a base and for
+ * players who joined.
+ */
+final class SnapshotScan implements PlayerBatchRepository.RatedPlayerHandler {
+
+    private final Standings previous;
+    private final boolean base;
+    private int cursor;
+
+    private long[] ids = new long[1024];
+    private int[] ratings = new int[1024];
+    private String[] usernames;
+    private int size;
+
+    private long[] changedIds = new long[64];
+    private byte[] changedKinds = new byte[64];
+    private int[] changedRatings = new int[64];
+    private String[] changedUsernames = new String[64];
+    private int changes;
+
+    SnapshotScan(Standings previous, boolean base) {
+        this.previous = previous;
+        this.base = base;
+        this.usernames = base ? new String[1024] : null;
+    }
+
+    @Override
+    public void accept(long id, String username, int rating) {
+        removeUpTo(id);
+        if (cursor < previous.size && previous.ids[cursor] == id) {
+            if (previous.ratings[cursor] != rating) {
+                change(id, SnapshotCodec.CHANGED, rating, null);
+            }
+            cursor++;
+        } else {
+            change(id, SnapshotCodec.ADDED, rating, username);
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            ratings = Arrays.copyOf(ratings, size * 2);
+            if (base) {
+                usernames = Arrays.copyOf(usernames, size * 2);
+            }
+        }
+        ids[size] = id;
+        ratings[size] = rating;
+        if (base) {
+            usernames[size] = username;
+        }
+        size++;
+    }
+
+    /** Call once the stream has ended, so players removed after the last one are seen. */
+    void finish() {
+        removeUpTo(Long.MAX_VALUE);
+    }
+
+    Standings standings() {
+        return new Standings(ids, ratings, size);
+    }
+
+    int changes() {
+        return changes;
+    }
+
+    byte[] encodeBase() {
+        return SnapshotCodec.encodeBase(ids, ratings, usernames, size);
+    }
+
+    byte[] encodeDelta() {
+        return SnapshotCodec.encodeDelta(new SnapshotCodec.Delta(changedIds, changedKinds, changedRatings,
+                changedUsernames, changes));
+    }
+
+    private void removeUpTo(long id) {
+        while (cursor < previous.size && previous.ids[cursor] < id) {
+            change(previous.ids[cursor++], SnapshotCodec.REMOVED, 0, null);
+        }
+    }
+
+    private void change(long id, byte kind, int rating, String username) {
+        if (changes == changedIds.length) {
+            changedIds = Arrays.copyOf(changedIds, changes * 2);
+            changedKinds = Arrays.copyOf(changedKinds, changes * 2);
+            changedRatings = Arrays.copyOf(changedRatings, changes * 2);
+            changedUsernames = Arrays.copyOf(changedUsernames, changes * 2);
+        }
+        changedIds[changes] = id;
+        changedKinds[changes] = kind;
+        changedRatings[changes] = rating;
+        // Only a delta needs names for new players; a base carries all of them
+        changedUsernames[changes] = base ? null : username;
+        changes++;
+    }
+}
@@ -0,0 +1,101 @@
+package com.kfactor.matchmaking.snapshot;
+
+import java.util.Arrays;
+
+/**
+ * Every player's rating at one snapshot, as parallel arrays sorted by player id. Ranks
+ * are never stored: they follow from the ratings, so a delta only has to carry the
+ * players whose rating changed.
+ */
+final class Standings {
+
+    static final Standings EMPTY = new Standings(new long[0], new int[0], 0);
+
+    final long[] ids;
+    final int[] ratings;
+    final int size;
+
+    Standings(long[] ids, int[] ratings, int size) {
+        this.ids = ids;
+        this.ratings = ratings;
+        this.size = size;
+    }
+
+    int indexOf(long id) {
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    Standings apply(SnapshotCodec.Delta delta) {
+        long[] mergedIds = new long[size + delta.size()];
+        int[] mergedRatings = new int[mergedIds.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size || j < delta.size()) {
+            if (j == delta.size() || (i < size && ids[i] < delta.ids()[j])) {
+                mergedIds[count] = ids[i];
+                mergedRatings[count++] = ratings[i++];
+                continue;
+            }
+            if (i < size && ids[i] == delta.ids()[j]) {
+                i++;
+            }
+            if (delta.kinds()[j] != SnapshotCodec.REMOVED) {
+                mergedIds[count] = delta.ids()[j];
+                mergedRatings[count++] = delta.ratings()[j];
+            }
+            j++;
+        }
+        return new Standings(mergedIds, mergedRatings, count);
+    }
+
+    /**
+     * The player's place, highest rating first and lower id first within a rating, or
+     * -1 if the player is not on the board.
+     */
+    int rankOf(long id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return -1;
+        }
+        int rating = ratings[index];
+        int ahead = 0;
+        for (int i = 0; i < size; i++) {
+            if (ratings[i] > rating || (ratings[i] == rating && i < index)) {
+                ahead++;
+            }
+        }
+        return ahead + 1;
+    }
+
+    /**
+     * Indexes of the first {@code limit} places, in order. Kept in a small sorted buffer,
+     * so a page of a million players costs one pass and no sort of the whole board.
+     */
+    int[] top(int limit) {
+        int capacity = Math.min(limit, size);
+        if (capacity == 0) {
+            return new int[0];
+        }
+        long[] best = new long[capacity];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            // Higher rating first, then lower index, which is lower id
+            long key = (-(long) ratings[i] << 32) | i;
+            if (count == capacity && key >= best[count - 1]) {
+                continue;
+            }
+            int position = Arrays.binarySearch(best, 0, count, key);
+            position = -position - 1;
+            int moved = Math.min(count, capacity - 1) - position;
+            System.arraycopy(best, position, best, position + 1, moved);
+            best[position] = key;
+            count = Math.min(count + 1, capacity);
+        }
+        int[] indexes = new int[count];
+        for (int i = 0; i < count; i++) {
+            indexes[i] = (int) best[i];
+        }
+        return indexes;
+    }
+}
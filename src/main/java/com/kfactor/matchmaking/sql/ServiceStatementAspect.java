@@ -0,0 +1,21 @@
+package com.kfactor.matchmaking.sql;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Attributes statements to the public service methods that ran them.
+ */
+@Aspect
+public class ServiceStatementAspect {
+
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (StatementCounter.current() == null) {
+            return joinPoint.proceed();
+        }
+        String name = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        return StatementCounter.measureServiceCall(name, joinPoint::proceed);
+    }
+}
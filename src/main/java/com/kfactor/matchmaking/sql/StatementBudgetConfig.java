@@ -0,0 +1,46 @@
+package com.kfactor.matchmaking.sql;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Statement counting: the application's {@code dataSource} is wrapped so every JDBC
+ * statement is counted, requests are recorded against a budget, and service calls are
+ * attributed their share. On by default; {@code matchmaking.statements.enabled=false}
+ * turns it off.
+ */
+@Configuration
+@ConditionalOnProperty(value = "matchmaking.statements.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(StatementBudgetProperties.class)
+public class StatementBudgetConfig {
+
+    // Static, so wrapping does not force this configuration to initialize early
+    @Bean
+    public static BeanPostProcessor statementCountingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Only the data source the application uses; its routing targets sit behind it
+                if (bean instanceof DataSource dataSource && beanName.equals("dataSource")) {
+                    return StatementCountingDataSource.wrap(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public StatementBudgetFilter statementBudgetFilter(StatementBudgetProperties properties) {
+        return new StatementBudgetFilter(properties.getRequestBudget());
+    }
+
+    @Bean
+    public ServiceStatementAspect serviceStatementAspect() {
+        return new ServiceStatementAspect();
+    }
+}
@@ -0,0 +1,41 @@
+package com.kfactor.matchmaking.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Records the statements each request runs and logs a warning, with the service calls
+ * that ran them, when a request goes over the budget.
+ */
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementBudgetFilter.class);
+
+    private final int requestBudget;
+
+    public StatementBudgetFilter(int requestBudget) {
+        this.requestBudget = requestBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (StatementCounter.Recording recording = StatementCounter.start()) {
+            chain.doFilter(request, response);
+            if (recording.getStatements() > requestBudget) {
+                log.warn("{} {} ran {} (budget {})", request.getMethod(), request.getRequestURI(),
+                        recording.describe(), requestBudget);
+            } else {
+                log.debug("{} {} ran {} statements", request.getMethod(), request.getRequestURI(),
+                        recording.getStatements());
+            }
+        }
+    }
+}
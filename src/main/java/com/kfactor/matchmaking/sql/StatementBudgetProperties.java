@@ -0,0 +1,18 @@
+package com.kfactor.matchmaking.sql;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("matchmaking.statements")
+public class StatementBudgetProperties {
+
+    private boolean enabled = true;
+
+    // A request running more statements than this logs a warning with its service calls
+    private int requestBudget = 25;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getRequestBudget() { return requestBudget; }
+    public void setRequestBudget(int requestBudget) { this.requestBudget = requestBudget; }
+}
@@ -0,0 +1,140 @@
+package com.kfactor.matchmaking.sql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Counts the JDBC statements a thread executes while a {@link Recording} is open.
+ * Recordings nest: a statement counts towards every open recording on the thread, so a
+ * test can record around a request that the request filter records as well. Nothing is
+ * counted on threads without an open recording.
+ */
+public final class StatementCounter {
+
+    // Service calls kept per recording; a bulk request can make many thousands
+    static final int MAX_SERVICE_CALLS = 1000;
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    private StatementCounter() {}
+
+    public static Recording start() {
+        Recording recording = new Recording(CURRENT.get());
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    /**
+     * The innermost open recording on this thread, or null.
+     */
+    public static Recording current() {
+        return CURRENT.get();
+    }
+
+    static void statementExecuted() {
+        for (Recording recording = CURRENT.get(); recording != null; recording = recording.parent) {
+            recording.statements++;
+        }
+    }
+
+    /**
+     * Runs a service method and records the statements it executed in every open
+     * recording on this thread.
+     */
+    static Object measureServiceCall(String name, Invocation invocation) throws Throwable {
+        Recording innermost = CURRENT.get();
+        if (innermost == null) {
+            return invocation.proceed();
+        }
+        List<int[]> entered = new ArrayList<>();
+        for (Recording recording = innermost; recording != null; recording = recording.parent) {
+            entered.add(recording.enter());
+        }
+        long before = innermost.statements;
+        try {
+            return invocation.proceed();
+        } finally {
+            long executed = innermost.statements - before;
+            int i = 0;
+            for (Recording recording = innermost; recording != null; recording = recording.parent) {
+                recording.exit(entered.get(i++), name, executed);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Invocation {
+        Object proceed() throws Throwable;
+    }
+
+    public record ServiceCall(String name, int depth, long statements) {
+    }
+
+    public static final class Recording implements AutoCloseable {
+        private final Recording parent;
+        private long statements;
+        private int depth;
+        private final List<ServiceCall> serviceCalls = new ArrayList<>();
+        private boolean closed;
+
+        private Recording(Recording parent) {
+            this.parent = parent;
+        }
+
+        public long getStatements() {
+            return statements;
+        }
+
+        /**
+         * Service calls made while recording, each listed before the calls nested in it,
+         * with the statements it ran including theirs.
+         */
+        public List<ServiceCall> getServiceCalls() {
+            return Collections.unmodifiableList(serviceCalls);
+        }
+
+        // Returns {slot in serviceCalls or -1, depth of the call}
+        private int[] enter() {
+            int slot = -1;
+            if (serviceCalls.size() < MAX_SERVICE_CALLS) {
+                serviceCalls.add(null);
+                slot = serviceCalls.size() - 1;
+            }
+            return new int[] {slot, depth++};
+        }
+
+        private void exit(int[] entered, String name, long executed) {
+            depth = entered[1];
+            if (entered[0] >= 0) {
+                serviceCalls.set(entered[0], new ServiceCall(name, entered[1], executed));
+            }
+        }
+
+        /**
+         * The statements and service calls, one call per line, indented by nesting.
+         */
+        public String describe() {
+            StringBuilder description = new StringBuilder().append(statements).append(" statements");
+            for (ServiceCall call : serviceCalls) {
+                if (call == null) {
+                    continue;
+                }
+                description.append(System.lineSeparator()).append("  ".repeat(call.depth() + 1))
+                        .append(call.name()).append(": ").append(call.statements());
+            }
+            if (serviceCalls.size() >= MAX_SERVICE_CALLS) {
+                description.append(System.lineSeparator()).append("  ...");
+            }
+            return description.toString();
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.kfactor.matchmaking.sql;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Wraps a {@link DataSource} so that every statement executed through its connections is
+ * counted by {@link StatementCounter}. A batch counts once, as one round trip to the
+ * database. The wrappers are JDK proxies that forward everything else unchanged. The
+ * data source wrapper is also {@link AutoCloseable} and closes the pool it wraps, so a
+ * container that closes the bean on shutdown still closes the pool.
+ */
+public final class StatementCountingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private StatementCountingDataSource() {}
+
+    public static DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (target, method, args) -> {
+            // DataSource declares no close, so this is AutoCloseable's
+            if (method.getName().equals("close")) {
+                if (target instanceof AutoCloseable closeable) {
+                    closeable.close();
+                }
+                return null;
+            }
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection ? wrapConnection(connection) : result;
+        }, AutoCloseable.class);
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof CallableStatement statement) {
+                return wrapStatement(CallableStatement.class, statement);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrapStatement(PreparedStatement.class, statement);
+            }
+            if (result instanceof Statement statement) {
+                return wrapStatement(Statement.class, statement);
+            }
+            return result;
+        });
+    }
+
+    private static <S extends Statement> S wrapStatement(Class<S> type, S statement) {
+        return proxy(type, statement, (target, method, args) -> {
+            if (EXECUTE_METHODS.contains(method.getName())) {
+                StatementCounter.statementExecuted();
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler handler, Class<?>... alsoImplements) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> { }
+            }
+            // Unwrapping to the proxied interface returns the proxy, so callers keep counting
+            if (method.getName().equals("unwrap") && args[0] == type) {
+                return proxy;
+            }
+            if (method.getName().equals("isWrapperFor") && args[0] == type) {
+                return true;
+            }
+            return handler.handle(target, method, args);
+        };
+        Class<?>[] interfaces = new Class<?>[alsoImplements.length + 1];
+        interfaces[0] = type;
+        System.arraycopy(alsoImplements, 0, interfaces, 1, alsoImplements.length);
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), interfaces, invocationHandler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
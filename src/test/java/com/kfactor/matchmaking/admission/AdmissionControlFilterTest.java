@@ -0,0 +1,121 @@
+package com.kfactor.matchmaking.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    private long now;
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setTrustClientHeader(true);
+        properties.setWrite(new AdmissionProperties.Budget(1, 1, 1, 1, 2));
+        properties.setRead(new AdmissionProperties.Budget(1, 1, 1, 100, 100));
+        filter = new AdmissionControlFilter(properties, new ObjectMapper().findAndRegisterModules(), () -> now);
+    }
+
+    @Test
+    void writes_RejectedWithRetryAfterOnceClientBucketIsEmpty() throws Exception {
+        // Act
+        MockHttpServletResponse first = perform("POST", "/api/matches", "server-1");
+        MockHttpServletResponse second = perform("POST", "/api/matches", "server-1");
+        MockHttpServletResponse third = perform("POST", "/api/matches", "server-1");
+
+        // Assert
+        assertEquals(200, first.getStatus());
+        assertEquals(200, second.getStatus());
+        assertEquals(429, third.getStatus());
+        assertEquals("1", third.getHeader("Retry-After"));
+        assertTrue(third.getContentAsString().contains("Too many write requests"));
+    }
+
+    @Test
+    void writes_BucketsArePerClientAndRefillOverTime() throws Exception {
+        // Arrange
+        perform("POST", "/api/matches", "server-1");
+        perform("POST", "/api/matches", "server-1");
+
+        // Act & Assert
+        assertEquals(200, perform("POST", "/api/matches", "server-2").getStatus());
+        assertEquals(429, perform("POST", "/api/matches", "server-1").getStatus());
+
+        now += 1_000_000_000L;
+        assertEquals(200, perform("POST", "/api/matches", "server-1").getStatus());
+    }
+
+    @Test
+    void writes_UntrustedClientHeaderDoesNotPickTheBucket() throws Exception {
+        // Arrange
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setWrite(new AdmissionProperties.Budget(10, 10, 10, 1, 2));
+        filter = new AdmissionControlFilter(properties, new ObjectMapper().findAndRegisterModules(), () -> now);
+
+        // Act & Assert - rotating the header still draws from the caller's address
+        assertEquals(200, perform("POST", "/api/matches", "rotated-1").getStatus());
+        assertEquals(200, perform("POST", "/api/matches", "rotated-2").getStatus());
+        assertEquals(429, perform("POST", "/api/matches", "rotated-3").getStatus());
+    }
+
+    @Test
+    void heavyReads_HaveTheirOwnBudget() throws Exception {
+        // Arrange - occupy the only write permit
+        filter.getWriteLimiter().tryAcquire();
+
+        // Act
+        MockHttpServletResponse write = perform("POST", "/api/matches", "server-1");
+        MockHttpServletResponse read = perform("GET", "/api/players/leaderboard", "server-1");
+
+        // Assert
+        assertEquals(429, write.getStatus());
+        assertTrue(write.getContentAsString().contains("server is at capacity"));
+        assertEquals(200, read.getStatus());
+    }
+
+    @Test
+    void ladderRoutes_ShareTheWriteAndReadBudgets() throws Exception {
+        // Arrange
+        perform("POST", "/api/matches", "server-1");
+        perform("POST", "/api/matches", "server-1");
+        filter.getReadLimiter().tryAcquire();
+
+        // Act
+        MockHttpServletResponse write = perform("POST", "/api/ladders/chess/matches", "server-1");
+        MockHttpServletResponse leaderboard = perform("GET", "/api/ladders/chess/players/leaderboard", "server-1");
+        MockHttpServletResponse history = perform("GET", "/api/ladders/chess/players/1/rating-history", "server-1");
+        MockHttpServletResponse match = perform("GET", "/api/ladders/chess/matches/1", "server-1");
+
+        // Assert
+        assertEquals(429, write.getStatus());
+        assertTrue(write.getContentAsString().contains("rate limit exceeded"));
+        assertEquals(429, leaderboard.getStatus());
+        assertEquals(429, history.getStatus());
+        assertEquals(200, match.getStatus());
+    }
+
+    @Test
+    void pointReads_AreNotLimited() throws Exception {
+        // Arrange
+        filter.getReadLimiter().tryAcquire();
+
+        // Act & Assert
+        assertEquals(200, perform("GET", "/api/players/1", "server-1").getStatus());
+        assertEquals(429, perform("GET", "/api/players/1/stats", "server-1").getStatus());
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, String clientId) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.addHeader("X-Client-Id", clientId);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
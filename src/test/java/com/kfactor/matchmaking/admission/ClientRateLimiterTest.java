@@ -0,0 +1,44 @@
+package com.kfactor.matchmaking.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private long now;
+
+    @Test
+    void tryTake_NewClientsShareOneBucketOnceTheTableIsFull() {
+        // Arrange - one token a second, bursts of two, room for two clients
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 2, 2, () -> now);
+        limiter.tryTake("server-1");
+        limiter.tryTake("server-2");
+
+        // Act & Assert - made-up ids draw from the same overflow bucket
+        assertEquals(0, limiter.tryTake("rotated-1"));
+        assertEquals(0, limiter.tryTake("rotated-2"));
+        assertTrue(limiter.tryTake("rotated-3") > 0);
+        assertEquals(2, limiter.size());
+    }
+
+    @Test
+    void sweep_DropsOnlyBucketsThatHaveRefilled() {
+        // Arrange
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 2, 10, () -> now);
+        limiter.tryTake("idle");
+        limiter.tryTake("busy");
+        limiter.tryTake("busy");
+
+        // Act
+        now += SECOND;
+        limiter.sweep();
+
+        // Assert - the busy client keeps its half-empty bucket
+        assertEquals(1, limiter.size());
+        assertEquals(0, limiter.tryTake("busy"));
+        assertTrue(limiter.tryTake("busy") > 0);
+    }
+}
@@ -0,0 +1,87 @@
+package com.kfactor.matchmaking.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientConcurrencyLimiterTest {
+
+    private static final long FAST = 2_000_000L;
+    private static final long SLOW = 40_000_000L;
+
+    @Test
+    void tryAcquire_RejectsOverLimitWithoutQueueing() {
+        // Arrange
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(2, 1, 10);
+
+        // Act & Assert
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release(FAST, true);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void release_GrowsLimitWhileLatencyIsSteady() {
+        // Arrange
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 2, 100);
+
+        // Act - keep the limit fully used at a constant latency
+        for (int round = 0; round < 50; round++) {
+            saturateAndRelease(limiter, FAST);
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() > 10, "limit: " + limiter.getLimit());
+    }
+
+    @Test
+    void release_ShrinksLimitWhenLatencyRises() {
+        // Arrange
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(50, 2, 100);
+        for (int round = 0; round < 5; round++) {
+            saturateAndRelease(limiter, FAST);
+        }
+        int before = limiter.getLimit();
+
+        // Act - the database starts queueing
+        for (int round = 0; round < 5; round++) {
+            saturateAndRelease(limiter, SLOW);
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() < before, "before: " + before + ", after: " + limiter.getLimit());
+        assertTrue(limiter.getLimit() >= 2);
+    }
+
+    @Test
+    void release_WithoutSample_OnlyFreesThePermit() {
+        // Arrange
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(5, 1, 10);
+        limiter.tryAcquire();
+
+        // Act
+        limiter.release(SLOW, false);
+
+        // Assert
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    void constructor_RejectsInconsistentLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new GradientConcurrencyLimiter(1, 5, 10));
+    }
+
+    private void saturateAndRelease(GradientConcurrencyLimiter limiter, long rttNanos) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(rttNanos, true);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.kfactor.matchmaking.archive;
+
+import com.kfactor.matchmaking.model.Match;
+import com.kfactor.matchmaking.model.Player;
+import com.kfactor.matchmaking.readmodel.ReadModelProjector;
+import com.kfactor.matchmaking.repository.MatchRepository;
+import com.kfactor.matchmaking.service.MatchService;
+import com.kfactor.matchmaking.service.PlayerQueryService;
+import com.kfactor.matchmaking.service.PlayerService;
+import com.kfactor.matchmaking.service.StatsService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive",
+        "matchmaking.archive.enabled=true",
+        "matchmaking.archive.max-age=0s",
+        "matchmaking.archive.segment-size=3"
+})
+class MatchArchiveIntegrationTest {
+
+    @TempDir
+    static Path archiveDirectory;
+
+    @DynamicPropertySource
+    static void archiveProperties(DynamicPropertyRegistry registry) {
+        registry.add("matchmaking.archive.directory", () -> archiveDirectory.toString());
+    }
+
+    @Autowired
+    private MatchArchiver matchArchiver;
+
+    @Autowired
+    private MatchArchive matchArchive;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private PlayerQueryService playerQueryService;
+
+    @Autowired
+    private StatsService statsService;
+
+    @Autowired
+    private ReadModelProjector readModelProjector;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Test
+    void archivedMatches_StayVisibleThroughReadsAndCounters() throws Exception {
+        // Arrange - five old matches, then two recent ones
+        Player alice = playerService.createPlayer("alice");
+        Player bob = playerService.createPlayer("bob");
+        for (int i = 0; i < 5; i++) {
+            matchService.recordMatch(alice.getId(), bob.getId(), i % 2 == 0 ? alice.getId() : bob.getId());
+        }
+        Thread.sleep(5);
+
+        // Act
+        int archived = matchArchiver.archive();
+        Match recent1 = matchService.recordMatch(alice.getId(), bob.getId(), alice.getId());
+        Match recent2 = matchService.recordMatch(alice.getId(), bob.getId(), alice.getId());
+
+        // Assert - rows moved out of the table into two segments (3 + 2)
+        assertEquals(5, archived);
+        assertEquals(2, matchRepository.count());
+        assertEquals(2, matchArchive.getSegmentCount());
+        try (Stream<Path> files = Files.list(archiveDirectory)) {
+            assertEquals(2, files.filter(f -> f.toString().endsWith(".seg")).count());
+        }
+
+        // Pages read through to the archive, newest first
+        List<Match> firstPage = matchService.getMatchesForPlayer(alice.getId(), 0, 3);
+        assertEquals(List.of(recent2.getId(), recent1.getId()), firstPage.subList(0, 2).stream().map(Match::getId).toList());
+        assertTrue(firstPage.get(2).getId() < recent1.getId());
+        assertEquals(3, matchService.getMatchesForPlayer(alice.getId(), 1, 3).size());
+        assertEquals(1, matchService.getMatchesForPlayer(alice.getId(), 2, 3).size());
+        assertEquals(7, matchService.getMatchesForPlayer(alice.getId()).size());
+
+        // Counters and rating history include archived matches, also after a rebuild
+        assertEquals(7, statsService.getPlayerStats(alice.getId()).getTotalMatches());
+        assertEquals(5, statsService.getPlayerStats(alice.getId()).getWins());
+        readModelProjector.rebuild();
+        assertEquals(7, playerQueryService.getPlayerStats(alice.getId()).getTotalMatches());
+        assertEquals(5, playerQueryService.getPlayerStats(alice.getId()).getWins());
+        assertEquals(7, statsService.getRatingHistory(alice.getId(), null, null, null).size());
+    }
+}
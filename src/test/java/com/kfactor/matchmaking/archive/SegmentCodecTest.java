@@ -0,0 +1,61 @@
+package com.kfactor.matchmaking.archive;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentCodecTest {
+
+    @Test
+    void encodeDecode_RoundTripsAllColumns() throws IOException {
+        // Arrange
+        List<ArchivedMatch> rows = List.of(
+                new ArchivedMatch(7L, 1L, 2L, false, Instant.parse("2024-03-01T12:00:00.123456Z"), 1000, 1016, 1000, 984),
+                new ArchivedMatch(9L, 2L, 3L, true, Instant.parse("2024-03-01T12:05:00Z"), 984, 970, 1210, 1224),
+                new ArchivedMatch(10L, 3L, 1L, false, Instant.parse("2024-03-01T11:59:00Z"), null, null, null, null));
+
+        // Act
+        List<ArchivedMatch> decoded = roundTrip(rows);
+
+        // Assert
+        assertEquals(rows, decoded);
+    }
+
+    @Test
+    void encode_CompressesSequentialMatchesToAFewBytesPerRow() throws IOException {
+        // Arrange
+        List<ArchivedMatch> rows = new ArrayList<>();
+        Instant playedAt = Instant.parse("2024-03-01T00:00:00Z");
+        for (int i = 0; i < 10_000; i++) {
+            playedAt = playedAt.plusSeconds(7 + i % 5);
+            rows.add(new ArchivedMatch(1000 + i, 1 + i % 200, 201 + i % 300, i % 3 == 0, playedAt,
+                    1000 + i % 50, 1016 + i % 50, 1000 - i % 40, 984 - i % 40));
+        }
+
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SegmentCodec.encode(rows, out);
+
+        // Assert - a row is 9 columns; uncompressed fixed-width storage would be ~60 bytes
+        assertTrue(out.size() < rows.size() * 6, "bytes: " + out.size());
+        assertEquals(rows, SegmentCodec.decode(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    @Test
+    void decode_RejectsForeignFiles() {
+        assertThrows(IOException.class, () -> SegmentCodec.decode(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5})));
+    }
+
+    private List<ArchivedMatch> roundTrip(List<ArchivedMatch> rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SegmentCodec.encode(rows, out);
+        return SegmentCodec.decode(new ByteArrayInputStream(out.toByteArray()));
+    }
+}
@@ -0,0 +1,90 @@
+package com.kfactor.matchmaking.cluster;
+
+import com.kfactor.matchmaking.MatchmakingApplication;
+import com.kfactor.matchmaking.model.Player;
+import com.kfactor.matchmaking.readmodel.PlayerReadModel;
+import com.kfactor.matchmaking.service.MatchService;
+import com.kfactor.matchmaking.service.PlayerService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two application contexts in one JVM sharing one database, standing in for two nodes
+ * behind a load balancer.
+ */
+class ClusterCoherenceIntegrationTest {
+
+    private static final Duration MAX_DELAY = Duration.ofSeconds(3);
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode("node-a", "create");
+        nodeB = startNode("node-b", "none");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    void createAndDeletePlayer_PropagateToOtherNode() {
+        Player player = nodeA.getBean(PlayerService.class).createPlayer("carol");
+
+        await().atMost(MAX_DELAY).until(() -> readModel(nodeB).findById(player.getId()).isPresent());
+
+        nodeA.getBean(PlayerService.class).deletePlayer(player.getId());
+
+        await().atMost(MAX_DELAY).until(() -> readModel(nodeB).findById(player.getId()).isEmpty());
+    }
+
+    @Test
+    void recordMatchAndUpdateRating_PatchOtherNode() {
+        PlayerService players = nodeA.getBean(PlayerService.class);
+        Player alice = players.createPlayer("alice");
+        Player bob = players.createPlayer("bob");
+
+        nodeA.getBean(MatchService.class).recordMatch(alice.getId(), bob.getId(), alice.getId());
+
+        await().atMost(MAX_DELAY).untilAsserted(() -> {
+            PlayerReadModel.PlayerEntry entry = readModel(nodeB).findById(alice.getId()).orElseThrow();
+            assertEquals(1016, entry.view().rating());
+            assertEquals(1, entry.wins());
+        });
+
+        players.updateRating(bob.getId(), 1200);
+
+        await().atMost(MAX_DELAY).untilAsserted(() ->
+                assertEquals(1200, readModel(nodeB).findById(bob.getId()).orElseThrow().view().rating()));
+    }
+
+    private static PlayerReadModel readModel(ConfigurableApplicationContext node) {
+        return node.getBean(PlayerReadModel.class);
+    }
+
+    private static ConfigurableApplicationContext startNode(String nodeId, String ddlAuto) {
+        return new SpringApplicationBuilder(MatchmakingApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:cluster;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.org.hibernate.SQL=info",
+                        "--logging.level.org.hibernate.orm.jdbc.bind=info",
+                        "--matchmaking.cluster.enabled=true",
+                        "--matchmaking.cluster.node-id=" + nodeId,
+                        "--matchmaking.cluster.poll-interval=100ms");
+    }
+}
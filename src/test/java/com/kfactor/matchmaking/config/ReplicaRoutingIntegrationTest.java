@@ -0,0 +1,83 @@
+package com.kfactor.matchmaking.config;
+
+import com.kfactor.matchmaking.model.Match;
+import com.kfactor.matchmaking.model.Player;
+import com.kfactor.matchmaking.model.Tournament;
+import com.kfactor.matchmaking.service.MatchService;
+import com.kfactor.matchmaking.service.PlayerService;
+import com.kfactor.matchmaking.service.TournamentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "matchmaking.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "matchmaking.datasource.replica.stand-in-sync-interval=0s",
+        "matchmaking.datasource.replica.max-lag=300ms"
+})
+class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private H2ReplicaStandIn replicaStandIn;
+
+    @Test
+    void readOnlyTransactions_AreServedByReplica() {
+        // Arrange - the write lands on the primary only
+        playerService.createPlayer("charlie");
+
+        // Act & Assert - the stale replica does not see it until the next sync
+        assertThrows(IllegalArgumentException.class, () -> playerService.getPlayerByUsername("charlie"));
+
+        replicaStandIn.sync();
+        assertEquals("charlie", playerService.getPlayerByUsername("charlie").getUsername());
+    }
+
+    @Test
+    void recentlyRecordedMatch_IsReadFromPrimaryUntilLagWindowPasses() throws Exception {
+        // Arrange
+        Player alice = playerService.createPlayer("alice");
+        Player bob = playerService.createPlayer("bob");
+        replicaStandIn.sync();
+
+        // Act
+        matchService.recordMatch(alice.getId(), bob.getId(), alice.getId());
+
+        // Assert - read-your-writes: pinned to the primary right after the write
+        assertEquals(1, matchService.getMatchesForPlayer(alice.getId()).size());
+
+        // Once the lag window has passed, reads go back to the (still stale) replica
+        Thread.sleep(400);
+        assertEquals(0, matchService.getMatchesForPlayer(alice.getId()).size());
+
+        replicaStandIn.sync();
+        assertEquals(1, matchService.getMatchesForPlayer(alice.getId()).size());
+    }
+
+    @Test
+    void lookupsById_AreReadFromPrimary() {
+        // Arrange
+        Player dave = playerService.createPlayer("dave");
+        Player erin = playerService.createPlayer("erin");
+
+        // Act - neither write has reached the replica
+        Match match = matchService.recordMatch(dave.getId(), erin.getId(), dave.getId());
+        Tournament tournament = tournamentService.createTournament("weekly", Tournament.Format.SWISS, 3);
+
+        // Assert
+        assertEquals(dave.getId(), matchService.getMatchById(match.getId()).getWinner().getId());
+        assertEquals("weekly", tournamentService.getTournament(tournament.getId()).getName());
+        assertEquals(0, tournamentService.getStandings(tournament.getId()).size());
+    }
+}
@@ -0,0 +1,176 @@
+package com.kfactor.matchmaking.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import com.kfactor.matchmaking.dto.MatchDTO;
+import com.kfactor.matchmaking.model.Player;
+import com.kfactor.matchmaking.repository.LadderMatchRepository;
+import com.kfactor.matchmaking.repository.LadderRatingRepository;
+import com.kfactor.matchmaking.repository.MatchRepository;
+import com.kfactor.matchmaking.repository.PlayerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static com.kfactor.matchmaking.sql.StatementAssertions.assertStatementsAtMost;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class LadderControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private LadderRatingRepository ladderRatingRepository;
+
+    @Autowired
+    private LadderMatchRepository ladderMatchRepository;
+
+    private Player alice;
+    private Player bob;
+
+    @BeforeEach
+    void setUp() {
+        ladderMatchRepository.deleteAll();
+        ladderRatingRepository.deleteAll();
+        matchRepository.deleteAll();
+        playerRepository.deleteAll();
+
+        alice = playerRepository.save(new Player("alice"));
+        bob = playerRepository.save(new Player("bob"));
+    }
+
+    @Test
+    void recordMatch_RatesEachLadderOnItsOwn() throws Exception {
+        record("chess", alice, bob, alice, null)
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.ladder").value("chess"))
+                .andExpect(jsonPath("$.ratingABefore").value(1000))
+                .andExpect(jsonPath("$.ratingAAfter").value(1016));
+        record("go", alice, bob, bob, null).andExpect(status().isCreated());
+
+        // Players already on the ladder: two player reads, the row lock, the match insert and the rating update
+        assertStatementsAtMost(5, () -> record("chess", alice, bob, alice, null).andExpect(status().isCreated()));
+
+        mockMvc.perform(get("/api/ladders/chess/players/leaderboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].username").value("alice"))
+                .andExpect(jsonPath("$[0].rating").value(1031));
+        mockMvc.perform(get("/api/ladders/go/players/" + bob.getId() + "/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rating").value(1016))
+                .andExpect(jsonPath("$.wins").value(1))
+                .andExpect(jsonPath("$.totalMatches").value(1));
+        mockMvc.perform(get("/api/ladders/chess/players/" + alice.getId() + "/rating-history"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].rating").value(1031));
+        mockMvc.perform(get("/api/ladders/chess/matches/player/" + bob.getId() + "?size=1"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].ratingBAfter").value(969));
+        mockMvc.perform(get("/api/ladders"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].name").value("chess"))
+                .andExpect(jsonPath("$[0].players").value(2));
+
+        // The global rating and match history are untouched
+        assertEquals(1000, playerRepository.findById(alice.getId()).orElseThrow().getRating());
+        assertEquals(0, matchRepository.count());
+        mockMvc.perform(get("/api/players/" + alice.getId() + "/stats"))
+                .andExpect(jsonPath("$.totalMatches").value(0));
+    }
+
+    @Test
+    void recordMatch_WithIdempotencyKey_IsRecordedOncePerLadder() throws Exception {
+        String first = record("chess", alice, bob, alice, "result-1")
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long matchId = ((Number) JsonPath.read(first, "$.id")).longValue();
+
+        record("chess", alice, bob, alice, "result-1")
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(matchId));
+        record("chess", alice, bob, bob, "result-1")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Idempotency key was already used for a different match"));
+        // Keys are scoped to their ladder
+        record("go", alice, bob, alice, "result-1").andExpect(status().isCreated());
+
+        assertEquals(2, ladderMatchRepository.count());
+        mockMvc.perform(get("/api/ladders/chess/players/" + alice.getId() + "/stats"))
+                .andExpect(jsonPath("$.totalMatches").value(1));
+        mockMvc.perform(get("/api/ladders/chess/matches/" + matchId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.winnerId").value(alice.getId()));
+        mockMvc.perform(get("/api/ladders/go/matches/" + matchId))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Match not found with id: " + matchId));
+    }
+
+    @Test
+    void deletePlayer_DropsThemFromLadderLeaderboards() throws Exception {
+        Player carol = playerRepository.save(new Player("carol"));
+        record("chess", alice, bob, alice, null).andExpect(status().isCreated());
+        record("chess", carol, bob, carol, null).andExpect(status().isCreated());
+        mockMvc.perform(get("/api/ladders/chess/players/leaderboard"))
+                .andExpect(jsonPath("$", hasSize(3)));
+
+        mockMvc.perform(delete("/api/players/" + carol.getId())).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/ladders/chess/players/leaderboard"))
+                .andExpect(jsonPath("$", hasSize(2)));
+        mockMvc.perform(get("/api/ladders"))
+                .andExpect(jsonPath("$[0].players").value(2));
+    }
+
+    @Test
+    void ladderEndpoints_RejectBadInput() throws Exception {
+        record("Chess!", alice, bob, alice, null)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(
+                        "Ladder name must be 1 to 32 lowercase letters, digits, '-' or '_', starting with a letter or digit"));
+        record("chess", alice, alice, alice, null)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("A player cannot play against themselves"));
+        record("chess", alice, bob, playerRepository.save(new Player("carol")), null)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Winner must be one of the players in the match"));
+        mockMvc.perform(get("/api/ladders/chess/players/" + alice.getId() + "/stats"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Player " + alice.getId() + " has not played on ladder: chess"));
+        mockMvc.perform(get("/api/ladders/chess/players/leaderboard?limit=0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Limit must be between 1 and 1000"));
+        mockMvc.perform(get("/api/ladders/chess/matches/player/999"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Player not found with id: 999"));
+    }
+
+    private ResultActions record(String ladder, Player playerA, Player playerB, Player winner,
+                                 String idempotencyKey) throws Exception {
+        MatchDTO matchDTO = new MatchDTO(playerA.getId(), playerB.getId(), winner.getId());
+        matchDTO.setIdempotencyKey(idempotencyKey);
+        return mockMvc.perform(post("/api/ladders/" + ladder + "/matches")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(matchDTO)));
+    }
+}
@@ -1,11 +1,21 @@
 package com.kfactor.matchmaking.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import com.kfactor.matchmaking.dto.MatchDTO;
+import com.kfactor.matchmaking.dto.TeamMatchParticipantDTO;
 import com.kfactor.matchmaking.model.Match;
 import com.kfactor.matchmaking.model.Player;
 import com.kfactor.matchmaking.repository.MatchRepository;
+import com.kfactor.matchmaking.repository.PlayerBatchRepository;
 import com.kfactor.matchmaking.repository.PlayerRepository;
+import com.kfactor.matchmaking.repository.SeasonRepository;
+import com.kfactor.matchmaking.repository.SeasonStandingBlockRepository;
+import com.kfactor.matchmaking.repository.TeamMatchRepository;
+import com.kfactor.matchmaking.season.SeasonService;
+import com.kfactor.matchmaking.service.EloRating;
+import com.kfactor.matchmaking.service.MatchVoidService;
+import com.kfactor.matchmaking.service.TeamMatchService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,8 +23,24 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
-
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import static com.kfactor.matchmaking.sql.StatementAssertions.assertStatementsAtMost;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -34,11 +60,38 @@ class MatchControllerIntegrationTest {
     @Autowired
     private MatchRepository matchRepository;
 
+    @Autowired
+    private TeamMatchRepository teamMatchRepository;
+
+    @Autowired
+    private SeasonRepository seasonRepository;
+
+    @Autowired
+    private SeasonStandingBlockRepository seasonStandingBlockRepository;
+
+    @Autowired
+    private PlayerBatchRepository playerBatchRepository;
+
+    @Autowired
+    private TeamMatchService teamMatchService;
+
+    @Autowired
+    private SeasonService seasonService;
+
+    @Autowired
+    private MatchVoidService matchVoidService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private Player playerA;
     private Player playerB;
 
     @BeforeEach
     void setUp() {
+        seasonStandingBlockRepository.deleteAll();
+        seasonRepository.deleteAll();
+        teamMatchRepository.deleteAll();
         matchRepository.deleteAll();
         playerRepository.deleteAll();
 
@@ -50,14 +103,15 @@ class MatchControllerIntegrationTest {
     void recordMatch_Success() throws Exception {
         MatchDTO matchDTO = new MatchDTO(playerA.getId(), playerB.getId(), playerA.getId());
 
-        mockMvc.perform(post("/api/matches")
+        // Two player reads, the match insert and one batched rating update
+        assertStatementsAtMost(4, () -> mockMvc.perform(post("/api/matches")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(matchDTO)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.id").exists())
                 .andExpect(jsonPath("$.playerA.username").value("alice"))
                 .andExpect(jsonPath("$.playerB.username").value("bob"))
-                .andExpect(jsonPath("$.winner.username").value("alice"));
+                .andExpect(jsonPath("$.winner.username").value("alice")));
     }
 
     @Test
@@ -116,6 +170,45 @@ class MatchControllerIntegrationTest {
                 .andExpect(jsonPath("$.message").value("Winner must be one of the players in the match"));
     }
 
+    @Test
+    void recordMatch_DuplicateIdempotencyKey_ReturnsOriginalMatch() throws Exception {
+        MatchDTO matchDTO = new MatchDTO(playerA.getId(), playerB.getId(), playerA.getId());
+        matchDTO.setIdempotencyKey("controller-duplicate-" + playerA.getId());
+
+        String first = mockMvc.perform(post("/api/matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(matchDTO)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Integer matchId = JsonPath.read(first, "$.id");
+
+        mockMvc.perform(post("/api/matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(matchDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(matchId));
+
+        mockMvc.perform(get("/api/players/{id}", playerA.getId()))
+                .andExpect(jsonPath("$.rating").value(1016));
+    }
+
+    @Test
+    void recordMatch_Error_IdempotencyKeyReusedForDifferentMatch() throws Exception {
+        MatchDTO matchDTO = new MatchDTO(playerA.getId(), playerB.getId(), playerA.getId());
+        matchDTO.setIdempotencyKey("controller-reused-" + playerA.getId());
+        mockMvc.perform(post("/api/matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(matchDTO)))
+                .andExpect(status().isCreated());
+
+        matchDTO.setWinnerId(playerB.getId());
+        mockMvc.perform(post("/api/matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(matchDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Idempotency key was already used for a different match"));
+    }
+
     @Test
     void getAllMatches_ReturnsEmptyList() throws Exception {
         mockMvc.perform(get("/api/matches"))
@@ -135,13 +228,26 @@ class MatchControllerIntegrationTest {
                 .andExpect(jsonPath("$.length()").value(2));
     }
 
+    @Test
+    void getAllMatches_LoadsPlayersInTheSameQuery() throws Exception {
+        List<Player> opponents = saveOpponents(5);
+        for (Player opponent : opponents) {
+            matchRepository.save(new Match(playerA, opponent, opponent));
+        }
+
+        assertStatementsAtMost(1, () -> mockMvc.perform(get("/api/matches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[4].winner.username").value("opponent4")));
+    }
+
     @Test
     void getMatchById_Success() throws Exception {
         Match match = matchRepository.save(new Match(playerA, playerB, playerA));
 
-        mockMvc.perform(get("/api/matches/{id}", match.getId()))
+        assertStatementsAtMost(1, () -> mockMvc.perform(get("/api/matches/{id}", match.getId()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.winner.username").value("alice"));
+                .andExpect(jsonPath("$.winner.username").value("alice")));
     }
 
     @Test
@@ -162,6 +268,23 @@ class MatchControllerIntegrationTest {
                 .andExpect(jsonPath("$.length()").value(2));
     }
 
+    @Test
+    void getMatchesForPlayer_StatementCountDoesNotGrowWithOpponents() throws Exception {
+        for (Player opponent : saveOpponents(5)) {
+            matchRepository.save(new Match(playerA, opponent, playerA));
+        }
+
+        // The player, then their matches with every opponent joined in
+        assertStatementsAtMost(2, () -> mockMvc.perform(get("/api/matches/player/{playerId}", playerA.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5)));
+        // Paged reads add the count used to decide when to read through to the archive
+        assertStatementsAtMost(3, () -> mockMvc.perform(get("/api/matches/player/{playerId}?page=0&size=3",
+                        playerA.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3)));
+    }
+
     @Test
     void getMatchesForPlayer_EmptyList() throws Exception {
         mockMvc.perform(get("/api/matches/player/{playerId}", playerA.getId()))
@@ -176,4 +299,127 @@ class MatchControllerIntegrationTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("Player not found with id: 999"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void voidMatch_ReplaysLaterMatchesAndRestoresRatings() throws Exception {
+        Player playerC = playerRepository.save(new Player("charlie"));
+        Long first = recordMatch(playerA, playerB, playerA);
+        recordMatch(playerB, playerC, playerB);
+
+        mockMvc.perform(delete("/api/matches/" + first))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matchId").value(first))
+                .andExpect(jsonPath("$.touchedMatches").value(1))
+                .andExpect(jsonPath("$.playersUpdated").value(3));
+
+        // As if alice never played: bob beat charlie from 1000 each
+        mockMvc.perform(get("/api/players/" + playerA.getId()))
+                .andExpect(jsonPath("$.rating").value(1000));
+        mockMvc.perform(get("/api/players/" + playerB.getId()))
+                .andExpect(jsonPath("$.rating").value(1016));
+        mockMvc.perform(get("/api/players/" + playerC.getId()))
+                .andExpect(jsonPath("$.rating").value(984));
+        mockMvc.perform(get("/api/players/" + playerA.getId() + "/stats"))
+                .andExpect(jsonPath("$.totalMatches").value(0));
+        mockMvc.perform(get("/api/matches/" + first))
+                .andExpect(jsonPath("$.voided").value(true));
+    }
+
+    @Test
+    void voidMatch_KeepsATeamMatchPlayedInBetween() throws Exception {
+        voidFirstMatchAcross(carol -> teamMatchService.recordMatch(List.of(
+                new TeamMatchParticipantDTO(playerB.getId(), null, 1),
+                new TeamMatchParticipantDTO(carol.getId(), null, 2))));
+    }
+
+    @Test
+    void voidMatch_KeepsADecayRunInBetween() throws Exception {
+        Instant now = Instant.now();
+        voidFirstMatchAcross(carol -> playerBatchRepository.decayRatings(playerB.getId(), playerB.getId(), 900, 50,
+                now.plusSeconds(1), now, now));
+    }
+
+    @Test
+    void voidMatch_KeepsASeasonResetInBetween() throws Exception {
+        voidFirstMatchAcross(carol -> seasonService.rollover());
+    }
+
+    @Test
+    void voidMatch_ConcurrentVoidsCorrectRatingsOnce() throws Exception {
+        Long id = recordMatch(playerA, playerB, playerA);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> retry = new TransactionTemplate(transactionManager).execute(status -> {
+                matchVoidService.voidMatch(id);
+                // The retry waits for the first void to commit and then finds the match voided
+                Future<?> voiding = executor.submit(() -> matchVoidService.voidMatch(id));
+                assertThrows(TimeoutException.class, () -> voiding.get(200, TimeUnit.MILLISECONDS));
+                return voiding;
+            });
+            ExecutionException failure = assertThrows(ExecutionException.class, retry::get);
+            assertEquals("Match is already voided", failure.getCause().getMessage());
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1000, rating(playerA));
+        assertEquals(1000, rating(playerB));
+    }
+
+    @Test
+    void voidMatch_AlreadyVoided() throws Exception {
+        Long id = recordMatch(playerA, playerB, playerA);
+        mockMvc.perform(delete("/api/matches/" + id))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/matches/" + id))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Match is already voided"));
+    }
+
+    /**
+     * Alice beats bob, then {@code between} moves bob's rating, then bob beats carol, and
+     * the first match is voided. Bob's correction has to carry over whatever {@code between}
+     * did rather than restart from his rating before the voided match.
+     */
+    private void voidFirstMatchAcross(Consumer<Player> between) throws Exception {
+        Player carol = playerRepository.save(new Player("carol"));
+        Long first = recordMatch(playerA, playerB, playerA);
+        int correction = 1000 - rating(playerB);
+        between.accept(carol);
+        int bobBefore = rating(playerB);
+        int carolBefore = rating(carol);
+        recordMatch(playerB, carol, playerB);
+        int aliceBeforeVoid = rating(playerA);
+
+        mockMvc.perform(delete("/api/matches/" + first))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.touchedMatches").value(1));
+
+        assertEquals(EloRating.newRating(bobBefore + correction, carolBefore, 1.0), rating(playerB));
+        assertEquals(EloRating.newRating(carolBefore, bobBefore + correction, 0.0), rating(carol));
+        // Alice only loses what the voided match gave her
+        assertEquals(aliceBeforeVoid - 16, rating(playerA));
+    }
+
+    private int rating(Player player) {
+        return playerRepository.findById(player.getId()).orElseThrow().getRating();
+    }
+
+    private Long recordMatch(Player a, Player b, Player winner) throws Exception {
+        String response = mockMvc.perform(post("/api/matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new MatchDTO(a.getId(), b.getId(), winner.getId()))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(response, "$.id")).longValue();
+    }
+
+    private List<Player> saveOpponents(int count) {
+        List<Player> opponents = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            opponents.add(playerRepository.save(new Player("opponent" + i)));
+        }
+        return opponents;
+    }
+}
@@ -1,10 +1,15 @@
 package com.kfactor.matchmaking.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import com.kfactor.matchmaking.dto.BatchPlayerDTO;
+import com.kfactor.matchmaking.dto.MatchDTO;
 import com.kfactor.matchmaking.dto.PlayerDTO;
 import com.kfactor.matchmaking.model.Player;
 import com.kfactor.matchmaking.repository.MatchRepository;
 import com.kfactor.matchmaking.repository.PlayerRepository;
+import com.kfactor.matchmaking.service.MatchService;
+import com.kfactor.matchmaking.service.WindowedLeaderboardLoader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,7 +17,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.kfactor.matchmaking.sql.StatementAssertions.assertStatementsAtMost;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -33,6 +48,15 @@ class PlayerControllerIntegrationTest {
     @Autowired
     private MatchRepository matchRepository;
 
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private WindowedLeaderboardLoader windowedLeaderboardLoader;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @BeforeEach
     void setUp() {
         matchRepository.deleteAll();
@@ -43,13 +67,43 @@ class PlayerControllerIntegrationTest {
     void createPlayer_Success() throws Exception {
         PlayerDTO playerDTO = new PlayerDTO("testuser");
 
-        mockMvc.perform(post("/api/players")
+        assertStatementsAtMost(1, () -> mockMvc.perform(post("/api/players")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(playerDTO)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.username").value("testuser"))
                 .andExpect(jsonPath("$.rating").value(1000))
-                .andExpect(jsonPath("$.id").exists());
+                .andExpect(jsonPath("$.id").exists())
+                .andExpect(jsonPath("$.lastPlayedAt").doesNotExist())
+                .andExpect(jsonPath("$.ratingDecayedAt").doesNotExist()));
+    }
+
+    @Test
+    void createPlayers_Batch_ReturnsCreatedIdsAndConflicts() throws Exception {
+        playerRepository.save(new Player("taken"));
+        BatchPlayerDTO batchDTO = new BatchPlayerDTO(List.of("alice", "taken", "ab", "bob"));
+
+        mockMvc.perform(post("/api/players/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created.alice").isNumber())
+                .andExpect(jsonPath("$.created.bob").isNumber())
+                .andExpect(jsonPath("$.conflicts.taken").value("Username already exists"))
+                .andExpect(jsonPath("$.conflicts.ab").value("Username must be between 3 and 20 characters"));
+
+        mockMvc.perform(get("/api/players/username/alice"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rating").value(1000));
+    }
+
+    @Test
+    void createPlayers_Batch_ValidationError_Empty() throws Exception {
+        mockMvc.perform(post("/api/players/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchPlayerDTO(List.of()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.usernames").value("Usernames are required"));
     }
 
     @Test
@@ -174,13 +228,14 @@ class PlayerControllerIntegrationTest {
         playerRepository.save(p2);
         playerRepository.save(p3);
 
-        mockMvc.perform(get("/api/players/leaderboard"))
+        // Served from the read model
+        assertStatementsAtMost(0, () -> mockMvc.perform(get("/api/players/leaderboard"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(3))
                 .andExpect(jsonPath("$[0].username").value("alice"))
                 .andExpect(jsonPath("$[0].rating").value(1500))
                 .andExpect(jsonPath("$[1].username").value("bob"))
-                .andExpect(jsonPath("$[2].username").value("charlie"));
+                .andExpect(jsonPath("$[2].username").value("charlie")));
     }
 
     @Test
@@ -198,14 +253,14 @@ class PlayerControllerIntegrationTest {
     void getPlayerStats_Success() throws Exception {
         Player player = playerRepository.save(new Player("testuser"));
 
-        mockMvc.perform(get("/api/players/{id}/stats", player.getId()))
+        assertStatementsAtMost(0, () -> mockMvc.perform(get("/api/players/{id}/stats", player.getId()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.username").value("testuser"))
                 .andExpect(jsonPath("$.rating").value(1000))
                 .andExpect(jsonPath("$.totalMatches").value(0))
                 .andExpect(jsonPath("$.wins").value(0))
                 .andExpect(jsonPath("$.losses").value(0))
-                .andExpect(jsonPath("$.winRate").value(0.0));
+                .andExpect(jsonPath("$.winRate").value(0.0)));
     }
 
     @Test
@@ -214,4 +269,218 @@ class PlayerControllerIntegrationTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("Player not found with id: 999"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getRatingHistory_ReturnsRatingAfterEachMatch() throws Exception {
+        Player alice = playerRepository.save(new Player("alice"));
+        Player bob = playerRepository.save(new Player("bob"));
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/matches")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    new MatchDTO(alice.getId(), bob.getId(), alice.getId()))))
+                    .andExpect(status().isCreated());
+        }
+
+        // The player, then their matches with both players joined in
+        assertStatementsAtMost(2, () -> mockMvc.perform(get("/api/players/{id}/rating-history", alice.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].rating").value(1016))
+                .andExpect(jsonPath("$[2].playedAt").exists()));
+    }
+
+    @Test
+    void getRecentResults_KeepsLastTenAcrossVoidsAndRebuilds() throws Exception {
+        Player alice = playerRepository.save(new Player("alice"));
+        Player bob = playerRepository.save(new Player("bob"));
+
+        List<Long> matchIds = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            String response = mockMvc.perform(post("/api/matches")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    new MatchDTO(alice.getId(), bob.getId(), alice.getId()))))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            matchIds.add(((Number) JsonPath.read(response, "$.id")).longValue());
+        }
+
+        // Served from the read model
+        assertStatementsAtMost(0, () -> mockMvc.perform(get("/api/players/{id}/recent", alice.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(10))
+                .andExpect(jsonPath("$[0].matchId").value(matchIds.get(11)))
+                .andExpect(jsonPath("$[0].opponentId").value(bob.getId()))
+                .andExpect(jsonPath("$[0].won").value(true))
+                .andExpect(jsonPath("$[9].matchId").value(matchIds.get(2)))
+                .andExpect(jsonPath("$[9].ratingDelta").value(13)));
+        mockMvc.perform(get("/api/players/{id}/recent", bob.getId()))
+                .andExpect(jsonPath("$[0].won").value(false))
+                .andExpect(jsonPath("$[9].ratingDelta").value(-13));
+
+        mockMvc.perform(delete("/api/matches/{id}", matchIds.get(11)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/players/{id}/recent", alice.getId()))
+                .andExpect(jsonPath("$.length()").value(9))
+                .andExpect(jsonPath("$[0].matchId").value(matchIds.get(10)));
+
+        mockMvc.perform(post("/api/read-model/rebuild"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/players/{id}/recent", alice.getId()))
+                .andExpect(jsonPath("$.length()").value(10))
+                .andExpect(jsonPath("$[0].matchId").value(matchIds.get(10)))
+                .andExpect(jsonPath("$[9].matchId").value(matchIds.get(1)));
+    }
+
+    @Test
+    void getRecentResults_NotFound() throws Exception {
+        mockMvc.perform(get("/api/players/999/recent"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Player not found with id: 999"));
+    }
+
+    @Test
+    void getRatingHistory_NotFound() throws Exception {
+        mockMvc.perform(get("/api/players/999/rating-history"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Player not found with id: 999"));
+    }
+
+    @Test
+    void getWindowedLeaderboard_RanksByWinsToday() throws Exception {
+        Player alice = playerRepository.save(new Player("alice"));
+        Player bob = playerRepository.save(new Player("bob"));
+
+        for (Long winnerId : new Long[]{alice.getId(), alice.getId(), bob.getId()}) {
+            mockMvc.perform(post("/api/matches")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    new MatchDTO(alice.getId(), bob.getId(), winnerId))))
+                    .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(get("/api/players/leaderboard?window=day&sort=wins&limit=100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.playerId == %d)].wins", alice.getId()).value(2))
+                .andExpect(jsonPath("$[?(@.playerId == %d)].matches", alice.getId()).value(3))
+                .andExpect(jsonPath("$[?(@.playerId == %d)].wins", bob.getId()).value(1));
+    }
+
+    @Test
+    void getWindowedLeaderboard_IsSeededFromMatchesOnStartup() throws Exception {
+        Player alice = playerRepository.save(new Player("alice"));
+        Player bob = playerRepository.save(new Player("bob"));
+        matchService.recordMatch(alice.getId(), bob.getId(), alice.getId());
+        matchService.recordMatch(alice.getId(), bob.getId(), bob.getId());
+
+        windowedLeaderboardLoader.load();
+        matchService.recordMatch(alice.getId(), bob.getId(), alice.getId());
+
+        for (String window : new String[]{"day", "week", "season"}) {
+            mockMvc.perform(get("/api/players/leaderboard?window=" + window + "&sort=wins&limit=100"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].username").value("alice"))
+                    .andExpect(jsonPath("$[0].wins").value(2))
+                    .andExpect(jsonPath("$[0].matches").value(3))
+                    .andExpect(jsonPath("$[1].wins").value(1));
+        }
+    }
+
+    @Test
+    void getWindowedLeaderboard_UnknownWindow() throws Exception {
+        mockMvc.perform(get("/api/players/leaderboard?window=decade"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown leaderboard window: decade"));
+    }
+
+    @Test
+    void getPlayerStats_ReflectsRecordedMatches() throws Exception {
+        Player alice = playerRepository.save(new Player("alice"));
+        Player bob = playerRepository.save(new Player("bob"));
+
+        mockMvc.perform(post("/api/matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new MatchDTO(alice.getId(), bob.getId(), bob.getId()))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/players/{id}/stats", bob.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rating").value(1016))
+                .andExpect(jsonPath("$.wins").value(1))
+                .andExpect(jsonPath("$.losses").value(0));
+
+        mockMvc.perform(get("/api/players/leaderboard?limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username").value("bob"));
+    }
+
+    @Test
+    void rebuildReadModel_ReproducesStateFromDatabase() throws Exception {
+        Player alice = playerRepository.save(new Player("alice"));
+        Player bob = playerRepository.save(new Player("bob"));
+
+        mockMvc.perform(post("/api/matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new MatchDTO(alice.getId(), bob.getId(), alice.getId()))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/read-model/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.players").value(2))
+                .andExpect(jsonPath("$.lastRebuildAt").exists());
+
+        mockMvc.perform(get("/api/players/{id}/stats", alice.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rating").value(1016))
+                .andExpect(jsonPath("$.wins").value(1))
+                .andExpect(jsonPath("$.totalMatches").value(1));
+
+        mockMvc.perform(get("/api/read-model/status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.eventsApplied").isNumber())
+                .andExpect(jsonPath("$.lastEventLagMicros").isNumber());
+    }
+
+    @Test
+    void rebuildReadModel_CountsMatchThatCommitsAfterAHigherId() throws Exception {
+        Player alice = playerRepository.save(new Player("alice"));
+        Player bob = playerRepository.save(new Player("bob"));
+        Player carol = playerRepository.save(new Player("carol"));
+        Player dave = playerRepository.save(new Player("dave"));
+        matchService.recordMatch(alice.getId(), bob.getId(), bob.getId());
+
+        // Carol's match takes the next id but commits only after Alice's second match and the rebuild
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch rebuilt = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> slowMatch = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            matchService.recordMatch(carol.getId(), dave.getId(), carol.getId());
+            inserted.countDown();
+            try {
+                rebuilt.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        try {
+            inserted.await();
+            matchService.recordMatch(alice.getId(), bob.getId(), alice.getId());
+            mockMvc.perform(post("/api/read-model/rebuild")).andExpect(status().isOk());
+        } finally {
+            rebuilt.countDown();
+            slowMatch.get();
+            executor.shutdown();
+        }
+
+        mockMvc.perform(get("/api/players/{id}/stats", carol.getId()))
+                .andExpect(jsonPath("$.rating").value(1016))
+                .andExpect(jsonPath("$.totalMatches").value(1));
+        mockMvc.perform(get("/api/players/{id}/stats", alice.getId()))
+                .andExpect(jsonPath("$.totalMatches").value(2));
+    }
+}
@@ -0,0 +1,90 @@
+package com.kfactor.matchmaking.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kfactor.matchmaking.dto.PredictionRequestDTO;
+import com.kfactor.matchmaking.model.Player;
+import com.kfactor.matchmaking.repository.MatchRepository;
+import com.kfactor.matchmaking.repository.PlayerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static com.kfactor.matchmaking.sql.StatementAssertions.assertStatementsAtMost;
+import static org.hamcrest.Matchers.closeTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PredictionControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    private Player alice;
+    private Player bob;
+
+    @BeforeEach
+    void setUp() {
+        matchRepository.deleteAll();
+        playerRepository.deleteAll();
+
+        alice = playerRepository.save(new Player("alice"));
+        bob = new Player("bob");
+        bob.setRating(1200);
+        bob = playerRepository.save(bob);
+    }
+
+    @Test
+    void predict_PlayerAndRatingPairs() throws Exception {
+        PredictionRequestDTO request = new PredictionRequestDTO(
+                List.of(new long[]{alice.getId(), bob.getId()}, new long[]{bob.getId(), alice.getId()}),
+                List.of(new int[]{1500, 1500}, new int[]{1800, 1400}));
+
+        // Ratings come from the read model
+        assertStatementsAtMost(0, () -> mockMvc.perform(post("/api/predict")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.playerPairs[0]").value(closeTo(0.2403, 1e-4)))
+                .andExpect(jsonPath("$.playerPairs[1]").value(closeTo(0.7597, 1e-4)))
+                .andExpect(jsonPath("$.ratingPairs[0]").value(closeTo(0.5, 1e-9)))
+                .andExpect(jsonPath("$.ratingPairs[1]").value(closeTo(0.9091, 1e-4))));
+    }
+
+    @Test
+    void predict_UnknownPlayer() throws Exception {
+        PredictionRequestDTO request = new PredictionRequestDTO(
+                List.of(new long[]{alice.getId(), 999_999L}), List.of());
+
+        mockMvc.perform(post("/api/predict")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Player not found with id: 999999"));
+    }
+
+    @Test
+    void predict_MalformedPair() throws Exception {
+        mockMvc.perform(post("/api/predict")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ratingPairs\": [[1500, 1400, 1300]]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Each pair must have exactly two entries"));
+    }
+}
@@ -0,0 +1,127 @@
+package com.kfactor.matchmaking.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kfactor.matchmaking.dto.MatchDTO;
+import com.kfactor.matchmaking.model.Player;
+import com.kfactor.matchmaking.repository.MatchRepository;
+import com.kfactor.matchmaking.repository.PlayerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueueControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    private Player alice;
+    private Player bob;
+    private Player carol;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Clear anyone a previous test left waiting
+        mockMvc.perform(post("/api/queue/tick"));
+        matchRepository.deleteAll();
+        playerRepository.deleteAll();
+
+        alice = playerWithRating("alice", 1500);
+        bob = playerWithRating("bob", 1520);
+        carol = playerWithRating("carol", 1900);
+    }
+
+    @Test
+    void tick_PairsCloseRatingsAndLeavesTheRestWaiting() throws Exception {
+        for (Player player : new Player[] {alice, bob, carol}) {
+            mockMvc.perform(post("/api/queue/" + player.getId()))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.state").value("WAITING"));
+        }
+
+        mockMvc.perform(post("/api/queue/tick"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.waiting").value(3))
+                .andExpect(jsonPath("$.pairs").value(1))
+                .andExpect(jsonPath("$.stillWaiting").value(1))
+                .andExpect(jsonPath("$.meanRatingGap").value(20.0));
+
+        mockMvc.perform(get("/api/queue/" + alice.getId()))
+                .andExpect(jsonPath("$.state").value("MATCHED"))
+                .andExpect(jsonPath("$.opponentId").value(bob.getId()));
+        mockMvc.perform(get("/api/queue/" + carol.getId()))
+                .andExpect(jsonPath("$.state").value("WAITING"))
+                .andExpect(jsonPath("$.rating").value(1900));
+        mockMvc.perform(get("/api/queue/tick"))
+                .andExpect(jsonPath("$.pairs").value(1));
+        mockMvc.perform(delete("/api/queue/" + carol.getId()))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void recordMatch_ClearsThePairing() throws Exception {
+        mockMvc.perform(post("/api/queue/" + alice.getId())).andExpect(status().isCreated());
+        mockMvc.perform(post("/api/queue/" + bob.getId())).andExpect(status().isCreated());
+        mockMvc.perform(post("/api/queue/tick")).andExpect(jsonPath("$.pairs").value(1));
+
+        mockMvc.perform(post("/api/matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new MatchDTO(alice.getId(), bob.getId(), bob.getId()))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/queue/" + alice.getId()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Player " + alice.getId() + " is not queued"));
+        mockMvc.perform(get("/api/queue/" + bob.getId()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void join_Twice() throws Exception {
+        mockMvc.perform(post("/api/queue/" + alice.getId()))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/queue/" + alice.getId()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Player " + alice.getId() + " is already queued"));
+        mockMvc.perform(delete("/api/queue/" + alice.getId()))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void join_UnknownPlayer() throws Exception {
+        mockMvc.perform(post("/api/queue/999999"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Player not found with id: 999999"));
+    }
+
+    @Test
+    void leave_NotQueued() throws Exception {
+        mockMvc.perform(delete("/api/queue/" + bob.getId()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Player " + bob.getId() + " is not queued"));
+    }
+
+    private Player playerWithRating(String username, int rating) {
+        Player player = new Player(username);
+        player.setRating(rating);
+        return playerRepository.save(player);
+    }
+}
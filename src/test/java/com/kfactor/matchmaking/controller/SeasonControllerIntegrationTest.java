@@ -0,0 +1,197 @@
+package com.kfactor.matchmaking.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import com.kfactor.matchmaking.dto.MatchDTO;
+import com.kfactor.matchmaking.model.Player;
+import com.kfactor.matchmaking.model.Season;
+import com.kfactor.matchmaking.repository.MatchRepository;
+import com.kfactor.matchmaking.repository.PlayerBatchRepository;
+import com.kfactor.matchmaking.repository.PlayerRepository;
+import com.kfactor.matchmaking.repository.SeasonRepository;
+import com.kfactor.matchmaking.repository.SeasonStandingBlockRepository;
+import com.kfactor.matchmaking.service.EloRating;
+import com.kfactor.matchmaking.service.MatchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.kfactor.matchmaking.sql.StatementAssertions.assertStatementsAtMost;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SeasonControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private SeasonRepository seasonRepository;
+
+    @Autowired
+    private SeasonStandingBlockRepository seasonStandingBlockRepository;
+
+    @Autowired
+    private PlayerBatchRepository playerBatchRepository;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Player alice;
+    private Player bob;
+    private Player carol;
+
+    @BeforeEach
+    void setUp() {
+        seasonStandingBlockRepository.deleteAll();
+        seasonRepository.deleteAll();
+        matchRepository.deleteAll();
+        playerRepository.deleteAll();
+
+        alice = player("alice", 1400);
+        bob = player("bob", 1000);
+        carol = player("carol", 801);
+    }
+
+    @Test
+    void rollover_ArchivesStandingsAndSoftResetsRatings() throws Exception {
+        String response = mockMvc.perform(post("/api/seasons/rollover"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.players").value(3))
+                .andExpect(jsonPath("$.resetComplete").value(true))
+                .andExpect(jsonPath("$.startedAt").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+        long seasonId = ((Number) JsonPath.read(response, "$.id")).longValue();
+
+        // Half of each distance from 1000 is kept, truncated toward 1000
+        assertEquals(1200, playerRepository.findById(alice.getId()).orElseThrow().getRating());
+        assertEquals(1000, playerRepository.findById(bob.getId()).orElseThrow().getRating());
+        assertEquals(901, playerRepository.findById(carol.getId()).orElseThrow().getRating());
+        mockMvc.perform(get("/api/players/leaderboard"))
+                .andExpect(jsonPath("$[0].username").value("alice"))
+                .andExpect(jsonPath("$[0].rating").value(1200));
+
+        // The archived board keeps the final ratings, also once a player is gone
+        mockMvc.perform(delete("/api/players/" + alice.getId())).andExpect(status().isNoContent());
+        assertStatementsAtMost(2, () -> mockMvc.perform(get("/api/seasons/" + seasonId + "/leaderboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].place").value(1))
+                .andExpect(jsonPath("$[0].username").value("alice"))
+                .andExpect(jsonPath("$[0].rating").value(1400))
+                .andExpect(jsonPath("$[2].username").value("carol"))
+                .andExpect(jsonPath("$[2].rating").value(801)));
+        mockMvc.perform(get("/api/seasons/" + seasonId + "/leaderboard?offset=1&limit=1"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].place").value(2))
+                .andExpect(jsonPath("$[0].username").value("bob"));
+
+        // The next season starts where this one ended
+        String endedAt = JsonPath.read(response, "$.endedAt");
+        mockMvc.perform(post("/api/seasons/rollover"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.players").value(2))
+                .andExpect(jsonPath("$.startedAt").value(endedAt));
+        mockMvc.perform(get("/api/seasons"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(seasonId));
+    }
+
+    @Test
+    void rollover_ClearsTheSeasonWindow() throws Exception {
+        mockMvc.perform(post("/api/matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new MatchDTO(alice.getId(), bob.getId(), alice.getId()))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/players/leaderboard?window=season"))
+                .andExpect(jsonPath("$", hasSize(2)));
+
+        mockMvc.perform(post("/api/seasons/rollover")).andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/players/leaderboard?window=season"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void rollover_CompletesAnInterruptedResetFirst() throws Exception {
+        // A season whose reset committed the chunk holding alice before the process died
+        Season interrupted = new Season(null, Instant.now(), 50, carol.getId());
+        interrupted.advanceReset(alice.getId() + 1);
+        interrupted = seasonRepository.save(interrupted);
+
+        mockMvc.perform(post("/api/seasons/rollover"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(interrupted.getId()))
+                .andExpect(jsonPath("$.resetComplete").value(true));
+
+        assertEquals(1400, playerRepository.findById(alice.getId()).orElseThrow().getRating());
+        assertEquals(901, playerRepository.findById(carol.getId()).orElseThrow().getRating());
+        assertEquals(1, seasonRepository.count());
+    }
+
+    @Test
+    void rollover_IsNotOverwrittenByAMatchRecordedDuringTheReset() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> match = new TransactionTemplate(transactionManager).execute(status -> {
+                playerBatchRepository.softResetRatings(alice.getId(), carol.getId(), 1000, 50);
+                // The match waits for the reset to commit and then rates from the reset ratings
+                Future<?> recording = executor.submit(() -> matchService.recordMatch(alice.getId(), bob.getId(), alice.getId()));
+                assertThrows(TimeoutException.class, () -> recording.get(200, TimeUnit.MILLISECONDS));
+                return recording;
+            });
+            match.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(EloRating.newRating(1200, 1000, 1.0), playerRepository.findById(alice.getId()).orElseThrow().getRating());
+        assertEquals(EloRating.newRating(1000, 1200, 0.0), playerRepository.findById(bob.getId()).orElseThrow().getRating());
+    }
+
+    @Test
+    void getLeaderboard_RejectsUnknownSeasonAndBadLimits() throws Exception {
+        mockMvc.perform(get("/api/seasons/999/leaderboard"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Season not found with id: 999"));
+        mockMvc.perform(get("/api/seasons/999/leaderboard?limit=0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Limit must be between 1 and 1000"));
+    }
+
+    private Player player(String username, int rating) {
+        Player player = new Player(username);
+        player.setRating(rating);
+        return playerRepository.save(player);
+    }
+}
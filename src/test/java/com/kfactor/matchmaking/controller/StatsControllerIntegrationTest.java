@@ -0,0 +1,93 @@
+package com.kfactor.matchmaking.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kfactor.matchmaking.dto.MatchDTO;
+import com.kfactor.matchmaking.model.Player;
+import com.kfactor.matchmaking.repository.MatchRepository;
+import com.kfactor.matchmaking.repository.PlayerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.kfactor.matchmaking.sql.StatementAssertions.assertStatementsAtMost;
+import static org.hamcrest.Matchers.closeTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StatsControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    private Player alice;
+    private Player bob;
+    private Player carol;
+
+    @BeforeEach
+    void setUp() {
+        matchRepository.deleteAll();
+        playerRepository.deleteAll();
+
+        alice = playerRepository.save(new Player("alice"));
+        bob = playerRepository.save(new Player("bob"));
+        carol = new Player("carol");
+        carol.setRating(1200);
+        carol = playerRepository.save(carol);
+    }
+
+    @Test
+    void getRatingDistribution_FollowsMatchesAndDeletions() throws Exception {
+        mockMvc.perform(post("/api/matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new MatchDTO(alice.getId(), bob.getId(), alice.getId()))))
+                .andExpect(status().isCreated());
+
+        // Served from counts kept by the read model
+        assertStatementsAtMost(0, () -> mockMvc.perform(get("/api/stats/ratings/distribution?bucket=25"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.players").value(3))
+                .andExpect(jsonPath("$.min").value(984))
+                .andExpect(jsonPath("$.max").value(1200))
+                .andExpect(jsonPath("$.mean").value(closeTo(1066.67, 0.01)))
+                .andExpect(jsonPath("$.quantiles.p50").value(1016))
+                .andExpect(jsonPath("$.buckets.length()").value(10))
+                .andExpect(jsonPath("$.buckets[0].from").value(975))
+                .andExpect(jsonPath("$.buckets[0].to").value(1000))
+                .andExpect(jsonPath("$.buckets[0].count").value(1))
+                .andExpect(jsonPath("$.buckets[1].count").value(1))
+                .andExpect(jsonPath("$.buckets[9].from").value(1200))
+                .andExpect(jsonPath("$.buckets[9].count").value(1)));
+
+        mockMvc.perform(delete("/api/players/{id}", carol.getId()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/stats/ratings/distribution"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.players").value(2))
+                .andExpect(jsonPath("$.max").value(1016))
+                .andExpect(jsonPath("$.stddev").value(closeTo(16.0, 0.001)))
+                .andExpect(jsonPath("$.bucket").value(25));
+    }
+
+    @Test
+    void getRatingDistribution_InvalidBucket() throws Exception {
+        mockMvc.perform(get("/api/stats/ratings/distribution?bucket=0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Bucket must be between 1 and 1000"));
+    }
+}
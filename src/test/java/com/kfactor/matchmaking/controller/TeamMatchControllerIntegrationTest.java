@@ -0,0 +1,149 @@
+package com.kfactor.matchmaking.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kfactor.matchmaking.dto.TeamMatchDTO;
+import com.kfactor.matchmaking.dto.TeamMatchParticipantDTO;
+import com.kfactor.matchmaking.model.Player;
+import com.kfactor.matchmaking.repository.MatchRepository;
+import com.kfactor.matchmaking.repository.PlayerRepository;
+import com.kfactor.matchmaking.repository.TeamMatchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TeamMatchControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private TeamMatchRepository teamMatchRepository;
+
+    private Player alice;
+    private Player bob;
+    private Player charlie;
+    private Player dana;
+
+    @BeforeEach
+    void setUp() {
+        teamMatchRepository.deleteAll();
+        matchRepository.deleteAll();
+        playerRepository.deleteAll();
+
+        alice = playerRepository.save(new Player("alice"));
+        bob = playerRepository.save(new Player("bob"));
+        charlie = playerRepository.save(new Player("charlie"));
+        dana = playerRepository.save(new Player("dana"));
+    }
+
+    @Test
+    void recordMatch_TwoVersusTwo() throws Exception {
+        TeamMatchDTO dto = new TeamMatchDTO(List.of(
+                new TeamMatchParticipantDTO(alice.getId(), 1, 1),
+                new TeamMatchParticipantDTO(bob.getId(), 1, 1),
+                new TeamMatchParticipantDTO(charlie.getId(), 2, 2),
+                new TeamMatchParticipantDTO(dana.getId(), 2, 2)));
+
+        String response = mockMvc.perform(post("/api/team-matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.participants", hasSize(4)))
+                .andExpect(jsonPath("$.participants[0].team").value(0))
+                .andExpect(jsonPath("$.participants[0].ratingBefore").value(1000))
+                .andExpect(jsonPath("$.participants[0].ratingAfter").value(1016))
+                .andExpect(jsonPath("$.participants[3].ratingAfter").value(984))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/players/" + bob.getId()))
+                .andExpect(jsonPath("$.rating").value(1016));
+        mockMvc.perform(get("/api/players/" + dana.getId()))
+                .andExpect(jsonPath("$.rating").value(984));
+        mockMvc.perform(get("/api/team-matches/" + objectMapper.readTree(response).get("id").asLong()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.participants", hasSize(4)));
+    }
+
+    @Test
+    void recordMatch_FreeForAll_WithoutTeams() throws Exception {
+        TeamMatchDTO dto = new TeamMatchDTO(List.of(
+                new TeamMatchParticipantDTO(alice.getId(), null, 3),
+                new TeamMatchParticipantDTO(bob.getId(), null, 1),
+                new TeamMatchParticipantDTO(charlie.getId(), null, 2)));
+
+        mockMvc.perform(post("/api/team-matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.participants[*].team", contains(0, 1, 2)))
+                .andExpect(jsonPath("$.participants[1].ratingAfter").value(1016))
+                .andExpect(jsonPath("$.participants[2].ratingAfter").value(1000))
+                .andExpect(jsonPath("$.participants[0].ratingAfter").value(984));
+    }
+
+    @Test
+    void recordMatch_TeammatesWithDifferentPlacements() throws Exception {
+        TeamMatchDTO dto = new TeamMatchDTO(List.of(
+                new TeamMatchParticipantDTO(alice.getId(), 1, 1),
+                new TeamMatchParticipantDTO(bob.getId(), 1, 2),
+                new TeamMatchParticipantDTO(charlie.getId(), 2, 2)));
+
+        mockMvc.perform(post("/api/team-matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Players on the same team must share a placement"));
+    }
+
+    @Test
+    void recordMatch_PlayerListedTwice() throws Exception {
+        TeamMatchDTO dto = new TeamMatchDTO(List.of(
+                new TeamMatchParticipantDTO(alice.getId(), null, 1),
+                new TeamMatchParticipantDTO(alice.getId(), null, 2)));
+
+        mockMvc.perform(post("/api/team-matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Player " + alice.getId() + " appears more than once"));
+    }
+
+    @Test
+    void recordMatch_ValidationError_MissingPlacement() throws Exception {
+        TeamMatchDTO dto = new TeamMatchDTO(List.of(
+                new TeamMatchParticipantDTO(alice.getId(), null, 1),
+                new TeamMatchParticipantDTO(bob.getId(), null, null)));
+
+        mockMvc.perform(post("/api/team-matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getMatchById_NotFound() throws Exception {
+        mockMvc.perform(get("/api/team-matches/999999"))
+                .andExpect(status().isBadRequest());
+    }
+}
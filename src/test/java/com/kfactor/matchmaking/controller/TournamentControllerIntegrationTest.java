@@ -0,0 +1,274 @@
+package com.kfactor.matchmaking.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kfactor.matchmaking.dto.TournamentDTO;
+import com.kfactor.matchmaking.dto.TournamentEntriesDTO;
+import com.kfactor.matchmaking.dto.TournamentResultDTO;
+import com.kfactor.matchmaking.model.Player;
+import com.kfactor.matchmaking.model.Tournament;
+import com.kfactor.matchmaking.repository.MatchRepository;
+import com.kfactor.matchmaking.repository.PlayerRepository;
+import com.kfactor.matchmaking.repository.TournamentEntryRepository;
+import com.kfactor.matchmaking.repository.TournamentPairingRepository;
+import com.kfactor.matchmaking.repository.TournamentRepository;
+import com.kfactor.matchmaking.service.TournamentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TournamentControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TournamentEntryRepository entryRepository;
+
+    @Autowired
+    private TournamentPairingRepository pairingRepository;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private List<Long> playerIds;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        playerIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Player player = new Player("entrant" + i);
+            player.setRating(1400 - i * 100);
+            playerIds.add(playerRepository.save(player).getId());
+        }
+    }
+
+    // Entries and pairings reference players, which other test classes delete
+    @AfterEach
+    void cleanUp() {
+        pairingRepository.deleteAll();
+        entryRepository.deleteAll();
+        tournamentRepository.deleteAll();
+        matchRepository.deleteAll();
+        playerRepository.deleteAll();
+    }
+
+    @Test
+    void swissTournament_PlaysToCompletionWithoutRematches() throws Exception {
+        long tournamentId = createTournament(Tournament.Format.SWISS, 3);
+        mockMvc.perform(post("/api/tournaments/" + tournamentId + "/entries")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TournamentEntriesDTO(playerIds))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries").value(5));
+
+        Set<String> played = new HashSet<>();
+        Set<Long> byes = new HashSet<>();
+        for (int round = 1; round <= 3; round++) {
+            JsonNode pairings = startRound(tournamentId);
+            assertEquals(3, pairings.size());
+            for (JsonNode pairing : pairings) {
+                long playerA = pairing.get("playerAId").asLong();
+                if (pairing.get("bye").asBoolean()) {
+                    assertTrue(byes.add(playerA), "player had a second bye");
+                    continue;
+                }
+                long playerB = pairing.get("playerBId").asLong();
+                assertTrue(played.add(Math.min(playerA, playerB) + "-" + Math.max(playerA, playerB)), "rematch");
+                recordResult(tournamentId, pairing.get("id").asLong(), playerA);
+            }
+        }
+
+        mockMvc.perform(get("/api/tournaments/" + tournamentId))
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.currentRound").value(3));
+        mockMvc.perform(get("/api/tournaments/" + tournamentId + "/standings"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(5)))
+                .andExpect(jsonPath("$[0].rank").value(1))
+                .andExpect(jsonPath("$[0].score").value(3));
+        assertEquals(6, matchRepository.count());
+    }
+
+    @Test
+    void singleElimination_SeedsByesToTopSeedsAndAdvancesWinners() throws Exception {
+        long tournamentId = createTournament(Tournament.Format.SINGLE_ELIMINATION, null);
+        register(tournamentId, playerIds);
+
+        // Five entrants fill an eight-player bracket: seeds 1 to 3 get byes
+        JsonNode first = startRound(tournamentId);
+        assertEquals(4, first.size());
+        assertEquals(playerIds.get(0), first.get(0).get("playerAId").asLong());
+        assertTrue(first.get(0).get("bye").asBoolean());
+        assertEquals(playerIds.get(3), first.get(1).get("playerAId").asLong());
+        assertEquals(playerIds.get(4), first.get(1).get("playerBId").asLong());
+        recordResult(tournamentId, first.get(1).get("id").asLong(), playerIds.get(4));
+
+        JsonNode second = startRound(tournamentId);
+        assertEquals(2, second.size());
+        assertEquals(playerIds.get(0), second.get(0).get("playerAId").asLong());
+        assertEquals(playerIds.get(4), second.get(0).get("playerBId").asLong());
+        for (JsonNode pairing : second) {
+            recordResult(tournamentId, pairing.get("id").asLong(), pairing.get("playerAId").asLong());
+        }
+
+        JsonNode fin = startRound(tournamentId);
+        assertEquals(1, fin.size());
+        recordResult(tournamentId, fin.get(0).get("id").asLong(), playerIds.get(1));
+
+        mockMvc.perform(get("/api/tournaments/" + tournamentId))
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.rounds").value(3));
+        mockMvc.perform(get("/api/tournaments/" + tournamentId + "/standings"))
+                .andExpect(jsonPath("$[0].playerId").value(playerIds.get(1)))
+                .andExpect(jsonPath("$[0].eliminated").value(false))
+                .andExpect(jsonPath("$[1].eliminated").value(true));
+    }
+
+    @Test
+    void startNextRound_CurrentRoundUnfinished() throws Exception {
+        long tournamentId = createTournament(Tournament.Format.SWISS, 3);
+        register(tournamentId, playerIds);
+        startRound(tournamentId);
+
+        mockMvc.perform(post("/api/tournaments/" + tournamentId + "/rounds"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Round 1 is not finished"));
+    }
+
+    @Test
+    void register_AfterStart_IsRejected() throws Exception {
+        long tournamentId = createTournament(Tournament.Format.SWISS, 3);
+        register(tournamentId, playerIds.subList(0, 4));
+        startRound(tournamentId);
+
+        mockMvc.perform(post("/api/tournaments/" + tournamentId + "/entries")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TournamentEntriesDTO(playerIds.subList(4, 5)))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Tournament registration is closed"));
+    }
+
+    @Test
+    void recordResult_WinnerNotInPairing() throws Exception {
+        long tournamentId = createTournament(Tournament.Format.SWISS, 1);
+        register(tournamentId, playerIds.subList(0, 4));
+        JsonNode pairing = startRound(tournamentId).get(0);
+
+        mockMvc.perform(post("/api/tournaments/" + tournamentId + "/pairings/" + pairing.get("id").asLong() + "/result")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TournamentResultDTO(playerIds.get(4)))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Winner must be one of the paired players"));
+    }
+
+    @Test
+    void recordResult_ConcurrentSubmissionsRecordOneMatch() throws Exception {
+        long tournamentId = createTournament(Tournament.Format.SWISS, 1);
+        register(tournamentId, playerIds.subList(0, 4));
+        JsonNode pairing = startRound(tournamentId).get(0);
+        long pairingId = pairing.get("id").asLong();
+        long playerA = pairing.get("playerAId").asLong();
+        long playerB = pairing.get("playerBId").asLong();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> second = new TransactionTemplate(transactionManager).execute(status -> {
+                tournamentService.recordResult(tournamentId, pairingId, playerA);
+                // The second submission waits for the first to commit and then finds the result
+                Future<?> submitting = executor.submit(() -> tournamentService.recordResult(tournamentId, pairingId, playerB));
+                assertThrows(TimeoutException.class, () -> submitting.get(200, TimeUnit.MILLISECONDS));
+                return submitting;
+            });
+            ExecutionException failure = assertThrows(ExecutionException.class, second::get);
+            assertEquals("Result already recorded", failure.getCause().getMessage());
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, matchRepository.count());
+        assertEquals(playerA, pairingRepository.findById(pairingId).orElseThrow().getWinnerId());
+    }
+
+    @Test
+    void createTournament_MissingFormat() throws Exception {
+        mockMvc.perform(post("/api/tournaments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TournamentDTO("weekly", null, null))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long createTournament(Tournament.Format format, Integer rounds) throws Exception {
+        String response = mockMvc.perform(post("/api/tournaments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TournamentDTO("weekly", format, rounds))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("REGISTRATION"))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    private void register(long tournamentId, List<Long> ids) throws Exception {
+        mockMvc.perform(post("/api/tournaments/" + tournamentId + "/entries")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TournamentEntriesDTO(ids))))
+                .andExpect(status().isOk());
+    }
+
+    private JsonNode startRound(long tournamentId) throws Exception {
+        String response = mockMvc.perform(post("/api/tournaments/" + tournamentId + "/rounds"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private void recordResult(long tournamentId, long pairingId, long winnerId) throws Exception {
+        mockMvc.perform(post("/api/tournaments/" + tournamentId + "/pairings/" + pairingId + "/result")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TournamentResultDTO(winnerId))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.winnerId").value(winnerId))
+                .andExpect(jsonPath("$.matchId").isNumber());
+    }
+}
@@ -0,0 +1,176 @@
+package com.kfactor.matchmaking.decay;
+
+import com.kfactor.matchmaking.model.Player;
+import com.kfactor.matchmaking.model.RatingDecayRun;
+import com.kfactor.matchmaking.repository.MatchRepository;
+import com.kfactor.matchmaking.repository.PlayerBatchRepository;
+import com.kfactor.matchmaking.repository.PlayerRepository;
+import com.kfactor.matchmaking.repository.RatingDecayRunRepository;
+import com.kfactor.matchmaking.service.EloRating;
+import com.kfactor.matchmaking.service.MatchService;
+import com.kfactor.matchmaking.service.PlayerQueryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:decay",
+        "matchmaking.decay.enabled=true",
+        "matchmaking.decay.inactive-after=1d",
+        "matchmaking.decay.floor=1200",
+        "matchmaking.decay.percent=10",
+        "matchmaking.decay.chunk-size=2"
+})
+class RatingDecayIntegrationTest {
+
+    @Autowired
+    private RatingDecayJob ratingDecayJob;
+
+    @Autowired
+    private RatingDecayRunRepository runRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private PlayerQueryService playerQueryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlayerBatchRepository playerBatchRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Instant longAgo = Instant.now().minus(Duration.ofDays(40));
+
+    @BeforeEach
+    void setUp() {
+        runRepository.deleteAll();
+        matchRepository.deleteAll();
+        playerRepository.deleteAll();
+    }
+
+    @Test
+    void decay_LowersInactivePlayersTowardTheFloorOncePerInterval() {
+        // Arrange - everyone registered long ago; only the two who then play are active
+        Player idle = player("idle", 1500);
+        Player nearFloor = player("nearFloor", 1205);
+        Player belowFloor = player("belowFloor", 1000);
+        Player active = player("active", 1500);
+        Player opponent = player("opponent", 1500);
+        matchService.recordMatch(active.getId(), opponent.getId(), active.getId());
+        int activeRating = rating(active);
+        int opponentRating = rating(opponent);
+
+        // Act
+        long decayed = ratingDecayJob.decay();
+        long repeated = ratingDecayJob.decay();
+
+        // Assert - 10% of the distance to the floor, rounded up to at least a point
+        assertEquals(2, decayed);
+        assertEquals(0, repeated);
+        assertEquals(1470, rating(idle));
+        assertEquals(1204, rating(nearFloor));
+        assertEquals(1000, rating(belowFloor));
+        assertEquals(activeRating, rating(active));
+        assertEquals(opponentRating, rating(opponent));
+
+        // The read model follows the decay
+        assertEquals(1470, playerQueryService.getPlayerById(idle.getId()).rating());
+        assertEquals(1204, playerQueryService.getPlayerById(nearFloor.getId()).rating());
+
+        List<RatingDecayRun> runs = runRepository.findAll();
+        assertEquals(2, runs.size());
+        assertTrue(runs.stream().allMatch(run -> run.getFinishedAt() != null));
+        assertEquals(2, runs.get(0).getDecayedPlayers());
+    }
+
+    @Test
+    void decay_ResumesAnInterruptedRunFromItsCheckpoint() {
+        // Arrange - a run that committed its first chunk before the process died
+        Player first = player("first", 1500);
+        Player second = player("second", 1500);
+        Instant startedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        RatingDecayRun interrupted = new RatingDecayRun(startedAt, startedAt.minus(Duration.ofDays(1)),
+                second.getId(), 1200, 50);
+        interrupted.advance(second.getId(), 0);
+        interrupted = runRepository.save(interrupted);
+
+        // Act
+        long decayed = ratingDecayJob.decay();
+
+        // Assert - only the rest of the interrupted run, with the settings it started with
+        assertEquals(1, decayed);
+        assertEquals(1500, rating(first));
+        assertEquals(1350, rating(second));
+        RatingDecayRun finished = runRepository.findById(interrupted.getId()).orElseThrow();
+        assertNotNull(finished.getFinishedAt());
+        assertEquals(second.getId() + 1, finished.getNextPlayerId());
+        assertEquals(1, runRepository.count());
+    }
+
+    @Test
+    void decay_IsNotOverwrittenByAMatchRecordedDuringTheRun() throws Exception {
+        // Arrange
+        Player alice = player("alice", 1500);
+        Player bob = player("bob", 1500);
+        Instant now = Instant.now();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // Act - the match waits for the decayed chunk to commit
+        try {
+            Future<?> match = new TransactionTemplate(transactionManager).execute(status -> {
+                playerBatchRepository.decayRatings(alice.getId(), bob.getId(), 1200, 10,
+                        now.minus(Duration.ofDays(1)), now.minus(Duration.ofDays(1)), now);
+                Future<?> recording = executor.submit(() -> matchService.recordMatch(alice.getId(), bob.getId(), alice.getId()));
+                assertThrows(TimeoutException.class, () -> recording.get(200, TimeUnit.MILLISECONDS));
+                return recording;
+            });
+            match.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert - rated from the decayed ratings
+        assertEquals(EloRating.newRating(1470, 1470, 1.0), rating(alice));
+        assertEquals(EloRating.newRating(1470, 1470, 0.0), rating(bob));
+    }
+
+    private Player player(String username, int rating) {
+        Player player = new Player(username);
+        player.setRating(rating);
+        player = playerRepository.save(player);
+        jdbcTemplate.update("UPDATE players SET created_at = ? WHERE id = ?", Timestamp.from(longAgo), player.getId());
+        return player;
+    }
+
+    private int rating(Player player) {
+        return playerRepository.findById(player.getId()).orElseThrow().getRating();
+    }
+}
@@ -0,0 +1,142 @@
+package com.kfactor.matchmaking.flight;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    @Test
+    void get_ConcurrentCallersShareOneLoad() throws Exception {
+        // Arrange - the load blocks until every other caller is waiting on it
+        SingleFlight<String, Integer> flight = new SingleFlight<>(Duration.ZERO);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+        // Act
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            results.add(executor.submit(() -> flight.get("board", () -> {
+                loads.incrementAndGet();
+                await(release);
+                return 42;
+            })));
+            while (loads.get() == 0) {
+                Thread.onSpinWait();
+            }
+            for (int i = 1; i < CALLERS; i++) {
+                results.add(executor.submit(() -> flight.get("board", () -> {
+                    loads.incrementAndGet();
+                    return -1;
+                })));
+            }
+            // Give the followers time to reach the flight before the load finishes
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(42, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert - and with no ttl, the next call loads again
+        assertEquals(1, loads.get());
+        assertEquals(7, flight.get("board", () -> 7));
+    }
+
+    @Test
+    void get_SharesTheLoadsExceptionAndDoesNotKeepIt() throws Exception {
+        // Arrange
+        SingleFlight<String, Integer> flight = new SingleFlight<>(Duration.ofMinutes(1));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act
+        try {
+            Future<Integer> leader = executor.submit(() -> flight.get("stats", () -> {
+                loads.incrementAndGet();
+                await(release);
+                throw new IllegalArgumentException("Player not found with id: 9");
+            }));
+            while (loads.get() == 0) {
+                Thread.onSpinWait();
+            }
+            Future<Integer> follower = executor.submit(() -> flight.get("stats", () -> 0));
+            Thread.sleep(50);
+            release.countDown();
+
+            // Assert
+            for (Future<Integer> result : List.of(leader, follower)) {
+                ExecutionException failure = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, flight.get("stats", () -> 1));
+    }
+
+    @Test
+    void get_ServesFreshThenStaleWhileOneCallerReloads() throws Exception {
+        // Arrange
+        AtomicLong now = new AtomicLong();
+        SingleFlight<String, Integer> flight = new SingleFlight<>(Duration.ofNanos(100), now::get);
+        flight.get("board", () -> 1);
+
+        // Act & Assert - fresh for one ttl
+        now.set(99);
+        assertEquals(1, flight.get("board", () -> 2));
+
+        // Stale: other callers get the old value while the reload runs
+        now.set(150);
+        CountDownLatch reloading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> reload = executor.submit(() -> flight.get("board", () -> {
+                reloading.countDown();
+                await(release);
+                return 3;
+            }));
+            reloading.await();
+            assertEquals(1, flight.get("board", () -> 4));
+            release.countDown();
+            assertEquals(3, reload.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(3, flight.get("board", () -> 5));
+
+        // Past two ttls the value is not served any more, and forget drops it at once
+        now.set(400);
+        assertEquals(6, flight.get("board", () -> 6));
+        flight.forget("board");
+        assertEquals(7, flight.get("board", () -> 7));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.kfactor.matchmaking.ingest;
+
+import com.kfactor.matchmaking.repository.PlayerBatchRepository;
+import jakarta.websocket.ClientEndpointConfig;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.Endpoint;
+import jakarta.websocket.EndpointConfig;
+import jakarta.websocket.MessageHandler;
+import jakarta.websocket.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Results per second over one connection: {@code POST /api/matches} one request at a
+ * time over a kept-alive HTTP/1.1 connection, against the WebSocket channel with one
+ * result per message and with results batched into messages, both pipelined. Admission
+ * control is off so its per-client rate limit does not cap the REST path. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:ingest-benchmark",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=warn",
+        "logging.level.org.hibernate.orm.jdbc.bind=warn",
+        "matchmaking.admission.enabled=false"
+})
+class MatchIngestBenchmarkTest {
+
+    private static final int PLAYERS = 1000;
+    private static final int WARMUP = 1000;
+    private static final int RESULTS = 10_000;
+    private static final int BATCH = 50;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PlayerBatchRepository playerBatchRepository;
+
+    private List<Long> ids;
+
+    @Test
+    void ingestion_RestVersusWebSocket() throws Exception {
+        List<String> usernames = new ArrayList<>(PLAYERS);
+        for (int i = 0; i < PLAYERS; i++) {
+            usernames.add("ingest-" + i);
+        }
+        ids = playerBatchRepository.insertAll(usernames, 1000, Instant.now());
+
+        rest(WARMUP);
+        webSocket(WARMUP, BATCH);
+        double rest = rest(RESULTS);
+        double single = webSocket(RESULTS, 1);
+        double batched = webSocket(RESULTS, BATCH);
+
+        System.out.printf("REST:                     %,.0f results/s%n", rest);
+        System.out.printf("WebSocket, 1 per message: %,.0f results/s (%.1fx)%n", single, single / rest);
+        System.out.printf("WebSocket, %d per message: %,.0f results/s (%.1fx)%n", BATCH, batched, batched / rest);
+        assertTrue(batched > rest);
+    }
+
+    private double rest(int results) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        URI uri = URI.create("http://localhost:" + port + "/api/matches");
+        long started = System.nanoTime();
+        for (int i = 0; i < results; i++) {
+            long a = playerA(i);
+            String body = "{\"playerAId\":" + a + ",\"playerBId\":" + playerB(i) + ",\"winnerId\":" + a + "}";
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(201, response.statusCode(), response.body());
+        }
+        return results / ((System.nanoTime() - started) / 1e9);
+    }
+
+    private double webSocket(int results, int batch) throws Exception {
+        CountDownLatch acked = new CountDownLatch(results);
+        AtomicInteger rejected = new AtomicInteger();
+        Endpoint client = new Endpoint() {
+            @Override
+            public void onOpen(Session session, EndpointConfig config) {
+                session.addMessageHandler(ByteBuffer.class, (MessageHandler.Whole<ByteBuffer>) message -> {
+                    for (MatchFrames.Ack ack : MatchFrames.decodeAcks(message)) {
+                        if (ack.status() != MatchFrames.RECORDED) {
+                            rejected.incrementAndGet();
+                        }
+                        acked.countDown();
+                    }
+                });
+            }
+        };
+        Session session = ContainerProvider.getWebSocketContainer().connectToServer(client,
+                ClientEndpointConfig.Builder.create().build(), URI.create("ws://localhost:" + port + "/ws/matches"));
+
+        long started = System.nanoTime();
+        List<MatchFrames.Submission> message = new ArrayList<>(batch);
+        for (int i = 0; i < results; i++) {
+            long a = playerA(i);
+            message.add(new MatchFrames.Submission(i, a, playerB(i), a, null));
+            if (message.size() == batch || i == results - 1) {
+                session.getBasicRemote().sendBinary(MatchFrames.encodeSubmissions(message));
+                message.clear();
+            }
+        }
+        assertTrue(acked.await(5, TimeUnit.MINUTES));
+        double perSecond = results / ((System.nanoTime() - started) / 1e9);
+        session.close();
+        assertEquals(0, rejected.get());
+        return perSecond;
+    }
+
+    private long playerA(int i) {
+        return ids.get(i % PLAYERS);
+    }
+
+    // Never player A: the offset cycles through 1 to PLAYERS - 1
+    private long playerB(int i) {
+        return ids.get((i + 1 + (i / PLAYERS) % (PLAYERS - 1)) % PLAYERS);
+    }
+}
@@ -0,0 +1,190 @@
+package com.kfactor.matchmaking.ingest;
+
+import com.kfactor.matchmaking.model.Match;
+import com.kfactor.matchmaking.model.Player;
+import com.kfactor.matchmaking.repository.MatchRepository;
+import com.kfactor.matchmaking.repository.PlayerRepository;
+import com.kfactor.matchmaking.service.PlayerService;
+import jakarta.websocket.ClientEndpointConfig;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.Endpoint;
+import jakarta.websocket.EndpointConfig;
+import jakarta.websocket.MessageHandler;
+import jakarta.websocket.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:ingest",
+        "matchmaking.admission.trust-client-header=true",
+        "matchmaking.admission.write.client-burst=4",
+        "matchmaking.admission.write.client-rate=0.01"
+})
+class MatchIngestIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    private Player alice;
+    private Player bob;
+
+    @BeforeEach
+    void setUp() {
+        matchRepository.deleteAll();
+        playerRepository.deleteAll();
+        alice = playerService.createPlayer("alice");
+        bob = playerService.createPlayer("bob");
+    }
+
+    @Test
+    void submissions_AreRecordedAndAckedWithMatchIdsAndDeltas() throws Exception {
+        // Arrange
+        TestClient client = connect();
+
+        // Act - two messages pipelined without waiting, the second with a retry and a bad result
+        client.send(List.of(
+                new MatchFrames.Submission(1, alice.getId(), bob.getId(), alice.getId(), "game-1"),
+                new MatchFrames.Submission(2, alice.getId(), bob.getId(), bob.getId(), null)));
+        client.send(List.of(
+                new MatchFrames.Submission(3, alice.getId(), bob.getId(), alice.getId(), "game-1"),
+                new MatchFrames.Submission(4, alice.getId(), 999_999L, alice.getId(), null),
+                new MatchFrames.Submission(5, alice.getId(), bob.getId(), alice.getId(), "k".repeat(65))));
+        List<MatchFrames.Ack> acks = client.acks(5);
+        client.session.close();
+
+        // Assert
+        acks.sort(Comparator.comparingInt(MatchFrames.Ack::sequence));
+        assertEquals(MatchFrames.RECORDED, acks.get(0).status());
+        assertEquals(16, acks.get(0).ratingDeltaA());
+        assertEquals(-16, acks.get(0).ratingDeltaB());
+        Match first = matchRepository.findById(acks.get(0).matchId()).orElseThrow();
+        assertEquals(alice.getId(), first.getWinner().getId());
+        assertEquals(MatchFrames.RECORDED, acks.get(1).status());
+        assertTrue(acks.get(1).ratingDeltaB() > 0);
+
+        // The retry gets the original match back and is not applied again
+        assertEquals(acks.get(0).matchId(), acks.get(2).matchId());
+        assertEquals(2, matchRepository.count());
+
+        assertEquals(MatchFrames.REJECTED, acks.get(3).status());
+        assertEquals("Player not found with id: 999999", acks.get(3).error());
+        assertEquals(MatchFrames.REJECTED, acks.get(4).status());
+        assertEquals("Idempotency key must be at most 64 characters", acks.get(4).error());
+    }
+
+    @Test
+    void submissions_TakeFromTheClientsWriteBucket() throws Exception {
+        // Arrange - two connections from the same game server share its bucket of four
+        TestClient first = connect("server-9");
+        TestClient second = connect("server-9");
+        List<MatchFrames.Submission> submissions = new ArrayList<>();
+        for (int sequence = 1; sequence <= 5; sequence++) {
+            submissions.add(new MatchFrames.Submission(sequence, alice.getId(), bob.getId(), alice.getId(), null));
+        }
+
+        // Act
+        first.send(submissions);
+        List<MatchFrames.Ack> firstAcks = first.acks(5);
+        second.send(List.of(new MatchFrames.Submission(6, alice.getId(), bob.getId(), bob.getId(), null)));
+        MatchFrames.Ack secondAck = second.acks(1).get(0);
+
+        // Assert
+        firstAcks.sort(Comparator.comparingInt(MatchFrames.Ack::sequence));
+        assertTrue(firstAcks.subList(0, 4).stream().allMatch(ack -> ack.status() == MatchFrames.RECORDED));
+        assertEquals(MatchFrames.THROTTLED, firstAcks.get(4).status());
+        assertEquals("Too many write requests: rate limit exceeded", firstAcks.get(4).error());
+        assertEquals(MatchFrames.THROTTLED, secondAck.status());
+        assertEquals(4, matchRepository.count());
+    }
+
+    @Test
+    void truncatedMessage_ClosesTheConnection() throws Exception {
+        TestClient client = connect();
+
+        client.session.getBasicRemote().sendBinary(ByteBuffer.wrap(new byte[] {0, 0, 0, 1, 0, 0}));
+
+        CloseReason reason = client.closed.get(5, TimeUnit.SECONDS);
+        assertEquals(CloseReason.CloseCodes.PROTOCOL_ERROR, reason.getCloseCode());
+        assertEquals("Truncated match submission", reason.getReasonPhrase());
+        assertEquals(0, matchRepository.count());
+    }
+
+    private TestClient connect() throws Exception {
+        return connect(null);
+    }
+
+    private TestClient connect(String clientId) throws Exception {
+        TestClient client = new TestClient();
+        ClientEndpointConfig config = ClientEndpointConfig.Builder.create()
+                .configurator(new ClientEndpointConfig.Configurator() {
+                    @Override
+                    public void beforeRequest(Map<String, List<String>> headers) {
+                        if (clientId != null) {
+                            headers.put("X-Client-Id", List.of(clientId));
+                        }
+                    }
+                })
+                .build();
+        ContainerProvider.getWebSocketContainer().connectToServer(client, config,
+                URI.create("ws://localhost:" + port + "/ws/matches"));
+        return client;
+    }
+
+    static class TestClient extends Endpoint {
+        private final BlockingQueue<MatchFrames.Ack> acks = new LinkedBlockingQueue<>();
+        private final CompletableFuture<CloseReason> closed = new CompletableFuture<>();
+        private Session session;
+
+        @Override
+        public void onOpen(Session session, EndpointConfig config) {
+            this.session = session;
+            session.addMessageHandler(ByteBuffer.class,
+                    (MessageHandler.Whole<ByteBuffer>) message -> acks.addAll(MatchFrames.decodeAcks(message)));
+        }
+
+        @Override
+        public void onClose(Session session, CloseReason closeReason) {
+            closed.complete(closeReason);
+        }
+
+        void send(List<MatchFrames.Submission> submissions) throws Exception {
+            session.getBasicRemote().sendBinary(MatchFrames.encodeSubmissions(submissions));
+        }
+
+        List<MatchFrames.Ack> acks(int count) throws InterruptedException {
+            List<MatchFrames.Ack> received = new ArrayList<>();
+            while (received.size() < count) {
+                MatchFrames.Ack ack = acks.poll(5, TimeUnit.SECONDS);
+                assertNotNull(ack, "Timed out waiting for acks; got " + received);
+                received.add(ack);
+            }
+            return received;
+        }
+    }
+}
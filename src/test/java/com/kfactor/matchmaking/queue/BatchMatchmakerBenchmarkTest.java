@@ -0,0 +1,105 @@
+package com.kfactor.matchmaking.queue;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * One batch tick over 100,000 waiting players. It is compared with first-come pairing,
+ * which matches each player with the earliest queued player within the same gap limits,
+ * and with the batch matchmaker solved as a single band on one thread. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class BatchMatchmakerBenchmarkTest {
+
+    private static final int WAITING = 100_000;
+    private static final int RUNS = 21;
+    private static final int MAX_GAP = 200;
+    private static final Duration WAIT_SCALE = Duration.ofSeconds(30);
+    private static final Instant NOW = Instant.parse("2024-06-01T12:00:00Z");
+
+    @Test
+    void match_HundredThousandWaiting() {
+        Random random = new Random(42);
+        List<QueuedPlayer> waiting = new ArrayList<>(WAITING);
+        for (int i = 0; i < WAITING; i++) {
+            int rating = (int) Math.round(1500 + 300 * random.nextGaussian());
+            waiting.add(new QueuedPlayer(i, rating, NOW.minusMillis(random.nextInt(120_000))));
+        }
+
+        BatchMatchmaker banded = new BatchMatchmaker(MAX_GAP, WAIT_SCALE, 4096, ForkJoinPool.commonPool());
+        ForkJoinPool singleThread = new ForkJoinPool(1);
+        BatchMatchmaker oneBand = new BatchMatchmaker(MAX_GAP, WAIT_SCALE, Integer.MAX_VALUE, singleThread);
+        for (int warmup = 0; warmup < 20; warmup++) {
+            banded.match(waiting, NOW);
+            oneBand.match(waiting, NOW);
+        }
+
+        report("batch, fork/join bands", waiting, () -> banded.match(waiting, NOW));
+        report("batch, one band", waiting, () -> oneBand.match(waiting, NOW));
+        report("first-come", waiting, () -> firstCome(waiting));
+        singleThread.shutdown();
+    }
+
+    private static void report(String label, List<QueuedPlayer> waiting,
+                               Supplier<BatchMatchmaker.Result> tick) {
+        BatchMatchmaker.Result result = null;
+        double[] millis = new double[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            long started = System.nanoTime();
+            result = tick.get();
+            millis[run] = (System.nanoTime() - started) / 1e6;
+        }
+        Arrays.sort(millis);
+        double meanGap = result.pairings().stream().mapToInt(BatchMatchmaker.Pairing::ratingGap).average().orElse(0);
+        System.out.printf("%-24s %,d waiting -> %,d pairs in %d bands, mean rating gap %.2f, median %.1f ms%n",
+                label, waiting.size(), result.pairings().size(), result.bands(), meanGap, millis[RUNS / 2]);
+    }
+
+    /**
+     * Greedy first-come pairing: each player, in queue order, takes the earliest-queued
+     * unpaired player that the batch cost model would accept.
+     */
+    private static BatchMatchmaker.Result firstCome(List<QueuedPlayer> waiting) {
+        List<QueuedPlayer> byArrival = new ArrayList<>(waiting);
+        byArrival.sort((a, b) -> a.queuedAt().compareTo(b.queuedAt()));
+        // Open players bucketed by rating, in arrival order, so each lookup scans a few buckets
+        TreeMap<Integer, ArrayDeque<QueuedPlayer>> open = new TreeMap<>();
+        List<BatchMatchmaker.Pairing> pairings = new ArrayList<>();
+        double waitScale = WAIT_SCALE.toMillis() / 1000.0;
+        for (QueuedPlayer player : byArrival) {
+            double playerWait = Duration.between(player.queuedAt(), NOW).toMillis() / 1000.0;
+            QueuedPlayer best = null;
+            for (var bucket : open.subMap(player.rating() - 4 * MAX_GAP, true, player.rating() + 4 * MAX_GAP, true).values()) {
+                QueuedPlayer candidate = bucket.peekFirst();
+                double meanWait = (playerWait + Duration.between(candidate.queuedAt(), NOW).toMillis() / 1000.0) / 2;
+                double cost = Math.abs(candidate.rating() - player.rating()) / (1 + meanWait / waitScale);
+                if (cost < MAX_GAP && (best == null || candidate.queuedAt().isBefore(best.queuedAt()))) {
+                    best = candidate;
+                }
+            }
+            if (best == null) {
+                open.computeIfAbsent(player.rating(), r -> new ArrayDeque<>()).addLast(player);
+            } else {
+                var bucket = open.get(best.rating());
+                bucket.pollFirst();
+                if (bucket.isEmpty()) {
+                    open.remove(best.rating());
+                }
+                pairings.add(new BatchMatchmaker.Pairing(best, player));
+            }
+        }
+        return new BatchMatchmaker.Result(pairings, 1);
+    }
+}
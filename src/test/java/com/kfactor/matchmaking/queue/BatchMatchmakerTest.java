@@ -0,0 +1,101 @@
+package com.kfactor.matchmaking.queue;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchMatchmakerTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T12:00:00Z");
+
+    private final BatchMatchmaker matchmaker =
+            new BatchMatchmaker(200, Duration.ofSeconds(30), 4096, ForkJoinPool.commonPool());
+
+    @Test
+    void match_PairsRatingNeighbours() {
+        // Arrange
+        List<QueuedPlayer> waiting = List.of(
+                queued(1, 1500, 0), queued(2, 1000, 0), queued(3, 1490, 0), queued(4, 1020, 0));
+
+        // Act
+        BatchMatchmaker.Result result = matchmaker.match(waiting, NOW);
+
+        // Assert
+        assertEquals(Set.of(Set.of(1L, 3L), Set.of(2L, 4L)), pairedIds(result));
+    }
+
+    @Test
+    void match_FreshPlayersTooFarApart_KeepWaiting() {
+        // Act
+        BatchMatchmaker.Result result = matchmaker.match(List.of(queued(1, 1000, 0), queued(2, 1300, 0)), NOW);
+
+        // Assert
+        assertTrue(result.pairings().isEmpty());
+    }
+
+    @Test
+    void match_LongWaitersAcceptWiderGaps() {
+        // Act: a 300-point gap after a minute each is weighted down to 100
+        BatchMatchmaker.Result result = matchmaker.match(List.of(queued(1, 1000, 60), queued(2, 1300, 60)), NOW);
+
+        // Assert
+        assertEquals(1, result.pairings().size());
+    }
+
+    @Test
+    void match_PrefersTheCloserNeighbour() {
+        // Arrange: the middle player is within range of both, but closer to the top one
+        List<QueuedPlayer> waiting = List.of(queued(1, 1000, 0), queued(2, 1150, 0), queued(3, 1180, 0));
+
+        // Act
+        BatchMatchmaker.Result result = matchmaker.match(waiting, NOW);
+
+        // Assert
+        assertEquals(Set.of(Set.of(2L, 3L)), pairedIds(result));
+    }
+
+    @Test
+    void match_ManyBands_PairsEveryoneOnceAndNearlyAsWellAsOneBand() {
+        // Arrange
+        Random random = new Random(7);
+        List<QueuedPlayer> waiting = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            waiting.add(queued(i, (int) Math.round(1500 + 300 * random.nextGaussian()), random.nextInt(60)));
+        }
+        BatchMatchmaker oneBand = new BatchMatchmaker(200, Duration.ofSeconds(30), 1_000_000, ForkJoinPool.commonPool());
+        BatchMatchmaker manyBands = new BatchMatchmaker(200, Duration.ofSeconds(30), 512, ForkJoinPool.commonPool());
+
+        // Act
+        BatchMatchmaker.Result single = oneBand.match(waiting, NOW);
+        BatchMatchmaker.Result banded = manyBands.match(waiting, NOW);
+
+        // Assert
+        assertEquals(1, single.bands());
+        assertTrue(banded.bands() >= 32);
+        Set<Long> seen = new HashSet<>();
+        for (BatchMatchmaker.Pairing pairing : banded.pairings()) {
+            assertTrue(seen.add(pairing.playerA().playerId()));
+            assertTrue(seen.add(pairing.playerB().playerId()));
+        }
+        assertTrue(banded.pairings().size() >= single.pairings().size() - banded.bands());
+    }
+
+    private static QueuedPlayer queued(long id, int rating, int waitedSeconds) {
+        return new QueuedPlayer(id, rating, NOW.minusSeconds(waitedSeconds));
+    }
+
+    private static Set<Set<Long>> pairedIds(BatchMatchmaker.Result result) {
+        Set<Set<Long>> pairs = new HashSet<>();
+        result.pairings().forEach(p -> pairs.add(Set.of(p.playerA().playerId(), p.playerB().playerId())));
+        return pairs;
+    }
+}
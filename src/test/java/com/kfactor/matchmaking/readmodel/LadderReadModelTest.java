@@ -0,0 +1,109 @@
+package com.kfactor.matchmaking.readmodel;
+
+import com.kfactor.matchmaking.event.LadderMatchRecordedEvent;
+import com.kfactor.matchmaking.event.PlayerDeletedEvent;
+import com.kfactor.matchmaking.repository.LadderRatingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LadderReadModelTest {
+
+    private final Instant now = Instant.parse("2026-03-01T12:00:00Z");
+    private final LadderRatingRepository repository = mock(LadderRatingRepository.class);
+    private final LadderReadModel readModel = new LadderReadModel(repository, mock(PlatformTransactionManager.class));
+
+    @Test
+    void apply_OnlyReplacesRowsCountingFewerMatches() {
+        // Arrange
+        when(repository.findStandings("chess")).thenReturn(List.of(standing(1L, "alice", 1016, 1, 0)));
+        when(repository.findStandings("go")).thenReturn(List.of(standing(1L, "alice", 984, 0, 1)));
+        readModel.getTopPlayers("chess", 10);
+        readModel.getTopPlayers("go", 10);
+
+        // Act - a replay of the loaded match, then the next one
+        readModel.apply(event("chess", standing(1L, "alice", 1016, 1, 0), standing(2L, "bob", 984, 0, 1)));
+        readModel.apply(event("chess", standing(1L, "alice", 1001, 1, 1), standing(2L, "bob", 999, 1, 1)));
+        readModel.apply(event("chess", standing(1L, "alice", 1016, 1, 0), standing(2L, "bob", 984, 0, 1)));
+
+        // Assert - the other ladder keeps its own rating for the same player
+        assertEquals(1001, readModel.findById("chess", 1L).orElseThrow().view().rating());
+        assertEquals(2, readModel.findById("chess", 2L).orElseThrow().totalMatches());
+        assertEquals(984, readModel.findById("go", 1L).orElseThrow().view().rating());
+        assertEquals(List.of(1L, 2L), readModel.getTopPlayers("chess", 10).stream().map(PlayerView::id).toList());
+        verify(repository, times(1)).findStandings("chess");
+    }
+
+    @Test
+    void read_OfAnEmptyLadderKeepsNoPartition() {
+        // Arrange
+        when(repository.findStandings("unknown")).thenReturn(List.of());
+
+        // Act
+        List<PlayerView> top = readModel.getTopPlayers("unknown", 10);
+        readModel.apply(event("unknown", standing(1L, "alice", 1016, 1, 0), standing(2L, "bob", 984, 0, 1)));
+
+        // Assert - the dropped event is left to the next load
+        assertTrue(top.isEmpty());
+        assertFalse(readModel.isLoaded("unknown"));
+    }
+
+    @Test
+    void apply_RemovesDeletedPlayersFromEveryLadder() {
+        // Arrange
+        when(repository.findStandings("chess")).thenReturn(List.of(standing(1L, "alice", 1016, 1, 0),
+                standing(2L, "bob", 984, 0, 1)));
+        readModel.getTopPlayers("chess", 10);
+
+        // Act
+        readModel.apply(new PlayerDeletedEvent(1L, "alice", now));
+
+        // Assert
+        assertTrue(readModel.findById("chess", 1L).isEmpty());
+        assertEquals(1, readModel.getTopPlayers("chess", 10).size());
+    }
+
+    @Test
+    void load_OfOneLadderDoesNotHoldUpAnother() throws Exception {
+        // Arrange - the chess load stalls in the database
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findStandings("chess")).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return List.of(standing(1L, "alice", 1016, 1, 0));
+        });
+        when(repository.findStandings("go")).thenReturn(List.of(standing(1L, "alice", 1000, 0, 0)));
+        CompletableFuture<List<PlayerView>> chess = CompletableFuture.supplyAsync(() -> readModel.getTopPlayers("chess", 10));
+        assertTrue(loading.await(10, TimeUnit.SECONDS));
+
+        // Act - go is read and written while chess is still loading
+        readModel.getTopPlayers("go", 10);
+        readModel.apply(event("go", standing(1L, "alice", 1016, 1, 0), standing(2L, "bob", 984, 0, 1)));
+        List<PlayerView> go = readModel.getTopPlayers("go", 10);
+        boolean chessWaited = !chess.isDone();
+        release.countDown();
+
+        // Assert
+        assertTrue(chessWaited);
+        assertEquals(1016, go.get(0).rating());
+        assertEquals(1, chess.get(10, TimeUnit.SECONDS).size());
+    }
+
+    private LadderMatchRecordedEvent.Standing standing(long id, String username, int rating, int wins, int losses) {
+        return new LadderMatchRecordedEvent.Standing(id, username, rating, wins, losses, now, wins + losses > 0 ? now : null);
+    }
+
+    private LadderMatchRecordedEvent event(String ladder, LadderMatchRecordedEvent.Standing playerA,
+                                           LadderMatchRecordedEvent.Standing playerB) {
+        return new LadderMatchRecordedEvent(ladder, 1L, playerA, playerB, now);
+    }
+}
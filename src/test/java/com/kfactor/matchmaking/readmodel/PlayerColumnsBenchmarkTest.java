@@ -0,0 +1,116 @@
+package com.kfactor.matchmaking.readmodel;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Heap footprint and collector cost of five million players, held as
+ * {@link PlayerColumns} and as the object-per-player layout the read model used before:
+ * a skip-list map of entry records, a username map and a skip-list ranking of views.
+ * Each layout is measured alone, with the other unreachable. Run with
+ * {@code mvn test -Pbenchmark}; the profile raises the heap to fit the object layout.
+ */
+@Tag("benchmark")
+class PlayerColumnsBenchmarkTest {
+
+    private static final int PLAYERS = 5_000_000;
+    private static final int FULL_COLLECTIONS = 5;
+    // Short-lived garbage allocated while a layout is live, as request handling would
+    private static final long CHURN_BYTES = 8L << 30;
+    private static final Instant CREATED_AT = Instant.parse("2024-06-01T12:00:00Z");
+
+    private static volatile Object live;
+    private static volatile Object sink;
+
+    @Test
+    void footprint_FiveMillionPlayers() {
+        report("object per player", this::objectLayout);
+        report("columns", this::columns);
+    }
+
+    private void report(String label, Runnable build) {
+        live = null;
+        long before = usedAfterGc();
+        build.run();
+        long retained = usedAfterGc() - before;
+
+        long fullPauses = 0;
+        for (int i = 0; i < FULL_COLLECTIONS; i++) {
+            long started = System.nanoTime();
+            System.gc();
+            fullPauses += System.nanoTime() - started;
+        }
+
+        long[] collected = collectorStats();
+        for (long allocated = 0; allocated < CHURN_BYTES; allocated += 64 * 1024) {
+            sink = new byte[64 * 1024];
+        }
+        long[] after = collectorStats();
+
+        System.out.printf("%-18s %,d players: %,d MB retained (%d bytes each), full GC %.0f ms, "
+                        + "%d collections during churn taking %d ms%n",
+                label, PLAYERS, retained >> 20, retained / PLAYERS, fullPauses / 1e6 / FULL_COLLECTIONS,
+                after[0] - collected[0], after[1] - collected[1]);
+        live = null;
+    }
+
+    private void columns() {
+        PlayerColumns columns = new PlayerColumns(PLAYERS);
+        Random random = new Random(42);
+        for (long id = 1; id <= PLAYERS; id++) {
+            columns.put(new PlayerReadModel.PlayerEntry(
+                    new PlayerView(id, "player" + id, rating(random), CREATED_AT), random.nextInt(50),
+                    random.nextInt(50), CREATED_AT.plusSeconds(id)));
+        }
+        live = columns;
+    }
+
+    private void objectLayout() {
+        Map<Long, PlayerReadModel.PlayerEntry> players = new ConcurrentSkipListMap<>();
+        Map<String, Long> idsByUsername = new ConcurrentHashMap<>();
+        ConcurrentSkipListSet<PlayerView> ranking = new ConcurrentSkipListSet<>(Comparator
+                .comparingInt(PlayerView::rating).reversed()
+                .thenComparing(PlayerView::id));
+        Random random = new Random(42);
+        for (long id = 1; id <= PLAYERS; id++) {
+            // A fresh Instant per player, as each view built from an entity or event carries its own
+            PlayerView view = new PlayerView(id, "player" + id, rating(random), Instant.ofEpochSecond(CREATED_AT.getEpochSecond()));
+            players.put(id, new PlayerReadModel.PlayerEntry(view, random.nextInt(50), random.nextInt(50),
+                    CREATED_AT.plusSeconds(id)));
+            idsByUsername.put(view.username(), id);
+            ranking.add(view);
+        }
+        live = new Object[]{players, idsByUsername, ranking};
+    }
+
+    private static int rating(Random random) {
+        return (int) Math.round(1500 + 300 * random.nextGaussian());
+    }
+
+    private static long usedAfterGc() {
+        System.gc();
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long[] collectorStats() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += collector.getCollectionCount();
+            millis += collector.getCollectionTime();
+        }
+        return new long[]{count, millis};
+    }
+}
@@ -0,0 +1,148 @@
+package com.kfactor.matchmaking.readmodel;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerColumnsTest {
+
+    private final Instant now = Instant.parse("2026-03-01T12:00:00.123456789Z");
+
+    @Test
+    void put_GrowsPastInitialCapacity() {
+        // Arrange
+        PlayerColumns columns = new PlayerColumns(0);
+
+        // Act
+        for (long id = 1; id <= 1000; id++) {
+            columns.put(entry(id, "player" + id, (int) (1000 + id)));
+        }
+
+        // Assert
+        assertEquals(1000, columns.size());
+        assertEquals(1500, columns.findById(500L).orElseThrow().view().rating());
+        assertEquals(777L, columns.findByUsername("player777").orElseThrow().view().id());
+        assertEquals(now, columns.findById(1L).orElseThrow().view().createdAt());
+        assertEquals(List.of(1000L, 999L, 998L), columns.top(3).stream().map(PlayerView::id).toList());
+        assertEquals(1000, columns.all().size());
+    }
+
+    @Test
+    void remove_FreesUsernameForANewPlayer() {
+        // Arrange
+        PlayerColumns columns = new PlayerColumns(0);
+        columns.put(entry(1L, "alice", 1200));
+        columns.put(entry(2L, "bob", 1000));
+
+        // Act
+        columns.remove(1L);
+        columns.put(entry(3L, "alice", 1000));
+
+        // Assert
+        assertTrue(columns.findById(1L).isEmpty());
+        assertEquals(3L, columns.findByUsername("alice").orElseThrow().view().id());
+        assertEquals(List.of(2L, 3L), columns.top(10).stream().map(PlayerView::id).toList());
+        assertEquals(2, columns.size());
+    }
+
+    @Test
+    void removeAndAdd_ManyTimes_KeepsLookupsWorking() {
+        // Arrange - every cycle leaves a tombstone behind, so the tables must rehash
+        PlayerColumns columns = new PlayerColumns(0);
+        columns.put(entry(1L, "keeper", 1000));
+
+        // Act
+        for (long id = 2; id < 500; id++) {
+            columns.put(entry(id, "churn", 1000));
+            columns.remove(id);
+        }
+
+        // Assert
+        assertEquals(1, columns.size());
+        assertEquals(1L, columns.findByUsername("keeper").orElseThrow().view().id());
+        assertTrue(columns.findByUsername("churn").isEmpty());
+    }
+
+    @Test
+    void recordResult_UpdatesRatingCountersAndLastPlayed() {
+        // Arrange
+        PlayerColumns columns = new PlayerColumns(0);
+        columns.put(entry(1L, "alice", 1000));
+        columns.put(entry(2L, "bob", 1010));
+        Instant later = now.plusSeconds(60);
+
+        // Act
+        columns.recordResult(1L, 1L, 2L, 1000, 1016, true, later);
+        columns.recordResult(1L, 2L, 2L, null, null, false, now);
+
+        // Assert
+        PlayerReadModel.PlayerEntry alice = columns.findById(1L).orElseThrow();
+        assertEquals(1016, alice.view().rating());
+        assertEquals(1, alice.wins());
+        assertEquals(1, alice.losses());
+        assertEquals(later, alice.lastPlayedAt());
+        assertNull(columns.findById(2L).orElseThrow().lastPlayedAt());
+        assertEquals("alice", columns.top(1).get(0).username());
+    }
+
+    @Test
+    void top_StaysSortedThroughRatingChangesAndRemovals() {
+        // Arrange - enough players to split and drop ranking blocks many times
+        PlayerColumns columns = new PlayerColumns(0);
+        Random random = new Random(7);
+        Map<Long, Integer> ratings = new HashMap<>();
+        for (long id = 1; id <= 5000; id++) {
+            int rating = 900 + random.nextInt(200);
+            columns.put(entry(id, "player" + id, rating));
+            ratings.put(id, rating);
+        }
+
+        // Act
+        for (int i = 0; i < 20_000; i++) {
+            long id = 1 + random.nextInt(5000);
+            if (!ratings.containsKey(id)) {
+                continue;
+            }
+            if (random.nextInt(10) == 0) {
+                columns.remove(id);
+                ratings.remove(id);
+            } else {
+                int rating = ratings.get(id) + random.nextInt(33) - 16;
+                columns.setRating(id, rating);
+                ratings.put(id, rating);
+            }
+        }
+
+        // Assert
+        List<Long> expected = ratings.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+        assertEquals(expected, columns.top(5000).stream().map(PlayerView::id).toList());
+        assertEquals(ratings.get(expected.get(0)), columns.top(1).get(0).rating());
+    }
+
+    @Test
+    void put_StoresMultiByteUsernames() {
+        // Arrange
+        PlayerColumns columns = new PlayerColumns(0);
+
+        // Act
+        columns.put(entry(1L, "zoë", 1000));
+        columns.put(entry(2L, "łukasz", 1000));
+
+        // Assert
+        assertEquals("zoë", columns.findById(1L).orElseThrow().view().username());
+        assertEquals(2L, columns.findByUsername("łukasz").orElseThrow().view().id());
+    }
+
+    private PlayerReadModel.PlayerEntry entry(long id, String username, int rating) {
+        return new PlayerReadModel.PlayerEntry(new PlayerView(id, username, rating, now), 0, 0, null);
+    }
+}
@@ -0,0 +1,115 @@
+package com.kfactor.matchmaking.readmodel;
+
+import com.kfactor.matchmaking.event.MatchRecordedEvent;
+import com.kfactor.matchmaking.event.PlayerCreatedEvent;
+import com.kfactor.matchmaking.event.PlayerDeletedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerReadModelTest {
+
+    private PlayerReadModel readModel;
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        now = Instant.now();
+        readModel = new PlayerReadModel(Clock.systemUTC());
+        readModel.apply(new PlayerCreatedEvent(1L, "alice", 1000, now, now));
+        readModel.apply(new PlayerCreatedEvent(2L, "bob", 1000, now, now));
+    }
+
+    @Test
+    void apply_MatchRecorded_UpdatesRatingsCountersAndRanking() {
+        // Act
+        readModel.apply(match(10L, 2L));
+
+        // Assert
+        PlayerReadModel.PlayerEntry bob = readModel.findById(2L).orElseThrow();
+        assertEquals(1016, bob.view().rating());
+        assertEquals(1, bob.wins());
+        assertEquals(0, bob.losses());
+        assertEquals(1, readModel.findByUsername("alice").orElseThrow().losses());
+
+        List<PlayerView> top = readModel.getTopPlayers(2);
+        assertEquals("bob", top.get(0).username());
+        assertEquals("alice", top.get(1).username());
+    }
+
+    @Test
+    void apply_PlayerDeleted_RemovesPlayerEverywhere() {
+        // Act
+        readModel.apply(new PlayerDeletedEvent(1L, "alice", now));
+
+        // Assert
+        assertTrue(readModel.findById(1L).isEmpty());
+        assertTrue(readModel.findByUsername("alice").isEmpty());
+        assertEquals(1, readModel.getTopPlayers(10).size());
+    }
+
+    @Test
+    void rebuild_IgnoresOnlyMatchesCountedBySnapshot() {
+        // Arrange - match 9 was assigned its id but had not committed when the snapshot was read
+        PlayerView alice = new PlayerView(1L, "alice", 1016, now);
+        PlayerView bob = new PlayerView(2L, "bob", 984, now);
+        readModel.rebuild(() -> new PlayerReadModel.Snapshot(List.of(
+                new PlayerReadModel.PlayerEntry(alice, 1, 0, now),
+                new PlayerReadModel.PlayerEntry(bob, 0, 1, now)),
+                CountedMatches.between(8L, 10L, List.<long[]>of(new long[] {9L, 9L}))));
+
+        // Act - match 10 is inside the snapshot; 9 committed after it and 11 is new
+        readModel.apply(match(10L, 1L));
+        readModel.apply(match(9L, 2L));
+        readModel.apply(new MatchRecordedEvent(11L, 1L, "alice", 2L, "bob", 2L,
+                1016, 1001, 984, 999, now, now));
+
+        // Assert
+        PlayerReadModel.PlayerEntry entry = readModel.findById(1L).orElseThrow();
+        assertEquals(1, entry.wins());
+        assertEquals(2, entry.losses());
+        assertEquals(1001, entry.view().rating());
+        assertNotNull(readModel.getStatus().getLastRebuildAt());
+    }
+
+    @Test
+    void countedMatches_ExcludeGapsAndIdsOutsideTheRange() {
+        // Act
+        CountedMatches counted = CountedMatches.between(5L, 20L,
+                List.of(new long[] {7L, 8L}, new long[] {12L, 12L}));
+
+        // Assert
+        assertFalse(counted.contains(4L));
+        assertTrue(counted.contains(5L));
+        assertTrue(counted.contains(6L));
+        assertFalse(counted.contains(7L));
+        assertFalse(counted.contains(8L));
+        assertTrue(counted.contains(9L));
+        assertFalse(counted.contains(12L));
+        assertTrue(counted.contains(20L));
+        assertFalse(counted.contains(21L));
+        assertFalse(CountedMatches.none().contains(1L));
+    }
+
+    @Test
+    void getStatus_ReportsEventLag() {
+        // Act
+        readModel.apply(new PlayerCreatedEvent(3L, "charlie", 1000, now, Instant.now().minus(Duration.ofMillis(5))));
+
+        // Assert
+        assertEquals(3, readModel.getStatus().getEventsApplied());
+        assertTrue(readModel.getStatus().getLastEventLagMicros() >= 5_000);
+    }
+
+    private MatchRecordedEvent match(Long matchId, Long winnerId) {
+        boolean aliceWins = winnerId.equals(1L);
+        return new MatchRecordedEvent(matchId, 1L, "alice", 2L, "bob", winnerId,
+                1000, aliceWins ? 1016 : 984, 1000, aliceWins ? 984 : 1016, now, now);
+    }
+}
@@ -0,0 +1,72 @@
+package com.kfactor.matchmaking.readmodel;
+
+import com.kfactor.matchmaking.dto.RatingDistributionDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RatingHistogramTest {
+
+    @Test
+    void describe_MatchesSortedRatings() {
+        // Arrange
+        RatingHistogram histogram = new RatingHistogram();
+        Random random = new Random(3);
+        int[] ratings = new int[10_001];
+        for (int i = 0; i < ratings.length; i++) {
+            ratings[i] = (int) Math.round(1500 + 300 * random.nextGaussian());
+            histogram.add(ratings[i]);
+        }
+        Arrays.sort(ratings);
+
+        // Act
+        RatingDistributionDTO distribution = histogram.describe(50);
+
+        // Assert
+        double mean = Arrays.stream(ratings).average().orElseThrow();
+        double variance = Arrays.stream(ratings).mapToDouble(r -> (r - mean) * (r - mean)).sum() / ratings.length;
+        assertEquals(mean, distribution.getMean(), 1e-6);
+        assertEquals(Math.sqrt(variance), distribution.getStddev(), 1e-6);
+        assertEquals(ratings[0], distribution.getMin());
+        assertEquals(ratings[ratings.length - 1], distribution.getMax());
+        assertEquals(ratings[5000], distribution.getQuantiles().get("p50"));
+        assertEquals(ratings[9000], distribution.getQuantiles().get("p90"));
+        assertEquals(ratings.length, distribution.getBuckets().stream().mapToLong(b -> b.getCount()).sum());
+    }
+
+    @Test
+    void move_KeepsCountsAndGrowsDownwards() {
+        // Arrange
+        RatingHistogram histogram = new RatingHistogram();
+        histogram.add(1000);
+        histogram.add(1000);
+
+        // Act - far enough below the first rating to grow the counts
+        histogram.move(1000, -80);
+        histogram.move(1000, 1010);
+
+        // Assert
+        RatingDistributionDTO distribution = histogram.describe(100);
+        assertEquals(2, distribution.getPlayers());
+        assertEquals(-80, distribution.getMin());
+        assertEquals(1010, distribution.getMax());
+        assertEquals(-100, distribution.getBuckets().get(0).getFrom());
+        assertEquals(1, distribution.getBuckets().get(0).getCount());
+        assertEquals(1000, distribution.getBuckets().get(11).getFrom());
+        assertEquals(1, distribution.getBuckets().get(11).getCount());
+    }
+
+    @Test
+    void describe_Empty() {
+        // Act
+        RatingDistributionDTO distribution = new RatingHistogram().describe(25);
+
+        // Assert
+        assertEquals(0, distribution.getPlayers());
+        assertNull(distribution.getMin());
+        assertTrue(distribution.getBuckets().isEmpty());
+    }
+}
@@ -0,0 +1,62 @@
+package com.kfactor.matchmaking.readmodel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentResultsTest {
+
+    @Test
+    void record_KeepsTheNewestResultsNewestFirst() {
+        // Arrange
+        RecentResults recent = new RecentResults();
+
+        // Act
+        for (long match = 1; match <= 13; match++) {
+            recent.record(0, match, 100 + match, match % 2 == 0, match % 2 == 0 ? 16 : -16, match * 1_000_000_000L);
+        }
+
+        // Assert
+        List<RecentResult> results = recent.list(0);
+        assertEquals(RecentResults.SIZE, results.size());
+        assertEquals(13L, results.get(0).matchId());
+        assertEquals(113L, results.get(0).opponentId());
+        assertFalse(results.get(0).won());
+        assertEquals(-16, results.get(0).ratingDelta());
+        assertEquals(13L, results.get(0).playedAt().getEpochSecond());
+        assertTrue(results.get(1).won());
+        assertEquals(16, results.get(1).ratingDelta());
+        assertEquals(4L, results.get(9).matchId());
+    }
+
+    @Test
+    void remove_ClosesTheGapAndKeepsOrder() {
+        // Arrange
+        RecentResults recent = new RecentResults();
+        for (long match = 1; match <= 12; match++) {
+            recent.record(3, match, 7, true, 10, 0);
+        }
+
+        // Act
+        recent.remove(3, 8L);
+        recent.record(3, 13L, 7, true, 10, 0);
+
+        // Assert
+        assertEquals(List.of(13L, 12L, 11L, 10L, 9L, 7L, 6L, 5L, 4L, 3L),
+                recent.list(3).stream().map(RecentResult::matchId).toList());
+    }
+
+    @Test
+    void list_EmptyForPlayersWhoHaveNotPlayed() {
+        // Arrange
+        RecentResults recent = new RecentResults();
+        recent.record(5, 1L, 2, true, 16, 0);
+
+        // Assert
+        assertTrue(recent.list(0).isEmpty());
+        assertTrue(recent.list(99).isEmpty());
+        assertEquals(1, recent.list(5).size());
+    }
+}
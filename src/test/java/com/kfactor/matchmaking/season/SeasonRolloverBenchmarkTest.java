@@ -0,0 +1,75 @@
+package com.kfactor.matchmaking.season;
+
+import com.kfactor.matchmaking.dto.SeasonDTO;
+import com.kfactor.matchmaking.repository.PlayerBatchRepository;
+import com.kfactor.matchmaking.service.PlayerService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rollover of a million players through {@link SeasonService#rollover}, including the
+ * standings snapshot and the read model reload, versus a sample of players reset one at
+ * a time through {@link PlayerService#updateRating}. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:season-benchmark",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=warn",
+        "logging.level.org.hibernate.orm.jdbc.bind=warn"
+})
+class SeasonRolloverBenchmarkTest {
+
+    private static final int PLAYERS = 1_000_000;
+    private static final int SINGLE_SAMPLE = 5_000;
+
+    @Autowired
+    private SeasonService seasonService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private PlayerBatchRepository playerBatchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rollover_MillionPlayers() {
+        List<String> usernames = new ArrayList<>(PLAYERS);
+        for (int i = 0; i < PLAYERS; i++) {
+            usernames.add("player-" + i);
+        }
+        List<Long> ids = playerBatchRepository.insertAll(usernames, 1000, Instant.now());
+        jdbcTemplate.update("UPDATE players SET rating = 600 + MOD(id * 7919, 1200)");
+
+        long started = System.nanoTime();
+        for (int i = 0; i < SINGLE_SAMPLE; i++) {
+            Long id = ids.get(i);
+            playerService.updateRating(id, 1000 + (playerService.getPlayerById(id).getRating() - 1000) / 2);
+        }
+        double singleSeconds = (System.nanoTime() - started) / 1e9;
+
+        started = System.nanoTime();
+        SeasonDTO season = seasonService.rollover();
+        double rolloverSeconds = (System.nanoTime() - started) / 1e9;
+
+        System.out.printf("one at a time: %,d players in %.2f s (%,.0f/s, %.0f s projected for %,d)%n",
+                SINGLE_SAMPLE, singleSeconds, SINGLE_SAMPLE / singleSeconds,
+                singleSeconds * PLAYERS / SINGLE_SAMPLE, PLAYERS);
+        System.out.printf("rollover:      %,d players in %.2f s (%,.0f/s)%n",
+                PLAYERS, rolloverSeconds, PLAYERS / rolloverSeconds);
+        assertEquals(PLAYERS, season.getPlayers());
+        assertTrue(season.isResetComplete());
+    }
+}
@@ -0,0 +1,62 @@
+package com.kfactor.matchmaking.season;
+
+import com.kfactor.matchmaking.dto.SeasonStandingDTO;
+import com.kfactor.matchmaking.repository.SeasonStandingBlockRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StandingsCodecTest {
+
+    @Test
+    void encodeDecode_RoundTripsAllColumns() {
+        // Arrange
+        long[] playerIds = {42L, 7L, 3_000_000_000L};
+        String[] usernames = {"alice", "zoë", "łukasz"};
+        int[] ratings = {2400, 2400, -15};
+
+        // Act
+        List<SeasonStandingDTO> decoded = StandingsCodec.decode(
+                StandingsCodec.encode(playerIds, usernames, ratings, 3), 1001);
+
+        // Assert
+        assertEquals(3, decoded.size());
+        assertEquals(1001, decoded.get(0).getPlace());
+        assertEquals(1003, decoded.get(2).getPlace());
+        assertEquals(3_000_000_000L, decoded.get(2).getPlayerId());
+        assertEquals("zoë", decoded.get(1).getUsername());
+        assertEquals(2400, decoded.get(1).getRating());
+        assertEquals(-15, decoded.get(2).getRating());
+    }
+
+    @Test
+    void writer_CutsTheStreamIntoBlocksOfPlaces() {
+        // Arrange
+        SeasonStandingBlockRepository repository = mock(SeasonStandingBlockRepository.class);
+        StandingsWriter writer = new StandingsWriter(5L, repository);
+        int players = StandingsWriter.BLOCK * 2 + 17;
+
+        // Act
+        for (int i = 0; i < players; i++) {
+            writer.accept(i + 1, "player" + i, 2000 - i / 3);
+        }
+        long written = writer.finish();
+
+        // Assert - two full blocks and a partial one, each decoding to its own places
+        assertEquals(players, written);
+        ArgumentCaptor<byte[]> blocks = ArgumentCaptor.forClass(byte[].class);
+        verify(repository, times(3)).insert(eq(5L), anyInt(), blocks.capture());
+        verify(repository).insert(eq(5L), eq(2), any());
+        List<SeasonStandingDTO> last = StandingsCodec.decode(blocks.getAllValues().get(2), 2 * StandingsWriter.BLOCK + 1);
+        assertEquals(17, last.size());
+        assertEquals(players, last.get(16).getPlace());
+        assertEquals("player" + (players - 1), last.get(16).getUsername());
+        assertEquals(2000 - (players - 1) / 3, last.get(16).getRating());
+    }
+}
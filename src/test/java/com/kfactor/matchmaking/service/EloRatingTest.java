@@ -0,0 +1,65 @@
+package com.kfactor.matchmaking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EloRatingTest {
+
+    @Test
+    void newRatings_TwoPlayers_MatchesPlainElo() {
+        // Act
+        int[] updated = EloRating.newRatings(new int[] {1200, 1000}, new int[] {0, 1}, new int[] {2, 1});
+
+        // Assert
+        assertEquals(EloRating.newRating(1200, 1000, 0.0), updated[0]);
+        assertEquals(EloRating.newRating(1000, 1200, 1.0), updated[1]);
+    }
+
+    @Test
+    void newRatings_TeamMembersShareTheTeamChange() {
+        // Arrange: 1100 and 900 average 1000 against two 1000s
+        int[] ratings = {1100, 900, 1000, 1000};
+
+        // Act
+        int[] updated = EloRating.newRatings(ratings, new int[] {0, 0, 1, 1}, new int[] {1, 2});
+
+        // Assert
+        assertArrayEquals(new int[] {1116, 916, 984, 984}, updated);
+    }
+
+    @Test
+    void newRatings_FreeForAll_RewardsPlacementAndIsZeroSum() {
+        // Arrange: eight equal players finishing in order
+        int[] ratings = new int[8];
+        int[] teamOf = new int[8];
+        int[] placements = new int[8];
+        for (int i = 0; i < 8; i++) {
+            ratings[i] = 1000;
+            teamOf[i] = i;
+            placements[i] = i + 1;
+        }
+
+        // Act
+        int[] updated = EloRating.newRatings(ratings, teamOf, placements);
+
+        // Assert
+        assertEquals(1016, updated[0]);
+        assertEquals(984, updated[7]);
+        for (int i = 1; i < 8; i++) {
+            assertTrue(updated[i] < updated[i - 1]);
+        }
+        assertEquals(8000, Arrays.stream(updated).sum(), 4);
+    }
+
+    @Test
+    void newRatings_TiedTeamsAtEqualRatingsDoNotMove() {
+        // Act
+        int[] updated = EloRating.newRatings(new int[] {1000, 1000, 1000}, new int[] {0, 1, 2}, new int[] {1, 1, 1});
+
+        // Assert
+        assertArrayEquals(new int[] {1000, 1000, 1000}, updated);
+    }
+}
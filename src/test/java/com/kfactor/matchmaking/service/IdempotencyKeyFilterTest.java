@@ -0,0 +1,87 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.model.Match;
+import com.kfactor.matchmaking.service.WindowedLeaderboardServiceTest.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyKeyFilterTest {
+
+    private MutableClock clock;
+    private IdempotencyKeyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-03-01T12:00:00Z"));
+        filter = new IdempotencyKeyFilter(clock, 1000, 0.01, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void remember_MakesKeyVisibleToBloomAndRecentCache() {
+        // Arrange
+        Match match = new Match();
+
+        // Act
+        filter.remember("key-1", match);
+
+        // Assert
+        assertTrue(filter.mightContain("key-1"));
+        assertSame(match, filter.findRecent("key-1"));
+        assertNull(filter.findRecent("key-2"));
+    }
+
+    @Test
+    void findRecent_ForgetsKeysOutsideConfirmationWindow() {
+        // Arrange
+        filter.remember("key-1", new Match());
+
+        // Act
+        clock.advance(Duration.ofMinutes(11));
+
+        // Assert - the Bloom filter still flags it, so the caller falls back to the database
+        assertNull(filter.findRecent("key-1"));
+        assertTrue(filter.mightContain("key-1"));
+    }
+
+    @Test
+    void mightContain_KeepsFalsePositiveRateNearTarget() {
+        // Arrange
+        for (int i = 0; i < 1000; i++) {
+            filter.remember("seen-" + i, new Match());
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("unseen-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void remember_RotatesGenerationsWhenFull() {
+        // Arrange
+        filter.remember("oldest", new Match());
+        for (int i = 0; i < 1000; i++) {
+            filter.remember("first-" + i, new Match());
+        }
+
+        // Act - fills the second generation, which retires the one holding "oldest"
+        for (int i = 0; i < 2000; i++) {
+            filter.remember("second-" + i, new Match());
+        }
+
+        // Assert
+        assertTrue(filter.mightContain("second-1999"));
+        assertFalse(filter.mightContain("oldest") && filter.mightContain("first-0") && filter.mightContain("first-1"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.model.Match;
+import com.kfactor.matchmaking.model.Player;
+import com.kfactor.matchmaking.repository.MatchRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Retry storm: every submission is sent several times concurrently, as game servers do
+ * after a timeout. Each key gets its own pair of players so the test measures
+ * deduplication rather than contention on shared rating rows.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:retry-storm")
+class IdempotentMatchSubmissionLoadTest {
+
+    private static final int SUBMISSIONS = 50;
+    private static final int RETRIES = 10;
+
+    @Autowired
+    private MatchSubmissionService matchSubmissionService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Test
+    void retryStorm_RecordsEachMatchExactlyOnce() throws Exception {
+        // Arrange
+        List<Player[]> pairs = new ArrayList<>();
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            pairs.add(new Player[] {
+                    playerService.createPlayer("storm-a-" + i),
+                    playerService.createPlayer("storm-b-" + i)
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Match>> results = new ArrayList<>();
+        Set<Long> idsPerKey = ConcurrentHashMap.newKeySet();
+
+        // Act
+        try {
+            for (int i = 0; i < SUBMISSIONS; i++) {
+                Player a = pairs.get(i)[0];
+                Player b = pairs.get(i)[1];
+                String key = "storm-" + i;
+                for (int r = 0; r < RETRIES; r++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return matchSubmissionService.submit(a.getId(), b.getId(), a.getId(), key);
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<Match> result : results) {
+                idsPerKey.add(result.get().getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert - every retry got the original match back and ratings moved once
+        assertEquals(SUBMISSIONS, idsPerKey.size());
+        assertEquals(SUBMISSIONS, matchRepository.count());
+        for (Player[] pair : pairs) {
+            assertEquals(1016, playerService.getPlayerById(pair[0].getId()).getRating());
+            assertEquals(984, playerService.getPlayerById(pair[1].getId()).getRating());
+        }
+    }
+}
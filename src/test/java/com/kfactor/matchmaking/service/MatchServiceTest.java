@@ -1,5 +1,8 @@
 package com.kfactor.matchmaking.service;
 
+import com.kfactor.matchmaking.archive.ArchivedMatch;
+import com.kfactor.matchmaking.archive.MatchArchive;
+import com.kfactor.matchmaking.config.ReplicaLagGuard;
 import com.kfactor.matchmaking.model.Match;
 import com.kfactor.matchmaking.model.Player;
 import com.kfactor.matchmaking.repository.MatchRepository;
@@ -9,7 +12,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -17,6 +22,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +34,12 @@ class MatchServiceTest {
     @Mock
     private PlayerService playerService;
 
+    @Mock
+    private ReplicaLagGuard replicaLagGuard;
+
+    @Mock
+    private MatchArchive matchArchive;
+
     @InjectMocks
     private MatchService matchService;
 
@@ -156,6 +168,54 @@ class MatchServiceTest {
         verify(matchRepository, times(1)).findByPlayerAOrPlayerBOrderByPlayedAtDesc(playerA, playerA);
     }
 
+    @Test
+    void getMatchesForPlayer_Paged_ReadsThroughToArchive() {
+        // Arrange
+        Match live = new Match(playerA, playerB, playerA);
+        ArchivedMatch archived = new ArchivedMatch(1L, 1L, 2L, true, Instant.parse("2023-01-01T00:00:00Z"),
+                1000, 984, 1000, 1016);
+        when(playerService.getPlayerById(1L)).thenReturn(playerA);
+        when(matchRepository.countByPlayerAOrPlayerB(playerA, playerA)).thenReturn(1L);
+        when(matchRepository.findByPlayerAOrPlayerB(eq(playerA), eq(playerA), any(Pageable.class)))
+                .thenReturn(List.of(live));
+        when(matchArchive.findMatchesForPlayer(1L, 0, 2)).thenReturn(List.of(archived));
+        when(playerService.getPlayersByIds(any())).thenReturn(List.of(playerA, playerB));
+
+        // Act
+        List<Match> result = matchService.getMatchesForPlayer(1L, 0, 3);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertSame(live, result.get(0));
+        assertEquals(1L, result.get(1).getId());
+        assertEquals("bob", result.get(1).getWinner().getUsername());
+        assertEquals(984, result.get(1).getRatingAAfter());
+    }
+
+    @Test
+    void getMatchesForPlayer_PageBeyondLiveMatches_SkipsTheLiveTable() {
+        // Arrange
+        when(playerService.getPlayerById(1L)).thenReturn(playerA);
+        when(matchRepository.countByPlayerAOrPlayerB(playerA, playerA)).thenReturn(5L);
+
+        // Act
+        List<Match> result = matchService.getMatchesForPlayer(1L, 2, 5);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(matchRepository, never()).findByPlayerAOrPlayerB(any(), any(), any(Pageable.class));
+        verify(matchArchive).findMatchesForPlayer(1L, 5, 5);
+    }
+
+    @Test
+    void getMatchesForPlayer_ThrowsException_WhenSizeOutOfRange() {
+        // Arrange
+        when(playerService.getPlayerById(1L)).thenReturn(playerA);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> matchService.getMatchesForPlayer(1L, 0, 0));
+    }
+
     @Test
     void getMatchById_Success() {
         // Arrange
@@ -273,4 +333,23 @@ class MatchServiceTest {
         int pointsGainedByA = playerA.getRating() - initialRatingA;
         assertTrue(pointsGainedByA > 20, "Lower rated player should gain many points for upset win");
     }
+
+    @Test
+    void recordMatch_StoresRatingSnapshotOnMatch() {
+        // Arrange
+        when(playerService.getPlayerById(1L)).thenReturn(playerA);
+        when(playerService.getPlayerById(2L)).thenReturn(playerB);
+        when(matchRepository.save(any(Match.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Match result = matchService.recordMatch(1L, 2L, 1L);
+
+        // Assert - Equal ratings means the winner gains exactly half the K-factor
+        assertEquals(1000, result.getRatingABefore());
+        assertEquals(1016, result.getRatingAAfter());
+        assertEquals(1000, result.getRatingBBefore());
+        assertEquals(984, result.getRatingBAfter());
+        verify(playerService).updateRating(1L, 1016);
+        verify(playerService).updateRating(2L, 984);
+    }
 }
@@ -0,0 +1,131 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.model.Match;
+import com.kfactor.matchmaking.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MatchSubmissionServiceTest {
+
+    @Mock
+    private MatchService matchService;
+
+    @Mock
+    private IdempotencyKeyFilter idempotencyKeyFilter;
+
+    @InjectMocks
+    private MatchSubmissionService matchSubmissionService;
+
+    private Match match;
+
+    @BeforeEach
+    void setUp() {
+        Player playerA = player("alice", 1L);
+        Player playerB = player("bob", 2L);
+        match = new Match(playerA, playerB, playerA);
+    }
+
+    private Player player(String username, Long id) {
+        Player player = new Player(username);
+        try {
+            var idField = Player.class.getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(player, id);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        return player;
+    }
+
+    @Test
+    void submit_WithoutKey_RecordsDirectly() {
+        // Arrange
+        when(matchService.recordMatch(1L, 2L, 1L)).thenReturn(match);
+
+        // Act
+        Match result = matchSubmissionService.submit(1L, 2L, 1L, null);
+
+        // Assert
+        assertSame(match, result);
+        verifyNoInteractions(idempotencyKeyFilter);
+    }
+
+    @Test
+    void submit_NewKey_RecordsWithoutLookup() {
+        // Arrange
+        when(idempotencyKeyFilter.mightContain("k")).thenReturn(false);
+        when(matchService.recordMatch(1L, 2L, 1L, "k")).thenReturn(match);
+
+        // Act
+        Match result = matchSubmissionService.submit(1L, 2L, 1L, "k");
+
+        // Assert
+        assertSame(match, result);
+        verify(matchService, never()).findByIdempotencyKey(anyString());
+        verify(idempotencyKeyFilter).remember("k", match);
+    }
+
+    @Test
+    void submit_RecentKey_ReturnsOriginalWithoutRecording() {
+        // Arrange
+        when(idempotencyKeyFilter.mightContain("k")).thenReturn(true);
+        when(idempotencyKeyFilter.findRecent("k")).thenReturn(match);
+
+        // Act
+        Match result = matchSubmissionService.submit(1L, 2L, 1L, "k");
+
+        // Assert
+        assertSame(match, result);
+        verify(matchService, never()).recordMatch(anyLong(), anyLong(), anyLong(), anyString());
+    }
+
+    @Test
+    void submit_BloomFalsePositive_FallsBackToDatabaseThenRecords() {
+        // Arrange
+        when(idempotencyKeyFilter.mightContain("k")).thenReturn(true);
+        when(matchService.findByIdempotencyKey("k")).thenReturn(Optional.empty());
+        when(matchService.recordMatch(1L, 2L, 1L, "k")).thenReturn(match);
+
+        // Act
+        Match result = matchSubmissionService.submit(1L, 2L, 1L, "k");
+
+        // Assert
+        assertSame(match, result);
+    }
+
+    @Test
+    void submit_LosesRaceOnUniqueConstraint_ReturnsWinner() {
+        // Arrange
+        when(matchService.recordMatch(1L, 2L, 1L, "k")).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(matchService.findByIdempotencyKey("k")).thenReturn(Optional.of(match));
+
+        // Act
+        Match result = matchSubmissionService.submit(1L, 2L, 1L, "k");
+
+        // Assert
+        assertSame(match, result);
+        verify(idempotencyKeyFilter).remember("k", match);
+    }
+
+    @Test
+    void submit_KeyReusedForDifferentMatch_ThrowsException() {
+        // Arrange
+        when(idempotencyKeyFilter.mightContain("k")).thenReturn(true);
+        when(idempotencyKeyFilter.findRecent("k")).thenReturn(match);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> matchSubmissionService.submit(1L, 2L, 2L, "k"));
+    }
+}
@@ -0,0 +1,138 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.dto.MatchVoidResultDTO;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Voiding a match with frontier re-propagation versus replaying the whole match history.
+ * The full replay reads every match and rewrites every snapshot and rating with plain
+ * JDBC batches; it also serves as the reference the incremental result is checked
+ * against. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:void-benchmark",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=warn",
+        "logging.level.org.hibernate.orm.jdbc.bind=warn"
+})
+class MatchVoidBenchmarkTest {
+
+    private static final int PLAYERS = 1_000;
+    private static final int MATCHES = 100_000;
+    private static final int INITIAL_RATING = 1000;
+
+    @Autowired
+    private MatchVoidService matchVoidService;
+
+    @Autowired
+    private PlayerRegistrationService playerRegistrationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void voidMatch_IncrementalVersusFullReplay() {
+        List<String> usernames = new ArrayList<>(PLAYERS);
+        for (int i = 0; i < PLAYERS; i++) {
+            usernames.add("void-bench-" + i);
+        }
+        List<Long> playerIds = new ArrayList<>(playerRegistrationService.registerAll(usernames).getCreated().values());
+        List<Long> matchIds = seedHistory(playerIds);
+
+        // Recent match: the frontier dies out quickly. Mid-history match: it spreads to everyone.
+        for (long matchId : new long[] {matchIds.get(MATCHES - 500), matchIds.get(MATCHES / 2)}) {
+            long started = System.nanoTime();
+            MatchVoidResultDTO result = matchVoidService.voidMatch(matchId);
+            double incrementalMillis = (System.nanoTime() - started) / 1e6;
+
+            started = System.nanoTime();
+            fullReplay(playerIds);
+            double replayMillis = (System.nanoTime() - started) / 1e6;
+
+            System.out.printf("void match %d: incremental touched %d matches, %d players in %.1f ms; " +
+                            "full replay of %d matches in %.1f ms%n",
+                    matchId, result.getTouchedMatches(), result.getPlayersUpdated(), incrementalMillis,
+                    MATCHES, replayMillis);
+        }
+    }
+
+    private List<Long> seedHistory(List<Long> playerIds) {
+        Random random = new Random(42);
+        Map<Long, Integer> ratings = new HashMap<>();
+        playerIds.forEach(id -> ratings.put(id, INITIAL_RATING));
+        Instant playedAt = Instant.parse("2024-01-01T00:00:00Z");
+
+        List<Object[]> rows = new ArrayList<>(MATCHES);
+        for (int i = 0; i < MATCHES; i++) {
+            long playerA = playerIds.get(random.nextInt(PLAYERS));
+            long playerB = playerIds.get(random.nextInt(PLAYERS));
+            while (playerB == playerA) {
+                playerB = playerIds.get(random.nextInt(PLAYERS));
+            }
+            boolean aWins = random.nextBoolean();
+            int beforeA = ratings.get(playerA);
+            int beforeB = ratings.get(playerB);
+            int afterA = EloRating.newRating(beforeA, beforeB, aWins ? 1.0 : 0.0);
+            int afterB = EloRating.newRating(beforeB, beforeA, aWins ? 0.0 : 1.0);
+            ratings.put(playerA, afterA);
+            ratings.put(playerB, afterB);
+            rows.add(new Object[] {playerA, playerB, aWins ? playerA : playerB,
+                    Timestamp.from(playedAt.plusSeconds(i)), beforeA, afterA, beforeB, afterB});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO matches (player_a_id, player_b_id, winner_id, played_at, " +
+                "ratingabefore, ratingaafter, ratingbbefore, ratingbafter, voided) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, false)", rows);
+        jdbcTemplate.batchUpdate("UPDATE players SET rating = ? WHERE id = ?",
+                ratings.entrySet().stream().map(e -> new Object[] {e.getValue(), e.getKey()}).toList());
+        return jdbcTemplate.queryForList("SELECT id FROM matches ORDER BY id", Long.class);
+    }
+
+    /**
+     * Recomputes every non-voided match from the initial ratings, checks the ratings left
+     * by the incremental path against it, then writes everything back.
+     */
+    private void fullReplay(List<Long> playerIds) {
+        Map<Long, Integer> ratings = new HashMap<>();
+        playerIds.forEach(id -> ratings.put(id, INITIAL_RATING));
+        List<Object[]> snapshots = new ArrayList<>(MATCHES);
+        String sql = "SELECT id, player_a_id, player_b_id, winner_id FROM matches WHERE voided = false ORDER BY id";
+        jdbcTemplate.query(sql, rs -> {
+            long playerA = rs.getLong(2);
+            long playerB = rs.getLong(3);
+            boolean aWins = rs.getLong(4) == playerA;
+            int beforeA = ratings.get(playerA);
+            int beforeB = ratings.get(playerB);
+            int afterA = EloRating.newRating(beforeA, beforeB, aWins ? 1.0 : 0.0);
+            int afterB = EloRating.newRating(beforeB, beforeA, aWins ? 0.0 : 1.0);
+            ratings.put(playerA, afterA);
+            ratings.put(playerB, afterB);
+            snapshots.add(new Object[] {beforeA, afterA, beforeB, afterB, rs.getLong(1)});
+        });
+
+        Map<Long, Integer> stored = new HashMap<>();
+        jdbcTemplate.query("SELECT id, rating FROM players", rs -> {
+            stored.put(rs.getLong(1), rs.getInt(2));
+        });
+        assertEquals(ratings, stored, "incremental re-propagation diverged from a full replay");
+
+        jdbcTemplate.batchUpdate("UPDATE matches SET ratingabefore = ?, ratingaafter = ?, " +
+                "ratingbbefore = ?, ratingbafter = ? WHERE id = ?", snapshots);
+        jdbcTemplate.batchUpdate("UPDATE players SET rating = ? WHERE id = ?",
+                ratings.entrySet().stream().map(e -> new Object[] {e.getValue(), e.getKey()}).toList());
+    }
+}
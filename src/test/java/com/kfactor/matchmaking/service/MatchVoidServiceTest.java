@@ -0,0 +1,141 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.dto.MatchVoidResultDTO;
+import com.kfactor.matchmaking.event.MatchVoidedEvent;
+import com.kfactor.matchmaking.model.Match;
+import com.kfactor.matchmaking.model.Player;
+import com.kfactor.matchmaking.repository.MatchRatingRepository;
+import com.kfactor.matchmaking.repository.MatchRatingRepository.RatedMatch;
+import com.kfactor.matchmaking.repository.MatchRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MatchVoidServiceTest {
+
+    @Mock
+    private MatchRepository matchRepository;
+
+    @Mock
+    private MatchRatingRepository matchRatingRepository;
+
+    @Mock
+    private PlayerService playerService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private MatchVoidService matchVoidService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void voidMatch_ReplaysOnlyTheDependencyFrontier() {
+        // Arrange: alice (1) beat bob (2), then bob beat carol (3), then carol beat dave (4)
+        Match voided = Match.restore(10L, Player.deleted(1L), Player.deleted(2L), Player.deleted(1L),
+                Instant.parse("2024-01-01T00:00:00Z"), 1000, 1016, 1000, 984);
+        RatedMatch bobCarol = rated(11L, 2L, 3L, 2L, 984, 1000);
+        RatedMatch carolDave = rated(12L, 3L, 4L, 3L, bobCarol.ratingBAfter(), 1000);
+        when(matchRepository.findForUpdate(10L)).thenReturn(Optional.of(voided));
+        when(matchRatingRepository.findLaterMatchesOfPlayers(eq(10L), anyCollection(), anyInt()))
+                .thenReturn(List.of(bobCarol));
+        when(matchRatingRepository.findMatchesOfPlayerBetween(3L, 12L, Long.MAX_VALUE))
+                .thenReturn(List.of(carolDave));
+        when(playerService.lockPlayers(anyCollection())).thenReturn(List.of(
+                player(1L, 1016), player(2L, bobCarol.ratingAAfter()), player(3L, carolDave.ratingAAfter())));
+
+        // Act
+        MatchVoidResultDTO result = matchVoidService.voidMatch(10L);
+
+        // Assert
+        assertTrue(voided.isVoided());
+        assertEquals(2, result.getTouchedMatches());
+        assertEquals(3, result.getPlayersUpdated());
+        ArgumentCaptor<List<RatedMatch>> corrected = ArgumentCaptor.forClass(List.class);
+        verify(matchRatingRepository).updateRatings(corrected.capture());
+        assertEquals(List.of(bobCarol.withRatings(1000, 1016, 1000, 984), carolDave.withRatings(984, 1001, 1000, 983)),
+                corrected.getValue());
+        // Carol's matches are only fetched once she joins the frontier at match 11
+        verify(matchRatingRepository, times(1)).findLaterMatchesOfPlayers(anyLong(), anyCollection(), anyInt());
+        verify(playerService).updateRating(1L, 1000);
+        verify(playerService).updateRating(2L, 1016);
+        verify(playerService).updateRating(3L, 1001);
+        // Dave's rating comes out the same, so he never joins the frontier
+        verify(playerService, never()).updateRating(eq(4L), anyInt());
+        verify(eventPublisher).publishEvent(any(MatchVoidedEvent.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void voidMatch_KeepsRatingChangesBetweenMatches() {
+        // Arrange: alice (1) beat bob (2); bob was then raised to 1100 before beating carol (3),
+        // and has since been raised by another 50
+        Match voided = Match.restore(10L, Player.deleted(1L), Player.deleted(2L), Player.deleted(1L),
+                Instant.parse("2024-01-01T00:00:00Z"), 1000, 1016, 1000, 984);
+        RatedMatch bobCarol = rated(11L, 2L, 3L, 2L, 1100, 1000);
+        when(matchRepository.findForUpdate(10L)).thenReturn(Optional.of(voided));
+        when(matchRatingRepository.findLaterMatchesOfPlayers(eq(10L), anyCollection(), anyInt()))
+                .thenReturn(List.of(bobCarol));
+        when(playerService.lockPlayers(anyCollection())).thenReturn(List.of(
+                player(1L, 1016), player(2L, bobCarol.ratingAAfter() + 50), player(3L, bobCarol.ratingBAfter())));
+
+        // Act
+        matchVoidService.voidMatch(10L);
+
+        // Assert - bob goes into the later match with the raise plus the 16 points he lost
+        int bobAfter = EloRating.newRating(1116, 1000, 1.0);
+        int carolAfter = EloRating.newRating(1000, 1116, 0.0);
+        ArgumentCaptor<List<RatedMatch>> corrected = ArgumentCaptor.forClass(List.class);
+        verify(matchRatingRepository).updateRatings(corrected.capture());
+        assertEquals(List.of(bobCarol.withRatings(1116, bobAfter, 1000, carolAfter)), corrected.getValue());
+        verify(playerService).updateRating(1L, 1000);
+        verify(playerService).updateRating(2L, bobAfter + 50);
+        verify(playerService).updateRating(3L, carolAfter);
+    }
+
+    @Test
+    void voidMatch_ThrowsException_WhenAlreadyVoided() {
+        // Arrange
+        Match voided = Match.restore(10L, Player.deleted(1L), Player.deleted(2L), Player.deleted(1L),
+                Instant.parse("2024-01-01T00:00:00Z"), 1000, 1016, 1000, 984);
+        voided.setVoided(true);
+        when(matchRepository.findForUpdate(10L)).thenReturn(Optional.of(voided));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            matchVoidService.voidMatch(10L);
+        });
+        assertEquals("Match is already voided", exception.getMessage());
+        verify(playerService, never()).updateRating(anyLong(), anyInt());
+    }
+
+    private static Player player(long id, int rating) {
+        Player player = Player.deleted(id);
+        player.setRating(rating);
+        return player;
+    }
+
+    private static RatedMatch rated(long id, long playerA, long playerB, long winner, int ratingA, int ratingB) {
+        double scoreA = winner == playerA ? 1.0 : 0.0;
+        return new RatedMatch(id, playerA, playerB, winner,
+                ratingA, EloRating.newRating(ratingA, ratingB, scoreA),
+                ratingB, EloRating.newRating(ratingB, ratingA, 1.0 - scoreA));
+    }
+}
@@ -0,0 +1,70 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.dto.BatchRegistrationResultDTO;
+import com.kfactor.matchmaking.readmodel.PlayerReadModel;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Registration throughput: 100k players through the batch endpoint's service versus a
+ * sample registered one at a time through {@link PlayerService#createPlayer}.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:registration-benchmark",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=warn",
+        "logging.level.org.hibernate.orm.jdbc.bind=warn"
+})
+class PlayerBatchRegistrationBenchmarkTest {
+
+    private static final int PLAYERS = 100_000;
+    private static final int SINGLE_SAMPLE = 5_000;
+    private static final int REQUEST_SIZE = 10_000;
+
+    @Autowired
+    private PlayerRegistrationService playerRegistrationService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private PlayerReadModel playerReadModel;
+
+    @Test
+    void registration_100kPlayers() {
+        long started = System.nanoTime();
+        for (int i = 0; i < SINGLE_SAMPLE; i++) {
+            playerService.createPlayer("single-" + i);
+        }
+        double singleSeconds = (System.nanoTime() - started) / 1e9;
+
+        started = System.nanoTime();
+        int created = 0;
+        for (int from = 0; from < PLAYERS; from += REQUEST_SIZE) {
+            List<String> usernames = new ArrayList<>(REQUEST_SIZE);
+            for (int i = from; i < from + REQUEST_SIZE; i++) {
+                usernames.add("batch-" + i);
+            }
+            BatchRegistrationResultDTO result = playerRegistrationService.registerAll(usernames);
+            created += result.getCreated().size();
+        }
+        double batchSeconds = (System.nanoTime() - started) / 1e9;
+
+        System.out.printf("createPlayer: %d players in %.2fs (%.0f/s)%n",
+                SINGLE_SAMPLE, singleSeconds, SINGLE_SAMPLE / singleSeconds);
+        System.out.printf("batch:        %d players in %.2fs (%.0f/s)%n",
+                created, batchSeconds, created / batchSeconds);
+
+        assertEquals(PLAYERS, created);
+        assertEquals(PLAYERS + SINGLE_SAMPLE, playerReadModel.getAllPlayers().size());
+    }
+}
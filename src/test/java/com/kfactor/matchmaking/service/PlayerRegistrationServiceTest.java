@@ -0,0 +1,84 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.dto.BatchRegistrationResultDTO;
+import com.kfactor.matchmaking.event.PlayerCreatedEvent;
+import com.kfactor.matchmaking.repository.PlayerBatchRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlayerRegistrationServiceTest {
+
+    @Mock
+    private PlayerBatchRepository playerBatchRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private PlayerRegistrationService playerRegistrationService;
+
+    @Test
+    void registerAll_CreatesNewPlayersAndReportsConflicts() {
+        // Arrange
+        when(playerBatchRepository.findExistingUsernames(any())).thenReturn(Set.of("bob"));
+        when(playerBatchRepository.insertAll(eq(List.of("alice", "charlie")), eq(1000), any()))
+                .thenReturn(List.of(10L, 11L));
+
+        // Act
+        BatchRegistrationResultDTO result = playerRegistrationService.registerAll(
+                Arrays.asList("alice", "bob", "ab", "charlie", "alice", null));
+
+        // Assert
+        assertEquals(List.of("alice", "charlie"), List.copyOf(result.getCreated().keySet()));
+        assertEquals(10L, result.getCreated().get("alice"));
+        assertEquals("Username already exists", result.getConflicts().get("bob"));
+        assertEquals("Username must be between 3 and 20 characters", result.getConflicts().get("ab"));
+        assertEquals("Duplicate username in request", result.getConflicts().get("alice"));
+        assertEquals("Username is required", result.getConflicts().get("null"));
+        verify(eventPublisher, times(2)).publishEvent(any(PlayerCreatedEvent.class));
+    }
+
+    @Test
+    void registerAll_ChecksUniquenessWithOneSetBasedLookup() {
+        // Arrange
+        when(playerBatchRepository.findExistingUsernames(any())).thenReturn(Set.of());
+        when(playerBatchRepository.insertAll(anyList(), anyInt(), any())).thenReturn(List.of(1L, 2L, 3L));
+
+        // Act
+        playerRegistrationService.registerAll(List.of("alice", "bob", "charlie"));
+
+        // Assert
+        verify(playerBatchRepository, times(1)).findExistingUsernames(any());
+        verify(playerBatchRepository, times(1)).insertAll(anyList(), anyInt(), any());
+    }
+
+    @Test
+    void registerAll_ThrowsException_WhenUsernameRegisteredConcurrently() {
+        // Arrange
+        when(playerBatchRepository.findExistingUsernames(any())).thenReturn(Set.of());
+        when(playerBatchRepository.insertAll(anyList(), anyInt(), any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> playerRegistrationService.registerAll(List.of("alice")));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
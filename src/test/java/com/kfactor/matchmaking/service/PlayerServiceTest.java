@@ -1,5 +1,7 @@
 package com.kfactor.matchmaking.service;
 
+import com.kfactor.matchmaking.config.ReplicaLagGuard;
+import com.kfactor.matchmaking.event.PlayerRatingChangedEvent;
 import com.kfactor.matchmaking.model.Player;
 import com.kfactor.matchmaking.repository.PlayerRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +10,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.Arrays;
 import java.util.List;
@@ -23,6 +27,15 @@ class PlayerServiceTest {
     @Mock
     private PlayerRepository playerRepository;
 
+    @Mock
+    private ReplicaLagGuard replicaLagGuard;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UsernameRegistry usernameRegistry;
+
     @InjectMocks
     private PlayerService playerService;
 
@@ -37,7 +50,7 @@ class PlayerServiceTest {
     @Test
     void createPlayer_Success() {
         // Arrange
-        when(playerRepository.existsByUsername("testuser")).thenReturn(false);
+        when(usernameRegistry.mightContain("testuser")).thenReturn(false);
         when(playerRepository.save(any(Player.class))).thenReturn(testPlayer);
 
         // Act
@@ -48,11 +61,13 @@ class PlayerServiceTest {
         assertEquals("testuser", result.getUsername());
         assertEquals(1000, result.getRating());
         verify(playerRepository, times(1)).save(any(Player.class));
+        verify(playerRepository, never()).existsByUsername(any());
     }
 
     @Test
     void createPlayer_ThrowsException_WhenUsernameExists() {
         // Arrange
+        when(usernameRegistry.mightContain("testuser")).thenReturn(true);
         when(playerRepository.existsByUsername("testuser")).thenReturn(true);
 
         // Act & Assert
@@ -62,6 +77,33 @@ class PlayerServiceTest {
         verify(playerRepository, never()).save(any(Player.class));
     }
 
+    @Test
+    void createPlayer_Success_WhenRegistryHitIsStale() {
+        // Arrange
+        when(usernameRegistry.mightContain("testuser")).thenReturn(true);
+        when(playerRepository.existsByUsername("testuser")).thenReturn(false);
+        when(playerRepository.save(any(Player.class))).thenReturn(testPlayer);
+
+        // Act
+        Player result = playerService.createPlayer("testuser");
+
+        // Assert
+        assertEquals("testuser", result.getUsername());
+    }
+
+    @Test
+    void createPlayer_ThrowsException_WhenUniqueConstraintViolated() {
+        // Arrange
+        when(usernameRegistry.mightContain("testuser")).thenReturn(false);
+        when(playerRepository.save(any(Player.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            playerService.createPlayer("testuser");
+        });
+        assertEquals("Username already exists", exception.getMessage());
+    }
+
     @Test
     void getPlayerById_Success() {
         // Arrange
@@ -127,6 +169,7 @@ class PlayerServiceTest {
         // Assert
         assertEquals(1200, result.getRating());
         verify(playerRepository, times(1)).save(testPlayer);
+        verify(eventPublisher, times(1)).publishEvent(any(PlayerRatingChangedEvent.class));
     }
 
     @Test
@@ -1,16 +1,27 @@
 package com.kfactor.matchmaking.service;
 
+import com.kfactor.matchmaking.archive.MatchArchive;
+import com.kfactor.matchmaking.config.ReplicaLagGuard;
 import com.kfactor.matchmaking.dto.PlayerStatsDTO;
+import com.kfactor.matchmaking.dto.RatingPointDTO;
+import com.kfactor.matchmaking.flight.SingleFlightProperties;
 import com.kfactor.matchmaking.model.Player;
 import com.kfactor.matchmaking.repository.MatchRepository;
+import com.kfactor.matchmaking.repository.PlayerArchiveStatsRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,6 +33,18 @@ class StatsServiceTest {
     @Mock
     private MatchRepository matchRepository;
 
+    @Mock
+    private ReplicaLagGuard replicaLagGuard;
+
+    @Mock
+    private MatchArchive matchArchive;
+
+    @Mock
+    private PlayerArchiveStatsRepository playerArchiveStatsRepository;
+
+    @Spy
+    private SingleFlightProperties singleFlightProperties = new SingleFlightProperties();
+
     @InjectMocks
     private StatsService statsService;
 
@@ -83,4 +106,57 @@ class StatsServiceTest {
         // Assert
         assertEquals(75.0, result.getWinRate(), 0.01);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getRatingHistory_ReturnsAllPoints_WhenBelowThreshold() {
+        // Arrange
+        List<RatingPointDTO> history = history(10);
+        when(playerService.getPlayerById(1L)).thenReturn(testPlayer);
+        when(matchRepository.findRatingHistory(any(), any(Instant.class), any(Instant.class))).thenReturn(history);
+
+        // Act
+        List<RatingPointDTO> result = statsService.getRatingHistory(1L, null, null, 50);
+
+        // Assert
+        assertEquals(10, result.size());
+    }
+
+    @Test
+    void getRatingHistory_DownsamplesLargeHistory() {
+        // Arrange - a single spike should survive downsampling
+        List<RatingPointDTO> history = history(10_000);
+        history.set(5_000, new RatingPointDTO(history.get(5_000).getPlayedAt(), 2500));
+        when(playerService.getPlayerById(1L)).thenReturn(testPlayer);
+        when(matchRepository.findRatingHistory(any(), any(Instant.class), any(Instant.class))).thenReturn(history);
+
+        // Act
+        List<RatingPointDTO> result = statsService.getRatingHistory(1L, null, null, 100);
+
+        // Assert
+        assertEquals(100, result.size());
+        assertEquals(history.get(0).getPlayedAt(), result.get(0).getPlayedAt());
+        assertEquals(history.get(9_999).getPlayedAt(), result.get(99).getPlayedAt());
+        assertTrue(result.stream().anyMatch(point -> point.getRating() == 2500));
+    }
+
+    @Test
+    void getRatingHistory_ThrowsException_WhenPointsTooSmall() {
+        // Arrange
+        when(playerService.getPlayerById(1L)).thenReturn(testPlayer);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> {
+            statsService.getRatingHistory(1L, null, null, 2);
+        });
+        verify(matchRepository, never()).findRatingHistory(any(), any(), any());
+    }
+
+    private List<RatingPointDTO> history(int size) {
+        List<RatingPointDTO> history = new ArrayList<>(size);
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        for (int i = 0; i < size; i++) {
+            history.add(new RatingPointDTO(start.plusSeconds(i * 60L), 1000 + (i % 20)));
+        }
+        return history;
+    }
+}
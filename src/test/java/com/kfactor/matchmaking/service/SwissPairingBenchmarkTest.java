@@ -0,0 +1,67 @@
+package com.kfactor.matchmaking.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pairs a 10,000-player Swiss tournament round by round, playing each round out with
+ * Elo-weighted coin flips, and reports how long each pairing took. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class SwissPairingBenchmarkTest {
+
+    private static final int PLAYERS = 10_001;
+    private static final int ROUNDS = 9;
+
+    @Test
+    void pair_TenThousandPlayers() {
+        Random random = new Random(42);
+        long[] ids = new long[PLAYERS];
+        int[] ratings = new int[PLAYERS];
+        int[] scores = new int[PLAYERS];
+        boolean[] hadBye = new boolean[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            ids[i] = i + 1;
+            ratings[i] = (int) Math.round(1500 + 300 * random.nextGaussian());
+        }
+        Set<Long> played = new HashSet<>();
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            long started = System.nanoTime();
+            int[] opponent = SwissPairing.pair(ids, scores, ratings, hadBye, played);
+            double millis = (System.nanoTime() - started) / 1e6;
+
+            int rematches = 0;
+            long gap = 0;
+            for (int i = 0; i < PLAYERS; i++) {
+                int j = opponent[i];
+                if (j == SwissPairing.BYE) {
+                    assertFalse(hadBye[i], "second bye");
+                    hadBye[i] = true;
+                    scores[i]++;
+                    continue;
+                }
+                assertEquals(i, opponent[j]);
+                if (i < j) {
+                    if (!played.add(SwissPairing.pairKey(ids[i], ids[j]))) {
+                        rematches++;
+                    }
+                    gap += Math.abs(ratings[i] - ratings[j]);
+                    boolean iWins = random.nextDouble() < EloRating.expectedScore(ratings[i], ratings[j]);
+                    scores[iWins ? i : j]++;
+                }
+            }
+            System.out.printf("round %d: paired %d players in %.1f ms, mean rating gap %.1f, %d rematches%n",
+                    round, PLAYERS, millis, gap / (PLAYERS / 2.0), rematches);
+            assertEquals(0, rematches);
+            assertTrue(millis < 1000, "pairing took " + millis + " ms");
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.kfactor.matchmaking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SwissPairingTest {
+
+    @Test
+    void pair_EqualScores_PairsRatingNeighbours() {
+        // Arrange
+        long[] ids = {1, 2, 3, 4};
+        int[] ratings = {1400, 1000, 1390, 1010};
+
+        // Act
+        int[] opponent = SwissPairing.pair(ids, new int[4], ratings, new boolean[4], Set.of());
+
+        // Assert
+        assertArrayEquals(new int[] {2, 3, 0, 1}, opponent);
+    }
+
+    @Test
+    void pair_AvoidsRematches() {
+        // Arrange: 1 v 3 and 2 v 4 already happened
+        long[] ids = {1, 2, 3, 4};
+        int[] ratings = {1400, 1000, 1390, 1010};
+        Set<Long> played = Set.of(SwissPairing.pairKey(1, 3), SwissPairing.pairKey(4, 2));
+
+        // Act
+        int[] opponent = SwissPairing.pair(ids, new int[4], ratings, new boolean[4], played);
+
+        // Assert: the cheapest remaining matching is 1 v 4 and 3 v 2
+        assertArrayEquals(new int[] {3, 2, 1, 0}, opponent);
+    }
+
+    @Test
+    void pair_PairsWithinScoreGroupsBeforeRating() {
+        // Arrange: the two leaders are far apart in rating but share a score
+        long[] ids = {1, 2, 3, 4};
+        int[] scores = {2, 2, 1, 1};
+        int[] ratings = {1500, 1000, 1490, 1010};
+
+        // Act
+        int[] opponent = SwissPairing.pair(ids, scores, ratings, new boolean[4], Set.of());
+
+        // Assert
+        assertArrayEquals(new int[] {1, 0, 3, 2}, opponent);
+    }
+
+    @Test
+    void pair_OddGroupSendsOnePlayerDown() {
+        // Arrange: three leaders and three trailers
+        long[] ids = {1, 2, 3, 4, 5, 6};
+        int[] scores = {1, 1, 1, 0, 0, 0};
+        int[] ratings = {1300, 1250, 1100, 1090, 1000, 900};
+
+        // Act
+        int[] opponent = SwissPairing.pair(ids, scores, ratings, new boolean[6], Set.of());
+
+        // Assert: the lowest leader drops down and meets the best trailer
+        assertEquals(1, opponent[0]);
+        assertEquals(3, opponent[2]);
+        assertEquals(5, opponent[4]);
+    }
+
+    @Test
+    void pair_RepairsUpperGroupToAvoidRematchBelow() {
+        // Arrange: the two trailers have met, the two leaders have not
+        long[] ids = {1, 2, 3, 4};
+        int[] scores = {2, 2, 1, 1};
+        int[] ratings = {1400, 1000, 1200, 1100};
+        Set<Long> played = Set.of(SwissPairing.pairKey(3, 4));
+
+        // Act
+        int[] opponent = SwissPairing.pair(ids, scores, ratings, new boolean[4], played);
+
+        // Assert: both groups split instead of forcing 3 v 4 again
+        assertNotEquals(3, opponent[2]);
+        assertNotEquals(1, opponent[0]);
+    }
+
+    @Test
+    void pair_OddCount_ByeGoesToLowestPlayerWithoutOne() {
+        // Arrange: the bottom player already had a bye
+        long[] ids = {1, 2, 3, 4, 5};
+        int[] scores = {2, 1, 1, 1, 1};
+        int[] ratings = {1000, 1300, 1200, 1100, 900};
+        boolean[] hadBye = {false, false, false, false, true};
+
+        // Act
+        int[] opponent = SwissPairing.pair(ids, scores, ratings, hadBye, Set.of());
+
+        // Assert
+        assertEquals(SwissPairing.BYE, opponent[3]);
+        for (int i = 0; i < ids.length; i++) {
+            if (i != 3) {
+                assertNotEquals(SwissPairing.BYE, opponent[i]);
+                assertEquals(i, opponent[opponent[i]]);
+            }
+        }
+    }
+
+    @Test
+    void pair_AllowsRematchOnlyWhenUnavoidable() {
+        // Arrange: two players who have already met
+        long[] ids = {1, 2};
+        Set<Long> played = new HashSet<>(Set.of(SwissPairing.pairKey(1, 2)));
+
+        // Act
+        int[] opponent = SwissPairing.pair(ids, new int[2], new int[] {1000, 1000}, new boolean[2], played);
+
+        // Assert
+        assertArrayEquals(new int[] {1, 0}, opponent);
+    }
+
+    @Test
+    void seedOrder_TopSeedsMeetLast() {
+        // Act / Assert
+        assertArrayEquals(new int[] {1, 8, 4, 5, 2, 7, 3, 6}, TournamentService.seedOrder(8));
+    }
+}
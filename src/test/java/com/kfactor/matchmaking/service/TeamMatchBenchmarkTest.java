@@ -0,0 +1,88 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.dto.TeamMatchParticipantDTO;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Recording throughput for 8-player free-for-all and 64-player (32v32) matches through
+ * {@link TeamMatchService}. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:team-match-benchmark",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=warn",
+        "logging.level.org.hibernate.orm.jdbc.bind=warn"
+})
+class TeamMatchBenchmarkTest {
+
+    private static final int PLAYERS = 10_000;
+    private static final int WARMUP = 200;
+
+    @Autowired
+    private TeamMatchService teamMatchService;
+
+    @Autowired
+    private PlayerRegistrationService playerRegistrationService;
+
+    @Test
+    void recordMatch_8And64Players() {
+        List<String> usernames = new ArrayList<>(PLAYERS);
+        for (int i = 0; i < PLAYERS; i++) {
+            usernames.add("team-bench-" + i);
+        }
+        List<Long> playerIds = new ArrayList<>(playerRegistrationService.registerAll(usernames).getCreated().values());
+        Random random = new Random(7);
+
+        run("64-player 32v32", 1_000, () -> teams(playerIds, 64, 2, random));
+        run("8-player free-for-all", 5_000, () -> freeForAll(playerIds, 8, random));
+    }
+
+    private void run(String label, int matches, java.util.function.Supplier<List<TeamMatchParticipantDTO>> lineup) {
+        for (int i = 0; i < WARMUP; i++) {
+            teamMatchService.recordMatch(lineup.get());
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < matches; i++) {
+            assertNotNull(teamMatchService.recordMatch(lineup.get()).getId());
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("%s: %d matches in %.2fs (%.0f matches/s, %.3f ms/match)%n",
+                label, matches, seconds, matches / seconds, seconds * 1000 / matches);
+    }
+
+    private static List<TeamMatchParticipantDTO> freeForAll(List<Long> playerIds, int size, Random random) {
+        List<Long> picked = pick(playerIds, size, random);
+        List<TeamMatchParticipantDTO> lineup = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            lineup.add(new TeamMatchParticipantDTO(picked.get(i), null, i + 1));
+        }
+        return lineup;
+    }
+
+    private static List<TeamMatchParticipantDTO> teams(List<Long> playerIds, int size, int teams, Random random) {
+        List<Long> picked = pick(playerIds, size, random);
+        List<TeamMatchParticipantDTO> lineup = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int team = i % teams;
+            lineup.add(new TeamMatchParticipantDTO(picked.get(i), team, team + 1));
+        }
+        return lineup;
+    }
+
+    private static List<Long> pick(List<Long> playerIds, int size, Random random) {
+        List<Long> shuffled = new ArrayList<>(playerIds);
+        Collections.shuffle(shuffled, random);
+        return shuffled.subList(0, size);
+    }
+}
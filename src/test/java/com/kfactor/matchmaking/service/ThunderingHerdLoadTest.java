@@ -0,0 +1,110 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.repository.PlayerBatchRepository;
+import com.kfactor.matchmaking.sql.StatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Thundering herd: many callers ask for the same expensive read at the same moment, as
+ * happens when a popular result expires from a downstream cache. Each caller counts the
+ * statements its own call ran, so the total shows how many loads actually reached the
+ * database against one load per caller without coalescing.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:thundering-herd",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=warn",
+        "logging.level.org.hibernate.orm.jdbc.bind=warn"
+})
+class ThunderingHerdLoadTest {
+
+    private static final int PLAYERS = 1_000;
+    private static final int CALLERS = 100;
+    private static final int MATCHES = 200;
+
+    @Autowired
+    private StatsService statsService;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private PlayerBatchRepository playerBatchRepository;
+
+    @Test
+    void herd_SharesOneLoadPerWave() throws Exception {
+        // Arrange
+        List<String> usernames = new ArrayList<>(PLAYERS);
+        for (int i = 0; i < PLAYERS; i++) {
+            usernames.add("herd-" + i);
+        }
+        List<Long> ids = playerBatchRepository.insertAll(usernames, 1000, Instant.now());
+        Long star = ids.get(0);
+        for (int i = 1; i <= MATCHES; i++) {
+            matchService.recordMatch(star, ids.get(i), star);
+        }
+        int points = statsService.getRatingHistory(star, null, null, null).size();
+        long historyAlone = statements(() -> statsService.getRatingHistory(star, null, null, null));
+
+        // Act
+        long historyHerd = herd(() -> assertEquals(points, statsService.getRatingHistory(star, null, null, null).size()));
+
+        // Assert
+        report("rating history", historyHerd, historyAlone);
+        // Callers that arrive after a load has finished start the next one, so how many
+        // share each load depends on scheduling; the bound leaves room for slow machines
+        assertTrue(historyHerd <= historyAlone * CALLERS / 2, "Most rating-history reads should be shared");
+    }
+
+    private long herd(Runnable call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch ready = new CountDownLatch(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong total = new AtomicLong();
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    total.addAndGet(statements(call));
+                    return null;
+                }));
+            }
+            ready.await();
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return total.get();
+    }
+
+    private static long statements(Runnable call) {
+        try (StatementCounter.Recording recording = StatementCounter.start()) {
+            call.run();
+            return recording.getStatements();
+        }
+    }
+
+    private static void report(String read, long herd, long alone) {
+        long uncoalesced = alone * CALLERS;
+        System.out.printf("%-15s %d callers: %,d statements, %,d without coalescing (%.0f%% saved)%n",
+                read + ":", CALLERS, herd, uncoalesced, 100.0 * (uncoalesced - herd) / uncoalesced);
+    }
+}
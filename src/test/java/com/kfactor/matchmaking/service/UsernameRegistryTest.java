@@ -0,0 +1,73 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.event.PlayerCreatedEvent;
+import com.kfactor.matchmaking.event.PlayerDeletedEvent;
+import com.kfactor.matchmaking.repository.PlayerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UsernameRegistryTest {
+
+    @Mock
+    private PlayerRepository playerRepository;
+
+    @InjectMocks
+    private UsernameRegistry usernameRegistry;
+
+    @BeforeEach
+    void setUp() {
+        when(playerRepository.findAllUsernames()).thenReturn(List.of("alice", "bob"));
+        usernameRegistry.load();
+    }
+
+    @Test
+    void load_ContainsExistingUsernames() {
+        assertTrue(usernameRegistry.mightContain("alice"));
+        assertTrue(usernameRegistry.mightContain("bob"));
+        assertFalse(usernameRegistry.mightContain("charlie"));
+        assertEquals(2, usernameRegistry.size());
+    }
+
+    @Test
+    void events_KeepRegistryInSync() {
+        // Act
+        Instant now = Instant.now();
+        usernameRegistry.on(new PlayerCreatedEvent(3L, "charlie", 1000, now, now));
+        usernameRegistry.on(new PlayerDeletedEvent(1L, "alice", now));
+
+        // Assert
+        assertTrue(usernameRegistry.mightContain("charlie"));
+        assertFalse(usernameRegistry.mightContain("alice"));
+        assertEquals(2, usernameRegistry.size());
+    }
+
+    @Test
+    void remove_KeepsOtherEntriesReachableAcrossResizes() {
+        // Arrange
+        for (int i = 0; i < 5000; i++) {
+            usernameRegistry.add("player-" + i);
+        }
+
+        // Act
+        for (int i = 0; i < 5000; i += 2) {
+            usernameRegistry.remove("player-" + i);
+        }
+
+        // Assert
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i % 2 == 1, usernameRegistry.mightContain("player-" + i), "player-" + i);
+        }
+        assertEquals(2502, usernameRegistry.size());
+    }
+}
@@ -0,0 +1,54 @@
+package com.kfactor.matchmaking.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Win probabilities for one million pairings, on the Vector API kernel and on the scalar
+ * loop. Run with {@code mvn test -Pbenchmark}; the build adds the incubator module.
+ */
+@Tag("benchmark")
+class WinProbabilityBenchmarkTest {
+
+    private static final int PAIRS = 1_000_000;
+    private static final int RUNS = 21;
+
+    @Test
+    void predict_MillionPairs() {
+        Random random = new Random(42);
+        int[] ratingA = new int[PAIRS];
+        int[] ratingB = new int[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            ratingA[i] = (int) Math.round(1500 + 300 * random.nextGaussian());
+            ratingB[i] = (int) Math.round(1500 + 300 * random.nextGaussian());
+        }
+        double[] into = new double[PAIRS];
+
+        report("scalar", WinProbability.SCALAR, ratingA, ratingB, into);
+        if (WinProbability.VECTOR != null) {
+            report("vector", WinProbability.VECTOR, ratingA, ratingB, into);
+        } else {
+            System.out.println("vector: jdk.incubator.vector is not available");
+        }
+    }
+
+    private static void report(String label, WinProbability.Kernel kernel, int[] ratingA, int[] ratingB,
+                               double[] into) {
+        for (int warmup = 0; warmup < 20; warmup++) {
+            kernel.predict(ratingA, ratingB, into);
+        }
+        double[] millis = new double[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            long started = System.nanoTime();
+            kernel.predict(ratingA, ratingB, into);
+            millis[run] = (System.nanoTime() - started) / 1e6;
+        }
+        Arrays.sort(millis);
+        double median = millis[RUNS / 2];
+        System.out.printf("%-8s %,d pairs: median %.2f ms, %,.0f million pairs per second%n",
+                label, PAIRS, median, PAIRS / median / 1000);
+    }
+}
@@ -0,0 +1,59 @@
+package com.kfactor.matchmaking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WinProbabilityTest {
+
+    @Test
+    void predict_MatchesEloExpectedScore() {
+        // Arrange - an odd length leaves a tail for the scalar loop
+        int[] ratingA = {1000, 1500, 1800, 1200, 2400, 0, 1000};
+        int[] ratingB = {1000, 1400, 1400, 1600, 800, 3000, 1000};
+        double[] probabilities = new double[ratingA.length];
+
+        // Act
+        WinProbability.predict(ratingA, ratingB, probabilities);
+
+        // Assert
+        for (int i = 0; i < ratingA.length; i++) {
+            assertEquals(EloRating.expectedScore(ratingA[i], ratingB[i]), probabilities[i], 1e-12);
+        }
+        assertEquals(0.5, probabilities[0], 1e-12);
+    }
+
+    @Test
+    void vectorKernel_AgreesWithScalar() {
+        assertTrue(WinProbability.isVectorized(), "tests run with the Vector API module");
+
+        // Arrange
+        Random random = new Random(11);
+        int n = 10_007;
+        int[] ratingA = new int[n];
+        int[] ratingB = new int[n];
+        for (int i = 0; i < n; i++) {
+            ratingA[i] = 600 + random.nextInt(2000);
+            ratingB[i] = 600 + random.nextInt(2000);
+        }
+        double[] scalar = new double[n];
+        double[] vector = new double[n];
+
+        // Act
+        WinProbability.SCALAR.predict(ratingA, ratingB, scalar);
+        WinProbability.VECTOR.predict(ratingA, ratingB, vector);
+
+        // Assert
+        for (int i = 0; i < n; i++) {
+            assertEquals(scalar[i], vector[i], 1e-12);
+        }
+    }
+
+    @Test
+    void predict_MismatchedLengths() {
+        assertThrows(IllegalArgumentException.class,
+                () -> WinProbability.predict(new int[2], new int[3], new double[3]));
+    }
+}
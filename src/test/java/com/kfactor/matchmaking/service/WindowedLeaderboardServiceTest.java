@@ -0,0 +1,157 @@
+package com.kfactor.matchmaking.service;
+
+import com.kfactor.matchmaking.dto.WindowedStandingDTO;
+import com.kfactor.matchmaking.event.MatchRecordedEvent;
+import com.kfactor.matchmaking.event.MatchVoidedEvent;
+import com.kfactor.matchmaking.readmodel.CountedMatches;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WindowedLeaderboardServiceTest {
+
+    private MutableClock clock;
+    private WindowedLeaderboardService service;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-03-01T12:00:00Z"));
+        service = new WindowedLeaderboardService(clock);
+    }
+
+    @Test
+    void getLeaderboard_RanksByRatingGain() {
+        // Arrange
+        service.record(clock.instant(), 1L, "alice", 1000, 1016, true);
+        service.record(clock.instant(), 2L, "bob", 1000, 984, false);
+        service.record(clock.instant(), 3L, "charlie", 1000, 1030, true);
+
+        // Act
+        List<WindowedStandingDTO> result = service.getLeaderboard(LeaderboardWindow.DAY, LeaderboardMetric.GAIN, 10);
+
+        // Assert
+        assertEquals(3, result.size());
+        assertEquals("charlie", result.get(0).getUsername());
+        assertEquals(30, result.get(0).getRatingChange());
+        assertEquals("alice", result.get(1).getUsername());
+        assertEquals("bob", result.get(2).getUsername());
+        assertEquals(-16, result.get(2).getRatingChange());
+    }
+
+    @Test
+    void getLeaderboard_RanksByWinsAndRespectsLimit() {
+        // Arrange
+        service.record(clock.instant(), 1L, "alice", 1000, 1016, true);
+        service.record(clock.instant(), 2L, "bob", 1000, 1016, true);
+        service.record(clock.instant(), 2L, "bob", 1016, 1031, true);
+
+        // Act
+        List<WindowedStandingDTO> result = service.getLeaderboard(LeaderboardWindow.DAY, LeaderboardMetric.WINS, 1);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("bob", result.get(0).getUsername());
+        assertEquals(2, result.get(0).getWins());
+        assertEquals(1031, result.get(0).getRating());
+    }
+
+    @Test
+    void getLeaderboard_ExpiresOldBucketsFromShorterWindows() {
+        // Arrange
+        service.record(clock.instant(), 1L, "alice", 1000, 1016, true);
+        clock.advance(Duration.ofHours(30));
+        service.record(clock.instant(), 2L, "bob", 1000, 1016, true);
+
+        // Act
+        List<WindowedStandingDTO> day = service.getLeaderboard(LeaderboardWindow.DAY, LeaderboardMetric.WINS, 10);
+        List<WindowedStandingDTO> week = service.getLeaderboard(LeaderboardWindow.WEEK, LeaderboardMetric.WINS, 10);
+
+        // Assert
+        assertEquals(1, day.size());
+        assertEquals("bob", day.get(0).getUsername());
+        assertEquals(2, week.size());
+    }
+
+    @Test
+    void getLeaderboard_SeasonOutlivesWeekUntilReset() {
+        // Arrange
+        service.record(clock.instant(), 1L, "alice", 1000, 1016, true);
+        clock.advance(Duration.ofDays(8));
+
+        // Act & Assert
+        assertTrue(service.getLeaderboard(LeaderboardWindow.WEEK, LeaderboardMetric.GAIN, 10).isEmpty());
+        assertEquals(1, service.getLeaderboard(LeaderboardWindow.SEASON, LeaderboardMetric.GAIN, 10).size());
+
+        service.resetSeason();
+        assertTrue(service.getLeaderboard(LeaderboardWindow.SEASON, LeaderboardMetric.GAIN, 10).isEmpty());
+    }
+
+    @Test
+    void seed_FillsEachWindowAndSkipsEventsItCounted() {
+        // Arrange - the season started two days ago; match 3 was voided before the load
+        Instant now = clock.instant();
+        service.record(now, 9L, "stale", 1000, 1016, true);
+        service.seed(() -> new WindowedLeaderboardService.Seed(List.of(
+                match(1L, 1L, "alice", 2L, "bob", now.minus(Duration.ofDays(3))),
+                match(2L, 3L, "carol", 2L, "bob", now.minus(Duration.ofHours(1)))),
+                now.minus(Duration.ofDays(2)), CountedMatches.between(1L, 3L, List.of()), Set.of(3L)));
+
+        // Act - match 2 arrives again, match 4 is new and the void of match 3 arrives late
+        service.on(match(2L, 3L, "carol", 2L, "bob", now.minus(Duration.ofHours(1))));
+        service.on(match(4L, 1L, "alice", 3L, "carol", now));
+        service.on(new MatchVoidedEvent(3L, 1L, 2L, 1L, 1000, 1016, 1000, 984, now, now));
+
+        // Assert
+        List<WindowedStandingDTO> day = service.getLeaderboard(LeaderboardWindow.DAY, LeaderboardMetric.WINS, 10);
+        List<WindowedStandingDTO> week = service.getLeaderboard(LeaderboardWindow.WEEK, LeaderboardMetric.WINS, 10);
+        List<WindowedStandingDTO> season = service.getLeaderboard(LeaderboardWindow.SEASON, LeaderboardMetric.WINS, 10);
+        assertEquals(List.of("alice", "carol", "bob"), day.stream().map(WindowedStandingDTO::getUsername).toList());
+        assertEquals(1, day.get(1).getWins());
+        assertEquals(2, week.get(0).getWins());
+        assertEquals(2, week.get(2).getMatches());
+        assertEquals(List.of("alice", "carol", "bob"), season.stream().map(WindowedStandingDTO::getUsername).toList());
+        assertEquals(1, season.get(0).getMatches());
+    }
+
+    @Test
+    void fromParam_ThrowsException_WhenUnknown() {
+        assertEquals(LeaderboardWindow.WEEK, LeaderboardWindow.fromParam("week"));
+        assertThrows(IllegalArgumentException.class, () -> LeaderboardWindow.fromParam("month"));
+    }
+
+    private static MatchRecordedEvent match(Long matchId, Long winnerId, String winner, Long loserId, String loser,
+                                            Instant playedAt) {
+        return new MatchRecordedEvent(matchId, winnerId, winner, loserId, loser, winnerId,
+                1000, 1016, 1000, 984, playedAt, playedAt);
+    }
+
+    static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() { return ZoneOffset.UTC; }
+
+        @Override
+        public Clock withZone(ZoneId zone) { return this; }
+
+        @Override
+        public Instant instant() { return now; }
+    }
+}
@@ -0,0 +1,107 @@
+package com.kfactor.matchmaking.snapshot;
+
+import com.kfactor.matchmaking.dto.HistoricalLeaderboardDTO;
+import com.kfactor.matchmaking.model.LeaderboardSnapshot;
+import com.kfactor.matchmaking.repository.LeaderboardSnapshotRepository;
+import com.kfactor.matchmaking.repository.PlayerBatchRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hourly snapshots of a million players where one in a hundred plays between snapshots:
+ * the size of a base against the deltas that follow it, and the time to rebuild a past
+ * board and a player's rank history. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:snapshot-benchmark",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=warn",
+        "logging.level.org.hibernate.orm.jdbc.bind=warn"
+})
+class LeaderboardSnapshotBenchmarkTest {
+
+    private static final int PLAYERS = 1_000_000;
+    private static final int DELTAS = 23;
+
+    @Autowired
+    private PlayerBatchRepository playerBatchRepository;
+
+    @Autowired
+    private LeaderboardSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private LeaderboardHistoryService historyService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Clock clock;
+
+    @Test
+    void snapshots_MillionPlayersOnePercentActive() {
+        List<String> usernames = new ArrayList<>(PLAYERS);
+        for (int i = 0; i < PLAYERS; i++) {
+            usernames.add("player-" + i);
+        }
+        List<Long> ids = playerBatchRepository.insertAll(usernames, 1000, Instant.now());
+        jdbcTemplate.update("UPDATE players SET rating = 600 + CAST(RAND() * 1200 AS INT)");
+        SnapshotProperties properties = new SnapshotProperties();
+        LeaderboardSnapshotter snapshotter = new LeaderboardSnapshotter(playerBatchRepository, snapshotRepository,
+                historyService, properties, transactionManager, clock);
+
+        long started = System.nanoTime();
+        LeaderboardSnapshot base = snapshotter.snapshot();
+        double baseSeconds = (System.nanoTime() - started) / 1e9;
+
+        long deltaBytes = 0;
+        double deltaSeconds = 0;
+        LeaderboardSnapshot last = base;
+        for (int i = 0; i < DELTAS; i++) {
+            jdbcTemplate.update("UPDATE players SET rating = rating + CAST(RAND() * 64 AS INT) - 32 WHERE RAND() < 0.01");
+            started = System.nanoTime();
+            last = snapshotter.snapshot();
+            deltaSeconds += (System.nanoTime() - started) / 1e9;
+            deltaBytes += last.getPayload().length;
+            assertFalse(last.isBase());
+        }
+
+        started = System.nanoTime();
+        HistoricalLeaderboardDTO board = historyService.getLeaderboardAt(last.getTakenAt(), 100);
+        double rebuildSeconds = (System.nanoTime() - started) / 1e9;
+        started = System.nanoTime();
+        historyService.getLeaderboardAt(last.getTakenAt(), 100);
+        double cachedSeconds = (System.nanoTime() - started) / 1e9;
+        started = System.nanoTime();
+        int points = historyService.getRankHistory(ids.get(PLAYERS / 2), base.getTakenAt(), last.getTakenAt()).size();
+        double historySeconds = (System.nanoTime() - started) / 1e9;
+
+        System.out.printf("base:          %,d players, %,d bytes in %.2f s%n",
+                base.getPlayers(), base.getPayload().length, baseSeconds);
+        System.out.printf("deltas:        %d of ~%,d changes, %,d bytes each on average, %.2f s each%n",
+                DELTAS, last.getChanges(), deltaBytes / DELTAS, deltaSeconds / DELTAS);
+        System.out.printf("storage:       %,d bytes for %d snapshots, %,d as full copies%n",
+                base.getPayload().length + deltaBytes, DELTAS + 1, (long) base.getPayload().length * (DELTAS + 1));
+        System.out.printf("board at:      %.3f s rebuilt from base + %d deltas, %.4f s cached%n",
+                rebuildSeconds, DELTAS, cachedSeconds);
+        System.out.printf("rank history:  %d points in %.3f s%n", points, historySeconds);
+        assertEquals(PLAYERS, board.getPlayers());
+        assertEquals(100, board.getStandings().size());
+        assertEquals(DELTAS + 1, points);
+    }
+}
@@ -0,0 +1,191 @@
+package com.kfactor.matchmaking.snapshot;
+
+import com.kfactor.matchmaking.model.LeaderboardSnapshot;
+import com.kfactor.matchmaking.model.Player;
+import com.kfactor.matchmaking.repository.LeaderboardSnapshotRepository;
+import com.kfactor.matchmaking.repository.MatchRepository;
+import com.kfactor.matchmaking.repository.PlayerBatchRepository;
+import com.kfactor.matchmaking.repository.PlayerRepository;
+import com.kfactor.matchmaking.service.MatchService;
+import com.kfactor.matchmaking.service.PlayerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+
+import static com.kfactor.matchmaking.sql.StatementAssertions.assertStatementsAtMost;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class LeaderboardSnapshotIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LeaderboardSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private PlayerBatchRepository playerBatchRepository;
+
+    @Autowired
+    private LeaderboardHistoryService historyService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private Clock clock;
+
+    private LeaderboardSnapshotter snapshotter;
+
+    @BeforeEach
+    void setUp() {
+        snapshotRepository.deleteAll();
+        matchRepository.deleteAll();
+        playerRepository.deleteAll();
+        snapshotter = newSnapshotter();
+    }
+
+    @Test
+    void snapshots_StoreDeltasAndRebuildPastBoards() throws Exception {
+        // Arrange - a base, then a match and a newcomer, then a departure
+        Player alice = player("alice", 1400);
+        Player bob = player("bob", 1000);
+        Player carol = player("carol", 800);
+        LeaderboardSnapshot first = snapshotter.snapshot();
+        assertNull(snapshotter.snapshot());
+
+        matchService.recordMatch(bob.getId(), carol.getId(), bob.getId());
+        Player dave = player("dave", 1200);
+        LeaderboardSnapshot second = snapshotter.snapshot();
+        int bobRating = rating(bob);
+        playerService.deletePlayer(alice.getId());
+        LeaderboardSnapshot third = snapshotter.snapshot();
+
+        // Assert - only changed players are stored after the base
+        assertTrue(first.isBase());
+        assertEquals(3, first.getChanges());
+        assertFalse(second.isBase());
+        assertEquals(3, second.getChanges());
+        assertEquals(4, second.getPlayers());
+        assertEquals(1, third.getChanges());
+        assertEquals(3, snapshotRepository.count());
+
+        mockMvc.perform(get("/api/players/leaderboard?at=" + first.getTakenAt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.players").value(3))
+                .andExpect(jsonPath("$.standings", hasSize(3)))
+                .andExpect(jsonPath("$.standings[0].username").value("alice"))
+                .andExpect(jsonPath("$.standings[2].rating").value(800));
+
+        // Between two snapshots the earlier one answers
+        Instant betweenSecondAndThird = second.getTakenAt().plusNanos(1000);
+        assertStatementsAtMost(3, () -> mockMvc.perform(get("/api/players/leaderboard?at=" + betweenSecondAndThird + "&limit=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.snapshotTakenAt").value(second.getTakenAt().toString()))
+                .andExpect(jsonPath("$.standings", hasSize(2)))
+                .andExpect(jsonPath("$.standings[0].username").value("alice"))
+                .andExpect(jsonPath("$.standings[1].rank").value(2))
+                .andExpect(jsonPath("$.standings[1].playerId").value(dave.getId()))
+                .andExpect(jsonPath("$.standings[1].username").value("dave")));
+        assertStatementsAtMost(1, () -> mockMvc.perform(get("/api/players/leaderboard?at=" + second.getTakenAt()))
+                .andExpect(jsonPath("$.standings[2].username").value("bob"))
+                .andExpect(jsonPath("$.standings[2].rating").value(bobRating)));
+
+        mockMvc.perform(get("/api/players/leaderboard?at=" + third.getTakenAt()))
+                .andExpect(jsonPath("$.players").value(3))
+                .andExpect(jsonPath("$.standings[0].username").value("dave"));
+
+        // Bob climbs from third to second once alice has left
+        mockMvc.perform(get("/api/players/" + bob.getId() + "/rank-history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].rank").value(2))
+                .andExpect(jsonPath("$[0].rating").value(1000))
+                .andExpect(jsonPath("$[1].rank").value(3))
+                .andExpect(jsonPath("$[2].rank").value(2))
+                .andExpect(jsonPath("$[2].players").value(3));
+        mockMvc.perform(get("/api/players/" + alice.getId() + "/rank-history?from=" + second.getTakenAt()))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].takenAt").value(second.getTakenAt().toString()));
+    }
+
+    @Test
+    void snapshot_AfterARestartContinuesTheChainAndStartsNewBases() {
+        // Arrange
+        Player alice = player("alice", 1400);
+        player("bob", 1000);
+        snapshotter.snapshot();
+        playerService.updateRating(alice.getId(), 1500);
+        snapshotter.snapshot();
+
+        // Act - a new instance only knows what was stored
+        LeaderboardSnapshotter restarted = newSnapshotter();
+        playerService.updateRating(alice.getId(), 1600);
+        LeaderboardSnapshot third = restarted.snapshot();
+        playerService.updateRating(alice.getId(), 1700);
+        LeaderboardSnapshot fourth = restarted.snapshot();
+
+        // Assert - base-every is 3: the third snapshot is the second delta, the fourth a base
+        assertFalse(third.isBase());
+        assertEquals(1, third.getChanges());
+        assertTrue(fourth.isBase());
+        assertEquals(2, fourth.getPlayers());
+        assertEquals(1700, historyService.getLeaderboardAt(fourth.getTakenAt(), 1).getStandings().get(0).getRating());
+        assertEquals(1600, historyService.getLeaderboardAt(third.getTakenAt(), 1).getStandings().get(0).getRating());
+    }
+
+    @Test
+    void getLeaderboardAt_RejectsTimesBeforeTheFirstSnapshot() throws Exception {
+        player("alice", 1400);
+        Instant before = clock.instant();
+        snapshotter.snapshot();
+
+        mockMvc.perform(get("/api/players/leaderboard?at=" + before.minusSeconds(60)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("No leaderboard snapshot at or before " + before.minusSeconds(60)));
+        mockMvc.perform(get("/api/players/leaderboard?at=" + before.plusSeconds(60) + "&limit=0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Limit must be between 1 and 1000"));
+    }
+
+    private LeaderboardSnapshotter newSnapshotter() {
+        SnapshotProperties properties = new SnapshotProperties();
+        properties.setBaseEvery(3);
+        return new LeaderboardSnapshotter(playerBatchRepository, snapshotRepository, historyService, properties,
+                transactionManager, clock);
+    }
+
+    private Player player(String username, int rating) {
+        Player player = new Player(username);
+        player.setRating(rating);
+        return playerRepository.save(player);
+    }
+
+    private int rating(Player player) {
+        return playerRepository.findById(player.getId()).orElseThrow().getRating();
+    }
+}
@@ -0,0 +1,91 @@
+package com.kfactor.matchmaking.snapshot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotCodecTest {
+
+    @Test
+    void base_RoundTripsRatingsAndSelectedUsernames() {
+        // Arrange
+        long[] ids = {3L, 4L, 90L, 3_000_000_000L};
+        int[] ratings = {1400, 1000, -15, 2600};
+        String[] usernames = {"alice", "zoë", "łukasz", "dave"};
+
+        // Act
+        byte[] payload = SnapshotCodec.encodeBase(ids, ratings, usernames, 4);
+        Standings standings = SnapshotCodec.decodeBase(payload);
+        String[] selected = SnapshotCodec.decodeBaseUsernames(payload, new int[] {1, 3});
+
+        // Assert
+        assertEquals(4, standings.size);
+        assertArrayEquals(ids, standings.ids);
+        assertArrayEquals(ratings, standings.ratings);
+        assertArrayEquals(new String[] {"zoë", "dave"}, selected);
+    }
+
+    @Test
+    void scanThenApply_RebuildsTheNewBoardFromTheOld() {
+        // Arrange - the board before: ids 1..5
+        Standings before = new Standings(new long[] {1, 2, 3, 4, 5}, new int[] {1000, 1100, 1200, 1300, 1400}, 5);
+        SnapshotScan scan = new SnapshotScan(before, false);
+
+        // Act - 1 and 5 left, 2 changed, 3 and 4 did not, 7 joined
+        scan.accept(2, "b", 1150);
+        scan.accept(3, "c", 1200);
+        scan.accept(4, "d", 1300);
+        scan.accept(7, "g", 1000);
+        scan.finish();
+        SnapshotCodec.Delta delta = SnapshotCodec.decodeDelta(scan.encodeDelta());
+        Standings after = before.apply(delta);
+
+        // Assert
+        assertEquals(4, scan.changes());
+        assertArrayEquals(new long[] {1, 2, 5, 7}, Arrays.copyOf(delta.ids(), delta.size()));
+        assertEquals(SnapshotCodec.REMOVED, delta.kinds()[0]);
+        assertEquals(SnapshotCodec.CHANGED, delta.kinds()[1]);
+        assertEquals("g", delta.usernames()[3]);
+        assertNull(delta.usernames()[1]);
+        assertArrayEquals(new long[] {2, 3, 4, 7}, Arrays.copyOf(after.ids, after.size));
+        assertArrayEquals(new int[] {1150, 1200, 1300, 1000}, Arrays.copyOf(after.ratings, after.size));
+    }
+
+    @Test
+    void topAndRankOf_OrderByRatingThenId() {
+        // Arrange
+        Random random = new Random(11);
+        int size = 5000;
+        long[] ids = new long[size];
+        int[] ratings = new int[size];
+        Map<Long, Integer> byId = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            ids[i] = i * 3L + 1;
+            ratings[i] = 900 + random.nextInt(300);
+            byId.put(ids[i], ratings[i]);
+        }
+        Standings standings = new Standings(ids, ratings, size);
+
+        // Act
+        int[] top = standings.top(100);
+
+        // Assert
+        long[] expected = byId.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .mapToLong(Map.Entry::getKey)
+                .toArray();
+        assertEquals(100, top.length);
+        for (int place = 0; place < top.length; place++) {
+            assertEquals(expected[place], ids[top[place]]);
+        }
+        assertEquals(1, standings.rankOf(expected[0]));
+        assertEquals(2500, standings.rankOf(expected[2499]));
+        assertEquals(-1, standings.rankOf(2L));
+        assertEquals(0, Standings.EMPTY.top(10).length);
+    }
+}
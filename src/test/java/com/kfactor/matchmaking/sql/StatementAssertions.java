@@ -0,0 +1,26 @@
+package com.kfactor.matchmaking.sql;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Query-count assertions for integration tests. The action runs on the calling thread,
+ * as MockMvc requests do, and every statement it executes is counted.
+ */
+public final class StatementAssertions {
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private StatementAssertions() {}
+
+    public static void assertStatementsAtMost(long budget, Action action) throws Exception {
+        try (StatementCounter.Recording recording = StatementCounter.start()) {
+            action.run();
+            if (recording.getStatements() > budget) {
+                fail("Expected at most " + budget + " SQL statements, but ran " + recording.describe());
+            }
+        }
+    }
+}
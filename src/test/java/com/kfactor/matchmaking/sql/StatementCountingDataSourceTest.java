@@ -0,0 +1,97 @@
+package com.kfactor.matchmaking.sql;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementCountingDataSourceTest {
+
+    private final DataSource dataSource = StatementCountingDataSource.wrap(h2("statement-counting"));
+
+    @Test
+    void countsStatementsAndBatchesWhileRecording() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             StatementCounter.Recording recording = StatementCounter.start()) {
+            // Act
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE counted (id INT)");
+            }
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO counted VALUES (?)")) {
+                for (int i = 0; i < 3; i++) {
+                    insert.setInt(1, i);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement select = connection.prepareStatement("SELECT COUNT(*) FROM counted");
+                 ResultSet rows = select.executeQuery()) {
+                rows.next();
+                assertEquals(3, rows.getInt(1));
+            }
+
+            // Assert: create, one batch, select
+            assertEquals(3, recording.getStatements());
+        }
+    }
+
+    @Test
+    void nestedRecordingsBothCount() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             StatementCounter.Recording outer = StatementCounter.start()) {
+            try (StatementCounter.Recording inner = StatementCounter.start();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SELECT 1");
+                assertEquals(1, inner.getStatements());
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT 2");
+            }
+
+            // Assert
+            assertEquals(2, outer.getStatements());
+            assertSame(outer, StatementCounter.current());
+        }
+        assertNull(StatementCounter.current());
+    }
+
+    @Test
+    void unwrapToTheProxiedInterfaceKeepsCounting() throws Exception {
+        try (StatementCounter.Recording recording = StatementCounter.start();
+             Connection connection = dataSource.unwrap(DataSource.class).getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+
+            assertEquals(1, recording.getStatements());
+        }
+    }
+
+    @Test
+    void closingTheWrapperClosesThePool() throws Exception {
+        // Arrange
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:statement-counting-pool");
+        DataSource wrapped = StatementCountingDataSource.wrap(pool);
+        wrapped.getConnection().close();
+
+        // Act - what the container's inferred destroy method does on shutdown
+        assertInstanceOf(AutoCloseable.class, wrapped);
+        ((AutoCloseable) wrapped).close();
+
+        // Assert
+        assertTrue(pool.isClosed());
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        return h2;
+    }
+}